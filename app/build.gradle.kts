@@ -42,6 +42,7 @@ android {
 
 dependencies {
 
+    implementation(project(":ranking-core"))
     implementation(libs.androidx.core.ktx)
     implementation(libs.androidx.lifecycle.runtime.ktx)
     implementation(libs.androidx.activity.compose)
@@ -0,0 +1,121 @@
+package com.example.ranking.data
+
+import android.util.Log
+import androidx.room.Room
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.example.ranking.data.dao.MatchDao
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+import org.junit.Assert.*
+
+/**
+ * matches tablosu sorgu maliyeti: 500.000 maçlık bellek içi veritabanı.
+ *
+ * Her DAO sorgusunun planı bileşik indeksleri kullanmalı (tam tablo taraması yok);
+ * süreler logcat'e "MatchDaoBenchmark" etiketiyle yazılır.
+ */
+@RunWith(AndroidJUnit4::class)
+class MatchDaoBenchmark {
+    
+    private lateinit var database: RankingDatabase
+    private lateinit var matchDao: MatchDao
+    
+    @Before
+    fun setUp() = runBlocking {
+        val context = InstrumentationRegistry.getInstrumentation().targetContext
+        database = Room.inMemoryDatabaseBuilder(context, RankingDatabase::class.java).build()
+        matchDao = database.matchDao()
+        
+        // 50 liste x 2 yöntem x 5.000 maç = 500.000 satır
+        val methods = listOf("SWISS", "EMRE_CORRECT")
+        for (listId in 1L..LIST_COUNT) {
+            for (method in methods) {
+                val matches = (0 until MATCHES_PER_LIST).map { i ->
+                    Match(
+                        listId = listId,
+                        rankingMethod = method,
+                        songId1 = (i * 2).toLong(),
+                        songId2 = (i * 2 + 1).toLong(),
+                        winnerId = if (i < MATCHES_PER_LIST / 2) (i * 2).toLong() else null,
+                        round = 1 + i / 500,
+                        isCompleted = i < MATCHES_PER_LIST / 2
+                    )
+                }
+                matchDao.insertMatches(matches)
+            }
+        }
+    }
+    
+    @After
+    fun tearDown() {
+        database.close()
+    }
+    
+    @Test
+    fun queriesUseCompositeIndices() {
+        val queries = listOf(
+            "SELECT * FROM matches WHERE listId = 7 AND rankingMethod = 'SWISS' ORDER BY round ASC, id ASC",
+            "SELECT * FROM matches WHERE listId = 7 AND rankingMethod = 'SWISS' AND isCompleted = 0 ORDER BY round ASC, id ASC LIMIT 1",
+            "SELECT * FROM matches WHERE listId = 7 AND rankingMethod = 'SWISS' AND round = 3",
+            "SELECT COALESCE(SUM(isCompleted), 0) AS completed, COUNT(*) AS total FROM matches WHERE listId = 7 AND rankingMethod = 'SWISS'"
+        )
+        
+        queries.forEach { sql ->
+            val plan = explain(sql)
+            Log.d(TAG, "$sql -> $plan")
+            assertTrue("Index kullanılmadı: $plan", plan.any { it.contains("USING") && it.contains("INDEX") })
+            assertFalse("Tam tablo taraması: $plan", plan.any { it.startsWith("SCAN") && !it.contains("INDEX") })
+            assertFalse("Geçici sıralama ağacı: $plan", plan.any { it.contains("TEMP B-TREE") })
+        }
+    }
+    
+    @Test
+    fun progressAndNextMatchTimings() = runBlocking {
+        val progress = measure("getMatchProgress") { matchDao.getMatchProgress(7L, "SWISS") }
+        assertEquals(MATCHES_PER_LIST / 2, progress.completed)
+        assertEquals(MATCHES_PER_LIST, progress.total)
+        
+        val next = measure("getNextUncompletedMatch") { matchDao.getNextUncompletedMatch(7L, "SWISS") }
+        assertNotNull(next)
+        assertFalse(next!!.isCompleted)
+        
+        val round = measure("getMatchesByRound") { matchDao.getMatchesByRound(7L, "SWISS", 3) }
+        assertEquals(500, round.size)
+        
+        val all = measure("getMatchesByListAndMethodSync") { matchDao.getMatchesByListAndMethodSync(7L, "SWISS") }
+        assertEquals(MATCHES_PER_LIST, all.size)
+    }
+    
+    private fun explain(sql: String): List<String> {
+        val plan = mutableListOf<String>()
+        database.openHelper.readableDatabase.query("EXPLAIN QUERY PLAN $sql").use { cursor ->
+            val detail = cursor.getColumnIndexOrThrow("detail")
+            while (cursor.moveToNext()) {
+                plan.add(cursor.getString(detail))
+            }
+        }
+        return plan
+    }
+    
+    private inline fun <T> measure(name: String, block: () -> T): T {
+        block() // ısınma
+        val start = System.nanoTime()
+        repeat(REPETITIONS - 1) { block() }
+        val result = block()
+        val averageMicros = (System.nanoTime() - start) / REPETITIONS / 1_000
+        Log.d(TAG, "$name: ${averageMicros}µs / sorgu")
+        return result
+    }
+    
+    private companion object {
+        const val TAG = "MatchDaoBenchmark"
+        const val LIST_COUNT = 50L
+        const val MATCHES_PER_LIST = 5_000
+        const val REPETITIONS = 20
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ranking
+
+import android.app.Application
+import android.content.pm.ApplicationInfo
+import android.os.Build
+import com.example.ranking.logging.AndroidRankingLogger
+import com.example.ranking.logging.LogLevel
+import com.example.ranking.logging.RankingLog
+import com.example.ranking.logging.RankingLogger
+import com.example.ranking.logging.RingBufferLogger
+import com.example.ranking.metrics.RankingMetrics
+
+class RankingApplication : Application() {
+    override fun onCreate() {
+        super.onCreate()
+        // Motorlar (ranking-core) Android'e bağımlı değil; log hedefi burada kurulur.
+        // Son kayıtlar her zaman bellekte tutulur; logcat'e yalnızca debug derlemede yazılır.
+        val debuggable = applicationInfo.flags and ApplicationInfo.FLAG_DEBUGGABLE != 0
+        RankingLog.defaultLevel = if (debuggable) LogLevel.DEBUG else LogLevel.WARN
+        RankingLog.logger = RingBufferLogger(
+            delegate = if (debuggable) AndroidRankingLogger else RankingLogger.None
+        ).also { logBuffer = it }
+        // Metrik dışa aktarımında cihazlar karşılaştırılabilsin
+        RankingMetrics.setLabel("device.model", "${Build.MANUFACTURER} ${Build.MODEL}")
+        RankingMetrics.setLabel("device.sdk", Build.VERSION.SDK_INT.toString())
+    }
+
+    companion object {
+        /** İstendiğinde dökülebilen son log kayıtları ([RingBufferLogger.dump]). */
+        @Volatile
+        var logBuffer: RingBufferLogger? = null
+            private set
+    }
+}
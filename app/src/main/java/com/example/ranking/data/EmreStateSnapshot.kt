@@ -0,0 +1,32 @@
+package com.example.ranking.data
+
+import androidx.room.Entity
+import androidx.room.ForeignKey
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * Emre turnuvasının oturum başına tek anlık görüntüsü, her tur işlendikten sonra
+ * üzerine yazılır. Devam etmek = bu satırı okumak; maç geçmişi yeniden oynatılmaz.
+ */
+@Entity(
+    tableName = "emre_states",
+    foreignKeys = [
+        ForeignKey(
+            entity = VotingSession::class,
+            parentColumns = ["id"],
+            childColumns = ["sessionId"],
+            onDelete = ForeignKey.CASCADE
+        )
+    ],
+    indices = [Index(value = ["sessionId"], unique = true)]
+)
+data class EmreStateSnapshot(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val sessionId: Long,
+    val currentRound: Int,
+    val teamCount: Int,
+    val stateData: String, // "es1:" + Base64 ikili durum (EmreStateCodec)
+    val lastUpdated: Long = System.currentTimeMillis()
+)
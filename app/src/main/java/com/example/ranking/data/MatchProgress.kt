@@ -0,0 +1,9 @@
+package com.example.ranking.data
+
+/**
+ * MatchDao.getMatchProgress sonucu - tamamlanan ve toplam maç sayısı tek sorguda
+ */
+data class MatchProgress(
+    val completed: Int,
+    val total: Int
+)
@@ -9,8 +9,8 @@ import android.content.Context
 import com.example.ranking.data.dao.*
 
 @Database(
-    entities = [Song::class, SongList::class, RankingResult::class, Match::class, LeagueSettings::class, Archive::class, VotingSession::class, VotingScore::class, SwissState::class, SwissMatchState::class, SwissFixture::class],
-    version = 10,
+    entities = [Song::class, SongList::class, RankingResult::class, Match::class, LeagueSettings::class, Archive::class, VotingSession::class, VotingScore::class, SwissState::class, SwissMatchState::class, SwissFixture::class, SwissFixtureEvent::class, EmreStateSnapshot::class, PairwiseJudgment::class],
+    version = 18,
     exportSchema = false
 )
 abstract class RankingDatabase : RoomDatabase() {
@@ -24,6 +24,8 @@ abstract class RankingDatabase : RoomDatabase() {
     abstract fun votingScoreDao(): VotingScoreDao
     abstract fun swissStateDao(): SwissStateDao
     abstract fun swissMatchStateDao(): SwissMatchStateDao
+    abstract fun emreStateDao(): EmreStateDao
+    abstract fun pairwiseJudgmentDao(): PairwiseJudgmentDao
 
     companion object {
         @Volatile
@@ -224,6 +226,124 @@ abstract class RankingDatabase : RoomDatabase() {
             }
         }
 
+        private val MIGRATION_10_11 = object : Migration(10, 11) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // Match entity'sindeki bileşik indeksler - adlar @Index ile birebir aynı olmalı
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_matches_list_method_round` ON `matches` (`listId`, `rankingMethod`, `round`)")
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_matches_list_method_completed_round` ON `matches` (`listId`, `rankingMethod`, `isCompleted`, `round`)")
+            }
+        }
+
+        private val MIGRATION_11_12 = object : Migration(11, 12) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // Fikstür günlüğü: oy başına tek satır, anlık görüntü yazılınca kısaltılır
+                db.execSQL("ALTER TABLE swiss_fixtures ADD COLUMN lastEventId INTEGER NOT NULL DEFAULT 0")
+                db.execSQL("""
+                    CREATE TABLE IF NOT EXISTS `swiss_fixture_events` (
+                        `id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                        `sessionId` INTEGER NOT NULL,
+                        `matchId` INTEGER NOT NULL,
+                        `listId` INTEGER NOT NULL,
+                        `rankingMethod` TEXT NOT NULL,
+                        `songId1` INTEGER NOT NULL,
+                        `songId2` INTEGER NOT NULL,
+                        `winnerId` INTEGER,
+                        `score1` INTEGER,
+                        `score2` INTEGER,
+                        `round` INTEGER NOT NULL,
+                        `groupId` INTEGER,
+                        `isCompleted` INTEGER NOT NULL,
+                        `matchCreatedAt` INTEGER NOT NULL,
+                        FOREIGN KEY(`sessionId`) REFERENCES `voting_sessions`(`id`) ON DELETE CASCADE
+                    )
+                """)
+                db.execSQL("CREATE INDEX IF NOT EXISTS `index_swiss_fixture_events_sessionId_id` ON `swiss_fixture_events` (`sessionId`, `id`)")
+                // Eskiden her oyda yeni bir fikstür satırı ekleniyordu; oturum başına en yenisi kalsın
+                db.execSQL("DELETE FROM swiss_fixtures WHERE id NOT IN (SELECT MAX(id) FROM swiss_fixtures GROUP BY sessionId)")
+            }
+        }
+
+        private val MIGRATION_12_13 = object : Migration(12, 13) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // Emre anlık görüntüsü: oturum başına tek satır, her turdan sonra üzerine yazılır
+                db.execSQL("""
+                    CREATE TABLE IF NOT EXISTS `emre_states` (
+                        `id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                        `sessionId` INTEGER NOT NULL,
+                        `currentRound` INTEGER NOT NULL,
+                        `teamCount` INTEGER NOT NULL,
+                        `stateData` TEXT NOT NULL,
+                        `lastUpdated` INTEGER NOT NULL,
+                        FOREIGN KEY(`sessionId`) REFERENCES `voting_sessions`(`id`) ON DELETE CASCADE
+                    )
+                """)
+                db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_emre_states_sessionId` ON `emre_states` (`sessionId`)")
+            }
+        }
+
+        private val MIGRATION_13_14 = object : Migration(13, 14) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // Yöntemden bağımsız ikili kararlar; ikili küçük ID önce saklanır
+                db.execSQL("""
+                    CREATE TABLE IF NOT EXISTS `pairwise_judgments` (
+                        `id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                        `listId` INTEGER NOT NULL,
+                        `songId1` INTEGER NOT NULL,
+                        `songId2` INTEGER NOT NULL,
+                        `winnerId` INTEGER,
+                        `score1` INTEGER,
+                        `score2` INTEGER,
+                        `rankingMethod` TEXT NOT NULL,
+                        `updatedAt` INTEGER NOT NULL
+                    )
+                """)
+                db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_pairwise_judgments_list_pair` ON `pairwise_judgments` (`listId`, `songId1`, `songId2`)")
+                // Mevcut oylardan doldur: aynı ikilinin en yeni maçı kalır
+                db.execSQL("""
+                    INSERT OR REPLACE INTO `pairwise_judgments` (`listId`, `songId1`, `songId2`, `winnerId`, `score1`, `score2`, `rankingMethod`, `updatedAt`)
+                    SELECT `listId`, MIN(`songId1`, `songId2`), MAX(`songId1`, `songId2`), `winnerId`,
+                        CASE WHEN `songId1` < `songId2` THEN `score1` ELSE `score2` END,
+                        CASE WHEN `songId1` < `songId2` THEN `score2` ELSE `score1` END,
+                        `rankingMethod`, `createdAt`
+                    FROM `matches`
+                    WHERE `isCompleted` = 1 AND `songId1` != `songId2`
+                    ORDER BY `createdAt` ASC, `id` ASC
+                """)
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN reuseJudgments INTEGER NOT NULL DEFAULT 1")
+            }
+        }
+
+        private val MIGRATION_14_15 = object : Migration(14, 15) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // Oturum özeti: sorulmadan tamamlanan maçlar ve çelişkili oylar
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN autoCompletedMatches INTEGER NOT NULL DEFAULT 0")
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN inferredMatches INTEGER NOT NULL DEFAULT 0")
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN contradictions INTEGER NOT NULL DEFAULT 0")
+            }
+        }
+
+        private val MIGRATION_15_16 = object : Migration(15, 16) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // Birleştirmeli sıralamanın kaldığı yer ("ms1:" + Base64)
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN sortState TEXT")
+            }
+        }
+
+        private val MIGRATION_16_17 = object : Migration(16, 17) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // İsviçre yakınsama sınırı; mevcut oturumlar sabit tur tablosuyla sürer
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN convergenceTopN INTEGER NOT NULL DEFAULT 0")
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN convergenceTolerance INTEGER NOT NULL DEFAULT 10")
+            }
+        }
+
+        private val MIGRATION_17_18 = object : Migration(17, 18) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                // İlk K oturumunun K değeri; sıralama durumu okunamazsa oylar bu K ile yeniden oynatılır
+                db.execSQL("ALTER TABLE voting_sessions ADD COLUMN topK INTEGER NOT NULL DEFAULT 0")
+            }
+        }
+
         fun getDatabase(context: Context): RankingDatabase {
             return INSTANCE ?: synchronized(this) {
                 val instance = Room.databaseBuilder(
@@ -231,7 +351,7 @@ abstract class RankingDatabase : RoomDatabase() {
                     RankingDatabase::class.java,
                     "ranking_database"
                 )
-                .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10)
+                .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13, MIGRATION_13_14, MIGRATION_14_15, MIGRATION_15_16, MIGRATION_16_17, MIGRATION_17_18)
                 .fallbackToDestructiveMigration()
                 .build()
                 INSTANCE = instance
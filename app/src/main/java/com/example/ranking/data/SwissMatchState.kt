@@ -1,6 +1,8 @@
 package com.example.ranking.data
 
+import androidx.room.ColumnInfo
 import androidx.room.Entity
+import androidx.room.Index
 import androidx.room.PrimaryKey
 import androidx.room.ForeignKey
 
@@ -64,9 +66,79 @@ data class SwissFixture(
     val sessionId: Long,
     val currentRound: Int,
     val totalRounds: Int,
-    val fixtureData: String, // JSON: complete fixture with all rounds
-    val currentStandings: String, // JSON: live standings
+    val fixtureData: String, // "sf1:" + Base64 ikili fikstür (eski kayıtlar: JSON)
+    val currentStandings: String, // "ls1:" + Base64 ikili canlı tablo (eski kayıtlar: JSON)
     val nextMatchIndex: Int = 0, // which match to play next
     val isRoundComplete: Boolean = false,
+    @ColumnInfo(defaultValue = "0")
+    val lastEventId: Long = 0, // bu görüntüye dahil edilen son günlük kaydı
     val lastUpdated: Long = System.currentTimeMillis()
-)
\ No newline at end of file
+)
+
+/**
+ * Swiss fixture journal: one row per match change (result or new pairing).
+ * Resume = latest [SwissFixture] snapshot + rows with id > lastEventId.
+ * Rows are removed when a new snapshot is written.
+ */
+@Entity(
+    tableName = "swiss_fixture_events",
+    foreignKeys = [
+        ForeignKey(
+            entity = VotingSession::class,
+            parentColumns = ["id"],
+            childColumns = ["sessionId"],
+            onDelete = ForeignKey.CASCADE
+        )
+    ],
+    indices = [Index(value = ["sessionId", "id"])]
+)
+data class SwissFixtureEvent(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val sessionId: Long,
+    val matchId: Long,
+    val listId: Long,
+    val rankingMethod: String,
+    val songId1: Long,
+    val songId2: Long,
+    val winnerId: Long?,
+    val score1: Int?,
+    val score2: Int?,
+    val round: Int,
+    val groupId: Int?,
+    val isCompleted: Boolean,
+    val matchCreatedAt: Long
+) {
+    fun toMatch(): Match = Match(
+        id = matchId,
+        listId = listId,
+        rankingMethod = rankingMethod,
+        songId1 = songId1,
+        songId2 = songId2,
+        winnerId = winnerId,
+        score1 = score1,
+        score2 = score2,
+        round = round,
+        groupId = groupId,
+        isCompleted = isCompleted,
+        createdAt = matchCreatedAt
+    )
+    
+    companion object {
+        fun of(sessionId: Long, match: Match) = SwissFixtureEvent(
+            sessionId = sessionId,
+            matchId = match.id,
+            listId = match.listId,
+            rankingMethod = match.rankingMethod,
+            songId1 = match.songId1,
+            songId2 = match.songId2,
+            winnerId = match.winnerId,
+            score1 = match.score1,
+            score2 = match.score2,
+            round = match.round,
+            groupId = match.groupId,
+            isCompleted = match.isCompleted,
+            matchCreatedAt = match.createdAt
+        )
+    }
+}
\ No newline at end of file
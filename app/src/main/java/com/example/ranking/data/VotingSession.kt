@@ -1,5 +1,6 @@
 package com.example.ranking.data
 
+import androidx.room.ColumnInfo
 import androidx.room.Entity
 import androidx.room.PrimaryKey
 import androidx.room.ForeignKey
@@ -35,5 +36,25 @@ data class VotingSession(
     val currentMatchId: Long? = null,
     val currentRound: Int = 1,
     val completedMatches: Int = 0,
-    val totalMatches: Int = 0
+    val totalMatches: Int = 0,
+    // Daha önce oylanmış ikilileri soru sormadan tamamla
+    @ColumnInfo(defaultValue = "1")
+    val reuseJudgments: Boolean = true,
+    // Oturum özeti: önceki oylardan / geçişli çıkarımla tamamlanan maçlar, çelişkili oylar
+    @ColumnInfo(defaultValue = "0")
+    val autoCompletedMatches: Int = 0,
+    @ColumnInfo(defaultValue = "0")
+    val inferredMatches: Int = 0,
+    @ColumnInfo(defaultValue = "0")
+    val contradictions: Int = 0,
+    // Merge sort / top-K / adaptive specific: sıralama durumu, SortStateSerializer biçiminde
+    val sortState: String? = null,
+    // Swiss specific: tablonun ilk N sırası oturunca dur (0 = sabit tur tablosu), tolerans yüzde
+    @ColumnInfo(defaultValue = "0")
+    val convergenceTopN: Int = 0,
+    @ColumnInfo(defaultValue = "10")
+    val convergenceTolerance: Int = 10,
+    // Top-K specific: seçilecek öğe sayısı (0 = K kaydı olmayan eski oturum)
+    @ColumnInfo(defaultValue = "0")
+    val topK: Int = 0
 )
\ No newline at end of file
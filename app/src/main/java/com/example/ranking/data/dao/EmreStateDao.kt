@@ -0,0 +1,16 @@
+package com.example.ranking.data.dao
+
+import androidx.room.*
+import com.example.ranking.data.EmreStateSnapshot
+
+@Dao
+interface EmreStateDao {
+    @Query("SELECT * FROM emre_states WHERE sessionId = :sessionId")
+    suspend fun getEmreStateBySession(sessionId: Long): EmreStateSnapshot?
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertOrUpdateEmreState(state: EmreStateSnapshot): Long
+    
+    @Query("DELETE FROM emre_states WHERE sessionId = :sessionId")
+    suspend fun deleteEmreStateBySession(sessionId: Long)
+}
@@ -2,6 +2,7 @@ package com.example.ranking.data.dao
 
 import androidx.room.*
 import com.example.ranking.data.Match
+import com.example.ranking.data.MatchProgress
 import kotlinx.coroutines.flow.Flow
 
 @Dao
@@ -30,9 +31,7 @@ interface MatchDao {
     @Query("DELETE FROM matches WHERE listId = :listId AND rankingMethod = :method")
     suspend fun deleteMatches(listId: Long, method: String)
 
-    @Query("SELECT COUNT(*) FROM matches WHERE listId = :listId AND rankingMethod = :method AND isCompleted = 1")
-    suspend fun getCompletedMatchCount(listId: Long, method: String): Int
-
-    @Query("SELECT COUNT(*) FROM matches WHERE listId = :listId AND rankingMethod = :method")
-    suspend fun getTotalMatchCount(listId: Long, method: String): Int
+    // Tek indeks taramasında tamamlanan + toplam
+    @Query("SELECT COALESCE(SUM(isCompleted), 0) AS completed, COUNT(*) AS total FROM matches WHERE listId = :listId AND rankingMethod = :method")
+    suspend fun getMatchProgress(listId: Long, method: String): MatchProgress
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.ranking.data.dao
+
+import androidx.room.*
+import com.example.ranking.data.PairwiseJudgment
+
+@Dao
+interface PairwiseJudgmentDao {
+    @Query("SELECT * FROM pairwise_judgments WHERE listId = :listId")
+    suspend fun getJudgmentsByList(listId: Long): List<PairwiseJudgment>
+    
+    // (listId, songId1, songId2) benzersiz: aynı ikilinin yeni kararı eskisinin yerine geçer
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertJudgment(judgment: PairwiseJudgment): Long
+    
+    @Query("DELETE FROM pairwise_judgments WHERE listId = :listId")
+    suspend fun deleteJudgmentsByList(listId: Long)
+}
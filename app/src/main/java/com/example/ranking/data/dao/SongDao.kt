@@ -30,6 +30,13 @@ interface SongDao {
     @Query("DELETE FROM songs WHERE listId = :listId")
     suspend fun deleteSongsByListId(listId: Long)
 
+    @Query("SELECT MAX(id) FROM songs")
+    suspend fun getMaxSongId(): Long?
+
+    // Yarım kalan içe aktarmanın satırları: [afterId]'den sonra eklenenler
+    @Query("DELETE FROM songs WHERE listId = :listId AND id > :afterId")
+    suspend fun deleteSongsAddedAfter(listId: Long, afterId: Long)
+
     @Query("SELECT COUNT(*) FROM songs WHERE listId = :listId")
     suspend fun getSongCountByListId(listId: Long): Int
 }
\ No newline at end of file
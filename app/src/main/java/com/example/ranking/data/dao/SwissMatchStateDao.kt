@@ -3,6 +3,7 @@ package com.example.ranking.data.dao
 import androidx.room.*
 import com.example.ranking.data.SwissMatchState
 import com.example.ranking.data.SwissFixture
+import com.example.ranking.data.SwissFixtureEvent
 import kotlinx.coroutines.flow.Flow
 
 @Dao
@@ -42,4 +43,34 @@ interface SwissMatchStateDao {
     
     @Query("DELETE FROM swiss_fixtures WHERE sessionId = :sessionId")
     suspend fun deleteFixture(sessionId: Long)
+    
+    /**
+     * Anlık görüntüyü değiştir ve içerdiği günlük kayıtlarını sil (tek transaction).
+     * Oturum başına tek fikstür satırı tutulur.
+     */
+    @Transaction
+    suspend fun replaceFixtureSnapshot(fixture: SwissFixture) {
+        deleteFixture(fixture.sessionId)
+        insertOrUpdateFixture(fixture)
+        deleteFixtureEventsUpTo(fixture.sessionId, fixture.lastEventId)
+    }
+    
+    // Swiss Fixture journal operations
+    @Insert
+    suspend fun insertFixtureEvent(event: SwissFixtureEvent): Long
+    
+    @Insert
+    suspend fun insertFixtureEvents(events: List<SwissFixtureEvent>)
+    
+    @Query("SELECT COALESCE(MAX(id), 0) FROM swiss_fixture_events WHERE sessionId = :sessionId")
+    suspend fun getLastFixtureEventId(sessionId: Long): Long
+    
+    @Query("SELECT * FROM swiss_fixture_events WHERE sessionId = :sessionId AND id > :afterId ORDER BY id")
+    suspend fun getFixtureEventsAfter(sessionId: Long, afterId: Long): List<SwissFixtureEvent>
+    
+    @Query("DELETE FROM swiss_fixture_events WHERE sessionId = :sessionId AND id <= :upToId")
+    suspend fun deleteFixtureEventsUpTo(sessionId: Long, upToId: Long)
+    
+    @Query("DELETE FROM swiss_fixture_events WHERE sessionId = :sessionId")
+    suspend fun deleteFixtureEvents(sessionId: Long)
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.example.ranking.logging
+
+import android.util.Log
+
+/**
+ * ranking-core motorlarının loglarını logcat'e yönlendirir.
+ */
+object AndroidRankingLogger : RankingLogger {
+    override fun d(tag: String, message: String) {
+        Log.d(tag, message)
+    }
+
+    override fun w(tag: String, message: String) {
+        Log.w(tag, message)
+    }
+
+    override fun e(tag: String, message: String, throwable: Throwable?) {
+        Log.e(tag, message, throwable)
+    }
+}
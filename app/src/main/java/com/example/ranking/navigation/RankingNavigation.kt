@@ -8,6 +8,9 @@ import androidx.navigation.compose.rememberNavController
 import androidx.navigation.NavType
 import androidx.navigation.navArgument
 import com.example.ranking.ui.screens.*
+import com.example.ranking.ui.viewmodel.DEFAULT_ADAPTIVE_CONFIDENCE
+import com.example.ranking.ui.viewmodel.DEFAULT_CONVERGENCE_TOLERANCE
+import com.example.ranking.ui.viewmodel.DEFAULT_TOP_K
 
 @Composable
 fun RankingNavigation(
@@ -22,7 +25,8 @@ fun RankingNavigation(
                 onNavigateToCreateList = { navController.navigate("create_list") },
                 onNavigateToSongList = { listId -> navController.navigate("song_list/$listId") },
                 onNavigateToArchive = { navController.navigate("archive") },
-                onNavigateToTest = { navController.navigate("test") }
+                onNavigateToTest = { navController.navigate("test") },
+                onNavigateToMetrics = { navController.navigate("metrics") }
             )
         }
         
@@ -50,6 +54,15 @@ fun RankingNavigation(
                 },
                 onNavigateToEmrePairingSettings = { id ->
                     navController.navigate("emre_pairing_settings/$id")
+                },
+                onNavigateToTopK = { id, k ->
+                    navController.navigate("ranking/$id/TOP_K?topK=$k")
+                },
+                onNavigateToAdaptive = { id, confidence ->
+                    navController.navigate("ranking/$id/ADAPTIVE?confidence=$confidence")
+                },
+                onNavigateToSwiss = { id, topN, tolerance ->
+                    navController.navigate("ranking/$id/SWISS?convergenceTopN=$topN&convergenceTolerance=$tolerance")
                 }
             )
         }
@@ -92,21 +105,45 @@ fun RankingNavigation(
         }
 
         composable(
-            "ranking/{listId}/{method}?pairingMethod={pairingMethod}",
+            "ranking/{listId}/{method}?pairingMethod={pairingMethod}&topK={topK}&confidence={confidence}&convergenceTopN={convergenceTopN}&convergenceTolerance={convergenceTolerance}",
             arguments = listOf(
                 navArgument("pairingMethod") { 
                     type = NavType.StringType
                     defaultValue = "SEQUENTIAL"
+                },
+                navArgument("topK") {
+                    type = NavType.IntType
+                    defaultValue = DEFAULT_TOP_K
+                },
+                navArgument("confidence") {
+                    type = NavType.IntType
+                    defaultValue = DEFAULT_ADAPTIVE_CONFIDENCE
+                },
+                navArgument("convergenceTopN") {
+                    type = NavType.IntType
+                    defaultValue = 0
+                },
+                navArgument("convergenceTolerance") {
+                    type = NavType.IntType
+                    defaultValue = DEFAULT_CONVERGENCE_TOLERANCE
                 }
             )
         ) { backStackEntry ->
             val listId = backStackEntry.arguments?.getString("listId")?.toLongOrNull() ?: 0L
             val method = backStackEntry.arguments?.getString("method") ?: ""
             val pairingMethodName = backStackEntry.arguments?.getString("pairingMethod") ?: "SEQUENTIAL"
+            val topK = backStackEntry.arguments?.getInt("topK") ?: DEFAULT_TOP_K
+            val confidence = backStackEntry.arguments?.getInt("confidence") ?: DEFAULT_ADAPTIVE_CONFIDENCE
+            val convergenceTopN = backStackEntry.arguments?.getInt("convergenceTopN") ?: 0
+            val convergenceTolerance = backStackEntry.arguments?.getInt("convergenceTolerance") ?: DEFAULT_CONVERGENCE_TOLERANCE
             RankingScreen(
                 listId = listId,
                 method = method,
                 pairingMethodName = pairingMethodName,
+                topK = topK,
+                confidence = confidence,
+                convergenceTopN = convergenceTopN,
+                convergenceTolerance = convergenceTolerance,
                 onNavigateBack = { navController.popBackStack() },
                 onNavigateToResults = { id, m -> 
                     navController.navigate("results/$id/$m")
@@ -139,5 +176,11 @@ fun RankingNavigation(
         composable("test") {
             TestScreen()
         }
+        
+        composable("metrics") {
+            MetricsScreen(
+                onNavigateBack = { navController.popBackStack() }
+            )
+        }
     }
 }
\ No newline at end of file
@@ -2,11 +2,26 @@ package com.example.ranking.repository
 
 import android.content.Context
 import android.net.Uri
-import android.util.Log
 import com.example.ranking.data.*
 import com.example.ranking.data.dao.*
+import com.example.ranking.ranking.PairwiseJudgments
+import com.example.ranking.ranking.Scoring
+import com.example.ranking.ranking.SongIndex
+import com.example.ranking.ranking.SwissFixtureJournal
+import com.example.ranking.ranking.TournamentState
 import com.example.ranking.utils.CsvReader
+import com.example.ranking.utils.ImportProgress
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.asSharedFlow
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.withContext
+import com.example.ranking.logging.RankingLog
+import com.example.ranking.metrics.RankingMetrics
 
 class RankingRepository(
     private val songDao: SongDao,
@@ -17,9 +32,32 @@ class RankingRepository(
     private val archiveDao: ArchiveDao,
     private val csvReader: CsvReader,
     private val swissStateDao: SwissStateDao? = null,
-    private val swissMatchStateDao: SwissMatchStateDao? = null
+    private val swissMatchStateDao: SwissMatchStateDao? = null,
+    private val emreStateDao: EmreStateDao? = null,
+    private val pairwiseJudgmentDao: PairwiseJudgmentDao? = null
 ) {
     
+    private val log = RankingLog.channel("RankingRepository")
+    
+    // DAO gecikmesi; metrik ekranında "db.<işlem>" olarak görünür. Her çağrıda ad
+    // birleştirip aramamak için zamanlayıcılar alanda tutulur.
+    private val matchesAllTimer = RankingMetrics.timer("db.matches.all")
+    private val matchesNextTimer = RankingMetrics.timer("db.matches.next")
+    private val matchesUpdateTimer = RankingMetrics.timer("db.matches.update")
+    private val matchesInsertTimer = RankingMetrics.timer("db.matches.insert")
+    private val matchesRoundTimer = RankingMetrics.timer("db.matches.round")
+    private val matchesInsertRoundTimer = RankingMetrics.timer("db.matches.insert_round")
+    private val matchesProgressTimer = RankingMetrics.timer("db.matches.progress")
+    private val emreStateSaveTimer = RankingMetrics.timer("db.emre_state.save")
+    private val emreStateLoadTimer = RankingMetrics.timer("db.emre_state.load")
+    private val judgmentsLoadTimer = RankingMetrics.timer("db.judgments.load")
+    private val judgmentsSaveTimer = RankingMetrics.timer("db.judgments.save")
+    private val swissMatchStateSaveTimer = RankingMetrics.timer("db.swiss_match_state.save")
+    private val swissFixtureSnapshotTimer = RankingMetrics.timer("db.swiss_fixture.snapshot")
+    private val swissFixtureAppendTimer = RankingMetrics.timer("db.swiss_fixture.append")
+    private val swissFixtureLoadTimer = RankingMetrics.timer("db.swiss_fixture.load")
+    private val swissFixtureLoadTailTimer = RankingMetrics.timer("db.swiss_fixture.load_tail")
+    
     // Song List operations
     fun getAllSongLists(): Flow<List<SongList>> = songListDao.getAllSongLists()
     
@@ -33,6 +71,7 @@ class RankingRepository(
     suspend fun deleteSongList(songList: SongList) {
         songDao.deleteSongsByListId(songList.id)
         rankingResultDao.deleteAllRankingResults(songList.id)
+        pairwiseJudgmentDao?.deleteJudgmentsByList(songList.id)
         songListDao.deleteSongList(songList)
     }
     
@@ -48,35 +87,83 @@ class RankingRepository(
         return songId
     }
     
-    suspend fun importSongsFromCsv(context: Context, listId: Long, uri: Uri) {
+    /**
+     * CSV dosyasını akış halinde içe aktarır: satırlar [chunkSize]'lık parçalar halinde
+     * okunur ve her parça tek bir insert işlemiyle (tek transaction) yazılır. Her parçadan
+     * sonra bir [ImportProgress] yayınlanır; son öğe `isComplete = true` taşır.
+     *
+     * Parçalar ayrı transaction'lardır: hata ya da iptalde bu içe aktarmanın eklediği
+     * satırlar silinir, liste yarım kalmaz.
+     */
+    fun importSongsFromCsvWithProgress(
+        context: Context,
+        listId: Long,
+        uri: Uri,
+        chunkSize: Int = CsvReader.DEFAULT_CHUNK_SIZE
+    ): Flow<ImportProgress> = flow {
+        log.d { "CSV okuma başlıyor: $uri" }
+        val totalBytes = try {
+            context.contentResolver.openAssetFileDescriptor(uri, "r")?.use { it.length } ?: -1L
+        } catch (e: Exception) {
+            -1L
+        }
+        val startNanos = System.nanoTime()
+        val lastIdBefore = songDao.getMaxSongId() ?: 0L
+        var imported = 0
+        var lastBytes = 0L
+        
         try {
-            Log.d("RankingRepository", "CSV okuma başlıyor: $uri")
-            val csvSongs = csvReader.readCsvFromUri(context, uri)
-            Log.d("RankingRepository", "CSV'den ${csvSongs.size} öğe okundu")
+            val inputStream = context.contentResolver.openInputStream(uri)
+                ?: throw Exception("Dosya açılamadı. Dosya erişim izni olmayabilir.")
             
-            if (csvSongs.isEmpty()) {
-                throw Exception("CSV dosyasında öğe bulunamadı")
+            inputStream.use { stream ->
+                csvReader.readCsvInChunks(stream, chunkSize) { chunk, bytesRead ->
+                    songDao.insertSongs(chunk.map { csvSong ->
+                        Song(
+                            name = csvSong.name,
+                            artist = csvSong.artist,
+                            album = csvSong.album,
+                            trackNumber = csvSong.trackNumber,
+                            listId = listId
+                        )
+                    })
+                    imported += chunk.size
+                    lastBytes = bytesRead
+                    emit(ImportProgress(imported, bytesRead, totalBytes, rowsPerSecond(imported, startNanos)))
+                }
             }
             
-            val songs = csvSongs.map { csvSong ->
-                Song(
-                    name = csvSong.name, 
-                    artist = csvSong.artist, 
-                    album = csvSong.album,
-                    trackNumber = csvSong.trackNumber,
-                    listId = listId
-                )
+            if (imported == 0) {
+                throw Exception("CSV dosyasında öğe bulunamadı")
             }
             
-            Log.d("RankingRepository", "Öğeler veritabanına kaydediliyor...")
-            songDao.insertSongs(songs)
             updateSongCount(listId)
-            Log.d("RankingRepository", "CSV import işlemi tamamlandı")
-            
+            log.d { "CSV import işlemi tamamlandı: $imported öğe" }
+            emit(
+                ImportProgress(
+                    rowsImported = imported,
+                    bytesRead = lastBytes,
+                    totalBytes = totalBytes,
+                    rowsPerSecond = rowsPerSecond(imported, startNanos),
+                    isComplete = true
+                )
+            )
         } catch (e: Exception) {
-            Log.e("RankingRepository", "CSV import hatası: ${e.message}", e)
+            log.e(e) { "CSV import hatası: ${e.message}" }
+            if (imported > 0) {
+                withContext(NonCancellable) {
+                    songDao.deleteSongsAddedAfter(listId, lastIdBefore)
+                    updateSongCount(listId)
+                }
+                log.d { "Yarım kalan içe aktarma geri alındı: $imported öğe silindi" }
+            }
             throw e
         }
+    }.flowOn(Dispatchers.IO)
+    
+    private fun rowsPerSecond(rows: Int, startNanos: Long): Double {
+        val elapsed = (System.nanoTime() - startNanos) / 1_000_000_000.0
+        return if (elapsed > 0) rows / elapsed else 0.0
     }
     
     private suspend fun updateSongCount(listId: Long) {
@@ -107,17 +194,37 @@ class RankingRepository(
         matchDao.getMatchesByListAndMethod(listId, method)
     
     suspend fun getMatchesByListAndMethodSync(listId: Long, method: String): List<Match> =
-        matchDao.getMatchesByListAndMethodSync(listId, method)
+        matchesAllTimer.time { matchDao.getMatchesByListAndMethodSync(listId, method) }
     
     suspend fun getNextUncompletedMatch(listId: Long, method: String): Match? =
-        matchDao.getNextUncompletedMatch(listId, method)
+        matchesNextTimer.time { matchDao.getNextUncompletedMatch(listId, method) }
     
+    /**
+     * Fikstür ekranından maç düzenlemesi. Düzenleme [matchEdits] ile yayınlanır ki açık
+     * oylama ekranının canlı tablosu yeniden kurulmadan güncellensin.
+     */
     suspend fun updateMatch(match: Match) {
-        matchDao.updateMatch(match)
+        matchesUpdateTimer.time { matchDao.updateMatch(match) }
+        _matchEdits.emit(match)
     }
     
+    /**
+     * Oylanan maçı kaydet. Sanal lig fikstürünün maçları (id = 0) ilk sonuçta eklenir,
+     * satırı olan maçlar güncellenir. Kaydedilen maç (yeni id ile) döner.
+     */
+    suspend fun saveMatchResult(match: Match): Match {
+        if (match.id == 0L) {
+            return match.copy(id = matchesInsertTimer.time { matchDao.insertMatch(match) })
+        }
+        matchesUpdateTimer.time { matchDao.updateMatch(match) }
+        return match
+    }
+    
+    suspend fun getMatchesByRound(listId: Long, method: String, round: Int): List<Match> =
+        matchesRoundTimer.time { matchDao.getMatchesByRound(listId, method, round) }
+    
     suspend fun createMatches(matches: List<Match>) {
-        matchDao.insertMatches(matches)
+        matchesInsertRoundTimer.time { matchDao.insertMatches(matches) }
     }
     
     suspend fun clearMatches(listId: Long, method: String) {
@@ -125,9 +232,8 @@ class RankingRepository(
     }
     
     suspend fun getMatchProgress(listId: Long, method: String): Pair<Int, Int> {
-        val completed = matchDao.getCompletedMatchCount(listId, method)
-        val total = matchDao.getTotalMatchCount(listId, method)
-        return Pair(completed, total)
+        val progress = matchesProgressTimer.time { matchDao.getMatchProgress(listId, method) }
+        return Pair(progress.completed, progress.total)
     }
     
     // League Settings operations
@@ -161,7 +267,7 @@ class RankingRepository(
         currentRound: Int,
         maxRounds: Int,
         standings: Map<Long, Double>,
-        pairingHistory: Set<Pair<Long, Long>>,
+        pairingHistory: com.example.ranking.ranking.PairingHistory,
         roundHistory: List<com.example.ranking.data.RoundResult>
     ): Long? {
         return swissStateDao?.let { dao ->
@@ -199,6 +305,48 @@ class RankingRepository(
         swissStateDao?.deleteSwissStateBySession(sessionId)
     }
     
+    // Emre state snapshot operations
+    suspend fun saveEmreState(sessionId: Long, state: com.example.ranking.ranking.EmreSystemCorrect.EmreState) {
+        val dao = emreStateDao ?: return
+        val snapshot = EmreStateSnapshot(
+            sessionId = sessionId,
+            currentRound = state.currentRound,
+            teamCount = state.teams.size,
+            stateData = com.example.ranking.utils.EmreStateSerializer.serializeState(state)
+        )
+        emreStateSaveTimer.time { dao.insertOrUpdateEmreState(snapshot) }
+    }
+    
+    /**
+     * Kayıtlı Emre durumu; yoksa ya da liste değiştiği için çözülemiyorsa null
+     * (çağıran taraf maç geçmişinden yeniden kurar).
+     */
+    suspend fun loadEmreState(sessionId: Long, songs: List<Song>): com.example.ranking.ranking.EmreSystemCorrect.EmreState? {
+        val dao = emreStateDao ?: return null
+        val snapshot = emreStateLoadTimer.time { dao.getEmreStateBySession(sessionId) } ?: return null
+        return try {
+            com.example.ranking.utils.EmreStateSerializer.deserializeState(snapshot.stateData, songs)
+        } catch (e: IllegalArgumentException) {
+            log.w { "Emre anlık görüntüsü okunamadı (oturum $sessionId): ${e.message}" }
+            null
+        }
+    }
+    
+    suspend fun deleteEmreState(sessionId: Long) {
+        emreStateDao?.deleteEmreStateBySession(sessionId)
+    }
+    
+    // Pairwise judgment operations (yöntemler arası ortak oy deposu)
+    suspend fun getPairwiseJudgments(listId: Long): PairwiseJudgments {
+        val dao = pairwiseJudgmentDao ?: return PairwiseJudgments(listId)
+        return PairwiseJudgments.of(listId, judgmentsLoadTimer.time { dao.getJudgmentsByList(listId) })
+    }
+    
+    suspend fun savePairwiseJudgment(judgment: PairwiseJudgment) {
+        val dao = pairwiseJudgmentDao ?: return
+        judgmentsSaveTimer.time { dao.upsertJudgment(judgment) }
+    }
+    
     // Advanced Swiss Match State operations - Real-time persistence
     suspend fun saveCurrentMatchState(
         sessionId: Long,
@@ -224,7 +372,7 @@ class RankingRepository(
                 preliminaryScore2 = preliminaryScore2,
                 lastUpdateTime = System.currentTimeMillis()
             )
-            dao.insertOrUpdateMatchState(matchState)
+            swissMatchStateSaveTimer.time { dao.insertOrUpdateMatchState(matchState) }
         }
     }
     
@@ -256,24 +404,21 @@ class RankingRepository(
         swissMatchStateDao?.markAllMatchesComplete(sessionId)
     }
     
+    /**
+     * Fikstürün tam anlık görüntüsünü yaz ve günlüğü kısalt. Tur başına bir kez
+     * (yeni tur eşleştirmeleri eklendikten sonra) çağrılır; oy başına yazım
+     * [appendFixtureEvent] ile yapılır.
+     */
     suspend fun saveCompleteFixture(
         sessionId: Long,
         currentRound: Int,
         totalRounds: Int,
         allMatches: List<Match>,
-        currentStandings: Map<Long, Double>
+        currentStandings: Map<Long, Double>,
+        lastEventId: Long = 0
     ) {
         swissMatchStateDao?.let { dao ->
-            // Create fixture data
-            val fixtureData = com.example.ranking.utils.SwissFixtureData(
-                allMatches = allMatches,
-                currentRoundMatches = allMatches.filter { it.round == currentRound },
-                completedMatches = allMatches.filter { it.isCompleted },
-                upcomingMatches = allMatches.filter { !it.isCompleted },
-                roundsData = createRoundsData(allMatches, currentStandings)
-            )
-            
-            // Create live standings
+            val fixtureData = SwissFixtureJournal.snapshot(allMatches, currentRound, currentStandings)
             val liveStandings = createLiveStandings(allMatches, currentStandings)
             
             val fixture = SwissFixture(
@@ -283,70 +428,85 @@ class RankingRepository(
                 fixtureData = com.example.ranking.utils.SwissFixtureSerializer.serializeFixtureData(fixtureData),
                 currentStandings = com.example.ranking.utils.SwissFixtureSerializer.serializeLiveStandings(liveStandings),
                 nextMatchIndex = allMatches.indexOfFirst { !it.isCompleted },
-                isRoundComplete = allMatches.filter { it.round == currentRound }.all { it.isCompleted },
+                isRoundComplete = fixtureData.currentRoundMatches.all { it.isCompleted },
+                lastEventId = lastEventId,
                 lastUpdated = System.currentTimeMillis()
             )
             
-            dao.insertOrUpdateFixture(fixture)
+            swissFixtureSnapshotTimer.time { dao.replaceFixtureSnapshot(fixture) }
         }
     }
     
+    /**
+     * Günlüğü anlık görüntüye katla: maçlar veritabanından okunur, görüntü yazılır ve
+     * o ana kadarki günlük kayıtları silinir. Okumadan önce alınan son kayıt id'si
+     * sayesinde arada eklenen kayıtlar korunur.
+     */
+    suspend fun compactFixture(
+        sessionId: Long,
+        listId: Long,
+        method: String,
+        totalRounds: Int,
+        currentStandings: Map<Long, Double>
+    ) {
+        val dao = swissMatchStateDao ?: return
+        val lastEventId = dao.getLastFixtureEventId(sessionId)
+        val allMatches = matchDao.getMatchesByListAndMethodSync(listId, method)
+        val currentRound = allMatches.firstOrNull { !it.isCompleted }?.round
+            ?: allMatches.maxOfOrNull { it.round }
+            ?: 1
+        saveCompleteFixture(sessionId, currentRound, totalRounds, allMatches, currentStandings, lastEventId)
+    }
+    
+    /**
+     * Oy başına sabit maliyetli kalıcılık: yalnızca değişen maç günlüğe eklenir.
+     */
+    suspend fun appendFixtureEvent(sessionId: Long, match: Match) {
+        val dao = swissMatchStateDao ?: return
+        swissFixtureAppendTimer.time { dao.insertFixtureEvent(SwissFixtureEvent.of(sessionId, match)) }
+    }
+    
     suspend fun loadCompleteFixture(sessionId: Long): SwissFixture? {
         return swissMatchStateDao?.getFixture(sessionId)
     }
     
-    private fun createRoundsData(allMatches: List<Match>, currentStandings: Map<Long, Double>): Map<Int, com.example.ranking.utils.RoundData> {
-        val roundsData = mutableMapOf<Int, com.example.ranking.utils.RoundData>()
-        
-        val matchesByRound = allMatches.groupBy { it.round }
-        matchesByRound.forEach { (round, matches) ->
-            val isComplete = matches.all { it.isCompleted }
-            roundsData[round] = com.example.ranking.utils.RoundData(
-                roundNumber = round,
-                matches = matches,
-                isComplete = isComplete,
-                standingsAfterRound = if (isComplete) currentStandings else emptyMap()
-            )
+    /**
+     * Son anlık görüntü + günlük kuyruğu. Kayıt yoksa null.
+     */
+    suspend fun loadFixtureData(sessionId: Long): SwissFixtureData? {
+        val dao = swissMatchStateDao ?: return null
+        val fixture = swissFixtureLoadTimer.time { dao.getFixture(sessionId) }
+        val snapshot = fixture?.let {
+            com.example.ranking.utils.SwissFixtureSerializer.deserializeFixtureData(it.fixtureData)
         }
-        
-        return roundsData
+        val tail = swissFixtureLoadTailTimer.time { dao.getFixtureEventsAfter(sessionId, fixture?.lastEventId ?: 0) }
+        return SwissFixtureJournal.replay(snapshot, tail.map { it.toMatch() })
     }
     
-    private fun createLiveStandings(allMatches: List<Match>, currentStandings: Map<Long, Double>): com.example.ranking.utils.LiveStandings {
+    private fun createLiveStandings(allMatches: List<Match>, currentStandings: Map<Long, Double>): LiveStandings {
         // Get all unique song IDs
-        val allSongIds = mutableSetOf<Long>()
-        allMatches.forEach { match ->
-            allSongIds.add(match.songId1)
-            allSongIds.add(match.songId2)
+        val ids = LongArray(allMatches.size * 2)
+        allMatches.forEachIndexed { i, match ->
+            ids[2 * i] = match.songId1
+            ids[2 * i + 1] = match.songId2
         }
+        val index = SongIndex.fromIds(ids)
+        
+        // Calculate win/draw/loss stats - tek geçiş
+        val state = TournamentState(index, Scoring.SWISS).recordAll(allMatches)
         
         // Create ranking entries
-        val rankings = allSongIds.mapIndexed { index, songId ->
-            val points = currentStandings[songId] ?: 0.0
-            val matchesPlayed = allMatches.count { (it.songId1 == songId || it.songId2 == songId) && it.isCompleted }
-            
-            // Calculate win/draw/loss stats
-            var wins = 0
-            var draws = 0
-            var losses = 0
-            
-            allMatches.filter { it.isCompleted && (it.songId1 == songId || it.songId2 == songId) }.forEach { match ->
-                when (match.winnerId) {
-                    songId -> wins++
-                    null -> draws++
-                    else -> losses++
-                }
-            }
-            
-            com.example.ranking.utils.RankingEntry(
+        val rankings = (0 until index.size).map { slot ->
+            val songId = index.idAt(slot)
+            RankingEntry(
                 songId = songId,
                 songName = "Song $songId", // Will be populated by caller
-                points = points,
-                position = index + 1, // Will be recalculated
-                matchesPlayed = matchesPlayed,
-                wins = wins,
-                draws = draws,
-                losses = losses
+                points = currentStandings[songId] ?: 0.0,
+                position = slot + 1, // Will be recalculated
+                matchesPlayed = state.played[slot],
+                wins = state.wins[slot],
+                draws = state.draws[slot],
+                losses = state.losses[slot]
             )
         }.sortedByDescending { it.points }.mapIndexed { index, entry ->
             entry.copy(position = index + 1)
@@ -356,23 +516,10 @@ class RankingRepository(
         val roundByRoundProgress = mutableMapOf<Int, Map<Long, Double>>()
         val matchesByRound = allMatches.groupBy { it.round }
         matchesByRound.forEach { (round, matches) ->
-            val roundPoints = mutableMapOf<Long, Double>()
-            allSongIds.forEach { songId -> roundPoints[songId] = 0.0 }
-            
-            matches.filter { it.isCompleted }.forEach { match ->
-                when (match.winnerId) {
-                    match.songId1 -> roundPoints[match.songId1] = roundPoints[match.songId1]!! + 1.0
-                    match.songId2 -> roundPoints[match.songId2] = roundPoints[match.songId2]!! + 1.0
-                    null -> {
-                        roundPoints[match.songId1] = roundPoints[match.songId1]!! + 0.5
-                        roundPoints[match.songId2] = roundPoints[match.songId2]!! + 0.5
-                    }
-                }
-            }
-            roundByRoundProgress[round] = roundPoints
+            roundByRoundProgress[round] = TournamentState(index, Scoring.SWISS).recordAll(matches).toPointsMap()
         }
         
-        return com.example.ranking.utils.LiveStandings(
+        return LiveStandings(
             currentStandings = currentStandings,
             rankings = rankings,
             roundByRoundProgress = roundByRoundProgress
@@ -382,5 +529,12 @@ class RankingRepository(
     suspend fun deleteAllSwissMatchStates(sessionId: Long) {
         swissMatchStateDao?.deleteAllMatchStates(sessionId)
         swissMatchStateDao?.deleteFixture(sessionId)
+        swissMatchStateDao?.deleteFixtureEvents(sessionId)
+    }
+    
+    companion object {
+        // Ekranlar ayrı depo nesneleri kullanır; düzenlemeler süreç genelinde paylaşılır
+        private val _matchEdits = MutableSharedFlow<Match>(extraBufferCapacity = 64)
+        val matchEdits: SharedFlow<Match> = _matchEdits.asSharedFlow()
     }
-}
\ No newline at end of file
+}
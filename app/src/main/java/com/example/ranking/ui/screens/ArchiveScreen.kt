@@ -555,6 +555,9 @@ private fun getMethodDisplayName(method: String): String {
         "ELIMINATION" -> "Eleme"
         "SWISS" -> "İsviçre"
         "EMRE_CORRECT" -> "Geliştirilmiş İsviçre"
+        "MERGE_SORT" -> "Birleştirmeli Sıralama"
+        "TOP_K" -> "İlk K"
+        "ADAPTIVE" -> "Uyarlanır"
         "DIRECT_SCORING" -> "Direkt Puanlama"
         else -> method
     }
@@ -35,6 +35,7 @@ fun CreateListScreen(
     var selectedFileUri by remember { mutableStateOf<Uri?>(null) }
     var isLoading by remember { mutableStateOf(false) }
     var errorMessage by remember { mutableStateOf<String?>(null) }
+    val importProgress by viewModel.importProgress.collectAsState()
     
     val csvLauncher = rememberLauncherForActivityResult(
         contract = ActivityResultContracts.GetContent()
@@ -234,6 +235,26 @@ fun CreateListScreen(
                 }
                 Text("Liste Oluştur")
             }
+            
+            // CSV içe aktarım ilerlemesi
+            val progress = importProgress
+            if (isLoading && selectedOption == "csv" && progress != null) {
+                Spacer(modifier = Modifier.height(16.dp))
+                val fraction = progress.fraction
+                if (fraction != null) {
+                    LinearProgressIndicator(
+                        progress = { fraction },
+                        modifier = Modifier.fillMaxWidth()
+                    )
+                } else {
+                    LinearProgressIndicator(modifier = Modifier.fillMaxWidth())
+                }
+                Spacer(modifier = Modifier.height(8.dp))
+                Text(
+                    text = "${progress.rowsImported} öğe aktarıldı (${progress.rowsPerSecond.toInt()} satır/sn)",
+                    style = MaterialTheme.typography.bodySmall
+                )
+            }
         }
     }
 }
\ No newline at end of file
@@ -128,6 +128,34 @@ fun FixtureScreen(
             
             Spacer(modifier = Modifier.height(16.dp))
             
+            // Lig fikstürü hafta hafta sayfalanır
+            if (uiState.roundCount > 0) {
+                Row(
+                    modifier = Modifier.fillMaxWidth(),
+                    horizontalArrangement = Arrangement.SpaceBetween,
+                    verticalAlignment = Alignment.CenterVertically
+                ) {
+                    TextButton(
+                        onClick = { viewModel.showRound(uiState.currentRound - 1) },
+                        enabled = uiState.currentRound > 1
+                    ) {
+                        Text("Önceki")
+                    }
+                    Text(
+                        text = "Hafta ${uiState.currentRound} / ${uiState.roundCount}",
+                        style = MaterialTheme.typography.bodyMedium
+                    )
+                    TextButton(
+                        onClick = { viewModel.showRound(uiState.currentRound + 1) },
+                        enabled = uiState.currentRound < uiState.roundCount
+                    ) {
+                        Text("Sonraki")
+                    }
+                }
+                
+                Spacer(modifier = Modifier.height(8.dp))
+            }
+            
             // Group matches by round for all methods
             val matchesByRound = uiState.matches.groupBy { it.round }.toSortedMap()
             
@@ -138,7 +166,7 @@ fun FixtureScreen(
                     item {
                         val roundTitle = when (method) {
                             "LEAGUE" -> {
-                                val maxRound = matchesByRound.keys.maxOrNull() ?: 1
+                                val maxRound = if (uiState.roundCount > 0) uiState.roundCount else matchesByRound.keys.maxOrNull() ?: 1
                                 val firstHalfRounds = (maxRound + 1) / 2
                                 if (round <= firstHalfRounds) {
                                     "Hafta $round"
@@ -527,6 +555,9 @@ private fun getMethodTitle(method: String): String {
         "ELIMINATION" -> "Eleme Sistemi"
         "SWISS" -> "İsviçre Sistemi"
         "EMRE_CORRECT" -> "Emre Usulü"
+        "MERGE_SORT" -> "Birleştirmeli Sıralama"
+        "TOP_K" -> "İlk K Seçimi"
+        "ADAPTIVE" -> "Uyarlanır Sıralama"
         else -> "Sıralama"
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.Add
 import androidx.compose.material.icons.filled.List
 import androidx.compose.material.icons.filled.Delete
+import androidx.compose.material.icons.filled.Info
 import androidx.compose.material.icons.filled.Settings
 import androidx.compose.material3.*
 import androidx.compose.runtime.*
@@ -24,6 +25,7 @@ fun HomeScreen(
     onNavigateToSongList: (Long) -> Unit,
     onNavigateToArchive: () -> Unit,
     onNavigateToTest: () -> Unit = {},
+    onNavigateToMetrics: () -> Unit = {},
     viewModel: HomeViewModel = viewModel()
 ) {
     val songLists by viewModel.songLists.collectAsState()
@@ -51,6 +53,9 @@ fun HomeScreen(
                 IconButton(onClick = onNavigateToTest) {
                     Icon(Icons.Default.Settings, contentDescription = "Test")
                 }
+                IconButton(onClick = onNavigateToMetrics) {
+                    Icon(Icons.Default.Info, contentDescription = "Performans Metrikleri")
+                }
                 FloatingActionButton(
                     onClick = onNavigateToCreateList,
                     modifier = Modifier.size(56.dp)
@@ -0,0 +1,156 @@
+package com.example.ranking.ui.screens
+
+import android.content.Intent
+import androidx.compose.foundation.layout.*
+import androidx.compose.foundation.lazy.LazyColumn
+import androidx.compose.foundation.lazy.items
+import androidx.compose.material.icons.Icons
+import androidx.compose.material.icons.filled.ArrowBack
+import androidx.compose.material.icons.filled.Delete
+import androidx.compose.material.icons.filled.Share
+import androidx.compose.material3.*
+import androidx.compose.runtime.*
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.platform.LocalContext
+import androidx.compose.ui.text.font.FontFamily
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.unit.dp
+import androidx.compose.ui.unit.sp
+import com.example.ranking.RankingApplication
+import com.example.ranking.metrics.HistogramSnapshot
+import com.example.ranking.metrics.MetricsSnapshot
+import com.example.ranking.metrics.RankingMetrics
+import kotlinx.coroutines.delay
+import java.util.Locale
+
+/**
+ * Hata ayıklama: eşleştirme süreleri, veritabanı gecikmesi ve oy temposu.
+ * Ekran açıkken saniyede bir yenilenir; paylaş düğmesi JSON olarak dışa aktarır,
+ * "Loglar" düğmesi bellekteki son log kayıtlarını metin olarak paylaşır.
+ */
+@OptIn(ExperimentalMaterial3Api::class)
+@Composable
+fun MetricsScreen(
+    onNavigateBack: () -> Unit
+) {
+    val context = LocalContext.current
+    var snapshot by remember { mutableStateOf(RankingMetrics.snapshot()) }
+
+    LaunchedEffect(Unit) {
+        while (true) {
+            snapshot = RankingMetrics.snapshot()
+            delay(1000)
+        }
+    }
+
+    Scaffold(
+        topBar = {
+            TopAppBar(
+                title = { Text("Performans Metrikleri") },
+                navigationIcon = {
+                    IconButton(onClick = onNavigateBack) {
+                        Icon(Icons.Default.ArrowBack, contentDescription = "Geri")
+                    }
+                },
+                actions = {
+                    TextButton(onClick = {
+                        val dump = RankingApplication.logBuffer?.dump().orEmpty()
+                        val intent = Intent(Intent.ACTION_SEND).apply {
+                            type = "text/plain"
+                            putExtra(Intent.EXTRA_SUBJECT, "ranking-log.txt")
+                            putExtra(Intent.EXTRA_TEXT, dump.ifEmpty { "Log kaydı yok" })
+                        }
+                        context.startActivity(Intent.createChooser(intent, "Logları paylaş"))
+                    }) {
+                        Text("Loglar")
+                    }
+                    IconButton(onClick = {
+                        val intent = Intent(Intent.ACTION_SEND).apply {
+                            type = "application/json"
+                            putExtra(Intent.EXTRA_SUBJECT, "ranking-metrics.json")
+                            putExtra(Intent.EXTRA_TEXT, RankingMetrics.snapshot().toJson())
+                        }
+                        context.startActivity(Intent.createChooser(intent, "Metrikleri dışa aktar"))
+                    }) {
+                        Icon(Icons.Default.Share, contentDescription = "JSON olarak dışa aktar")
+                    }
+                    IconButton(onClick = {
+                        RankingMetrics.reset()
+                        snapshot = RankingMetrics.snapshot()
+                    }) {
+                        Icon(Icons.Default.Delete, contentDescription = "Sıfırla")
+                    }
+                }
+            )
+        }
+    ) { paddingValues ->
+        LazyColumn(
+            modifier = Modifier
+                .fillMaxSize()
+                .padding(paddingValues)
+                .padding(horizontal = 16.dp),
+            verticalArrangement = Arrangement.spacedBy(4.dp)
+        ) {
+            item { VoteSummary(snapshot) }
+
+            if (snapshot.labels.isNotEmpty()) {
+                item { SectionTitle("Bağlam") }
+                items(snapshot.labels.entries.sortedBy { it.key }.toList()) { (key, value) ->
+                    MetricRow(key, value)
+                }
+            }
+
+            item { SectionTitle("Süreler (ms) - adet / p50 / p90 / en fazla") }
+            items(snapshot.timers.entries.sortedBy { it.key }.toList()) { (name, timer) ->
+                MetricRow(name, formatDistribution(timer, NANOS_PER_MILLI))
+            }
+
+            item { SectionTitle("Dağılımlar - adet / p50 / p90 / en fazla") }
+            items(snapshot.histograms.entries.sortedBy { it.key }.toList()) { (name, histogram) ->
+                MetricRow(name, formatDistribution(histogram, 1.0))
+            }
+
+            item { SectionTitle("Sayaçlar") }
+            items(snapshot.counters.entries.sortedBy { it.key }.toList()) { (name, count) ->
+                MetricRow(name, count.toString())
+            }
+        }
+    }
+}
+
+@Composable
+private fun VoteSummary(snapshot: MetricsSnapshot) {
+    val votes = snapshot.counters["vote.count"] ?: 0L
+    val interval = snapshot.histograms["vote.interval_ms"]
+    val votesPerMinute = if (interval != null && interval.count > 0) 60_000.0 / interval.mean else 0.0
+
+    Card(modifier = Modifier.fillMaxWidth().padding(vertical = 8.dp)) {
+        Column(modifier = Modifier.padding(16.dp)) {
+            Text("Oy temposu", fontWeight = FontWeight.Bold)
+            Text("$votes oy, dakikada ${String.format(Locale.US, "%.1f", votesPerMinute)} oy")
+        }
+    }
+}
+
+@Composable
+private fun SectionTitle(title: String) {
+    Text(
+        text = title,
+        style = MaterialTheme.typography.titleSmall,
+        fontWeight = FontWeight.Bold,
+        modifier = Modifier.padding(top = 12.dp, bottom = 4.dp)
+    )
+}
+
+@Composable
+private fun MetricRow(name: String, value: String) {
+    Row(modifier = Modifier.fillMaxWidth()) {
+        Text(name, fontSize = 12.sp, modifier = Modifier.weight(1f))
+        Text(value, fontSize = 12.sp, fontFamily = FontFamily.Monospace)
+    }
+}
+
+private fun formatDistribution(h: HistogramSnapshot, divisor: Double): String =
+    String.format(Locale.US, "%d / %.1f / %.1f / %.1f", h.count, h.p50 / divisor, h.p90 / divisor, h.max / divisor)
+
+private const val NANOS_PER_MILLI = 1_000_000.0
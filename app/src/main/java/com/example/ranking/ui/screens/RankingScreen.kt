@@ -22,6 +22,9 @@ import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.dp
 import androidx.lifecycle.viewmodel.compose.viewModel
 import com.example.ranking.data.Song
+import com.example.ranking.ui.viewmodel.DEFAULT_ADAPTIVE_CONFIDENCE
+import com.example.ranking.ui.viewmodel.DEFAULT_CONVERGENCE_TOLERANCE
+import com.example.ranking.ui.viewmodel.DEFAULT_TOP_K
 import com.example.ranking.ui.viewmodel.RankingViewModel
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -30,13 +33,17 @@ fun RankingScreen(
     listId: Long,
     method: String,
     pairingMethodName: String = "SEQUENTIAL",
+    topK: Int = DEFAULT_TOP_K,
+    confidence: Int = DEFAULT_ADAPTIVE_CONFIDENCE,
+    convergenceTopN: Int = 0,
+    convergenceTolerance: Int = DEFAULT_CONVERGENCE_TOLERANCE,
     onNavigateBack: () -> Unit,
     onNavigateToResults: (Long, String) -> Unit,
     onNavigateToFixture: (Long, String) -> Unit = { _, _ -> },
     viewModel: RankingViewModel = viewModel()
 ) {
-    LaunchedEffect(listId, method, pairingMethodName) {
-        viewModel.initializeRanking(listId, method, pairingMethodName)
+    LaunchedEffect(listId, method, pairingMethodName, topK, confidence, convergenceTopN, convergenceTolerance) {
+        viewModel.initializeRanking(listId, method, pairingMethodName, topK, confidence, convergenceTopN, convergenceTolerance)
     }
     
     val uiState by viewModel.uiState.collectAsState()
@@ -71,7 +78,7 @@ fun RankingScreen(
                     }
                 }
                 
-                if (method in listOf("LEAGUE", "SWISS", "EMRE_CORRECT", "ELIMINATION", "FULL_ELIMINATION")) {
+                if (method in listOf("LEAGUE", "SWISS", "EMRE_CORRECT", "ELIMINATION", "FULL_ELIMINATION", "MERGE_SORT", "TOP_K", "ADAPTIVE")) {
                     TextButton(
                         onClick = { onNavigateToFixture(listId, method) }
                     ) {
@@ -93,6 +100,25 @@ fun RankingScreen(
                         )
                     }
                 }
+                if (method in listOf("LEAGUE", "SWISS", "EMRE_CORRECT") && !uiState.isComplete) {
+                    var showForecast by remember { mutableStateOf(false) }
+                    TextButton(
+                        onClick = { showForecast = true }
+                    ) {
+                        Text("Tahmin")
+                    }
+                    
+                    if (showForecast) {
+                        ForecastDialog(
+                            uiState = uiState,
+                            onStart = { viewModel.forecastOutcomes() },
+                            onDismiss = {
+                                viewModel.cancelForecast()
+                                showForecast = false
+                            }
+                        )
+                    }
+                }
             }
         )
         
@@ -113,6 +139,43 @@ fun RankingScreen(
             Spacer(modifier = Modifier.height(16.dp))
         }
         
+        // Tur eşleştirmesi arka planda hesaplanıyor
+        uiState.computeProgress?.let { progress ->
+            Card(modifier = Modifier.fillMaxWidth()) {
+                Column(modifier = Modifier.padding(16.dp)) {
+                    Text(
+                        text = "${progress.stage}: ${progress.done} / ${progress.total}",
+                        style = MaterialTheme.typography.bodyMedium
+                    )
+                    Spacer(modifier = Modifier.height(8.dp))
+                    LinearProgressIndicator(
+                        progress = { progress.fraction },
+                        modifier = Modifier.fillMaxWidth()
+                    )
+                }
+            }
+            Spacer(modifier = Modifier.height(16.dp))
+        }
+        
+        // Başka yöntemlerde oylanmış ikililer tekrar sorulmaz
+        if (method != "DIRECT_SCORING") {
+            Row(
+                modifier = Modifier.fillMaxWidth(),
+                verticalAlignment = Alignment.CenterVertically
+            ) {
+                Text(
+                    text = "Önceki oyları kullan (${uiState.autoCompletedMatches + uiState.inferredMatches} ikili otomatik)",
+                    style = MaterialTheme.typography.bodyMedium,
+                    modifier = Modifier.weight(1f)
+                )
+                Switch(
+                    checked = uiState.reuseJudgments,
+                    onCheckedChange = viewModel::setReuseJudgments
+                )
+            }
+            Spacer(modifier = Modifier.height(8.dp))
+        }
+        
         when (method) {
             "DIRECT_SCORING" -> DirectScoringContent(
                 uiState = uiState,
@@ -139,6 +202,11 @@ fun RankingScreen(
                 onMatchResult = viewModel::submitMatchResult,
                 onComplete = { onNavigateToResults(listId, method) }
             )
+            "MERGE_SORT", "TOP_K", "ADAPTIVE" -> EliminationContent(
+                uiState = uiState,
+                onMatchResult = viewModel::submitMatchResult,
+                onComplete = { onNavigateToResults(listId, method) }
+            )
         }
     }
 }
@@ -431,6 +499,8 @@ private fun MatchBasedContent(
                 style = MaterialTheme.typography.headlineSmall,
                 fontWeight = FontWeight.Bold
             )
+            JudgmentSavingsSummary(uiState)
+            SwissConvergenceSummary(uiState)
             Spacer(modifier = Modifier.height(16.dp))
             Button(onClick = onComplete) {
                 Text("Sonuçları Görüntüle")
@@ -909,6 +979,110 @@ private fun StandingsDialog(
     )
 }
 
+/**
+ * Monte Carlo sonuç tahmini: şarkıların ilk sıralarda bitirme olasılıkları ve kalan tur.
+ * Dialog her açılışta güncel durumdan yeniden hesaplar.
+ */
+@Composable
+private fun ForecastDialog(
+    uiState: RankingViewModel.RankingUiState,
+    onStart: () -> Unit,
+    onDismiss: () -> Unit
+) {
+    LaunchedEffect(Unit) { onStart() }
+    val forecast = uiState.outcomeForecast
+    
+    AlertDialog(
+        onDismissRequest = onDismiss,
+        title = { Text("Sonuç Tahmini") },
+        text = {
+            if (uiState.isForecasting || forecast == null) {
+                Column(horizontalAlignment = Alignment.CenterHorizontally) {
+                    val progress = uiState.computeProgress
+                    if (progress != null) {
+                        LinearProgressIndicator(
+                            progress = { progress.fraction },
+                            modifier = Modifier.fillMaxWidth()
+                        )
+                        Spacer(modifier = Modifier.height(8.dp))
+                        Text("${progress.done} / ${progress.total} simülasyon")
+                    } else {
+                        CircularProgressIndicator()
+                    }
+                }
+            } else {
+                LazyColumn {
+                    item {
+                        Text(
+                            text = "${forecast.simulations} simülasyon · kalan tur ≈ ${String.format("%.1f", forecast.expectedRemainingRounds)}" +
+                                " (%90 olasılıkla en fazla ${forecast.likelyRemainingRounds})",
+                            style = MaterialTheme.typography.bodySmall
+                        )
+                        Spacer(modifier = Modifier.height(8.dp))
+                        Row(
+                            modifier = Modifier.fillMaxWidth(),
+                            horizontalArrangement = Arrangement.SpaceBetween
+                        ) {
+                            Text(
+                                text = "Öğe",
+                                fontWeight = FontWeight.Bold,
+                                modifier = Modifier.weight(2f)
+                            )
+                            forecast.rows.firstOrNull()?.probabilities?.indices?.forEach { position ->
+                                Text(
+                                    text = "${position + 1}.",
+                                    fontWeight = FontWeight.Bold,
+                                    modifier = Modifier.weight(0.7f),
+                                    textAlign = TextAlign.Center
+                                )
+                            }
+                            Text(
+                                text = "Ort.",
+                                fontWeight = FontWeight.Bold,
+                                modifier = Modifier.weight(0.7f),
+                                textAlign = TextAlign.Center
+                            )
+                        }
+                    }
+                    
+                    items(forecast.rows) { row ->
+                        Row(
+                            modifier = Modifier
+                                .fillMaxWidth()
+                                .padding(vertical = 4.dp),
+                            horizontalArrangement = Arrangement.SpaceBetween
+                        ) {
+                            Text(
+                                text = row.song.name,
+                                modifier = Modifier.weight(2f),
+                                maxLines = 1,
+                                overflow = TextOverflow.Ellipsis
+                            )
+                            row.probabilities.forEach { probability ->
+                                Text(
+                                    text = "%${Math.round(probability * 100)}",
+                                    modifier = Modifier.weight(0.7f),
+                                    textAlign = TextAlign.Center
+                                )
+                            }
+                            Text(
+                                text = String.format("%.1f", row.expectedPosition),
+                                modifier = Modifier.weight(0.7f),
+                                textAlign = TextAlign.Center
+                            )
+                        }
+                    }
+                }
+            }
+        },
+        confirmButton = {
+            TextButton(onClick = onDismiss) {
+                Text("Kapat")
+            }
+        }
+    )
+}
+
 @Composable
 private fun InitialRankingContent(
     uiState: RankingViewModel.RankingUiState,
@@ -1284,6 +1458,55 @@ private fun getMethodTitle(method: String): String {
         "FULL_ELIMINATION" -> "Tam Eleme Sistemi"
         "SWISS" -> "İsviçre Sistemi"
         "EMRE_CORRECT" -> "Geliştirilmiş İsviçre Sistemi"
+        "MERGE_SORT" -> "Birleştirmeli Sıralama"
+        "TOP_K" -> "İlk K Seçimi"
+        "ADAPTIVE" -> "Uyarlanır Sıralama"
         else -> "Sıralama"
     }
-}
\ No newline at end of file
+}
+
+/**
+ * Oturum özeti: sorulmadan tamamlanan maçlar (önceki oylar, geçişli çıkarım) ve çelişkili oylar.
+ */
+@Composable
+private fun JudgmentSavingsSummary(uiState: RankingViewModel.RankingUiState) {
+    val saved = uiState.autoCompletedMatches + uiState.inferredMatches
+    if (saved == 0 && uiState.contradictions == 0) return
+    
+    Spacer(modifier = Modifier.height(8.dp))
+    if (saved > 0) {
+        Text(
+            text = "$saved maç sorulmadan tamamlandı: ${uiState.autoCompletedMatches} önceki oylardan, " +
+                "${uiState.inferredMatches} geçişli çıkarımla",
+            style = MaterialTheme.typography.bodyMedium,
+            textAlign = TextAlign.Center
+        )
+    }
+    if (uiState.contradictions > 0) {
+        Text(
+            text = "${uiState.contradictions} oy önceki sonuçlarla çelişiyor",
+            style = MaterialTheme.typography.bodyMedium,
+            color = MaterialTheme.colorScheme.error,
+            textAlign = TextAlign.Center
+        )
+    }
+}
+
+/**
+ * Yakınsamayla biten İsviçre turnuvası: oynanan tur ve sabit tur tablosuna göre fark.
+ */
+@Composable
+private fun SwissConvergenceSummary(uiState: RankingViewModel.RankingUiState) {
+    val saved = uiState.swissMatchesSaved ?: return
+    
+    Spacer(modifier = Modifier.height(8.dp))
+    Text(
+        text = if (saved >= 0) {
+            "Tablo ${uiState.swissRoundsPlayed}. turda oturdu: sabit tur tablosuna göre $saved maç daha az"
+        } else {
+            "Eşitlikler için ${uiState.swissRoundsPlayed} tur oynandı: sabit tur tablosuna göre ${-saved} maç fazla"
+        },
+        style = MaterialTheme.typography.bodyMedium,
+        textAlign = TextAlign.Center
+    )
+}
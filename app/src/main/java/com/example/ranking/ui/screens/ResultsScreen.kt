@@ -167,7 +167,8 @@ fun ResultsScreen(
                 LazyColumn {
                     itemsIndexed(results) { index, resultWithSong ->
                         ResultCard(
-                            position = index + 1,
+                            // İlk K dışındakiler ortak son sırada
+                            position = if (method == "TOP_K") resultWithSong.first.position else index + 1,
                             song = resultWithSong.second,
                             score = resultWithSong.first.score,
                             method = method,
@@ -600,7 +601,9 @@ private fun formatScore(score: Double, method: String): String {
     return when (method) {
         "DIRECT_SCORING" -> "${score.toInt()}/100"
         "LEAGUE", "SWISS" -> "${score.toInt()} puan"
-        "EMRE_CORRECT" -> "${score.toInt()}"
+        "EMRE_CORRECT", "MERGE_SORT" -> "${score.toInt()}"
+        "TOP_K" -> if (score > 0) "${score.toInt()}" else "sırasız"
+        "ADAPTIVE" -> String.format(java.util.Locale.US, "%.2f", score)
         else -> score.toString()
     }
 }
@@ -611,6 +614,8 @@ private fun getScoreLabel(method: String): String {
         "LEAGUE" -> "lig puanı"
         "SWISS" -> "turnuva puanı"
         "EMRE_CORRECT" -> "sıra puanı"
+        "MERGE_SORT" -> "geride bıraktığı"
+        "ADAPTIVE" -> "güç"
         else -> ""
     }
 }
@@ -667,6 +672,9 @@ private fun getMethodTitle(method: String): String {
         "ELIMINATION" -> "Eleme Sistemi"
         "SWISS" -> "İsviçre Sistemi"
         "EMRE_CORRECT" -> "Geliştirilmiş İsviçre Sistemi"
+        "MERGE_SORT" -> "Birleştirmeli Sıralama"
+        "TOP_K" -> "İlk K Seçimi"
+        "ADAPTIVE" -> "Uyarlanır Sıralama"
         else -> "Sıralama"
     }
 }
\ No newline at end of file
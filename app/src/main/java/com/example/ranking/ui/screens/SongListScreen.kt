@@ -3,6 +3,7 @@ package com.example.ranking.ui.screens
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.text.KeyboardOptions
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.automirrored.filled.ArrowBack
 import androidx.compose.material3.*
@@ -10,8 +11,12 @@ import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
 import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.text.input.KeyboardType
 import androidx.compose.ui.unit.dp
 import androidx.lifecycle.viewmodel.compose.viewModel
+import com.example.ranking.ui.viewmodel.DEFAULT_ADAPTIVE_CONFIDENCE
+import com.example.ranking.ui.viewmodel.DEFAULT_CONVERGENCE_TOLERANCE
+import com.example.ranking.ui.viewmodel.DEFAULT_TOP_K
 import com.example.ranking.ui.viewmodel.SongListViewModel
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -22,6 +27,9 @@ fun SongListScreen(
     onNavigateToRanking: (Long, String) -> Unit,
     onNavigateToLeagueSettings: (Long, String) -> Unit = { _, _ -> },
     onNavigateToEmrePairingSettings: (Long) -> Unit = { },
+    onNavigateToTopK: (Long, Int) -> Unit = { _, _ -> },
+    onNavigateToAdaptive: (Long, Int) -> Unit = { _, _ -> },
+    onNavigateToSwiss: (Long, Int, Int) -> Unit = { id, _, _ -> onNavigateToRanking(id, "SWISS") },
     viewModel: SongListViewModel = viewModel()
 ) {
     LaunchedEffect(listId) {
@@ -30,6 +38,41 @@ fun SongListScreen(
     
     val songs by viewModel.songs.collectAsState()
     val songList by viewModel.songList.collectAsState()
+    var showTopKDialog by remember { mutableStateOf(false) }
+    var showAdaptiveDialog by remember { mutableStateOf(false) }
+    var showSwissDialog by remember { mutableStateOf(false) }
+    
+    if (showTopKDialog) {
+        TopKDialog(
+            songCount = songs.size,
+            onDismiss = { showTopKDialog = false },
+            onConfirm = { k ->
+                showTopKDialog = false
+                onNavigateToTopK(listId, k)
+            }
+        )
+    }
+    
+    if (showAdaptiveDialog) {
+        AdaptiveDialog(
+            onDismiss = { showAdaptiveDialog = false },
+            onConfirm = { confidence ->
+                showAdaptiveDialog = false
+                onNavigateToAdaptive(listId, confidence)
+            }
+        )
+    }
+    
+    if (showSwissDialog) {
+        SwissDialog(
+            songCount = songs.size,
+            onDismiss = { showSwissDialog = false },
+            onConfirm = { topN, tolerance ->
+                showSwissDialog = false
+                onNavigateToSwiss(listId, topN, tolerance)
+            }
+        )
+    }
     
     Column(
         modifier = Modifier
@@ -103,10 +146,28 @@ fun SongListScreen(
                     onClick = { onNavigateToRanking(listId, "FULL_ELIMINATION") }
                 )
                 
+                RankingMethodButton(
+                    title = "Birleştirmeli Sıralama",
+                    description = "En az oyla eksiksiz sıralama (yaklaşık n·log₂n karşılaştırma)",
+                    onClick = { onNavigateToRanking(listId, "MERGE_SORT") }
+                )
+                
+                RankingMethodButton(
+                    title = "İlk K Seçimi",
+                    description = "Yalnızca en iyi K öğeyi sıralar (yaklaşık n + K·log₂n karşılaştırma)",
+                    onClick = { showTopKDialog = true }
+                )
+                
+                RankingMethodButton(
+                    title = "Uyarlanır Sıralama",
+                    description = "Her seferinde en belirsiz ikiliyi sorar, sıra yeterince kesinleşince durur",
+                    onClick = { showAdaptiveDialog = true }
+                )
+                
                 RankingMethodButton(
                     title = "İsviçre Sistemi",
                     description = "Eşit puanlı rakiplerle eşleşme sistemi",
-                    onClick = { onNavigateToRanking(listId, "SWISS") }
+                    onClick = { showSwissDialog = true }
                 )
                 
                 RankingMethodButton(
@@ -196,4 +257,167 @@ private fun RankingMethodButton(
             )
         }
     }
-}
\ No newline at end of file
+}
+
+@Composable
+private fun TopKDialog(
+    songCount: Int,
+    onDismiss: () -> Unit,
+    onConfirm: (Int) -> Unit
+) {
+    var kText by remember { mutableStateOf(minOf(DEFAULT_TOP_K, songCount).toString()) }
+    val k = kText.toIntOrNull()
+    
+    AlertDialog(
+        onDismissRequest = onDismiss,
+        title = { Text("İlk K Seçimi") },
+        text = {
+            Column {
+                Text("$songCount öğe arasından kaç tanesi sıralansın? Geri kalanlar sırasız kalır.")
+                
+                Spacer(modifier = Modifier.height(16.dp))
+                
+                OutlinedTextField(
+                    value = kText,
+                    onValueChange = { kText = it.filter(Char::isDigit) },
+                    label = { Text("K") },
+                    keyboardOptions = KeyboardOptions(keyboardType = KeyboardType.Number),
+                    modifier = Modifier.fillMaxWidth(),
+                    singleLine = true
+                )
+            }
+        },
+        confirmButton = {
+            TextButton(
+                onClick = { k?.let(onConfirm) },
+                enabled = k != null && k in 1..songCount
+            ) {
+                Text("Başla")
+            }
+        },
+        dismissButton = {
+            TextButton(onClick = onDismiss) {
+                Text("İptal")
+            }
+        }
+    )
+}
+
+@Composable
+private fun AdaptiveDialog(
+    onDismiss: () -> Unit,
+    onConfirm: (Int) -> Unit
+) {
+    var confidence by remember { mutableStateOf(DEFAULT_ADAPTIVE_CONFIDENCE.toFloat()) }
+    
+    AlertDialog(
+        onDismissRequest = onDismiss,
+        title = { Text("Uyarlanır Sıralama") },
+        text = {
+            Column {
+                Text("Oylama, ikililerin beklenen bu oranı doğru sıralandığında biter. Yüksek güven daha çok oy ister.")
+                
+                Spacer(modifier = Modifier.height(16.dp))
+                
+                Text(
+                    text = "Güven: %${Math.round(confidence)}",
+                    fontWeight = FontWeight.Medium
+                )
+                Slider(
+                    value = confidence,
+                    onValueChange = { confidence = it },
+                    valueRange = 70f..95f,
+                    steps = 4
+                )
+            }
+        },
+        confirmButton = {
+            TextButton(onClick = { onConfirm(Math.round(confidence)) }) {
+                Text("Başla")
+            }
+        },
+        dismissButton = {
+            TextButton(onClick = onDismiss) {
+                Text("İptal")
+            }
+        }
+    )
+}
+
+/**
+ * İsviçre sistemi: sabit tur tablosu ya da ilk N sıra oturunca durma.
+ * Sabit tablo için topN = 0 döner.
+ */
+@Composable
+private fun SwissDialog(
+    songCount: Int,
+    onDismiss: () -> Unit,
+    onConfirm: (Int, Int) -> Unit
+) {
+    var stopWhenSettled by remember { mutableStateOf(true) }
+    var topNText by remember { mutableStateOf(minOf(DEFAULT_TOP_K, songCount).toString()) }
+    var tolerance by remember { mutableStateOf(DEFAULT_CONVERGENCE_TOLERANCE.toFloat()) }
+    val topN = topNText.toIntOrNull()
+    
+    AlertDialog(
+        onDismissRequest = onDismiss,
+        title = { Text("İsviçre Sistemi") },
+        text = {
+            Column {
+                Row(verticalAlignment = Alignment.CenterVertically) {
+                    RadioButton(selected = !stopWhenSettled, onClick = { stopWhenSettled = false })
+                    Text("Sabit tur sayısı")
+                }
+                Row(verticalAlignment = Alignment.CenterVertically) {
+                    RadioButton(selected = stopWhenSettled, onClick = { stopWhenSettled = true })
+                    Text("Tablo oturunca dur")
+                }
+                
+                if (stopWhenSettled) {
+                    Spacer(modifier = Modifier.height(8.dp))
+                    Text("İlk N sıra art arda iki turda bu orandan az değişince turnuva biter. Sınırda eşitlik varsa oynanmaya devam edilir.")
+                    
+                    Spacer(modifier = Modifier.height(16.dp))
+                    
+                    OutlinedTextField(
+                        value = topNText,
+                        onValueChange = { topNText = it.filter(Char::isDigit) },
+                        label = { Text("İlk N (tüm tablo: $songCount)") },
+                        keyboardOptions = KeyboardOptions(keyboardType = KeyboardType.Number),
+                        modifier = Modifier.fillMaxWidth(),
+                        singleLine = true
+                    )
+                    
+                    Spacer(modifier = Modifier.height(16.dp))
+                    
+                    Text(
+                        text = "Tolerans: %${Math.round(tolerance)}",
+                        fontWeight = FontWeight.Medium
+                    )
+                    Slider(
+                        value = tolerance,
+                        onValueChange = { tolerance = it },
+                        valueRange = 5f..25f,
+                        steps = 3
+                    )
+                }
+            }
+        },
+        confirmButton = {
+            TextButton(
+                onClick = {
+                    if (!stopWhenSettled) onConfirm(0, DEFAULT_CONVERGENCE_TOLERANCE)
+                    else topN?.let { onConfirm(it, Math.round(tolerance)) }
+                },
+                enabled = !stopWhenSettled || (topN != null && topN in 1..songCount)
+            ) {
+                Text("Başla")
+            }
+        },
+        dismissButton = {
+            TextButton(onClick = onDismiss) {
+                Text("İptal")
+            }
+        }
+    )
+}
@@ -3,16 +3,22 @@ package com.example.ranking.ui.viewmodel
 import android.app.Application
 import android.content.Context
 import android.net.Uri
-import android.util.Log
 import androidx.lifecycle.AndroidViewModel
 import androidx.lifecycle.viewModelScope
 import com.example.ranking.data.RankingDatabase
 import com.example.ranking.repository.RankingRepository
 import com.example.ranking.utils.CsvReader
+import com.example.ranking.utils.ImportProgress
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.launch
+import com.example.ranking.logging.RankingLog
 
 class CreateListViewModel(application: Application) : AndroidViewModel(application) {
     
+    private val log = RankingLog.channel("CreateListViewModel")
+    
     private val database = RankingDatabase.getDatabase(application)
     private val repository = RankingRepository(
         songDao = database.songDao(),
@@ -24,6 +30,9 @@ class CreateListViewModel(application: Application) : AndroidViewModel(applicati
         csvReader = CsvReader()
     )
     
+    private val _importProgress = MutableStateFlow<ImportProgress?>(null)
+    val importProgress: StateFlow<ImportProgress?> = _importProgress.asStateFlow()
+    
     fun createList(
         context: Context,
         listName: String,
@@ -83,11 +92,13 @@ class CreateListViewModel(application: Application) : AndroidViewModel(applicati
                         }
                         
                         try {
-                            Log.d("CreateListViewModel", "CSV dosyası yükleniyor: $csvUri")
-                            repository.importSongsFromCsv(context, listId, csvUri)
-                            Log.d("CreateListViewModel", "CSV dosyası başarıyla yüklendi")
+                            log.d { "CSV dosyası yükleniyor: $csvUri" }
+                            repository.importSongsFromCsvWithProgress(context, listId, csvUri)
+                                .collect { progress -> _importProgress.value = progress }
+                            log.d { "CSV dosyası başarıyla yüklendi" }
                         } catch (e: Exception) {
-                            Log.e("CreateListViewModel", "CSV yükleme hatası: ${e.message}", e)
+                            _importProgress.value = null
+                            log.e(e) { "CSV yükleme hatası: ${e.message}" }
                             throw Exception("CSV dosyası yüklenemedi: ${e.message}")
                         }
                     }
@@ -5,6 +5,7 @@ import androidx.lifecycle.AndroidViewModel
 import androidx.lifecycle.viewModelScope
 import com.example.ranking.data.*
 import com.example.ranking.data.RankingDatabase
+import com.example.ranking.ranking.LeagueSchedule
 import com.example.ranking.repository.RankingRepository
 import com.example.ranking.utils.CsvReader
 import kotlinx.coroutines.flow.MutableStateFlow
@@ -32,6 +33,9 @@ class FixtureViewModel(application: Application) : AndroidViewModel(application)
         val completedMatches: Int = 0,
         val totalMatches: Int = 0,
         val leagueSettings: LeagueSettings? = null,
+        // Lig fikstürü sanaldır ve hafta hafta gösterilir; diğer yöntemlerde 0
+        val currentRound: Int = 0,
+        val roundCount: Int = 0,
         val editingMatch: Match? = null,
         val errorMessage: String? = null
     )
@@ -39,6 +43,10 @@ class FixtureViewModel(application: Application) : AndroidViewModel(application)
     private val _uiState = MutableStateFlow(FixtureUiState())
     val uiState: StateFlow<FixtureUiState> = _uiState.asStateFlow()
     
+    private var leagueSchedule: LeagueSchedule? = null
+    private var currentListId: Long = 0
+    private var currentMethod: String = ""
+    
     fun loadFixture(listId: Long, method: String) {
         viewModelScope.launch {
             _uiState.value = _uiState.value.copy(isLoading = true)
@@ -51,9 +59,33 @@ class FixtureViewModel(application: Application) : AndroidViewModel(application)
                         repository.getLeagueSettings(listId, method)
                     } else null
                     
+                    currentListId = listId
+                    currentMethod = method
+                    val (completed, total) = repository.getMatchProgress(listId, method)
+                    
+                    if (method == "LEAGUE") {
+                        // Tüm fikstür yüklenmez: yalnızca gösterilen haftanın kayıtlı sonuçları okunur
+                        val schedule = LeagueSchedule.of(songs, settings?.doubleRoundRobin ?: false)
+                        leagueSchedule = schedule
+                        val round = if (schedule.matchesPerRound > 0) {
+                            (completed / schedule.matchesPerRound + 1).coerceAtMost(schedule.roundCount)
+                        } else 0
+                        
+                        _uiState.value = _uiState.value.copy(
+                            isLoading = false,
+                            matches = loadLeagueRound(schedule, round),
+                            songs = songs,
+                            completedMatches = completed,
+                            totalMatches = schedule.size,
+                            leagueSettings = settings,
+                            currentRound = round,
+                            roundCount = schedule.roundCount
+                        )
+                        return@collect
+                    }
+                    
                     // Load matches
                     val matches = repository.getMatchesByListAndMethodSync(listId, method)
-                    val (completed, total) = repository.getMatchProgress(listId, method)
                     
                     _uiState.value = _uiState.value.copy(
                         isLoading = false,
@@ -73,6 +105,29 @@ class FixtureViewModel(application: Application) : AndroidViewModel(application)
         }
     }
     
+    /**
+     * Sanal lig fikstüründe [round] haftasına geç.
+     */
+    fun showRound(round: Int) {
+        val schedule = leagueSchedule ?: return
+        if (round !in 1..schedule.roundCount) return
+        viewModelScope.launch {
+            try {
+                _uiState.value = _uiState.value.copy(
+                    matches = loadLeagueRound(schedule, round),
+                    currentRound = round
+                )
+            } catch (e: Exception) {
+                _uiState.value = _uiState.value.copy(errorMessage = e.message)
+            }
+        }
+    }
+    
+    private suspend fun loadLeagueRound(schedule: LeagueSchedule, round: Int): List<Match> {
+        if (round < 1) return emptyList()
+        return schedule.roundMatches(round, repository.getMatchesByRound(currentListId, currentMethod, round))
+    }
+    
     fun selectMatchForEdit(match: Match) {
         _uiState.value = _uiState.value.copy(editingMatch = match)
     }
@@ -5,20 +5,85 @@ import androidx.lifecycle.AndroidViewModel
 import androidx.lifecycle.viewModelScope
 import com.example.ranking.data.*
 import com.example.ranking.data.RankingDatabase
+import com.example.ranking.ranking.AdaptiveRanking
 import com.example.ranking.ranking.RankingEngine
 import com.example.ranking.ranking.EmreSystemCorrect
+import com.example.ranking.ranking.EngineCompute
+import com.example.ranking.ranking.EngineProgress
+import com.example.ranking.ranking.IncrementalStandings
+import com.example.ranking.ranking.JudgmentGraph
+import com.example.ranking.ranking.LeagueSchedule
+import com.example.ranking.ranking.InteractiveRanking
+import com.example.ranking.ranking.MergeSortRanking
+import com.example.ranking.ranking.PairingHistory
+import com.example.ranking.ranking.PairwiseJudgments
+import com.example.ranking.ranking.RoundSpeculation
+import com.example.ranking.ranking.SongIndex
+import com.example.ranking.ranking.Scoring
+import com.example.ranking.ranking.SwissConvergence
+import com.example.ranking.ranking.TopKSelection
+import com.example.ranking.ranking.TournamentSimulator
 import com.example.ranking.repository.RankingRepository
 import com.example.ranking.utils.CsvReader
+import com.example.ranking.utils.SortStateSerializer
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.MutableStateFlow
 import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.update
 import kotlinx.coroutines.launch
 import kotlin.math.floor
 import kotlin.math.log2
 import kotlin.math.pow
+import java.util.BitSet
+import com.example.ranking.logging.RankingLog
+import com.example.ranking.metrics.RankingMetrics
+
+// Bundan uzun oy araları duraklatma sayılır
+private const val MAX_VOTE_INTERVAL_MS = 5 * 60 * 1000L
+
+const val DEFAULT_TOP_K = 10
+
+// Uyarlanır sıralamada beklenen doğru sıralanmış ikili oranı, yüzde
+const val DEFAULT_ADAPTIVE_CONFIDENCE = 85
+
+// İsviçre yakınsamasında turlar arası izin verilen Kendall uzaklığı, yüzde
+const val DEFAULT_CONVERGENCE_TOLERANCE = 10
+
+// Sonuç tahmininde olasılığı gösterilen ilk sıralar
+const val FORECAST_POSITIONS = 3
+
+// Emre simülasyonu tam eşleştirme araması yapar; uzun turnuvalarda daha az simülasyon
+private const val EMRE_FORECAST_SIMULATIONS = 2_000
+
+// Yalnızca galibin önemli olduğu yöntemler: sonucu geçişli olarak belli maçlar sorulmaz.
+// ADAPTIVE dışarıda: çıkarılan sonuç bağımsız kanıt değildir, Bradley-Terry güvenini
+// şişirip durmayı erkene çeker. Uyarlanır yöntem yalnızca gerçek oyları yeniden kullanır.
+private val TRANSITIVE_METHODS = setOf("ELIMINATION", "FULL_ELIMINATION", "MERGE_SORT", "TOP_K")
 
 class RankingViewModel(application: Application) : AndroidViewModel(application) {
     
+    private val log = RankingLog.channel("RankingViewModel")
+    
+    /**
+     * Sonuç tahmini satırı: ilk [FORECAST_POSITIONS] sırada bitirme olasılıkları ve beklenen sıra.
+     */
+    data class ForecastRow(
+        val song: Song,
+        val probabilities: List<Double>,
+        val expectedPosition: Double
+    )
+    
+    data class OutcomeForecastSummary(
+        val rows: List<ForecastRow>, // Beklenen sıraya göre
+        val simulations: Int,
+        val expectedRemainingRounds: Double,
+        val likelyRemainingRounds: Int // Simülasyonların %90'ında yeten tur sayısı
+    )
+    
     data class StandingEntry(
         val position: Int,
         val song: Song,
@@ -39,7 +104,9 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
         archiveDao = database.archiveDao(),
         csvReader = CsvReader(),
         swissStateDao = database.swissStateDao(),
-        swissMatchStateDao = database.swissMatchStateDao()
+        swissMatchStateDao = database.swissMatchStateDao(),
+        emreStateDao = database.emreStateDao(),
+        pairwiseJudgmentDao = database.pairwiseJudgmentDao()
     )
     
     private val votingSessionDao = database.votingSessionDao()
@@ -68,7 +135,16 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
         val emreState: EmreSystemCorrect.EmreState? = null,
         val showInitialRanking: Boolean = false, // İlk sıralama tablosunu göster
         val showMatchingsList: Boolean = false, // Eşleştirmeler listesini göster
-        val matchingsList: List<Match> = emptyList() // Oluşturulan eşleştirmeler
+        val matchingsList: List<Match> = emptyList(), // Oluşturulan eşleştirmeler
+        val computeProgress: EngineProgress? = null, // Uzun eşleştirme/hesaplama sürüyorsa ilerlemesi
+        val reuseJudgments: Boolean = true, // Daha önce oylanmış ikilileri tekrar sorma
+        val autoCompletedMatches: Int = 0, // Bu oturumda önceki oylarla tamamlanan maç sayısı
+        val inferredMatches: Int = 0, // Geçişli çıkarımla (A>B, B>C ⇒ A>C) tamamlanan maç sayısı
+        val contradictions: Int = 0, // Önceki sonuçlarla çelişen oy sayısı
+        val swissRoundsPlayed: Int = 0, // Yakınsamayla biten İsviçre turnuvasında oynanan tur
+        val swissMatchesSaved: Int? = null, // Sabit tur tablosuna göre oynanmayan maç (negatif: fazladan)
+        val outcomeForecast: OutcomeForecastSummary? = null, // Yarım kalan turnuvanın Monte Carlo sonuç tahmini
+        val isForecasting: Boolean = false
     )
     
     private val _uiState = MutableStateFlow(RankingUiState())
@@ -80,12 +156,96 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     private var directScores: MutableMap<Long, Double> = mutableMapOf()
     private var currentSongIndex: Int = 0
     private var currentVotingSession: VotingSession? = null
+    
+    // Oy temposu: oylar arası süre ve oydan sonraki maçın gösterilmesine kadar geçen süre
+    private val voteCount = RankingMetrics.counter("vote.count")
+    private val voteInterval = RankingMetrics.histogram("vote.interval_ms")
+    private val voteLatency = RankingMetrics.timer("vote.submit")
+    private var lastVoteAt = 0L
+    private val autoCompletedCount = RankingMetrics.counter("judgments.auto_completed")
+    private val inferredCount = RankingMetrics.counter("judgments.inferred")
+    private val contradictionCount = RankingMetrics.counter("judgments.contradictions")
+    private val swissSavedCount = RankingMetrics.counter("swiss.matches_saved")
+    
+    // Yöntemler arası ortak ikili kararlar; liste başına bir kez yüklenir
+    private var judgments: PairwiseJudgments? = null
+    private var judgmentGraph: JudgmentGraph? = null
     private var currentPairingMethod: com.example.ranking.data.EmrePairingMethod = com.example.ranking.data.EmrePairingMethod.SEQUENTIAL
     
-    fun initializeRanking(listId: Long, method: String, pairingMethodName: String = "SEQUENTIAL") {
-        android.util.Log.d("RankingViewModel", "initializeRanking called - ListId: $listId, Method: $method, PairingMethod: $pairingMethodName")
+    // İsviçre / Emre canlı puan tablosu - oy başına O(1) güncellenir
+    private var liveStandings: IncrementalStandings? = null
+    private var liveStandingsJob: Job? = null
+    private var forecastJob: Job? = null
+    
+    // Lig fikstürü sanaldır: yalnızca sonuçlar kaydedilir, oynananlar sıra numarasıyla izlenir
+    private var leagueSchedule: LeagueSchedule? = null
+    private var leaguePlayed: BitSet? = null
+    
+    // Birleştirmeli sıralama / ilk K / uyarlanır: sorular durumdan üretilir, her oydan sonra oturuma yazılır
+    private var sorter: InteractiveRanking? = null
+    private var requestedTopK: Int = DEFAULT_TOP_K
+    private var requestedConfidence: Int = DEFAULT_ADAPTIVE_CONFIDENCE
+    
+    // İsviçre: 0 ise sabit tur tablosu, değilse ilk N sıra oturunca biter
+    private var requestedConvergenceTopN: Int = 0
+    private var requestedConvergenceTolerance: Int = DEFAULT_CONVERGENCE_TOLERANCE
+    
+    // Turun son maçı oylanırken sonraki tur her olası sonuç için önceden hesaplanır
+    private var swissSpeculation: RoundSpeculation<List<Match>>? = null
+    private var emreSpeculation: RoundSpeculation<Pair<EmreSystemCorrect.EmreState, EmreSystemCorrect.EmrePairingResult>>? = null
+    private var speculatedSwissRound: List<Match>? = null
+    private var speculatedEmreRound: Pair<EmreSystemCorrect.EmreState, EmreSystemCorrect.EmrePairingResult>? = null
+    
+    init {
+        // Fikstür ekranında düzenlenen maç canlı tabloya tek satırlık güncellemeyle yansır
+        viewModelScope.launch {
+            RankingRepository.matchEdits.collect { match ->
+                if (match.listId != currentListId || match.rankingMethod != currentMethod) return@collect
+                val live = liveStandings ?: return@collect
+                cancelSpeculation()
+                if (match.isCompleted) live.onMatchCompleted(match) else live.onMatchReverted(match)
+            }
+        }
+    }
+    
+    /**
+     * Motor hesaplamasını ana iş parçacığı dışında çalıştır. Ekrandan çıkılınca
+     * (viewModelScope iptali) motor bir sonraki kontrol noktasında durur.
+     */
+    private suspend fun <T> compute(block: () -> T): T {
+        return try {
+            EngineCompute.run(
+                onProgress = { progress -> _uiState.update { it.copy(computeProgress = progress) } },
+                block = block
+            )
+        } finally {
+            _uiState.update { it.copy(computeProgress = null) }
+        }
+    }
+    
+    fun initializeRanking(
+        listId: Long,
+        method: String,
+        pairingMethodName: String = "SEQUENTIAL",
+        topK: Int = DEFAULT_TOP_K,
+        confidence: Int = DEFAULT_ADAPTIVE_CONFIDENCE,
+        convergenceTopN: Int = 0,
+        convergenceTolerance: Int = DEFAULT_CONVERGENCE_TOLERANCE
+    ) {
+        log.d { "initializeRanking called - ListId: $listId, Method: $method, PairingMethod: $pairingMethodName" }
         currentListId = listId
         currentMethod = method
+        judgments = null
+        judgmentGraph = null
+        sorter = null
+        leagueSchedule = null
+        leaguePlayed = null
+        cancelForecast()
+        _uiState.update { it.copy(outcomeForecast = null) }
+        requestedTopK = topK.coerceAtLeast(1)
+        requestedConfidence = confidence.coerceIn(50, 100)
+        requestedConvergenceTopN = convergenceTopN.coerceAtLeast(0)
+        requestedConvergenceTolerance = convergenceTolerance.coerceIn(0, 100)
         currentPairingMethod = try {
             com.example.ranking.data.EmrePairingMethod.valueOf(pairingMethodName)
         } catch (e: Exception) {
@@ -103,12 +263,14 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     repository.getLeagueSettings(listId, method)
                 } else null
                 
-                android.util.Log.d("RankingViewModel", "Getting songs for listId: $listId")
+                log.d { "Getting songs for listId: $listId" }
                 repository.getSongsByListId(listId).collect { songList ->
-                    android.util.Log.d("RankingViewModel", "Songs received: ${songList.size}")
+                    log.d { "Songs received: ${songList.size}" }
                     songs = songList
+                    RankingMetrics.setLabel("session.method", method)
+                    RankingMetrics.setLabel("session.songs", songList.size.toString())
                     if (songs.isNotEmpty()) {
-                        android.util.Log.d("RankingViewModel", "Songs not empty, proceeding with initialization")
+                        log.d { "Songs not empty, proceeding with initialization" }
                         // Load completed scores if resuming a session
                         val completedScores = if (activeSession != null) {
                             val scores = votingScoreDao.getScoresForSessionSync(activeSession.id)
@@ -121,6 +283,10 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                             leagueSettings = settings,
                             currentSession = activeSession,
                             hasActiveSession = activeSession != null,
+                            reuseJudgments = activeSession?.reuseJudgments ?: _uiState.value.reuseJudgments,
+                            autoCompletedMatches = activeSession?.autoCompletedMatches ?: 0,
+                            inferredMatches = activeSession?.inferredMatches ?: 0,
+                            contradictions = activeSession?.contradictions ?: 0,
                             completedScores = completedScores,
                             allSongs = songList
                         )
@@ -137,10 +303,11 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                                 "FULL_ELIMINATION" -> initializeFullElimination()
                                 "SWISS" -> initializeSwiss()
                                 "EMRE_CORRECT" -> initializeEmre()
+                                "MERGE_SORT", "TOP_K", "ADAPTIVE" -> initializeSorter()
                             }
                         }
                     } else {
-                        android.util.Log.w("RankingViewModel", "Songs list is empty!")
+                        log.w { "Songs list is empty!" }
                         _uiState.value = _uiState.value.copy(
                             isLoading = false,
                             error = "Şarkı listesi boş!"
@@ -212,8 +379,9 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             repository.clearMatches(currentListId, currentMethod)
             val settings = _uiState.value.leagueSettings
             val doubleRoundRobin = settings?.doubleRoundRobin ?: false
-            val matches = RankingEngine.createLeagueMatches(songs, doubleRoundRobin)
-            repository.createMatches(matches)
+            // Maç satırları önceden yazılmaz; eşleşmeler sırası gelince formülden üretilir
+            leagueSchedule = LeagueSchedule.of(songs, doubleRoundRobin)
+            leaguePlayed = BitSet()
             loadNextMatch()
         }
     }
@@ -221,23 +389,33 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     private fun initializeSwiss() {
         viewModelScope.launch {
             repository.clearMatches(currentListId, currentMethod)
+            startLiveStandings(emptyList())
             
             // Initialize Swiss state for first round
             currentVotingSession?.let { session ->
-                val maxRounds = RankingEngine.getSwissRoundCount(songs.size)
+                val maxRounds = swissRoundLimit()
                 val initialStandings = songs.associate { it.id to 0.0 }
                 repository.saveSwissState(
                     sessionId = session.id,
                     currentRound = 1,
                     maxRounds = maxRounds,
                     standings = initialStandings,
-                    pairingHistory = emptySet(),
+                    pairingHistory = PairingHistory(SongIndex.of(songs)),
                     roundHistory = emptyList()
                 )
             }
             
             val matches = RankingEngine.createSwissMatches(songs, 1, emptyList())
             repository.createMatches(matches)
+            currentVotingSession?.let { session ->
+                repository.compactFixture(
+                    sessionId = session.id,
+                    listId = currentListId,
+                    method = currentMethod,
+                    totalRounds = swissRoundLimit(),
+                    currentStandings = songs.associate { it.id to 0.0 }
+                )
+            }
             loadNextMatch()
         }
     }
@@ -245,19 +423,21 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     private fun initializeEmre() {
         viewModelScope.launch {
             try {
-                android.util.Log.d("RankingViewModel", "initializeEmre başlatıldı - ListId: $currentListId, Method: $currentMethod")
+                log.d { "initializeEmre başlatıldı - ListId: $currentListId, Method: $currentMethod" }
                 
                 repository.clearMatches(currentListId, currentMethod)
-                android.util.Log.d("RankingViewModel", "Eski maçlar temizlendi")
+                startLiveStandings(emptyList())
+                log.d { "Eski maçlar temizlendi" }
                 
                 // Session oluştur
                 createOrUpdateSession()
-                android.util.Log.d("RankingViewModel", "Session oluşturuldu")
+                log.d { "Session oluşturuldu" }
                 
                 // Doğru Emre usulü sistem başlatma
                 emreState = EmreSystemCorrect.initializeEmreTournament(songs)
-                android.util.Log.d("RankingViewModel", "Emre tournament initialized, songs count: ${songs.size}")
-                android.util.Log.d("RankingViewModel", "EmreState: isComplete=${emreState?.isComplete}, currentRound=${emreState?.currentRound}, teams=${emreState?.teams?.size}")
+                saveEmreSnapshot()
+                log.d { "Emre tournament initialized, songs count: ${songs.size}" }
+                log.d { "EmreState: isComplete=${emreState?.isComplete}, currentRound=${emreState?.currentRound}, teams=${emreState?.teams?.size}" }
                 
                 // İLK SIRALAMA TABLOSUNU GÖSTER - Henüz eşleştirme yapmayacağız
                 _uiState.value = _uiState.value.copy(
@@ -267,12 +447,12 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     allSongs = songs,
                     currentMatch = null
                 )
-                android.util.Log.d("RankingViewModel", "İlk sıralama tablosu gösteriliyor")
+                log.d { "İlk sıralama tablosu gösteriliyor" }
                 return@launch // Burada dur, kullanıcı butona basınca devam et
                 
                 
             } catch (e: Exception) {
-                android.util.Log.e("RankingViewModel", "initializeEmre error: ${e.message}", e)
+                log.e(e) { "initializeEmre error: ${e.message}" }
                 _uiState.value = _uiState.value.copy(
                     isLoading = false,
                     error = "Başlatma hatası: ${e.message}"
@@ -299,8 +479,68 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
         }
     }
     
+    private fun initializeSorter() {
+        viewModelScope.launch {
+            repository.clearMatches(currentListId, currentMethod)
+            sorter = newSorter()
+            createOrUpdateSession()
+            saveSorterState()
+            loadNextMatch()
+        }
+    }
+    
+    private fun newSorter(): InteractiveRanking = when (currentMethod) {
+        "TOP_K" -> TopKSelection.start(songs, sessionTopK())
+        "ADAPTIVE" -> AdaptiveRanking.start(songs, requestedConfidence / 100.0)
+        else -> MergeSortRanking.start(songs)
+    }
+    
+    /**
+     * İlk K oturumunun K değeri: devam edilen oturumda kayıtlı K, yeni oturumda ekrandan
+     * gelen istek. K kaydı olmayan eski oturumlar isteğe düşer.
+     */
+    private fun sessionTopK(): Int =
+        currentVotingSession?.topK?.takeIf { it > 0 } ?: requestedTopK
+    
+    private suspend fun saveSorterState() {
+        val sort = sorter ?: return
+        val session = currentVotingSession ?: return
+        val updatedSession = session.copy(
+            sortState = SortStateSerializer.serializeState(sort),
+            completedMatches = sort.comparisons,
+            totalMatches = sort.comparisons + sort.remainingUpperBound(),
+            lastModified = System.currentTimeMillis()
+        )
+        votingSessionDao.updateSession(updatedSession)
+        currentVotingSession = updatedSession
+    }
+    
+    /**
+     * Kayıtlı durumdan devam; durum yoksa ya da liste değiştiyse oylanmış maçlar
+     * baştan yeniden oynatılır (sorular aynı sırayla gelir).
+     */
+    private suspend fun restoreSorter(session: VotingSession): InteractiveRanking {
+        session.sortState?.let { state ->
+            try {
+                return SortStateSerializer.deserializeState(state, songs)
+            } catch (e: IllegalArgumentException) {
+                log.w { "Sıralama durumu okunamadı (oturum ${session.id}): ${e.message}" }
+            }
+        }
+        val winners = HashMap<Pair<Long, Long>, Long>()
+        repository.getMatchesByListAndMethodSync(currentListId, currentMethod).forEach { match ->
+            val winnerId = match.winnerId
+            if (match.isCompleted && winnerId != null) {
+                winners[minOf(match.songId1, match.songId2) to maxOf(match.songId1, match.songId2)] = winnerId
+            }
+        }
+        val sort = newSorter()
+        compute { sort.advance { a, b -> winners[minOf(a, b) to maxOf(a, b)] } }
+        return sort
+    }
+    
     fun startScoring() {
-        android.util.Log.d("RankingViewModel", "🎯 Puanlama ekranına geçiliyor...")
+        log.d { "🎯 Puanlama ekranına geçiliyor..." }
         viewModelScope.launch {
             _uiState.value = _uiState.value.copy(showMatchingsList = false)
             loadNextMatch()
@@ -308,16 +548,19 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     }
     
     private suspend fun loadNextMatch() {
-        android.util.Log.d("RankingViewModel", "🔍 loadNextMatch BAŞLADI!")
-        android.util.Log.d("RankingViewModel", "🔍 currentListId: $currentListId, currentMethod: $currentMethod")
-        val nextMatch = repository.getNextUncompletedMatch(currentListId, currentMethod)
-        val (completed, total) = repository.getMatchProgress(currentListId, currentMethod)
-        android.util.Log.d("RankingViewModel", "🔍 NextMatch: ${nextMatch != null}, Completed: $completed, Total: $total")
+        log.d { "🔍 loadNextMatch BAŞLADI!" }
+        log.d { "🔍 currentListId: $currentListId, currentMethod: $currentMethod" }
+        val league = if (currentMethod == "LEAGUE") loadLeagueSchedule() else null
+        val nextMatch = nextMatchToAsk(league)
+        val (completed, total) = league?.let { (schedule, played) -> played.cardinality() to schedule.size }
+            ?: sorter?.let { it.comparisons to it.comparisons + it.remainingUpperBound() }
+            ?: repository.getMatchProgress(currentListId, currentMethod)
+        log.d { "🔍 NextMatch: ${nextMatch != null}, Completed: $completed, Total: $total" }
         
         if (nextMatch != null) {
-            android.util.Log.d("RankingViewModel", "🔍 NextMatch found: ID=${nextMatch.id}, Song1=${nextMatch.songId1}, Song2=${nextMatch.songId2}, Round=${nextMatch.round}")
+            log.d { "🔍 NextMatch found: ID=${nextMatch.id}, Song1=${nextMatch.songId1}, Song2=${nextMatch.songId2}, Round=${nextMatch.round}" }
         } else {
-            android.util.Log.w("RankingViewModel", "🔍 NextMatch is NULL!")
+            log.w { "🔍 NextMatch is NULL!" }
         }
         
         if (nextMatch == null) {
@@ -325,8 +568,8 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             when (currentMethod) {
                 "SWISS" -> {
                     val currentRound = getCurrentSwissRound(completed)
-                    val maxRounds = RankingEngine.getSwissRoundCount(songs.size)
-                    if (currentRound <= maxRounds) {
+                    val maxRounds = swissRoundLimit()
+                    if (currentRound <= maxRounds && !swissConverged()) {
                         createNextSwissRound(currentRound)
                         return
                     }
@@ -362,7 +605,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
         
         val song1 = songs.find { it.id == nextMatch.songId1 }
         val song2 = songs.find { it.id == nextMatch.songId2 }
-        android.util.Log.d("RankingViewModel", "🔍 Song1: ${song1?.name ?: "NULL"}, Song2: ${song2?.name ?: "NULL"}")
+        log.d { "🔍 Song1: ${song1?.name ?: "NULL"}, Song2: ${song2?.name ?: "NULL"}" }
         
         // Save current match state for Swiss system (real-time persistence)
         if (currentMethod == "SWISS") {
@@ -373,23 +616,11 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     song1Name = song1?.name ?: "Unknown",
                     song2Name = song2?.name ?: "Unknown"
                 )
-                
-                // Save complete fixture state
-                val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
-                val swissStandings = RankingEngine.createSwissStandingsFromMatches(songs, allMatches.filter { it.isCompleted })
-                val maxRounds = RankingEngine.getSwissRoundCount(songs.size)
-                
-                repository.saveCompleteFixture(
-                    sessionId = session.id,
-                    currentRound = nextMatch.round,
-                    totalRounds = maxRounds,
-                    allMatches = allMatches,
-                    currentStandings = swissStandings.standings
-                )
+                // Fikstür burada yeniden yazılmaz: oylar günlüğe eklenir, görüntü tur başına alınır
             }
         }
         
-        android.util.Log.d("RankingViewModel", "🔍 UI State güncellemesi yapılacak - Match ID: ${nextMatch.id}")
+        log.d { "🔍 UI State güncellemesi yapılacak - Match ID: ${nextMatch.id}" }
         _uiState.value = _uiState.value.copy(
             isLoading = false,
             currentMatch = nextMatch,
@@ -400,26 +631,117 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             progress = if (total > 0) completed.toFloat() / total else 0f,
             emreState = if (currentMethod == "EMRE_CORRECT") emreState else null
         )
-        android.util.Log.d("RankingViewModel", "🔍 UI State güncellendi! currentMatch null mu: ${_uiState.value.currentMatch == null}")
+        log.d { "🔍 UI State güncellendi! currentMatch null mu: ${_uiState.value.currentMatch == null}" }
+        
+        speculateNextRound(nextMatch)
+    }
+    
+    /**
+     * Sanal lig fikstürü ve oynanan maçlar; devam edilen oturumda kayıtlı sonuçlardan bir kez kurulur.
+     */
+    private suspend fun loadLeagueSchedule(): Pair<LeagueSchedule, BitSet> {
+        val schedule = leagueSchedule
+        val played = leaguePlayed
+        if (schedule != null && played != null) return schedule to played
+        
+        val doubleRoundRobin = _uiState.value.leagueSettings?.doubleRoundRobin ?: false
+        val newSchedule = LeagueSchedule.of(songs, doubleRoundRobin)
+        val stored = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
+        val newPlayed = compute { newSchedule.playedSet(stored) }
+        leagueSchedule = newSchedule
+        leaguePlayed = newPlayed
+        return newSchedule to newPlayed
+    }
+    
+    private fun markLeagueMatchPlayed(match: Match) {
+        val schedule = leagueSchedule ?: return
+        val index = schedule.indexOf(match)
+        if (index >= 0) leaguePlayed?.set(index)
+    }
+    
+    /**
+     * [match] turun oynanmamış son maçıysa sonraki turun eşleştirmesini üç olası sonuç için
+     * arka planda başlat. Oy gelince [takeSpeculation] uyan sonucu alır.
+     */
+    private fun speculateNextRound(match: Match) {
+        if (swissSpeculation?.match?.id == match.id || emreSpeculation?.match?.id == match.id) return
+        val live = liveStandings ?: return
+        val completedInRound = live.completedInRound(match.round)
+        if (completedInRound.size != songs.size / 2 - 1) return
+        
+        when (currentMethod) {
+            "SWISS" -> {
+                if (match.round >= swissRoundLimit()) return
+                val roundSongs = songs
+                // Tablo bir kez kopyalanır; üç sonuç kopya üzerinde, canlı tablonun kilidi dışında kurulur
+                val base = live.copy()
+                swissSpeculation = RoundSpeculation.start(viewModelScope, match) { outcome ->
+                    RankingEngine.createSwissMatchesWithState(
+                        roundSongs, base.toSwissStandingsWith(outcome), SwissPairingMethod.OPTIMAL
+                    )
+                }
+            }
+            "EMRE_CORRECT" -> {
+                val state = emreState ?: return
+                val roundSongs = songs
+                emreSpeculation = RoundSpeculation.start(viewModelScope, match) { outcome ->
+                    val roundMatches = completedInRound + outcome
+                    val nextState = RankingEngine.processCorrectEmreResults(state, roundMatches, findByeTeam(state, roundMatches))
+                    nextState to RankingEngine.createCorrectEmreMatches(roundSongs, nextState)
+                }
+            }
+        }
+    }
+    
+    /**
+     * Oylanan maç spekülasyonun maçıysa önceden hesaplanmış sonraki turu al; diğer sonuçlar atılır.
+     */
+    private suspend fun takeSpeculation(completedMatch: Match) {
+        swissSpeculation?.let { speculation ->
+            swissSpeculation = null
+            speculatedSwissRound = speculation.take(completedMatch)
+        }
+        emreSpeculation?.let { speculation ->
+            emreSpeculation = null
+            speculatedEmreRound = speculation.take(completedMatch)
+        }
+    }
+    
+    private fun cancelSpeculation() {
+        swissSpeculation?.cancel()
+        emreSpeculation?.cancel()
+        swissSpeculation = null
+        emreSpeculation = null
+        speculatedSwissRound = null
+        speculatedEmreRound = null
     }
     
     private suspend fun createNextSwissRound(round: Int) {
         try {
-            val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
-            val completedMatches = allMatches.filter { it.isCompleted }
-            
-            // Create Swiss standings from completed matches
-            val swissStandings = RankingEngine.createSwissStandingsFromMatches(songs, completedMatches)
+            // Canlı tablodan al; yoksa (eski oturum) tamamlanmış maçlardan kur
+            val live = liveStandings
+            val swissStandings = if (live != null) {
+                compute { live.toSwissStandings() }
+            } else {
+                val completedMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
+                    .filter { it.isCompleted }
+                startLiveStandings(completedMatches)
+                compute { RankingEngine.createSwissStandingsFromMatches(songs, completedMatches) }
+            }
             
-            // Create new matches using advanced pairing
-            val newMatches = RankingEngine.createSwissMatchesWithState(songs, swissStandings)
+            // Create new matches using minimum-cost pairing (son oyda önceden hesaplandıysa onu kullan)
+            val speculated = speculatedSwissRound
+            speculatedSwissRound = null
+            val newMatches = speculated ?: compute {
+                RankingEngine.createSwissMatchesWithState(songs, swissStandings, SwissPairingMethod.OPTIMAL)
+            }
             
             if (newMatches.isNotEmpty()) {
                 repository.createMatches(newMatches)
                 
                 // Save updated Swiss state
                 currentVotingSession?.let { session ->
-                    val maxRounds = RankingEngine.getSwissRoundCount(songs.size)
+                    val maxRounds = swissRoundLimit()
                     repository.saveSwissState(
                         sessionId = session.id,
                         currentRound = round,
@@ -428,10 +750,21 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                         pairingHistory = swissStandings.pairingHistory,
                         roundHistory = swissStandings.roundHistory
                     )
+                    
+                    // Yeni tur eşleştirmeleriyle birlikte fikstür görüntüsü; günlük kısaltılır
+                    repository.compactFixture(
+                        sessionId = session.id,
+                        listId = currentListId,
+                        method = currentMethod,
+                        totalRounds = maxRounds,
+                        currentStandings = swissStandings.standings
+                    )
                 }
             }
             
             loadNextMatch()
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             _uiState.value = _uiState.value.copy(
                 error = "Swiss round oluşturma hatası: ${e.message}"
@@ -442,57 +775,69 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     // Doğru Emre usulü state
     private var emreState: EmreSystemCorrect.EmreState? = null
     
+    /**
+     * Güncel Emre durumunu oturumun anlık görüntüsü olarak yazar; devam ederken
+     * maç geçmişi yeniden oynatılmaz.
+     */
+    private suspend fun saveEmreSnapshot() {
+        val state = emreState ?: return
+        val session = currentVotingSession ?: return
+        repository.saveEmreState(session.id, state)
+    }
+    
     /**
      * İlk eşleştirmeleri yap - Kullanıcı butona bastığında çağrılır
      */
     fun createFirstRoundMatches() {
-        android.util.Log.d("RankingViewModel", "🔥 createFirstRoundMatches ÇAĞRILDI!")
+        log.d { "🔥 createFirstRoundMatches ÇAĞRILDI!" }
         viewModelScope.launch {
             try {
-                android.util.Log.d("RankingViewModel", "📝 EmreState kontrol ediliyor...")
+                log.d { "📝 EmreState kontrol ediliyor..." }
                 val currentState = emreState
                 if (currentState == null) {
-                    android.util.Log.e("RankingViewModel", "❌ EmreState NULL!")
+                    log.e { "❌ EmreState NULL!" }
                     _uiState.value = _uiState.value.copy(error = "EmreState bulunamadı")
                     return@launch
                 }
                 
-                android.util.Log.d("RankingViewModel", "✅ EmreState mevcut - currentRound: ${currentState.currentRound}")
-                android.util.Log.d("RankingViewModel", "✅ Songs count: ${songs.size}")
-                android.util.Log.d("RankingViewModel", "✅ CurrentPairingMethod: $currentPairingMethod")
+                log.d { "✅ EmreState mevcut - currentRound: ${currentState.currentRound}" }
+                log.d { "✅ Songs count: ${songs.size}" }
+                log.d { "✅ CurrentPairingMethod: $currentPairingMethod" }
                 
                 // İlk tur eşleştirmesini yap - DOĞRU EmreSystemCorrect kullan
-                android.util.Log.d("RankingViewModel", "🎯 DOĞRU EmreSystemCorrect ile eşleştirme yapılıyor...")
-                val pairingResult = EmreSystemCorrect.createNextRoundWithConfirmation(currentState)
-                android.util.Log.d("RankingViewModel", "🎯 EmreSystemCorrect sonuç: ${pairingResult.matches.size} maç")
+                log.d { "🎯 DOĞRU EmreSystemCorrect ile eşleştirme yapılıyor..." }
+                val pairingResult = compute { EmreSystemCorrect.createNextRoundWithConfirmation(currentState) }
+                log.d { "🎯 EmreSystemCorrect sonuç: ${pairingResult.matches.size} maç" }
                 
                 pairingResult.matches.forEachIndexed { index, match ->
-                    android.util.Log.d("RankingViewModel", "Maç $index: ${match.songId1} vs ${match.songId2}")
+                    log.d { "Maç $index: ${match.songId1} vs ${match.songId2}" }
                 }
                 
-                android.util.Log.d("RankingViewModel", "🔍 PairingResult - matches: ${pairingResult.matches.size}, canContinue: ${pairingResult.canContinue}")
+                log.d { "🔍 PairingResult - matches: ${pairingResult.matches.size}, canContinue: ${pairingResult.canContinue}" }
                 
                 if (pairingResult.matches.isNotEmpty()) {
-                    android.util.Log.d("RankingViewModel", "💾 ${pairingResult.matches.size} maç veritabanına kaydediliyor...")
+                    log.d { "💾 ${pairingResult.matches.size} maç veritabanına kaydediliyor..." }
                     repository.createMatches(pairingResult.matches)
-                    android.util.Log.d("RankingViewModel", "✅ Maçlar kaydedildi!")
+                    log.d { "✅ Maçlar kaydedildi!" }
                     
                     // Eşleştirmeler listesini göster
-                    android.util.Log.d("RankingViewModel", "📋 Eşleştirmeler listesi gösteriliyor...")
+                    log.d { "📋 Eşleştirmeler listesi gösteriliyor..." }
                     _uiState.value = _uiState.value.copy(
                         showInitialRanking = false,
                         showMatchingsList = true,
                         matchingsList = pairingResult.matches
                     )
                 } else {
-                    android.util.Log.w("RankingViewModel", "❌ Hiç maç oluşturulamadı!")
+                    log.w { "❌ Hiç maç oluşturulamadı!" }
                     _uiState.value = _uiState.value.copy(
                         error = "Eşleştirme oluşturulamadı"
                     )
                 }
                 
+            } catch (e: CancellationException) {
+                throw e
             } catch (e: Exception) {
-                android.util.Log.e("RankingViewModel", "💥 createFirstRoundMatches HATA: ${e.message}", e)
+                log.e(e) { "💥 createFirstRoundMatches HATA: ${e.message}" }
                 _uiState.value = _uiState.value.copy(
                     error = "Eşleştirme hatası: ${e.message}"
                 )
@@ -505,19 +850,21 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             val currentState = emreState ?: return
             val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
             
-            // Tamamlanmış maçları işle ve yeni state oluştur
+            // Tamamlanmış maçları işle ve yeni state oluştur - durum o turu zaten içeriyorsa tekrar sayma
             val completedMatches = allMatches.filter { it.isCompleted && it.round == round - 1 }
             
-            if (completedMatches.isNotEmpty()) {
+            if (completedMatches.isNotEmpty() && currentState.currentRound == round - 1) {
                 // Bye geçen takımı bul (varsa)
                 val byeTeam = findByeTeam(currentState, completedMatches)
                 
                 // State'i güncelle
-                emreState = RankingEngine.processCorrectEmreResults(currentState, completedMatches, byeTeam)
+                emreState = compute { RankingEngine.processCorrectEmreResults(currentState, completedMatches, byeTeam) }
+                saveEmreSnapshot()
             }
             
             // Sonraki tur için eşleştirme oluştur
-            val pairingResult = RankingEngine.createCorrectEmreMatches(songs, emreState)
+            val stateForPairing = emreState
+            val pairingResult = compute { RankingEngine.createCorrectEmreMatches(songs, stateForPairing) }
             
             if (!pairingResult.canContinue) {
                 // Turnuva tamamlandı
@@ -529,7 +876,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 repository.createMatches(pairingResult.matches)
                 
                 // Her turda eşleştirmeler listesini göster
-                android.util.Log.d("RankingViewModel", "📋 ${round}. tur eşleştirmeler listesi gösteriliyor...")
+                log.d { "📋 ${round}. tur eşleştirmeler listesi gösteriliyor..." }
                 _uiState.value = _uiState.value.copy(
                     showInitialRanking = false,
                     showMatchingsList = true,
@@ -539,6 +886,8 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             } else {
                 completeRanking()
             }
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             _uiState.value = _uiState.value.copy(
                 error = "Emre round oluşturma hatası: ${e.message}"
@@ -563,12 +912,14 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     private suspend fun completeRanking() {
         try {
             val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
-            val results = when (currentMethod) {
+            val finalEmreState = emreState
+            val finalSorter = sorter?.takeIf { it.isComplete }
+            val results = compute { when (currentMethod) {
                 "LEAGUE" -> RankingEngine.calculateLeagueResults(songs, allMatches)
                 "SWISS" -> RankingEngine.calculateSwissResults(songs, allMatches)
                 "EMRE_CORRECT" -> {
-                    if (emreState != null) {
-                        RankingEngine.calculateCorrectEmreResults(emreState!!)
+                    if (finalEmreState != null) {
+                        RankingEngine.calculateCorrectEmreResults(finalEmreState)
                     } else {
                         // Fallback: State yoksa tüm maçları yeniden işle
                         var state = EmreSystemCorrect.initializeEmreTournament(songs)
@@ -584,16 +935,22 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 }
                 "ELIMINATION" -> RankingEngine.calculateEliminationResults(songs, allMatches)
                 "FULL_ELIMINATION" -> RankingEngine.calculateFullEliminationResults(songs, allMatches)
+                "MERGE_SORT" -> RankingEngine.calculateMergeSortResults(songs, (finalSorter as? MergeSortRanking)?.order() ?: emptyList())
+                "TOP_K" -> RankingEngine.calculateTopKResults(songs, (finalSorter as? TopKSelection)?.selected() ?: emptyList())
+                "ADAPTIVE" -> (finalSorter as? AdaptiveRanking)?.let { RankingEngine.calculateAdaptiveResults(songs, it) } ?: emptyList()
                 else -> emptyList()
-            }
+            } }
             
             repository.clearRankingResults(currentListId, currentMethod)
             repository.saveRankingResults(results)
+            if (currentMethod == "SWISS") reportSwissSavings(allMatches)
             
             _uiState.value = _uiState.value.copy(
                 isComplete = true,
                 progress = 1f
             )
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             _uiState.value = _uiState.value.copy(
                 error = "Sıralama tamamlama hatası: ${e.message}"
@@ -602,6 +959,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     }
     
     fun submitDirectScore(songId: Long, score: Double) {
+        recordVote()
         viewModelScope.launch {
             directScores[songId] = score
             
@@ -627,57 +985,298 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     }
     
     fun submitMatchResult(@Suppress("UNUSED_PARAMETER") matchId: Long, winnerId: Long?) {
+        recordVote()
         viewModelScope.launch {
-            val currentState = _uiState.value
-            currentState.currentMatch?.let { match ->
-                val updatedMatch = match.copy(
-                    winnerId = winnerId,
-                    isCompleted = true
-                )
-                repository.updateMatch(updatedMatch)
-                
-                // Update Swiss state if this is a Swiss tournament
-                if (currentMethod == "SWISS") {
-                    updateSwissStateAfterMatch(updatedMatch)
-                }
-                
-                // Update Emre state if this is an Emre tournament
-                if (currentMethod == "EMRE_CORRECT") {
-                    updateEmreCorrectStateAfterMatch(updatedMatch)
+            voteLatency.time {
+                val currentState = _uiState.value
+                currentState.currentMatch?.let { match ->
+                    val updatedMatch = repository.saveMatchResult(
+                        match.copy(
+                            winnerId = winnerId,
+                            isCompleted = true
+                        )
+                    )
+                    recordJudgment(updatedMatch)
+                    applyMatchResult(updatedMatch)
+                    loadNextMatch()
                 }
-                
-                loadNextMatch()
             }
         }
     }
     
     fun submitMatchResultWithScore(@Suppress("UNUSED_PARAMETER") matchId: Long, winnerId: Long?, score1: Int?, score2: Int?) {
+        recordVote()
         viewModelScope.launch {
-            val currentState = _uiState.value
-            currentState.currentMatch?.let { match ->
-                val updatedMatch = match.copy(
-                    winnerId = winnerId,
-                    score1 = score1,
-                    score2 = score2,
-                    isCompleted = true
+            voteLatency.time {
+                val currentState = _uiState.value
+                currentState.currentMatch?.let { match ->
+                    val updatedMatch = repository.saveMatchResult(
+                        match.copy(
+                            winnerId = winnerId,
+                            score1 = score1,
+                            score2 = score2,
+                            isCompleted = true
+                        )
+                    )
+                    recordJudgment(updatedMatch)
+                    applyMatchResult(updatedMatch)
+                    loadNextMatch()
+                }
+            }
+        }
+    }
+    
+    /**
+     * Kaydedilmiş bir maç sonucunu turnuva durumlarına işler; oy ve önceki
+     * kararla otomatik tamamlama aynı yoldan geçer.
+     */
+    private suspend fun applyMatchResult(updatedMatch: Match) {
+        markLeagueMatchPlayed(updatedMatch)
+        liveStandings?.onMatchCompleted(updatedMatch)
+        takeSpeculation(updatedMatch)
+        
+        // Update Swiss state if this is a Swiss tournament
+        if (currentMethod == "SWISS") {
+            updateSwissStateAfterMatch(updatedMatch)
+        }
+        
+        // Update Emre state if this is an Emre tournament
+        if (currentMethod == "EMRE_CORRECT") {
+            updateEmreCorrectStateAfterMatch(updatedMatch)
+        }
+        
+        // Uyarlanır sıralamada her cevap modeli yeniden kestirir
+        val sort = sorter
+        if (sort != null && compute { sort.answer(updatedMatch) }) {
+            saveSorterState()
+        }
+    }
+    
+    private suspend fun pairwiseJudgments(): PairwiseJudgments =
+        judgments?.takeIf { it.listId == currentListId }
+            ?: repository.getPairwiseJudgments(currentListId).also { judgments = it }
+    
+    /**
+     * Eleme yöntemlerinde listenin geçişli sonuç grafı; ilk ihtiyaçta kayıtlı kararlardan kurulur.
+     */
+    private suspend fun judgmentGraph(): JudgmentGraph? {
+        if (currentMethod !in TRANSITIVE_METHODS) return null
+        judgmentGraph?.let { return it }
+        val store = pairwiseJudgments()
+        return compute { JudgmentGraph.of(songs, store) }.also { judgmentGraph = it }
+    }
+    
+    private suspend fun recordJudgment(match: Match) {
+        val graph = judgmentGraph()
+        val judgment = pairwiseJudgments().record(match) ?: return
+        repository.savePairwiseJudgment(judgment)
+        if (graph != null && !graph.record(match)) {
+            log.w { "Çelişkili oy: ${match.songId1} - ${match.songId2} → ${match.winnerId}" }
+            contradictionCount.increment()
+            _uiState.update { it.copy(contradictions = it.contradictions + 1) }
+            saveJudgmentStats()
+        }
+    }
+    
+    private suspend fun saveJudgmentStats() {
+        val session = currentVotingSession ?: return
+        val state = _uiState.value
+        val updatedSession = session.copy(
+            autoCompletedMatches = state.autoCompletedMatches,
+            inferredMatches = state.inferredMatches,
+            contradictions = state.contradictions
+        )
+        votingSessionDao.updateSession(updatedSession)
+        currentVotingSession = updatedSession
+    }
+    
+    // Eleme yöntemlerinde ve beraberliğe kapalı ligde beraberlik kararı maçı bitiremez
+    private fun drawsAllowed(): Boolean = when (currentMethod) {
+        "LEAGUE" -> _uiState.value.leagueSettings?.allowDraws ?: true
+        "SWISS", "EMRE_CORRECT" -> true
+        else -> false
+    }
+    
+    /**
+     * Kullanıcıya sorulacak sıradaki maç. Daha önce (herhangi bir yöntemde) oylanmış
+     * ikililer soru sorulmadan o kararla, eleme yöntemlerinde sonucu geçişli olarak
+     * belli olanlar da çıkarılan galiple tamamlanır. Çift devreli ligde rövanş bilerek
+     * tekrar sorulduğu için önceki kararlar kullanılmaz.
+     */
+    private suspend fun nextMatchToAsk(league: Pair<LeagueSchedule, BitSet>?): Match? {
+        val reuse = _uiState.value.reuseJudgments &&
+            !(currentMethod == "LEAGUE" && _uiState.value.leagueSettings?.doubleRoundRobin == true)
+        var reused = 0
+        var inferred = 0
+        var next = nextUncompletedMatch(league)
+        while (next != null && reuse) {
+            val known = pairwiseJudgments().resolve(next, drawsAllowed())
+            val implied = if (known == null) judgmentGraph()?.implied(next) else null
+            val completed = known ?: implied ?: break
+            
+            log.d { "${if (known != null) "Önceki karar" else "Geçişli çıkarım"}: ${completed.songId1} - ${completed.songId2} → ${completed.winnerId}" }
+            applyMatchResult(repository.saveMatchResult(completed))
+            if (known != null) reused++ else inferred++
+            next = nextUncompletedMatch(league)
+        }
+        
+        if (reused + inferred > 0) {
+            autoCompletedCount.add(reused.toLong())
+            inferredCount.add(inferred.toLong())
+            _uiState.update {
+                it.copy(
+                    autoCompletedMatches = it.autoCompletedMatches + reused,
+                    inferredMatches = it.inferredMatches + inferred
                 )
-                repository.updateMatch(updatedMatch)
-                
-                // Update Swiss state if this is a Swiss tournament
-                if (currentMethod == "SWISS") {
-                    updateSwissStateAfterMatch(updatedMatch)
+            }
+            saveJudgmentStats()
+        }
+        return next
+    }
+    
+    // Eski oturumlarda önceden yazılmış oynanmamış lig satırları önce bitirilir
+    private suspend fun nextUncompletedMatch(league: Pair<LeagueSchedule, BitSet>?): Match? =
+        repository.getNextUncompletedMatch(currentListId, currentMethod)
+            ?: league?.let { (schedule, played) -> schedule.nextUnplayed(played) }
+            ?: sorter?.nextMatch(currentListId)
+    
+    /**
+     * Önceki oyların yeniden kullanımını aç/kapat; oturuma kaydedilir.
+     */
+    fun setReuseJudgments(enabled: Boolean) {
+        _uiState.update { it.copy(reuseJudgments = enabled) }
+        viewModelScope.launch {
+            val session = currentVotingSession ?: return@launch
+            val updatedSession = session.copy(reuseJudgments = enabled, lastModified = System.currentTimeMillis())
+            votingSessionDao.updateSession(updatedSession)
+            currentVotingSession = updatedSession
+        }
+    }
+    
+    /**
+     * Oturumun İsviçre yakınsama ayarı; sabit tur tablosuyla oynanıyorsa null.
+     * Yeni oturumda ekrandan gelen istek, devam edilen oturumda kayıtlı ayar geçerlidir.
+     */
+    private fun swissConvergence(): SwissConvergence? {
+        val session = currentVotingSession
+        val topN = session?.convergenceTopN ?: requestedConvergenceTopN
+        val tolerance = session?.convergenceTolerance ?: requestedConvergenceTolerance
+        return if (topN > 0) SwissConvergence(topN, tolerance / 100.0) else null
+    }
+    
+    private fun swissRoundLimit(): Int =
+        swissConvergence()?.maxRounds(songs.size) ?: RankingEngine.getSwissRoundCount(songs.size)
+    
+    private suspend fun swissConverged(): Boolean {
+        val convergence = swissConvergence() ?: return false
+        val completedMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
+            .filter { it.isCompleted }
+        val status = compute { convergence.evaluate(songs, completedMatches) }
+        log.d { "İsviçre yakınsama: tur ${status.round}, uzaklık ${status.distances.lastOrNull()}, sınırda eşitlik ${status.boundaryTied}" }
+        return status.converged
+    }
+    
+    /**
+     * Yakınsamayla biten İsviçre turnuvasında sabit tur tablosuna göre oynanmayan maç sayısı.
+     */
+    private fun reportSwissSavings(allMatches: List<Match>) {
+        if (swissConvergence() == null) return
+        val played = allMatches.count { it.isCompleted }
+        val saved = SwissConvergence.fixedScheduleMatches(songs.size) - played
+        val rounds = allMatches.maxOfOrNull { it.round } ?: 0
+        log.d { "İsviçre $rounds turda bitti, sabit tabloya göre $saved maç" }
+        if (saved > 0) swissSavedCount.add(saved.toLong())
+        _uiState.update { it.copy(swissRoundsPlayed = rounds, swissMatchesSaved = saved) }
+    }
+    
+    /**
+     * Yarım kalan İsviçre, Emre ya da lig turnuvasının kalanını Monte Carlo ile oynatıp her
+     * şarkının sıra olasılıklarını ve kalan tur sayısını tahmin eder. Güncel durum kopyalanır,
+     * oturum değişmez; ilerleme [RankingUiState.computeProgress] ile gösterilir.
+     */
+    fun forecastOutcomes() {
+        if (currentMethod !in setOf("SWISS", "EMRE_CORRECT", "LEAGUE")) return
+        forecastJob?.cancel()
+        forecastJob = viewModelScope.launch {
+            _uiState.update { it.copy(isForecasting = true) }
+            try {
+                val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
+                val completedMatches = allMatches.filter { it.isCompleted }
+                val forecast = when (currentMethod) {
+                    "SWISS" -> {
+                        val live = liveStandings
+                        val standings = if (live != null) {
+                            compute { live.toSwissStandings() }
+                        } else {
+                            compute { RankingEngine.createSwissStandingsFromMatches(songs, completedMatches) }
+                        }
+                        val pending = allMatches.filter { !it.isCompleted }
+                        val totalRounds = swissRoundLimit()
+                        compute {
+                            TournamentSimulator.forecastSwiss(songs, standings, pending, totalRounds, trackedPositions = FORECAST_POSITIONS)
+                        }
+                    }
+                    "EMRE_CORRECT" -> {
+                        val state = emreState ?: return@launch
+                        val currentRound = allMatches.filter { it.round == state.currentRound }
+                        compute {
+                            TournamentSimulator.forecastEmre(
+                                state, completedMatches, currentRound, EMRE_FORECAST_SIMULATIONS,
+                                trackedPositions = FORECAST_POSITIONS
+                            )
+                        }
+                    }
+                    else -> {
+                        // Lig fikstürü sanal: kayıtlarda yalnızca oynananlar var, kalan maçlar formülden
+                        val (schedule, played) = loadLeagueSchedule()
+                        val playedCopy = played.clone() as BitSet
+                        compute {
+                            TournamentSimulator.forecastLeague(schedule, playedCopy, completedMatches, trackedPositions = FORECAST_POSITIONS)
+                        }
+                    }
                 }
                 
-                // Update Emre state if this is an Emre tournament
-                if (currentMethod == "EMRE_CORRECT") {
-                    updateEmreCorrectStateAfterMatch(updatedMatch)
+                // Satırlar büyük listelerde de ana iş parçacığını tutmasın
+                val songList = songs
+                val rows = compute {
+                    val songById = songList.associateBy { it.id }
+                    forecast.songsByExpectedPosition().mapNotNull { songId ->
+                        songById[songId]?.let { song ->
+                            ForecastRow(
+                                song = song,
+                                probabilities = (1..forecast.trackedPositions).map { forecast.probability(songId, it) },
+                                expectedPosition = forecast.expectedPosition(songId)
+                            )
+                        }
+                    }
                 }
-                
-                loadNextMatch()
+                log.d { "Sonuç tahmini: ${forecast.simulations} simülasyon, kalan tur ≈ ${forecast.expectedRemainingRounds}" }
+                _uiState.update {
+                    it.copy(
+                        outcomeForecast = OutcomeForecastSummary(
+                            rows = rows,
+                            simulations = forecast.simulations,
+                            expectedRemainingRounds = forecast.expectedRemainingRounds,
+                            likelyRemainingRounds = forecast.remainingRoundsQuantile(0.9)
+                        )
+                    )
+                }
+            } catch (e: CancellationException) {
+                throw e
+            } catch (e: Exception) {
+                log.e(e) { "Sonuç tahmini başarısız" }
+                _uiState.update { it.copy(error = "Sonuç tahmini yapılamadı: ${e.message}") }
+            } finally {
+                _uiState.update { it.copy(isForecasting = false) }
             }
         }
     }
     
+    fun cancelForecast() {
+        forecastJob?.cancel()
+        forecastJob = null
+    }
+    
     private fun getCurrentSwissRound(completedMatches: Int): Int {
         val matchesPerRound = songs.size / 2
         return (completedMatches / matchesPerRound) + 1
@@ -754,7 +1353,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             }
             
             // Bu turdan sonra kalan takımları hesapla
-            val remainingTeams = getRemainingTeamsAfterRound(allMatches, maxRound)
+            val remainingTeams = compute { getRemainingTeamsAfterRound(allMatches, maxRound) }
             val eliminatedSoFar = songCount - remainingTeams.size
             
             // Debug için log ekle
@@ -776,7 +1375,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             }
             
             // Bu turda kim kazandı kim kaybetti?
-            val (winners, losers) = getWinnersAndLosers(currentRoundMatches)
+            val (winners, losers) = compute { getWinnersAndLosers(currentRoundMatches) }
             val stillNeedToEliminate = teamsToEliminate - eliminatedSoFar
             
             // Güvenlik kontrolü
@@ -790,7 +1389,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             // Prompt kurallarına göre karar ver
             if (losers.size > stillNeedToEliminate) {
                 // Kaybeden sayısı Z'den büyük ise, eleme devam eder
-                val nextRoundMatches = createEliminationMatches(losers, maxRound + 1, stillNeedToEliminate)
+                val nextRoundMatches = compute { createEliminationMatches(losers, maxRound + 1, stillNeedToEliminate) }
                 repository.createMatches(nextRoundMatches)
                 return true
                 
@@ -815,7 +1414,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 
                 if (candidates.size >= 2) {
                     // Bu adayları eşleştir ve need kadar kaybeden üret
-                    val nextRoundMatches = createEliminationMatches(candidates, maxRound + 1, need)
+                    val nextRoundMatches = compute { createEliminationMatches(candidates, maxRound + 1, need) }
                     repository.createMatches(nextRoundMatches)
                     return true
                 } else {
@@ -826,6 +1425,8 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 }
             }
             
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             _uiState.value = _uiState.value.copy(
                 error = "Tam eleme turu oluşturma hatası: ${e.message}"
@@ -1091,7 +1692,13 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
             "SWISS" -> {
                 // Load comprehensive Swiss state and resume from exact position
                 val savedMatchState = repository.getCurrentMatchState(session.id)
-                val savedFixture = repository.loadCompleteFixture(session.id)
+                // Son anlık görüntü + günlük kuyruğu
+                val savedFixture = repository.loadFixtureData(session.id)
+                
+                // Soğuk başlangıç: canlı tablo tamamlanmış maçlardan bir kez kurulur
+                startLiveStandings(
+                    repository.getMatchesByListAndMethodSync(currentListId, currentMethod).filter { it.isCompleted }
+                )
                 
                 if (savedMatchState != null && savedMatchState.isMatchInProgress) {
                     // Resume from middle of a match
@@ -1108,8 +1715,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                             song1 = song1,
                             song2 = song2,
                             progress = savedFixture?.let { fixture ->
-                                val completed = repository.getMatchProgress(currentListId, currentMethod).first
-                                val total = repository.getMatchProgress(currentListId, currentMethod).second
+                                val (completed, total) = repository.getMatchProgress(currentListId, currentMethod)
                                 if (total > 0) completed.toFloat() / total else 0f
                             } ?: 0f
                         )
@@ -1131,8 +1737,9 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
                     if (allMatches.isNotEmpty()) {
                         val completedMatches = allMatches.filter { it.isCompleted }
-                        val swissStandings = RankingEngine.createSwissStandingsFromMatches(songs, completedMatches)
-                        val maxRounds = RankingEngine.getSwissRoundCount(songs.size)
+                        val swissStandings = liveStandings?.toSwissStandings()
+                            ?: RankingEngine.createSwissStandingsFromMatches(songs, completedMatches)
+                        val maxRounds = swissRoundLimit()
                         
                         // Save recreated state
                         repository.saveSwissState(
@@ -1145,11 +1752,11 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                         )
                         
                         // Save complete fixture for future resumes
-                        repository.saveCompleteFixture(
+                        repository.compactFixture(
                             sessionId = session.id,
-                            currentRound = (completedMatches.maxOfOrNull { it.round } ?: 0) + 1,
+                            listId = currentListId,
+                            method = currentMethod,
                             totalRounds = maxRounds,
-                            allMatches = allMatches,
                             currentStandings = swissStandings.standings
                         )
                     }
@@ -1157,25 +1764,36 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 }
             }
             "EMRE_CORRECT" -> {
-                // Resume Emre system from existing matches
+                // Resume Emre system: son anlık görüntü + henüz görüntüye girmemiş tamamlanmış turlar
                 val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
                 if (allMatches.isNotEmpty()) {
-                    // Recreate Emre state from existing matches
-                    var state = EmreSystemCorrect.initializeEmreTournament(songs)
                     val completedMatches = allMatches.filter { it.isCompleted }
-                    val matchesByRound = completedMatches.groupBy { it.round }
-                    
-                    // Process each completed round to rebuild state
-                    for ((round, roundMatches) in matchesByRound.toSortedMap()) {
-                        val byeTeam = findByeTeamFromMatches(state, roundMatches, songs)
-                        state = RankingEngine.processCorrectEmreResults(state, roundMatches, byeTeam)
+                    val snapshot = repository.loadEmreState(session.id, songs)
+                    val matchesPerRound = songs.size / 2
+                    emreState = compute {
+                        var state = snapshot ?: EmreSystemCorrect.initializeEmreTournament(songs)
+                        val matchesByRound = completedMatches.filter { it.round >= state.currentRound }.groupBy { it.round }
+                        
+                        // Normalde boş: görüntü yoksa ya da tur işlenip yazılamadan kapandıysa eksik turları işle.
+                        // Yarım kalan tur işlenmez, son maçı oylanınca normal akışta işlenir.
+                        for ((round, roundMatches) in matchesByRound.toSortedMap()) {
+                            if (round != state.currentRound || roundMatches.size < matchesPerRound) break
+                            EngineCompute.checkpoint("Emre durumu yükleniyor", round, matchesByRound.size)
+                            val byeTeam = findByeTeamFromMatches(state, roundMatches, songs)
+                            state = RankingEngine.processCorrectEmreResults(state, roundMatches, byeTeam)
+                        }
+                        state
                     }
-                    
-                    emreState = state
-                    calculateCurrentStandings()
+                    if (emreState !== snapshot) saveEmreSnapshot()
+                    startLiveStandings(completedMatches)
                 }
                 loadNextMatch()
             }
+            "MERGE_SORT", "TOP_K", "ADAPTIVE" -> {
+                sorter = restoreSorter(session)
+                saveSorterState()
+                loadNextMatch()
+            }
             else -> {
                 // For other match-based methods, resume from current match
                 loadNextMatch()
@@ -1183,6 +1801,16 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
         }
     }
     
+    private fun recordVote() {
+        val now = System.currentTimeMillis()
+        voteCount.increment()
+        // İlk oy ve uzun aralar (duraklatma, ekran değişimi) tempoya katılmaz
+        if (lastVoteAt != 0L && now - lastVoteAt <= MAX_VOTE_INTERVAL_MS) {
+            voteInterval.record(now - lastVoteAt)
+        }
+        lastVoteAt = now
+    }
+    
     private suspend fun createOrUpdateSession() {
         val session = currentVotingSession
         if (session == null) {
@@ -1197,6 +1825,9 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 "LEAGUE" -> "Lig"
                 "ELIMINATION" -> "Eleme"
                 "FULL_ELIMINATION" -> "Tam Eleme"
+                "MERGE_SORT" -> "Birleştirmeli Sıralama"
+                "TOP_K" -> "İlk ${sessionTopK()}"
+                "ADAPTIVE" -> "Uyarlanır (%$requestedConfidence)"
                 "DIRECT_SCORING" -> "Direkt Puanlama"
                 else -> currentMethod
             }
@@ -1211,7 +1842,11 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 currentSongId = songs.getOrNull(currentSongIndex)?.id,
                 currentRound = 1,
                 completedMatches = 0,
-                totalMatches = 0
+                totalMatches = 0,
+                reuseJudgments = _uiState.value.reuseJudgments,
+                convergenceTopN = if (currentMethod == "SWISS") requestedConvergenceTopN else 0,
+                convergenceTolerance = requestedConvergenceTolerance,
+                topK = if (currentMethod == "TOP_K") requestedTopK else 0
             )
             val sessionId = votingSessionDao.createSession(newSession)
             currentVotingSession = newSession.copy(id = sessionId)
@@ -1262,6 +1897,9 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     repository.deleteSwissState(session.id)
                     repository.deleteAllSwissMatchStates(session.id)
                 }
+                if (currentMethod == "EMRE_CORRECT") {
+                    repository.deleteEmreState(session.id)
+                }
                 
                 votingSessionDao.deleteSession(session)
                 currentVotingSession = null
@@ -1334,12 +1972,17 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
     private suspend fun updateSwissStateAfterMatch(completedMatch: Match) {
         currentVotingSession?.let { session ->
             try {
-                val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
-                val completedMatches = allMatches.filter { it.isCompleted }
+                // Oy başına tek günlük satırı; tam fikstür tur başına yazılır
+                repository.appendFixtureEvent(session.id, completedMatch)
+                
+                val standings = liveStandings ?: return
                 
-                // Recreate Swiss standings with the new completed match
-                val swissStandings = RankingEngine.createSwissStandingsFromMatches(songs, completedMatches)
-                val maxRounds = RankingEngine.getSwissRoundCount(songs.size)
+                // Maçın kendisi zaten kaydedildi; İsviçre durumu sadece tur kapanınca yazılır
+                val matchesPerRound = songs.size / 2
+                if (standings.completedInRound(completedMatch.round).size < matchesPerRound) return
+                
+                val swissStandings = standings.toSwissStandings()
+                val maxRounds = swissRoundLimit()
                 
                 // Update Swiss state in database
                 repository.saveSwissState(
@@ -1358,75 +2001,53 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
         }
     }
     
-    private suspend fun calculateCurrentStandings() {
-        try {
-            val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
-            val completedMatches = allMatches.filter { it.isCompleted }
-            
-            if (currentMethod == "EMRE_CORRECT") {
-                // Emre sistemi için puan hesaplama
-                val standings = songs.map { song ->
-                    var points = 0.0
-                    var played = 0
-                    var won = 0
-                    var drawn = 0
-                    var lost = 0
-                    
-                    completedMatches.forEach { match ->
-                        if (match.songId1 == song.id || match.songId2 == song.id) {
-                            played++
-                            when (match.winnerId) {
-                                song.id -> {
-                                    won++
-                                    points += 1.0
-                                }
-                                null -> {
-                                    drawn++
-                                    points += 0.5
-                                }
-                                else -> {
-                                    lost++
-                                }
-                            }
+    /**
+     * Canlı puan tablosunu tamamlanmış maçlardan kur (soğuk başlangıç) ve UI'ya bağla.
+     * Sonraki her oy [IncrementalStandings.onMatchCompleted] ile işlenir.
+     */
+    private fun startLiveStandings(completedMatches: List<Match>) {
+        liveStandingsJob?.cancel()
+        cancelSpeculation()
+        
+        val standings = IncrementalStandings(songs, Scoring.SWISS)
+        standings.reset(completedMatches)
+        liveStandings = standings
+        
+        val songById = songs.associateBy { it.id }
+        liveStandingsJob = viewModelScope.launch {
+            // Satırlar arka planda dönüştürülür; ana iş parçacığı yalnızca hazır listeyi yayınlar
+            standings.table
+                .map { rows ->
+                    rows.mapNotNull { row ->
+                        songById[row.songId]?.let { song ->
+                            StandingEntry(
+                                position = row.position,
+                                song = song,
+                                points = row.points,
+                                played = row.played,
+                                won = row.won,
+                                drawn = row.drawn,
+                                lost = row.lost
+                            )
                         }
                     }
-                    
-                    StandingEntry(
-                        position = 0, // Will be set after sorting
-                        song = song,
-                        points = points,
-                        played = played,
-                        won = won,
-                        drawn = drawn,
-                        lost = lost
-                    )
-                }.sortedWith(
-                    compareByDescending<StandingEntry> { it.points }
-                        .thenBy { songs.indexOf(it.song) } // Original position as tiebreaker
-                ).mapIndexed { index, entry ->
-                    entry.copy(position = index + 1)
                 }
-                
-                _uiState.value = _uiState.value.copy(currentStandings = standings)
-            } else if (currentMethod == "LEAGUE") {
-                // League sistemi için mevcut hesaplama (varsa)
-                // Bu kısım zaten var olabilir
-            }
-        } catch (e: Exception) {
-            // Hata durumunda boş liste
-            _uiState.value = _uiState.value.copy(currentStandings = emptyList())
+                .flowOn(EngineCompute.dispatcher)
+                .collect { entries ->
+                    _uiState.value = _uiState.value.copy(currentStandings = entries)
+                }
         }
     }
     
     private suspend fun updateEmreCorrectStateAfterMatch(completedMatch: Match) {
         try {
             val currentState = emreState ?: return
-            val allMatches = repository.getMatchesByListAndMethodSync(currentListId, currentMethod)
             
             // Bu turda tamamlanan tüm maçları al
-            val currentRoundMatches = allMatches.filter { 
-                it.isCompleted && it.round == completedMatch.round 
-            }
+            val currentRoundMatches = liveStandings?.completedInRound(completedMatch.round)
+                ?: repository.getMatchesByListAndMethodSync(currentListId, currentMethod).filter {
+                    it.isCompleted && it.round == completedMatch.round
+                }
             
             // Tur tamamlandı mı kontrol et  
             // ⚠️ KRİTİK: Expected matches sayısı takım sayısına göre sabittir
@@ -1436,15 +2057,21 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                 (songs.size - 1) / 2  // Tek takım = 1 bye + eşleştirmeler
             }
             
-            android.util.Log.d("RankingViewModel", "🔍 Tur kontrolü: ${currentRoundMatches.size}/${expectedMatchesInRound} maç tamamlandı")
+            log.d { "🔍 Tur kontrolü: ${currentRoundMatches.size}/${expectedMatchesInRound} maç tamamlandı" }
             
             if (currentRoundMatches.size >= expectedMatchesInRound) {
                 // Tur tamamlandı, sonuçları işle
-                val byeTeam = findByeTeam(currentState, currentRoundMatches)
-                emreState = RankingEngine.processCorrectEmreResults(currentState, currentRoundMatches, byeTeam)
-                
-                // Sonraki tur için eşleştirme oluştur
-                val pairingResult = RankingEngine.createCorrectEmreMatches(songs, emreState)
+                val speculated = speculatedEmreRound
+                speculatedEmreRound = null
+                val (nextState, pairingResult) = speculated ?: run {
+                    val byeTeam = findByeTeam(currentState, currentRoundMatches)
+                    val processed = compute { RankingEngine.processCorrectEmreResults(currentState, currentRoundMatches, byeTeam) }
+                    
+                    // Sonraki tur için eşleştirme oluştur
+                    processed to compute { RankingEngine.createCorrectEmreMatches(songs, processed) }
+                }
+                emreState = nextState
+                saveEmreSnapshot()
                 
                 if (!pairingResult.canContinue) {
                     // Turnuva tamamlandı
@@ -1456,7 +2083,7 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     repository.createMatches(pairingResult.matches)
                     
                     // Her yeni tur için eşleştirmeler listesini göster
-                    android.util.Log.d("RankingViewModel", "📋 ${completedMatch.round + 1}. tur eşleştirmeler listesi gösteriliyor...")
+                    log.d { "📋 ${completedMatch.round + 1}. tur eşleştirmeler listesi gösteriliyor..." }
                     _uiState.value = _uiState.value.copy(
                         showInitialRanking = false,
                         showMatchingsList = true,
@@ -1465,9 +2092,8 @@ class RankingViewModel(application: Application) : AndroidViewModel(application)
                     )
                 }
             }
-            
-            // Standings'i güncelle
-            calculateCurrentStandings()
+        } catch (e: CancellationException) {
+            throw e
         } catch (e: Exception) {
             _uiState.value = _uiState.value.copy(
                 error = "Emre durumu güncelleme hatası: ${e.message}"
@@ -4,6 +4,8 @@ import android.app.Application
 import androidx.lifecycle.AndroidViewModel
 import androidx.lifecycle.viewModelScope
 import com.example.ranking.data.*
+import com.example.ranking.ranking.Scoring
+import com.example.ranking.ranking.TournamentState
 import com.example.ranking.repository.RankingRepository
 import com.example.ranking.utils.CsvReader
 import kotlinx.coroutines.flow.MutableStateFlow
@@ -11,9 +13,12 @@ import kotlinx.coroutines.flow.StateFlow
 import kotlinx.coroutines.flow.asStateFlow
 import kotlinx.coroutines.launch
 import com.google.gson.Gson
+import com.example.ranking.logging.RankingLog
 
 class ResultsViewModel(application: Application) : AndroidViewModel(application) {
     
+    private val log = RankingLog.channel("ResultsViewModel")
+    
     private val database = RankingDatabase.getDatabase(application)
     private val repository = RankingRepository(
         songDao = database.songDao(),
@@ -124,74 +129,8 @@ class ResultsViewModel(application: Application) : AndroidViewModel(application)
                 val songs = repository.getSongsByListId(listId)
                 val settings = repository.getLeagueSettings(listId, "LEAGUE")
                 
-                // Calculate table entries
-                val tableEntries = mutableMapOf<Long, LeagueTableEntry>()
-                
                 songs.collect { songList ->
-                    // Initialize entries for all teams
-                    songList.forEach { song ->
-                        tableEntries[song.id] = LeagueTableEntry(
-                            teamName = song.name,
-                            played = 0,
-                            won = 0,
-                            drawn = 0,
-                            lost = 0,
-                            goalsFor = 0,
-                            goalsAgainst = 0,
-                            goalDifference = 0,
-                            points = 0
-                        )
-                    }
-                    
-                    // Process completed matches
-                    matches.filter { it.isCompleted }.forEach { match ->
-                        val team1Entry = tableEntries[match.songId1]!!
-                        val team2Entry = tableEntries[match.songId2]!!
-                        
-                        val score1 = match.score1 ?: 0
-                        val score2 = match.score2 ?: 0
-                        
-                        // Update team 1
-                        tableEntries[match.songId1] = team1Entry.copy(
-                            played = team1Entry.played + 1,
-                            won = team1Entry.won + if (match.winnerId == match.songId1) 1 else 0,
-                            drawn = team1Entry.drawn + if (match.winnerId == null) 1 else 0,
-                            lost = team1Entry.lost + if (match.winnerId == match.songId2) 1 else 0,
-                            goalsFor = team1Entry.goalsFor + score1,
-                            goalsAgainst = team1Entry.goalsAgainst + score2,
-                            points = team1Entry.points + when (match.winnerId) {
-                                match.songId1 -> settings?.winPoints ?: 3
-                                null -> settings?.drawPoints ?: 1
-                                else -> 0
-                            }
-                        )
-                        
-                        // Update team 2
-                        tableEntries[match.songId2] = team2Entry.copy(
-                            played = team2Entry.played + 1,
-                            won = team2Entry.won + if (match.winnerId == match.songId2) 1 else 0,
-                            drawn = team2Entry.drawn + if (match.winnerId == null) 1 else 0,
-                            lost = team2Entry.lost + if (match.winnerId == match.songId1) 1 else 0,
-                            goalsFor = team2Entry.goalsFor + score2,
-                            goalsAgainst = team2Entry.goalsAgainst + score1,
-                            points = team2Entry.points + when (match.winnerId) {
-                                match.songId2 -> settings?.winPoints ?: 3
-                                null -> settings?.drawPoints ?: 1
-                                else -> 0
-                            }
-                        )
-                    }
-                    
-                    // Sort by points, then goal difference, then goals for
-                    val sortedTable = tableEntries.values
-                        .map { entry -> entry.copy(goalDifference = entry.goalsFor - entry.goalsAgainst) }
-                        .sortedWith(
-                            compareByDescending<LeagueTableEntry> { it.points }
-                                .thenByDescending { it.goalDifference }
-                                .thenByDescending { it.goalsFor }
-                        )
-                    
-                    _leagueTable.value = sortedTable
+                    _leagueTable.value = calculateLeagueTable(listId, matches, songList, settings)
                 }
             } catch (e: Exception) {
                 // Handle error
@@ -320,12 +259,12 @@ class ResultsViewModel(application: Application) : AndroidViewModel(application)
                 val archiveId = repository.saveArchive(archive)
                 
                 // Log success
-                android.util.Log.d("ResultsViewModel", "Archive saved successfully: $archiveName with ID: $archiveId")
+                log.d { "Archive saved successfully: $archiveName with ID: $archiveId" }
                 _archiveStatus.value = ArchiveStatus.Success(archiveName)
                 
             } catch (e: Exception) {
                 // Handle archiving error
-                android.util.Log.e("ResultsViewModel", "Archive failed: ${e.message}", e)
+                log.e(e) { "Archive failed: ${e.message}" }
                 e.printStackTrace()
                 _archiveStatus.value = ArchiveStatus.Error("Arşivleme hatası: ${e.message}")
             }
@@ -342,66 +281,30 @@ class ResultsViewModel(application: Application) : AndroidViewModel(application)
         songs: List<Song>,
         settings: LeagueSettings?
     ): List<LeagueTableEntry> {
-        // Calculate table entries
-        val tableEntries = mutableMapOf<Long, LeagueTableEntry>()
-        
-        // Initialize entries for all teams
-        songs.forEach { song ->
-            tableEntries[song.id] = LeagueTableEntry(
-                teamName = song.name,
-                played = 0,
-                won = 0,
-                drawn = 0,
-                lost = 0,
-                goalsFor = 0,
-                goalsAgainst = 0,
-                goalDifference = 0,
-                points = 0
-            )
-        }
+        // Puan tablosu yoğun slot dizilerinde hesaplanır, giriş nesneleri en sonda bir kez üretilir
+        val scoring = Scoring(
+            win = (settings?.winPoints ?: 3).toDouble(),
+            draw = (settings?.drawPoints ?: 1).toDouble()
+        )
+        val state = TournamentState.of(songs, scoring, matches)
+        val names = songs.associate { it.id to it.name }
         
-        // Process completed matches
-        matches.filter { it.isCompleted }.forEach { match ->
-            val team1Entry = tableEntries[match.songId1]!!
-            val team2Entry = tableEntries[match.songId2]!!
-            
-            val score1 = match.score1 ?: 0
-            val score2 = match.score2 ?: 0
-            
-            // Update team 1
-            tableEntries[match.songId1] = team1Entry.copy(
-                played = team1Entry.played + 1,
-                won = team1Entry.won + if (match.winnerId == match.songId1) 1 else 0,
-                drawn = team1Entry.drawn + if (match.winnerId == null) 1 else 0,
-                lost = team1Entry.lost + if (match.winnerId == match.songId2) 1 else 0,
-                goalsFor = team1Entry.goalsFor + score1,
-                goalsAgainst = team1Entry.goalsAgainst + score2,
-                points = team1Entry.points + when (match.winnerId) {
-                    match.songId1 -> settings?.winPoints ?: 3
-                    null -> settings?.drawPoints ?: 1
-                    else -> 0
-                }
-            )
-            
-            // Update team 2
-            tableEntries[match.songId2] = team2Entry.copy(
-                played = team2Entry.played + 1,
-                won = team2Entry.won + if (match.winnerId == match.songId2) 1 else 0,
-                drawn = team2Entry.drawn + if (match.winnerId == null) 1 else 0,
-                lost = team2Entry.lost + if (match.winnerId == match.songId1) 1 else 0,
-                goalsFor = team2Entry.goalsFor + score2,
-                goalsAgainst = team2Entry.goalsAgainst + score1,
-                points = team2Entry.points + when (match.winnerId) {
-                    match.songId2 -> settings?.winPoints ?: 3
-                    null -> settings?.drawPoints ?: 1
-                    else -> 0
-                }
+        val tableEntries = (0 until state.size).map { slot ->
+            LeagueTableEntry(
+                teamName = names.getValue(state.index.idAt(slot)),
+                played = state.played[slot],
+                won = state.wins[slot],
+                drawn = state.draws[slot],
+                lost = state.losses[slot],
+                goalsFor = state.goalsFor[slot],
+                goalsAgainst = state.goalsAgainst[slot],
+                goalDifference = state.goalsFor[slot] - state.goalsAgainst[slot],
+                points = state.points[slot].toInt()
             )
         }
         
         // Sort by points, then goal difference, then goals for
-        return tableEntries.values
-            .map { entry -> entry.copy(goalDifference = entry.goalsFor - entry.goalsAgainst) }
+        return tableEntries
             .sortedWith(
                 compareByDescending<LeagueTableEntry> { it.points }
                     .thenByDescending { it.goalDifference }
@@ -1,17 +1,19 @@
 package com.example.ranking.utils
 
-import android.content.Context
-import android.net.Uri
-import android.util.Log
+import java.io.BufferedInputStream
 import java.io.BufferedReader
+import java.io.FilterInputStream
+import java.io.InputStream
 import java.io.InputStreamReader
 import java.text.Normalizer
 import java.nio.charset.StandardCharsets
 import java.nio.charset.Charset
-import java.io.ByteArrayInputStream
+import com.example.ranking.logging.RankingLog
 
 class CsvReader {
     
+    private val log = RankingLog.channel("CsvReader")
+    
     data class CsvSong(
         val trackNumber: Int = 0,
         val artist: String = "",
@@ -19,80 +21,73 @@ class CsvReader {
         val name: String
     )
     
-    suspend fun readCsvFromUri(context: Context, uri: Uri): List<CsvSong> {
-        val songs = mutableListOf<CsvSong>()
+    /**
+     * CSV dosyasını akış halinde okur: dosya belleğe alınmaz, kodlama yalnızca ilk
+     * [ENCODING_PREFIX_SIZE] bayttan tespit edilir ve satırlar [chunkSize]'lık parçalar
+     * halinde [onChunk]'a teslim edilir. [onChunk]'ın ikinci parametresi o ana kadar
+     * okunan bayt sayısıdır (ilerleme hesabı için).
+     *
+     * @return okunan toplam öğe sayısı
+     */
+    suspend fun readCsvInChunks(
+        inputStream: InputStream,
+        chunkSize: Int = DEFAULT_CHUNK_SIZE,
+        onChunk: suspend (songs: List<CsvSong>, bytesRead: Long) -> Unit
+    ): Int {
+        require(chunkSize > 0) { "chunkSize pozitif olmalı: $chunkSize" }
         
-        try {
-            Log.d("CsvReader", "CSV dosyası açılıyor: $uri")
+        val counting = CountingInputStream(inputStream)
+        val buffered = BufferedInputStream(counting, READ_BUFFER_SIZE)
+        val detectedCharset = detectEncodingAndSkipBOM(buffered)
+        log.d { "Tespit edilen encoding: ${detectedCharset.name()}" }
+        
+        val reader = BufferedReader(InputStreamReader(buffered, detectedCharset), READ_BUFFER_SIZE)
+        val chunk = ArrayList<CsvSong>(chunkSize)
+        var total = 0
+        var skipped = 0
+        var isFirstLine = true
+        
+        while (true) {
+            val currentLine = reader.readLine() ?: break
             
-            context.contentResolver.openInputStream(uri)?.use { inputStream ->
-                Log.d("CsvReader", "Input stream başarıyla açıldı")
-                
-                // Read all bytes first to detect encoding and BOM
-                val allBytes = inputStream.readBytes()
-                Log.d("CsvReader", "Dosya boyutu: ${allBytes.size} bytes")
-                
-                // Detect and remove BOM if present
-                val (cleanBytes, detectedCharset) = detectEncodingAndRemoveBOM(allBytes)
-                Log.d("CsvReader", "Tespit edilen encoding: ${detectedCharset.name()}")
-                
-                // Create reader with detected charset
-                val reader = BufferedReader(
-                    InputStreamReader(ByteArrayInputStream(cleanBytes), detectedCharset)
-                )
-                
-                reader.use { bufferedReader ->
-                    var line: String?
-                    var isFirstLine = true
-                    var lineNumber = 0
-                    
-                    while (bufferedReader.readLine().also { line = it } != null) {
-                        lineNumber++
-                        line?.let { currentLine ->
-                            Log.d("CsvReader", "Satır $lineNumber (raw): $currentLine")
-                            
-                            // Log the raw bytes of this line for debugging
-                            val lineBytes = currentLine.toByteArray(StandardCharsets.UTF_8)
-                            Log.d("CsvReader", "Satır bytes: ${lineBytes.joinToString(" ") { "%02X".format(it) }}")
-                            
-                            // Skip header if it exists
-                            if (isFirstLine && (currentLine.lowercase().contains("öğe") || 
-                                              currentLine.lowercase().contains("şarkı") || 
-                                              currentLine.lowercase().contains("song") ||
-                                              currentLine.lowercase().contains("sanatçı") ||
-                                              currentLine.lowercase().contains("artist") ||
-                                              currentLine.lowercase().contains("albüm") ||
-                                              currentLine.lowercase().contains("album") ||
-                                              currentLine.lowercase().contains("numara"))) {
-                                Log.d("CsvReader", "Header satırı atlandı: $currentLine")
-                                isFirstLine = false
-                                return@let
-                            }
-                            isFirstLine = false
-                            
-                            val normalizedLine = currentLine.trim().normalize()
-                            Log.d("CsvReader", "Normalize edilmiş satır: $normalizedLine")
-                            
-                            val song = parseCsvLine(normalizedLine)
-                            if (song.name.isNotBlank()) {
-                                songs.add(song)
-                                Log.d("CsvReader", "Öğe eklendi: ${song.name} - ${song.artist}")
-                            } else {
-                                Log.w("CsvReader", "Boş öğe adı, satır atlandı: $currentLine")
-                            }
-                        }
-                    }
+            // Skip header if it exists
+            if (isFirstLine) {
+                isFirstLine = false
+                if (isHeaderLine(currentLine)) {
+                    log.d { "Header satırı atlandı: $currentLine" }
+                    continue
                 }
-            } ?: throw Exception("Dosya açılamadı. Dosya erişim izni olmayabilir.")
+            }
             
-            Log.d("CsvReader", "Toplam ${songs.size} öğe okundu")
+            val song = parseCsvLine(currentLine.trim().normalize())
+            if (song.name.isBlank()) {
+                skipped++
+                continue
+            }
             
-        } catch (e: Exception) {
-            Log.e("CsvReader", "CSV okuma hatası: ${e.message}", e)
-            throw Exception("CSV dosyası okunamadı: ${e.message}")
+            chunk.add(song)
+            if (chunk.size == chunkSize) {
+                total += chunk.size
+                onChunk(chunk.toList(), counting.count)
+                chunk.clear()
+            }
         }
         
-        return songs
+        if (chunk.isNotEmpty()) {
+            total += chunk.size
+            onChunk(chunk.toList(), counting.count)
+        }
+        
+        if (skipped > 0) {
+            log.w { "$skipped satır boş öğe adı nedeniyle atlandı" }
+        }
+        log.d { "Toplam $total öğe okundu (${counting.count} bytes)" }
+        return total
+    }
+    
+    private fun isHeaderLine(line: String): Boolean {
+        val lower = line.lowercase()
+        return HEADER_KEYWORDS.any { lower.contains(it) }
     }
     
     private fun parseCsvLine(line: String): CsvSong {
@@ -105,8 +100,6 @@ class CsvReader {
             else -> ","
         }
         
-        Log.d("CsvReader", "Kullanılan ayraç: '$separator'")
-        
         // Split and clean parts
         val parts = line.split(separator).map { part ->
             part.trim()
@@ -116,8 +109,6 @@ class CsvReader {
                 .normalize()
         }
         
-        Log.d("CsvReader", "Ayrıştırılan parçalar (${parts.size}): ${parts.joinToString(" | ")}")
-        
         return when {
             parts.size >= 4 -> {
                 // Four columns: A=numara, B=sanatçı, C=albüm, D=öğe
@@ -179,59 +170,71 @@ class CsvReader {
         }
     }
     
-    // Detect encoding and remove BOM if present
-    private fun detectEncodingAndRemoveBOM(bytes: ByteArray): Pair<ByteArray, Charset> {
+    // Detect encoding from a small prefix and skip BOM if present; the stream is left
+    // positioned at the first content byte
+    private fun detectEncodingAndSkipBOM(stream: BufferedInputStream): Charset {
+        stream.mark(ENCODING_PREFIX_SIZE)
+        val prefix = ByteArray(ENCODING_PREFIX_SIZE)
+        var length = 0
+        while (length < prefix.size) {
+            val read = stream.read(prefix, length, prefix.size - length)
+            if (read < 0) break
+            length += read
+        }
+        stream.reset()
+        
+        val (bomLength, charset) = detectEncoding(prefix, length)
+        if (bomLength > 0) {
+            stream.skip(bomLength.toLong())
+        }
+        return charset
+    }
+    
+    // Returns BOM length and charset for the given prefix
+    private fun detectEncoding(bytes: ByteArray, length: Int): Pair<Int, Charset> {
         // Check for UTF-8 BOM (EF BB BF)
-        if (bytes.size >= 3 && bytes[0] == 0xEF.toByte() && bytes[1] == 0xBB.toByte() && bytes[2] == 0xBF.toByte()) {
-            Log.d("CsvReader", "UTF-8 BOM tespit edildi, kaldırılıyor")
-            return Pair(bytes.sliceArray(3 until bytes.size), StandardCharsets.UTF_8)
+        if (length >= 3 && bytes[0] == 0xEF.toByte() && bytes[1] == 0xBB.toByte() && bytes[2] == 0xBF.toByte()) {
+            log.d { "UTF-8 BOM tespit edildi, kaldırılıyor" }
+            return Pair(3, StandardCharsets.UTF_8)
         }
         
         // Check for UTF-16 BE BOM (FE FF)
-        if (bytes.size >= 2 && bytes[0] == 0xFE.toByte() && bytes[1] == 0xFF.toByte()) {
-            Log.d("CsvReader", "UTF-16 BE BOM tespit edildi")
-            return Pair(bytes.sliceArray(2 until bytes.size), StandardCharsets.UTF_16BE)
+        if (length >= 2 && bytes[0] == 0xFE.toByte() && bytes[1] == 0xFF.toByte()) {
+            log.d { "UTF-16 BE BOM tespit edildi" }
+            return Pair(2, StandardCharsets.UTF_16BE)
         }
         
         // Check for UTF-16 LE BOM (FF FE)
-        if (bytes.size >= 2 && bytes[0] == 0xFF.toByte() && bytes[1] == 0xFE.toByte()) {
-            Log.d("CsvReader", "UTF-16 LE BOM tespit edildi")
-            return Pair(bytes.sliceArray(2 until bytes.size), StandardCharsets.UTF_16LE)
+        if (length >= 2 && bytes[0] == 0xFF.toByte() && bytes[1] == 0xFE.toByte()) {
+            log.d { "UTF-16 LE BOM tespit edildi" }
+            return Pair(2, StandardCharsets.UTF_16LE)
         }
         
         // Try to detect Turkish characters to determine if we need Windows-1254
-        val sampleText = String(bytes.take(1024).toByteArray(), StandardCharsets.UTF_8)
-        Log.d("CsvReader", "UTF-8 ile ilk 100 karakter: ${sampleText.take(100)}")
-        
-        // Also try with Windows-1254 for comparison
-        try {
-            val sampleWindows1254 = String(bytes.take(1024).toByteArray(), Charset.forName("windows-1254"))
-            Log.d("CsvReader", "Windows-1254 ile ilk 100 karakter: ${sampleWindows1254.take(100)}")
-        } catch (e: Exception) {
-            Log.w("CsvReader", "Windows-1254 sample test hatası: ${e.message}")
-        }
+        val sampleLength = minOf(length, ENCODING_SAMPLE_SIZE)
+        val sampleText = String(bytes, 0, sampleLength, StandardCharsets.UTF_8)
         
         // If we see Turkish characters or common Turkish words, assume it's UTF-8
         if (sampleText.contains(Regex("[çğıöşüÇĞIÖŞÜ]")) || 
             sampleText.lowercase().contains(Regex("\\b(sanatçı|şarkı|albüm|öğe)\\b"))) {
-            Log.d("CsvReader", "Türkçe karakterler tespit edildi, UTF-8 kullanılıyor")
-            return Pair(bytes, StandardCharsets.UTF_8)
+            log.d { "Türkçe karakterler tespit edildi, UTF-8 kullanılıyor" }
+            return Pair(0, StandardCharsets.UTF_8)
         }
         
         // Try Windows-1254 for Turkish files that might be encoded in that format
         try {
-            val windows1254Text = String(bytes.take(1024).toByteArray(), Charset.forName("windows-1254"))
+            val windows1254Text = String(bytes, 0, sampleLength, Charset.forName("windows-1254"))
             if (windows1254Text.contains(Regex("[çğıöşüÇĞIÖŞÜ]"))) {
-                Log.d("CsvReader", "Windows-1254 encoding tespit edildi")
-                return Pair(bytes, Charset.forName("windows-1254"))
+                log.d { "Windows-1254 encoding tespit edildi" }
+                return Pair(0, Charset.forName("windows-1254"))
             }
         } catch (e: Exception) {
-            Log.w("CsvReader", "Windows-1254 encoding test hatası: ${e.message}")
+            log.w { "Windows-1254 encoding test hatası: ${e.message}" }
         }
         
         // Default to UTF-8
-        Log.d("CsvReader", "Varsayılan UTF-8 encoding kullanılıyor")
-        return Pair(bytes, StandardCharsets.UTF_8)
+        log.d { "Varsayılan UTF-8 encoding kullanılıyor" }
+        return Pair(0, StandardCharsets.UTF_8)
     }
     
     // Extension function for Unicode normalization to handle Turkish characters properly
@@ -262,4 +265,39 @@ class CsvReader {
             .replace("\u00C3\u0083\u00C2\u00BC", "ü")
             .replace("\u00C3\u0083\u00C2\u00B6", "ö")
     }
-}
\ No newline at end of file
+    
+    // Okunan baytları sayar; ilerleme yüzdesi için dosya boyutuyla karşılaştırılır
+    private class CountingInputStream(input: InputStream) : FilterInputStream(input) {
+        var count = 0L
+            private set
+        
+        override fun read(): Int {
+            val b = super.read()
+            if (b >= 0) count++
+            return b
+        }
+        
+        override fun read(b: ByteArray, off: Int, len: Int): Int {
+            val n = super.read(b, off, len)
+            if (n > 0) count += n
+            return n
+        }
+        
+        override fun skip(n: Long): Long {
+            val skipped = super.skip(n)
+            count += skipped
+            return skipped
+        }
+    }
+    
+    companion object {
+        /** Her veritabanı işlemine giden satır sayısı */
+        const val DEFAULT_CHUNK_SIZE = 500
+        private const val READ_BUFFER_SIZE = 64 * 1024
+        private const val ENCODING_PREFIX_SIZE = 4096
+        private const val ENCODING_SAMPLE_SIZE = 1024
+        private val HEADER_KEYWORDS = listOf(
+            "öğe", "şarkı", "song", "sanatçı", "artist", "albüm", "album", "numara"
+        )
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.ranking.utils
+
+import android.util.Base64
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.EmreStateCodec
+import com.example.ranking.ranking.EmreSystemCorrect
+
+/**
+ * `emre_states` metin sütunu için saklama biçimi: önek + Base64 [EmreStateCodec].
+ */
+object EmreStateSerializer {
+    
+    private const val STATE_PREFIX = "es1:"
+    
+    fun serializeState(state: EmreSystemCorrect.EmreState): String {
+        return STATE_PREFIX + Base64.encodeToString(EmreStateCodec.encode(state), Base64.NO_WRAP)
+    }
+    
+    /**
+     * Tanınmayan biçimde ya da listedeki şarkılarla uyuşmuyorsa
+     * [IllegalArgumentException] fırlatır.
+     */
+    fun deserializeState(stateData: String, songs: List<Song>): EmreSystemCorrect.EmreState {
+        require(stateData.startsWith(STATE_PREFIX)) { "Unknown Emre state format" }
+        val bytes = Base64.decode(stateData.substring(STATE_PREFIX.length), Base64.NO_WRAP)
+        return EmreStateCodec.decode(bytes, songs)
+    }
+}
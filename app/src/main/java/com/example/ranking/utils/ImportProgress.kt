@@ -0,0 +1,21 @@
+package com.example.ranking.utils
+
+/**
+ * Akış halindeki CSV içe aktarımının anlık durumu.
+ *
+ * @property rowsImported veritabanına yazılmış öğe sayısı
+ * @property bytesRead o ana kadar okunan bayt sayısı
+ * @property totalBytes dosya boyutu; sağlayıcı bildirmiyorsa -1
+ * @property rowsPerSecond başlangıçtan bu yana ortalama yazma hızı
+ */
+data class ImportProgress(
+    val rowsImported: Int,
+    val bytesRead: Long,
+    val totalBytes: Long,
+    val rowsPerSecond: Double,
+    val isComplete: Boolean = false
+) {
+    /** 0..1 arası ilerleme; dosya boyutu bilinmiyorsa null */
+    val fraction: Float?
+        get() = if (totalBytes > 0) (bytesRead.toFloat() / totalBytes).coerceIn(0f, 1f) else null
+}
@@ -0,0 +1,44 @@
+package com.example.ranking.utils
+
+import android.util.Base64
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.AdaptiveRanking
+import com.example.ranking.ranking.InteractiveRanking
+import com.example.ranking.ranking.MergeSortRanking
+import com.example.ranking.ranking.TopKSelection
+
+/**
+ * `voting_sessions.sortState` metin sütunu için saklama biçimi: yönteme göre önek + Base64
+ * ([MergeSortRanking.toBytes], [TopKSelection.toBytes], [AdaptiveRanking.toBytes]).
+ */
+object SortStateSerializer {
+    
+    private const val MERGE_SORT_PREFIX = "ms1:"
+    private const val TOP_K_PREFIX = "tk1:"
+    private const val ADAPTIVE_PREFIX = "ad1:"
+    
+    fun serializeState(ranking: InteractiveRanking): String {
+        val prefix = when (ranking) {
+            is MergeSortRanking -> MERGE_SORT_PREFIX
+            is TopKSelection -> TOP_K_PREFIX
+            is AdaptiveRanking -> ADAPTIVE_PREFIX
+            else -> throw IllegalArgumentException("Unsupported ranking state: ${ranking::class.simpleName}")
+        }
+        return prefix + Base64.encodeToString(ranking.toBytes(), Base64.NO_WRAP)
+    }
+    
+    /**
+     * Tanınmayan biçimde ya da listedeki şarkılarla uyuşmuyorsa
+     * [IllegalArgumentException] fırlatır.
+     */
+    fun deserializeState(stateData: String, songs: List<Song>): InteractiveRanking {
+        val prefix = stateData.substringBefore(':', "") + ":"
+        val bytes = Base64.decode(stateData.substring(prefix.length), Base64.NO_WRAP)
+        return when (prefix) {
+            MERGE_SORT_PREFIX -> MergeSortRanking.fromBytes(bytes, songs)
+            TOP_K_PREFIX -> TopKSelection.fromBytes(bytes, songs)
+            ADAPTIVE_PREFIX -> AdaptiveRanking.fromBytes(bytes, songs)
+            else -> throw IllegalArgumentException("Unknown sort state format")
+        }
+    }
+}
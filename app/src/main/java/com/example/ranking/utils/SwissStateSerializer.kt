@@ -3,6 +3,9 @@ package com.example.ranking.utils
 import com.example.ranking.data.SwissStandings
 import com.example.ranking.data.RoundResult
 import com.example.ranking.data.Match
+import com.example.ranking.ranking.PairingHistory
+import com.example.ranking.ranking.SongIndex
+import android.util.Base64
 import org.json.JSONObject
 import org.json.JSONArray
 
@@ -27,25 +30,30 @@ object SwissStateSerializer {
         return standings
     }
     
-    fun serializePairingHistory(pairingHistory: Set<Pair<Long, Long>>): String {
-        val json = JSONArray()
-        pairingHistory.forEach { (song1, song2) ->
-            val pairJson = JSONArray()
-            pairJson.put(song1)
-            pairJson.put(song2)
-            json.put(pairJson)
-        }
-        return json.toString()
+    // Kompakt ikili form öneki; eski kayıtlar JSON dizisi olarak kalır ve okunmaya devam eder
+    private const val PAIRING_HISTORY_PREFIX = "ph1:"
+    
+    fun serializePairingHistory(pairingHistory: PairingHistory): String {
+        return PAIRING_HISTORY_PREFIX + Base64.encodeToString(pairingHistory.toBytes(), Base64.NO_WRAP)
     }
     
-    fun deserializePairingHistory(pairingHistoryJson: String): Set<Pair<Long, Long>> {
+    fun deserializePairingHistory(pairingHistoryJson: String): PairingHistory {
+        if (pairingHistoryJson.startsWith(PAIRING_HISTORY_PREFIX)) {
+            val bytes = Base64.decode(pairingHistoryJson.substring(PAIRING_HISTORY_PREFIX.length), Base64.NO_WRAP)
+            return PairingHistory.fromBytes(bytes)
+        }
+        
+        // Eski format: [[song1, song2], [song2, song1], ...]
         val json = JSONArray(pairingHistoryJson)
-        val pairingHistory = mutableSetOf<Pair<Long, Long>>()
+        val pairs = LongArray(json.length() * 2)
         for (i in 0 until json.length()) {
             val pairJson = json.getJSONArray(i)
-            val song1 = pairJson.getLong(0)
-            val song2 = pairJson.getLong(1)
-            pairingHistory.add(Pair(song1, song2))
+            pairs[2 * i] = pairJson.getLong(0)
+            pairs[2 * i + 1] = pairJson.getLong(1)
+        }
+        val pairingHistory = PairingHistory(SongIndex.fromIds(pairs))
+        for (i in 0 until json.length()) {
+            pairingHistory.recordIds(pairs[2 * i], pairs[2 * i + 1])
         }
         return pairingHistory
     }
@@ -0,0 +1,64 @@
+plugins {
+    alias(libs.plugins.kotlin.jvm)
+    alias(libs.plugins.jmh)
+}
+
+// Saf JVM modülü: sıralama motorları ve modeller Android runtime olmadan
+// derlenir, test edilir ve benchmark edilir.
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(org.jetbrains.kotlin.gradle.dsl.JvmTarget.JVM_11)
+    }
+}
+
+dependencies {
+    // Song / Match / RankingResult Room entity'leri; sadece anotasyonlar (saf Java jar)
+    api(libs.androidx.room.common)
+    // Canlı puan tablosu Flow olarak yayınlanır
+    api(libs.kotlinx.coroutines.core)
+    // Eski JSON fikstür biçimi; Android'de platformla gelir, JVM'de yalnızca test/benchmark için
+    compileOnly(libs.org.json)
+    testImplementation(libs.org.json)
+    jmh(libs.org.json)
+    testImplementation(libs.junit)
+}
+
+tasks.test {
+    useJUnit {
+        excludeCategories("com.example.ranking.SimulationTest")
+    }
+    maxParallelForks = Runtime.getRuntime().availableProcessors().coerceAtLeast(1)
+}
+
+// ./gradlew :ranking-core:simulationTest
+// Dakikalar süren doğruluk simülasyonları (@Category(SimulationTest::class)); birim testlerinden ayrı.
+val simulationTest by tasks.registering(Test::class) {
+    description = "Runs the long accuracy simulations."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnit {
+        includeCategories("com.example.ranking.SimulationTest")
+    }
+    testLogging.showStandardStreams = true
+}
+
+// ./gradlew :ranking-core:jmh
+// Sonuçlar build/results/jmh/results.json dosyasına yazılır (sürümler arası karşılaştırma için).
+// Tek bir benchmark: ./gradlew :ranking-core:jmh -Pjmh.includes=SwissPairing
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    warmupIterations.set(2)
+    warmup.set("2s")
+    iterations.set(3)
+    timeOnIteration.set("2s")
+    fork.set(1)
+    resultFormat.set("JSON")
+    profilers.add("gc")
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+}
@@ -0,0 +1,56 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.EmreSystemCorrect
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Emre usulü: tur eşleştirmesi ve tur sonuçlarının işlenmesi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class EmreBenchmark {
+
+    @Param("79", "1000", "10000")
+    var participants: Int = 0
+
+    private lateinit var songs: List<Song>
+    private lateinit var state: EmreSystemCorrect.EmreState
+    private lateinit var roundResults: List<Match>
+    private var byeTeam: EmreSystemCorrect.EmreTeam? = null
+
+    @Setup
+    fun setUp() {
+        val random = Random(TournamentFixtures.SEED)
+        songs = TournamentFixtures.songs(participants)
+        state = TournamentFixtures.playEmreRounds(songs, PLAYED_ROUNDS, random)
+
+        // processRoundResults için bir sonraki turun sonuçları önceden hazırlanır
+        val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+        roundResults = pairing.matches.map { TournamentFixtures.complete(it, random) }
+        byeTeam = pairing.byeTeam
+    }
+
+    @Benchmark
+    fun createNextRoundWithConfirmation(): EmreSystemCorrect.EmrePairingResult =
+        EmreSystemCorrect.createNextRoundWithConfirmation(state)
+
+    @Benchmark
+    fun processRoundResults(): EmreSystemCorrect.EmreState =
+        EmreSystemCorrect.processRoundResults(state, roundResults, byeTeam)
+
+    private companion object {
+        const val PLAYED_ROUNDS = 3
+    }
+}
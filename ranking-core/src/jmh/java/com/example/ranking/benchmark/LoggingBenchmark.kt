@@ -0,0 +1,72 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.logging.LogLevel
+import com.example.ranking.logging.RankingLog
+import com.example.ranking.logging.RankingLogger
+import com.example.ranking.logging.RingBufferLogger
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Level
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.infra.Blackhole
+import java.util.concurrent.TimeUnit
+
+/**
+ * Tek bir debug log çağrısının maliyeti: seviye kapalıyken lambda'lı kanal,
+ * eski usul (mesaj her durumda oluşturulur) ve halka tampona yazılan açık kanal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+open class LoggingBenchmark {
+
+    private val disabled = RankingLog.channel("LoggingBenchmark.disabled")
+    private val enabled = RankingLog.channel("LoggingBenchmark.enabled")
+
+    private var teamId = 17L
+    private var position = 4
+    private var points = 2.5
+
+    @Setup(Level.Trial)
+    fun setUp() {
+        RankingLog.logger = RingBufferLogger()
+        RankingLog.setLevel(disabled.tag, LogLevel.WARN)
+        RankingLog.setLevel(enabled.tag, LogLevel.DEBUG)
+    }
+
+    @TearDown(Level.Trial)
+    fun tearDown() {
+        RankingLog.logger = RankingLogger.None
+        RankingLog.setLevel(disabled.tag, null)
+        RankingLog.setLevel(enabled.tag, null)
+    }
+
+    @Benchmark
+    fun baseline(bh: Blackhole) {
+        bh.consume(teamId)
+    }
+
+    @Benchmark
+    fun disabledLambda(bh: Blackhole) {
+        disabled.d { "📋 TEAM: ID=$teamId, Position=$position, Points=$points" }
+        bh.consume(teamId)
+    }
+
+    @Benchmark
+    fun disabledEagerString(bh: Blackhole) {
+        // Eski RankingLog.d(tag, message) yolu: mesaj seviyeden bağımsız oluşturulur
+        RankingLog.d(disabled.tag, "📋 TEAM: ID=$teamId, Position=$position, Points=$points")
+        bh.consume(teamId)
+    }
+
+    @Benchmark
+    fun enabledRingBuffer(bh: Blackhole) {
+        enabled.d { "📋 TEAM: ID=$teamId, Position=$position, Points=$points" }
+        bh.consume(teamId)
+    }
+}
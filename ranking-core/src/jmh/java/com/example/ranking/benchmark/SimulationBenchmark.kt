@@ -0,0 +1,66 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissStandings
+import com.example.ranking.ranking.LeagueSchedule
+import com.example.ranking.ranking.OutcomeForecast
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.TournamentSimulator
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.BitSet
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Monte Carlo sonuç tahmini: 3 tur oynanmış İsviçre turnuvasının kalan 5 turu, 10.000 simülasyon.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class SimulationBenchmark {
+
+    @Param("79", "500")
+    var participants: Int = 0
+
+    private lateinit var songs: List<Song>
+    private lateinit var standings: SwissStandings
+    private lateinit var league: LeagueSchedule
+    private lateinit var leaguePlayed: BitSet
+    private lateinit var leagueMatches: List<Match>
+
+    @Setup
+    fun setUp() {
+        val random = Random(TournamentFixtures.SEED)
+        songs = TournamentFixtures.songs(participants)
+        val completed = TournamentFixtures.playSwissRounds(songs, PLAYED_ROUNDS, random)
+        standings = RankingEngine.createSwissStandingsFromMatches(songs, completed)
+
+        // Yarısı oynanmış lig: uygulamadaki gibi yalnızca oynananlar kayıtlı, kalanı sanal fikstürde
+        league = LeagueSchedule.of(songs)
+        val half = league.roundCount / 2
+        leagueMatches = (0 until half * league.matchesPerRound).map { TournamentFixtures.complete(league.matchAt(it), random) }
+        leaguePlayed = league.playedSet(leagueMatches)
+    }
+
+    @Benchmark
+    fun forecastSwiss(): OutcomeForecast =
+        TournamentSimulator.forecastSwiss(songs, standings, emptyList(), TOTAL_ROUNDS, SIMULATIONS)
+
+    @Benchmark
+    fun forecastLeague(): OutcomeForecast =
+        TournamentSimulator.forecastLeague(league, leaguePlayed, leagueMatches, SIMULATIONS)
+
+    private companion object {
+        const val PLAYED_ROUNDS = 3
+        const val TOTAL_ROUNDS = 8
+        const val SIMULATIONS = 10_000
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.RankingResult
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.RankingEngine
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Puan tablosu hesaplama: her katılımcının [PLAYED_ROUNDS] maç oynadığı geçmiş üzerinden.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class StandingsBenchmark {
+
+    @Param("79", "1000", "10000")
+    var participants: Int = 0
+
+    private lateinit var songs: List<Song>
+    private lateinit var matches: List<Match>
+
+    @Setup
+    fun setUp() {
+        songs = TournamentFixtures.songs(participants)
+        matches = TournamentFixtures.playRandomRounds(songs, PLAYED_ROUNDS, Random(TournamentFixtures.SEED))
+    }
+
+    @Benchmark
+    fun calculateLeagueResults(): List<RankingResult> =
+        RankingEngine.calculateLeagueResults(songs, matches)
+
+    @Benchmark
+    fun calculateSwissResults(): List<RankingResult> =
+        RankingEngine.calculateSwissResults(songs, matches)
+
+    private companion object {
+        const val PLAYED_ROUNDS = 20
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.data.LiveStandings
+import com.example.ranking.data.SwissFixtureData
+import com.example.ranking.ranking.SwissFixtureCodec
+import com.example.ranking.ranking.SwissFixtureJson
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import java.util.Base64
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * İsviçre fikstürü kaydetme/yükleme: eski JSON yolu ile ikili [SwissFixtureCodec] karşılaştırması.
+ * Kayıt boyutları (JSON karakter, ikili bayt, saklanan Base64 metin) kurulumda yazdırılır.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class SwissFixtureCodecBenchmark {
+
+    @Param("79", "1000")
+    var participants: Int = 0
+
+    private lateinit var fixture: SwissFixtureData
+    private lateinit var standings: LiveStandings
+    private lateinit var fixtureJson: String
+    private lateinit var standingsJson: String
+    private lateinit var fixtureBytes: ByteArray
+    private lateinit var standingsBytes: ByteArray
+
+    @Setup
+    fun setUp() {
+        val songs = TournamentFixtures.songs(participants)
+        val matches = TournamentFixtures.playSwissRounds(songs, PLAYED_ROUNDS, Random(TournamentFixtures.SEED))
+        val (fixtureData, liveStandings) = TournamentFixtures.swissFixture(songs, matches)
+        fixture = fixtureData
+        standings = liveStandings
+
+        fixtureJson = SwissFixtureJson.serializeFixtureData(fixture)
+        standingsJson = SwissFixtureJson.serializeLiveStandings(standings)
+        fixtureBytes = SwissFixtureCodec.encodeFixture(fixture)
+        standingsBytes = SwissFixtureCodec.encodeLiveStandings(standings)
+
+        val jsonSize = fixtureJson.length + standingsJson.length
+        val binarySize = fixtureBytes.size + standingsBytes.size
+        val storedSize = Base64.getEncoder().encodeToString(fixtureBytes).length +
+            Base64.getEncoder().encodeToString(standingsBytes).length
+        println(
+            "\n[fixture size] participants=$participants matches=${matches.size} " +
+                "json=$jsonSize chars, binary=$binarySize bytes, stored(base64)=$storedSize chars"
+        )
+    }
+
+    @Benchmark
+    fun saveJson(bh: Blackhole) {
+        bh.consume(SwissFixtureJson.serializeFixtureData(fixture))
+        bh.consume(SwissFixtureJson.serializeLiveStandings(standings))
+    }
+
+    @Benchmark
+    fun saveBinary(bh: Blackhole) {
+        bh.consume(SwissFixtureCodec.encodeFixture(fixture))
+        bh.consume(SwissFixtureCodec.encodeLiveStandings(standings))
+    }
+
+    @Benchmark
+    fun loadJson(bh: Blackhole) {
+        bh.consume(SwissFixtureJson.deserializeFixtureData(fixtureJson))
+        bh.consume(SwissFixtureJson.deserializeLiveStandings(standingsJson))
+    }
+
+    @Benchmark
+    fun loadBinary(bh: Blackhole) {
+        bh.consume(SwissFixtureCodec.decodeFixture(fixtureBytes))
+        bh.consume(SwissFixtureCodec.decodeLiveStandings(standingsBytes))
+    }
+
+    private companion object {
+        const val PLAYED_ROUNDS = 10
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissPairingMethod
+import com.example.ranking.data.SwissStandings
+import com.example.ranking.ranking.RankingEngine
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * İsviçre sistemi eşleştirme maliyeti: 3 tur oynanmış bir turnuvada 4. turun eşleştirmesi.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+open class SwissPairingBenchmark {
+
+    @Param("79", "1000", "10000")
+    var participants: Int = 0
+
+    private lateinit var songs: List<Song>
+    private lateinit var completedMatches: List<Match>
+    private lateinit var standings: SwissStandings
+
+    @Setup
+    fun setUp() {
+        val random = Random(TournamentFixtures.SEED)
+        songs = TournamentFixtures.songs(participants)
+        completedMatches = TournamentFixtures.playSwissRounds(songs, PLAYED_ROUNDS, random)
+        standings = RankingEngine.createSwissStandingsFromMatches(songs, completedMatches)
+    }
+
+    @Benchmark
+    fun createSwissMatches(): List<Match> =
+        RankingEngine.createSwissMatches(songs, PLAYED_ROUNDS + 1, completedMatches)
+
+    @Benchmark
+    fun createSwissMatchesAdvanced(): List<Match> =
+        RankingEngine.createSwissMatchesWithState(songs, standings)
+
+    @Benchmark
+    fun createSwissMatchesOptimal(): List<Match> =
+        RankingEngine.createSwissMatchesWithState(songs, standings, SwissPairingMethod.OPTIMAL)
+
+    @Benchmark
+    fun createSwissStandingsFromMatches(): SwissStandings =
+        RankingEngine.createSwissStandingsFromMatches(songs, completedMatches)
+
+    private companion object {
+        const val PLAYED_ROUNDS = 3
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.ranking.benchmark
+
+import com.example.ranking.data.LiveStandings
+import com.example.ranking.data.Match
+import com.example.ranking.data.RankingEntry
+import com.example.ranking.data.RoundData
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissFixtureData
+import com.example.ranking.ranking.EmreSystemCorrect
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.Scoring
+import com.example.ranking.ranking.TournamentState
+import kotlin.random.Random
+
+/**
+ * Benchmark'lar için tekrar üretilebilir turnuva verileri.
+ *
+ * Tüm sonuçlar sabit tohumlu [Random] ile üretilir; aynı parametrelerle her
+ * çalıştırmada aynı maç geçmişi oluşur, böylece sürümler arası sonuçlar karşılaştırılabilir.
+ */
+internal object TournamentFixtures {
+
+    const val LIST_ID = 1L
+    const val SEED = 20251017L
+
+    fun songs(count: Int): List<Song> = (1..count).map { i ->
+        Song(id = i.toLong(), name = "Song $i", artist = "Artist ${i % 97}", trackNumber = i, listId = LIST_ID)
+    }
+
+    /**
+     * Maçı tamamla: %45 ev sahibi, %45 deplasman, %10 beraberlik
+     */
+    fun complete(match: Match, random: Random): Match {
+        val roll = random.nextInt(100)
+        val winnerId = when {
+            roll < 45 -> match.songId1
+            roll < 90 -> match.songId2
+            else -> null
+        }
+        return match.copy(winnerId = winnerId, isCompleted = true)
+    }
+
+    /**
+     * İsviçre sistemi geçmişi: ilk tur tohumlu karıştırma, sonraki turlar motorun kendi eşleştirmesi.
+     */
+    fun playSwissRounds(songs: List<Song>, rounds: Int, random: Random): List<Match> {
+        val played = mutableListOf<Match>()
+        var nextId = 1L
+        for (round in 1..rounds) {
+            val roundMatches = if (round == 1) {
+                songs.shuffled(random).chunked(2).filter { it.size == 2 }.map { (a, b) ->
+                    Match(listId = LIST_ID, rankingMethod = "SWISS", songId1 = a.id, songId2 = b.id, winnerId = null, round = 1)
+                }
+            } else {
+                RankingEngine.createSwissMatches(songs, round, played)
+            }
+            roundMatches.forEach { played.add(complete(it.copy(id = nextId++), random)) }
+        }
+        return played
+    }
+
+    /**
+     * Lig benzeri geçmiş: her turda herkes rastgele bir rakiple oynar.
+     */
+    fun playRandomRounds(songs: List<Song>, rounds: Int, random: Random): List<Match> {
+        val played = mutableListOf<Match>()
+        var nextId = 1L
+        for (round in 1..rounds) {
+            songs.shuffled(random).chunked(2).filter { it.size == 2 }.forEach { (a, b) ->
+                val match = Match(id = nextId++, listId = LIST_ID, rankingMethod = "LEAGUE", songId1 = a.id, songId2 = b.id, winnerId = null, round = round)
+                played.add(complete(match, random))
+            }
+        }
+        return played
+    }
+
+    /**
+     * Emre turnuvasını [rounds] tur ilerlet ve son durumu döndür.
+     */
+    fun playEmreRounds(songs: List<Song>, rounds: Int, random: Random): EmreSystemCorrect.EmreState {
+        var state = EmreSystemCorrect.initializeEmreTournament(songs)
+        repeat(rounds) {
+            val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+            if (!pairing.canContinue) return state
+            val completed = pairing.matches.map { complete(it, random) }
+            state = EmreSystemCorrect.processRoundResults(state, completed, pairing.byeTeam)
+        }
+        return state
+    }
+
+    /**
+     * `RankingRepository.saveCompleteFixture` ile aynı biçimde fikstür ve canlı tablo:
+     * tamamlanmış her tur için sonrası puanlar, tur tur puan dağılımı, isimli sıralama.
+     */
+    fun swissFixture(songs: List<Song>, matches: List<Match>): Pair<SwissFixtureData, LiveStandings> {
+        val state = TournamentState.of(songs, Scoring.SWISS, matches)
+        val standings = state.toPointsMap()
+        val currentRound = matches.maxOfOrNull { it.round } ?: 1
+        val byRound = matches.groupBy { it.round }
+
+        val fixture = SwissFixtureData(
+            allMatches = matches,
+            currentRoundMatches = matches.filter { it.round == currentRound },
+            completedMatches = matches.filter { it.isCompleted },
+            upcomingMatches = matches.filter { !it.isCompleted },
+            roundsData = byRound.mapValues { (round, roundMatches) ->
+                val complete = roundMatches.all { it.isCompleted }
+                RoundData(round, roundMatches, complete, if (complete) standings else emptyMap())
+            }
+        )
+        val rankings = (0 until state.size).map { slot ->
+            val songId = state.index.idAt(slot)
+            RankingEntry(
+                songId = songId,
+                songName = "Song $songId",
+                points = state.points[slot],
+                position = slot + 1,
+                matchesPlayed = state.played[slot],
+                wins = state.wins[slot],
+                draws = state.draws[slot],
+                losses = state.losses[slot]
+            )
+        }.sortedByDescending { it.points }.mapIndexed { i, entry -> entry.copy(position = i + 1) }
+        val live = LiveStandings(
+            currentStandings = standings,
+            rankings = rankings,
+            roundByRoundProgress = byRound.mapValues { (_, roundMatches) ->
+                TournamentState(state.index, Scoring.SWISS).recordAll(roundMatches).toPointsMap()
+            }
+        )
+        return fixture to live
+    }
+}
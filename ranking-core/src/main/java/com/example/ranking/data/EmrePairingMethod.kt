@@ -0,0 +1,8 @@
+package com.example.ranking.data
+
+enum class EmrePairingMethod {
+    SEQUENTIAL,     // 1-2, 3-4, 5-6... (Sıra numarasına göre)
+    RANDOM,         // Gelişigüzel
+    ALPHABETICAL,   // Alfabetik sıraya göre
+    SPLIT_HALF      // 1-19, 2-20, 3-21... (Yarı-yarıya)
+}
@@ -1,9 +1,18 @@
 package com.example.ranking.data
 
 import androidx.room.Entity
+import androidx.room.Index
 import androidx.room.PrimaryKey
 
-@Entity(tableName = "matches")
+@Entity(
+    tableName = "matches",
+    indices = [
+        // Fikstür listeleme / tur sorguları: WHERE listId, rankingMethod [, round] ORDER BY round, id
+        Index(value = ["listId", "rankingMethod", "round"], name = "index_matches_list_method_round"),
+        // Sıradaki maç ve ilerleme sayımı: isCompleted filtresi, COUNT için kapsayan indeks
+        Index(value = ["listId", "rankingMethod", "isCompleted", "round"], name = "index_matches_list_method_completed_round")
+    ]
+)
 data class Match(
     @PrimaryKey(autoGenerate = true)
     val id: Long = 0,
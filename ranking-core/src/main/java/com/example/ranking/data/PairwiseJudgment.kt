@@ -0,0 +1,28 @@
+package com.example.ranking.data
+
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * Bir listede iki öğe arasındaki son insan kararı, yöntemden bağımsız.
+ * İkili her zaman küçük ID önce saklanır (songId1 < songId2); skorlar da bu yöne göredir.
+ */
+@Entity(
+    tableName = "pairwise_judgments",
+    indices = [
+        Index(value = ["listId", "songId1", "songId2"], unique = true, name = "index_pairwise_judgments_list_pair")
+    ]
+)
+data class PairwiseJudgment(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val listId: Long,
+    val songId1: Long,
+    val songId2: Long,
+    val winnerId: Long?, // null for draw
+    val score1: Int? = null,
+    val score2: Int? = null,
+    val rankingMethod: String, // kararın verildiği yöntem
+    val updatedAt: Long = System.currentTimeMillis()
+)
@@ -0,0 +1,33 @@
+package com.example.ranking.data
+
+data class SwissFixtureData(
+    val allMatches: List<Match>, // All matches across all rounds
+    val currentRoundMatches: List<Match>, // Current round matches only
+    val completedMatches: List<Match>, // Completed matches
+    val upcomingMatches: List<Match>, // Not yet played
+    val roundsData: Map<Int, RoundData> // Round-by-round breakdown
+)
+
+data class RoundData(
+    val roundNumber: Int,
+    val matches: List<Match>,
+    val isComplete: Boolean,
+    val standingsAfterRound: Map<Long, Double>
+)
+
+data class LiveStandings(
+    val currentStandings: Map<Long, Double>, // songId -> points
+    val rankings: List<RankingEntry>, // Sorted by points
+    val roundByRoundProgress: Map<Int, Map<Long, Double>> // round -> (songId -> points that round)
+)
+
+data class RankingEntry(
+    val songId: Long,
+    val songName: String,
+    val points: Double,
+    val position: Int,
+    val matchesPlayed: Int,
+    val wins: Int,
+    val draws: Int,
+    val losses: Int
+)
@@ -0,0 +1,6 @@
+package com.example.ranking.data
+
+enum class SwissPairingMethod {
+    GREEDY,     // Puan grubu içinde ilk uygun rakip (eski davranış)
+    OPTIMAL     // Puan farkı + rövanş + bye maliyetlerinin toplamını en aza indiren eşleştirme
+}
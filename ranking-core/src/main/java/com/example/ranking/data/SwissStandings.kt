@@ -1,8 +1,10 @@
 package com.example.ranking.data
 
+import com.example.ranking.ranking.PairingHistory
+
 data class SwissStandings(
     val standings: Map<Long, Double>, // songId -> points
-    val pairingHistory: Set<Pair<Long, Long>>, // all pairs who have played
+    val pairingHistory: PairingHistory, // all pairs who have played
     val roundHistory: List<RoundResult>
 )
 
@@ -0,0 +1,102 @@
+package com.example.ranking.logging
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Motorların loglama arayüzü.
+ *
+ * ranking-core modülü Android'e bağımlı değildir; uygulama açılışında
+ * [RankingLog.logger] alanına platforma uygun bir implementasyon verilir.
+ * Hiçbir logger verilmezse loglar sessizce yok sayılır (JVM testleri, benchmark).
+ */
+interface RankingLogger {
+    fun d(tag: String, message: String)
+    fun w(tag: String, message: String)
+    fun e(tag: String, message: String, throwable: Throwable? = null)
+
+    object None : RankingLogger {
+        override fun d(tag: String, message: String) = Unit
+        override fun w(tag: String, message: String) = Unit
+        override fun e(tag: String, message: String, throwable: Throwable?) = Unit
+    }
+}
+
+/**
+ * Log seviyeleri; bir kanal kendi seviyesinin altındaki mesajları üretmez bile.
+ */
+enum class LogLevel {
+    DEBUG, WARN, ERROR, OFF
+}
+
+/**
+ * Tek bir alt sistemin (tag) log kanalı. Sınıf başına bir kez alınıp alanda tutulur:
+ *
+ * ```
+ * private val log = RankingLog.channel("EmreSystemCorrect")
+ * log.d { "Tur ${state.currentRound}: ${teams.size} takım" }
+ * ```
+ *
+ * Mesaj lambda'sı inline'dır ve yalnızca seviye açıksa çağrılır; kapalı seviyede
+ * maliyet tek bir alan okuması ve karşılaştırmadır (string, lambda nesnesi oluşmaz).
+ */
+class LogChannel internal constructor(val tag: String, level: LogLevel) {
+
+    @Volatile
+    @PublishedApi
+    internal var minLevel: Int = level.ordinal
+
+    val level: LogLevel get() = LogLevel.values()[minLevel]
+
+    fun isEnabled(level: LogLevel): Boolean = level.ordinal >= minLevel
+
+    inline fun d(message: () -> String) {
+        if (LogLevel.DEBUG.ordinal >= minLevel) RankingLog.logger.d(tag, message())
+    }
+
+    inline fun w(message: () -> String) {
+        if (LogLevel.WARN.ordinal >= minLevel) RankingLog.logger.w(tag, message())
+    }
+
+    inline fun e(throwable: Throwable? = null, message: () -> String) {
+        if (LogLevel.ERROR.ordinal >= minLevel) RankingLog.logger.e(tag, message(), throwable)
+    }
+}
+
+/**
+ * Motorların kullandığı global log noktası.
+ *
+ * Seviyeler alt sistem (tag) başına ayarlanır; ayar verilmemiş kanallar
+ * [defaultLevel] kullanır. Seviye değişiklikleri nadirdir ve açık kanallara hemen yansır.
+ */
+object RankingLog {
+    @Volatile
+    var logger: RankingLogger = RankingLogger.None
+
+    private val channels = ConcurrentHashMap<String, LogChannel>()
+    private val overrides = HashMap<String, LogLevel>()
+
+    @Volatile
+    var defaultLevel: LogLevel = LogLevel.WARN
+        set(value) = synchronized(this) {
+            field = value
+            channels.values.forEach { it.minLevel = (overrides[it.tag] ?: value).ordinal }
+        }
+
+    fun channel(tag: String): LogChannel = channels[tag] ?: synchronized(this) {
+        channels.getOrPut(tag) { LogChannel(tag, overrides[tag] ?: defaultLevel) }
+    }
+
+    /**
+     * [tag] alt sisteminin seviyesini ayarlar; null verilirse [defaultLevel]'a döner.
+     */
+    fun setLevel(tag: String, level: LogLevel?) = synchronized(this) {
+        if (level == null) overrides.remove(tag) else overrides[tag] = level
+        channels[tag]?.minLevel = (level ?: defaultLevel).ordinal
+    }
+
+    fun d(tag: String, message: String) = channel(tag).d { message }
+
+    fun w(tag: String, message: String) = channel(tag).w { message }
+
+    fun e(tag: String, message: String, throwable: Throwable? = null) = channel(tag).e(throwable) { message }
+}
@@ -0,0 +1,91 @@
+package com.example.ranking.logging
+
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+
+/**
+ * Son [capacity] log kaydını bellekte tutan sink. Logcat'e yazmak yerine (ya da
+ * [delegate] verilirse ona ek olarak) kayıtlar saklanır ve istendiğinde [dump] edilir;
+ * dolunca en eski kayıt ezilir.
+ */
+class RingBufferLogger(
+    val capacity: Int = DEFAULT_CAPACITY,
+    private val delegate: RankingLogger = RankingLogger.None
+) : RankingLogger {
+
+    data class Entry(
+        val timeMillis: Long,
+        val level: LogLevel,
+        val tag: String,
+        val message: String,
+        val throwable: Throwable? = null
+    )
+
+    private val entries = arrayOfNulls<Entry>(capacity)
+    private var next = 0
+    private var size = 0
+
+    init {
+        require(capacity > 0) { "Kapasite pozitif olmalı: $capacity" }
+    }
+
+    override fun d(tag: String, message: String) {
+        add(Entry(System.currentTimeMillis(), LogLevel.DEBUG, tag, message))
+        delegate.d(tag, message)
+    }
+
+    override fun w(tag: String, message: String) {
+        add(Entry(System.currentTimeMillis(), LogLevel.WARN, tag, message))
+        delegate.w(tag, message)
+    }
+
+    override fun e(tag: String, message: String, throwable: Throwable?) {
+        add(Entry(System.currentTimeMillis(), LogLevel.ERROR, tag, message, throwable))
+        delegate.e(tag, message, throwable)
+    }
+
+    @Synchronized
+    private fun add(entry: Entry) {
+        entries[next] = entry
+        next = (next + 1) % capacity
+        if (size < capacity) size++
+    }
+
+    /**
+     * Saklanan kayıtlar, eskiden yeniye.
+     */
+    @Synchronized
+    fun snapshot(): List<Entry> {
+        val start = (next - size + capacity) % capacity
+        return List(size) { entries[(start + it) % capacity]!! }
+    }
+
+    @Synchronized
+    fun clear() {
+        entries.fill(null)
+        next = 0
+        size = 0
+    }
+
+    /**
+     * Kayıtları satır satır [out]'a yazar ("zaman seviye/tag: mesaj").
+     */
+    fun dump(out: Appendable) {
+        val format = SimpleDateFormat("HH:mm:ss.SSS", Locale.US)
+        snapshot().forEach { entry ->
+            out.append(format.format(Date(entry.timeMillis)))
+                .append(' ').append(entry.level.name[0])
+                .append('/').append(entry.tag)
+                .append(": ").append(entry.message)
+                .append('\n')
+            entry.throwable?.let { out.append(it.stackTraceToString()).append('\n') }
+        }
+    }
+
+    fun dump(): String = StringBuilder().also { dump(it) }.toString()
+
+    companion object {
+        const val DEFAULT_CAPACITY = 512
+    }
+}
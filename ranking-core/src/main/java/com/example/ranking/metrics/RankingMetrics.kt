@@ -0,0 +1,242 @@
+package com.example.ranking.metrics
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Artan sayaç (ör. geri izleme denemesi, oy sayısı).
+ */
+class Counter internal constructor(val name: String) {
+    private val value = AtomicLong()
+
+    fun increment() {
+        value.incrementAndGet()
+    }
+
+    fun add(delta: Long) {
+        value.addAndGet(delta)
+    }
+
+    val count: Long get() = value.get()
+
+    internal fun reset() = value.set(0)
+}
+
+/**
+ * Negatif olmayan değerlerin dağılımı. Kovalar ikinin kuvvetlerini dörde böler:
+ * yüzdelik tahmini en fazla %25 sapar, bellek sabittir (252 kova).
+ */
+class Histogram internal constructor(val name: String) {
+    private val buckets = LongArray(BUCKET_COUNT)
+    private var count = 0L
+    private var sum = 0L
+    private var min = Long.MAX_VALUE
+    private var max = Long.MIN_VALUE
+
+    @Synchronized
+    fun record(value: Long) {
+        val v = value.coerceAtLeast(0)
+        buckets[bucketOf(v)]++
+        count++
+        sum += v
+        if (v < min) min = v
+        if (v > max) max = v
+    }
+
+    @Synchronized
+    fun snapshot(): HistogramSnapshot {
+        if (count == 0L) return HistogramSnapshot(0, 0, 0, 0, 0.0, 0, 0, 0)
+        return HistogramSnapshot(
+            count = count,
+            sum = sum,
+            min = min,
+            max = max,
+            mean = sum.toDouble() / count,
+            p50 = percentile(0.50),
+            p90 = percentile(0.90),
+            p99 = percentile(0.99)
+        )
+    }
+
+    @Synchronized
+    internal fun reset() {
+        buckets.fill(0)
+        count = 0
+        sum = 0
+        min = Long.MAX_VALUE
+        max = Long.MIN_VALUE
+    }
+
+    // Kilit altında çağrılır: sıradaki değeri içeren kovanın üst sınırı, gözlenen aralığa kırpılmış
+    private fun percentile(quantile: Double): Long {
+        val rank = Math.ceil(quantile * count).toLong().coerceAtLeast(1)
+        var seen = 0L
+        for (i in buckets.indices) {
+            seen += buckets[i]
+            if (seen >= rank) return upperBound(i).coerceIn(min, max)
+        }
+        return max
+    }
+
+    private companion object {
+        const val BUCKET_COUNT = 252
+
+        fun bucketOf(v: Long): Int {
+            if (v < 4) return v.toInt()
+            val exponent = 63 - java.lang.Long.numberOfLeadingZeros(v)
+            val mantissa = ((v ushr (exponent - 2)) and 3).toInt()
+            return 4 * (exponent - 1) + mantissa
+        }
+
+        fun upperBound(bucket: Int): Long {
+            if (bucket < 4) return bucket.toLong()
+            val exponent = bucket / 4 + 1
+            val mantissa = bucket % 4
+            val width = 1L shl (exponent - 2)
+            return (4L + mantissa) * width + width - 1
+        }
+    }
+}
+
+/**
+ * Süre ölçer; değerler nanosaniye olarak bir [Histogram]'a yazılır.
+ */
+class Timer internal constructor(val name: String) {
+    @PublishedApi
+    internal val histogram = Histogram(name)
+
+    fun recordNanos(nanos: Long) = histogram.record(nanos)
+
+    inline fun <T> time(block: () -> T): T {
+        val start = System.nanoTime()
+        try {
+            return block()
+        } finally {
+            histogram.record(System.nanoTime() - start)
+        }
+    }
+
+    fun snapshot(): HistogramSnapshot = histogram.snapshot()
+}
+
+data class HistogramSnapshot(
+    val count: Long,
+    val sum: Long,
+    val min: Long,
+    val max: Long,
+    val mean: Double,
+    val p50: Long,
+    val p90: Long,
+    val p99: Long
+)
+
+data class MetricsSnapshot(
+    val capturedAtMillis: Long,
+    val labels: Map<String, String>,
+    val counters: Map<String, Long>,
+    val histograms: Map<String, HistogramSnapshot>,
+    val timers: Map<String, HistogramSnapshot>
+) {
+    /**
+     * Cihazlar ve liste boyutları arasında karşılaştırma için JSON. Süreler milisaniyedir.
+     */
+    fun toJson(): String {
+        val out = StringBuilder()
+        out.append("{\"capturedAt\":").append(capturedAtMillis)
+        out.append(",\"labels\":{")
+        labels.entries.sortedBy { it.key }.forEachIndexed { i, (key, value) ->
+            if (i > 0) out.append(',')
+            out.appendJsonString(key).append(':').appendJsonString(value)
+        }
+        out.append("},\"counters\":{")
+        counters.entries.sortedBy { it.key }.forEachIndexed { i, (key, value) ->
+            if (i > 0) out.append(',')
+            out.appendJsonString(key).append(':').append(value)
+        }
+        out.append("},\"histograms\":{")
+        histograms.entries.sortedBy { it.key }.forEachIndexed { i, (key, value) ->
+            if (i > 0) out.append(',')
+            out.appendJsonString(key).append(':').appendDistribution(value, 1.0)
+        }
+        out.append("},\"timersMs\":{")
+        timers.entries.sortedBy { it.key }.forEachIndexed { i, (key, value) ->
+            if (i > 0) out.append(',')
+            out.appendJsonString(key).append(':').appendDistribution(value, NANOS_PER_MILLI)
+        }
+        out.append("}}")
+        return out.toString()
+    }
+
+    private fun StringBuilder.appendDistribution(h: HistogramSnapshot, divisor: Double): StringBuilder {
+        append("{\"count\":").append(h.count)
+        append(",\"min\":").append(h.min / divisor)
+        append(",\"mean\":").append(h.mean / divisor)
+        append(",\"p50\":").append(h.p50 / divisor)
+        append(",\"p90\":").append(h.p90 / divisor)
+        append(",\"p99\":").append(h.p99 / divisor)
+        append(",\"max\":").append(h.max / divisor)
+        append(",\"total\":").append(h.sum / divisor)
+        return append('}')
+    }
+
+    private fun StringBuilder.appendJsonString(value: String): StringBuilder {
+        append('"')
+        for (c in value) {
+            when {
+                c == '"' -> append("\\\"")
+                c == '\\' -> append("\\\\")
+                c < ' ' -> append(String.format("\\u%04x", c.code))
+                else -> append(c)
+            }
+        }
+        return append('"')
+    }
+
+    private companion object {
+        const val NANOS_PER_MILLI = 1_000_000.0
+    }
+}
+
+/**
+ * Süreç içi metrik kaydı: motorlar, repository ve ViewModel ölçümlerini buraya yazar,
+ * hata ayıklama ekranı okur ve JSON olarak dışa aktarır.
+ *
+ * Metrikler ada göre bir kez oluşturulur; sık çağrılan yerler nesneyi alanda tutar.
+ * Kayıt maliyeti sayaçta tek atomik artış, histogramda kısa bir kilittir.
+ */
+object RankingMetrics {
+    private val counters = ConcurrentHashMap<String, Counter>()
+    private val histograms = ConcurrentHashMap<String, Histogram>()
+    private val timers = ConcurrentHashMap<String, Timer>()
+    private val labels = ConcurrentHashMap<String, String>()
+
+    fun counter(name: String): Counter = counters.getOrPut(name) { Counter(name) }
+
+    fun histogram(name: String): Histogram = histograms.getOrPut(name) { Histogram(name) }
+
+    fun timer(name: String): Timer = timers.getOrPut(name) { Timer(name) }
+
+    /**
+     * Dışa aktarımda ölçümlerin bağlamı (cihaz, liste boyutu, yöntem).
+     */
+    fun setLabel(key: String, value: String) {
+        labels[key] = value
+    }
+
+    fun snapshot(): MetricsSnapshot = MetricsSnapshot(
+        capturedAtMillis = System.currentTimeMillis(),
+        labels = HashMap(labels),
+        counters = counters.mapValues { it.value.count },
+        histograms = histograms.mapValues { it.value.snapshot() },
+        timers = timers.mapValues { it.value.snapshot() }
+    )
+
+    /**
+     * Değerleri sıfırlar; alanda tutulan metrik nesneleri geçerli kalır.
+     */
+    fun reset() {
+        counters.values.forEach { it.reset() }
+        histograms.values.forEach { it.reset() }
+        timers.values.forEach { it.histogram.reset() }
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import kotlin.math.abs
+import kotlin.math.exp
+import kotlin.math.ln
+import kotlin.math.sqrt
+
+/**
+ * Bradley–Terry güç modeline göre en bilgilendirici ikiliyi soran uyarlanır sıralama.
+ *
+ * Her şarkının gücü γ = e^θ, P(a, b'yi yener) = γa / (γa + γb). Güçler her oydan sonra
+ * MM (Hunter) güncellemesiyle, önceki çözümden başlayarak yeniden kestirilir. Her
+ * şarkı γ = 1 gücünde sanal bir rakiple yarım galibiyet, yarım yenilgi almış sayılır
+ * (önsel): hiç kazanmamış ya da hiç kaybetmemiş şarkının gücü de sonludur.
+ *
+ * θ'nın belirsizliği Fisher bilgisinin tersidir. Sıradaki soru, güncel sırada birbirine
+ * yakın ve daha önce karşılaşmamış ikililer arasından p(1-p)·(σa² + σb²) değeri en
+ * büyük olandır: sonucu en az tahmin edilebilen, belirsizliği en çok azaltacak maç.
+ *
+ * Oylama, her şarkı en az bir kez oylandıktan sonra beklenen doğru sıralanmış ikili
+ * oranı [confidence] değerine ulaşınca ya da [maxComparisons] oyda biter. Benzetimde
+ * 1000 şarkılık liste varsayılan güvenle yaklaşık 3000 oyda biter; İsviçre sisteminin
+ * 8 turu (4000 oy) aynı listede daha düşük doğruluk verir.
+ */
+class AdaptiveRanking private constructor(
+    private val index: SongIndex,
+    val confidence: Double,
+    val maxComparisons: Int
+) : InteractiveRanking {
+
+    private val n = index.size
+    private val gamma = DoubleArray(n) { 1.0 }
+    private val wins = IntArray(n)
+
+    // Şarkı başına karşılaştığı rakiplerin slotları
+    private val opponents = Array(n) { IntArray(2) }
+    private val opponentCount = IntArray(n)
+    private val compared = HashSet<Long>()
+
+    // Oylar sırasıyla (galip slotu, yenilen slotu); durum kaydı için
+    private var winnerSlots = IntArray(16)
+    private var loserSlots = IntArray(16)
+
+    private var order = IntArray(n) { it }
+    private var pending: IntArray? = null
+    private var unratedCount = n
+    private val accuracyInterval = maxOf(1, n / ACCURACY_CHECKS_PER_ROUND)
+
+    override var comparisons: Int = 0
+        private set
+
+    /** Son kestirime göre beklenen doğru sıralanmış ikili oranı */
+    var expectedAccuracy: Double = 0.0
+        private set
+
+    override val isComplete: Boolean get() = pending == null
+
+    override fun currentPair(): Pair<Long, Long>? {
+        val pair = pending ?: return null
+        return index.idAt(pair[0]) to index.idAt(pair[1])
+    }
+
+    /**
+     * Sıradaki soru oynanmamış maç olarak (id = 0). Tur numarası, listenin her şarkısı
+     * bir kez oynayacak kadar oy (n/2) bir tur sayılarak verilir.
+     */
+    override fun nextMatch(listId: Long): Match? {
+        val (songId1, songId2) = currentPair() ?: return null
+        return Match(
+            listId = listId,
+            rankingMethod = METHOD,
+            songId1 = songId1,
+            songId2 = songId2,
+            winnerId = null,
+            round = comparisons / maxOf(1, n / 2) + 1
+        )
+    }
+
+    override fun answer(winnerId: Long): Boolean {
+        val pair = pending ?: return false
+        val winner = index.slotOf(winnerId)
+        if (winner != pair[0] && winner != pair[1]) return false
+        val loser = if (winner == pair[0]) pair[1] else pair[0]
+        observe(winner, loser)
+        fit()
+        update()
+        return true
+    }
+
+    /**
+     * Kalan oyların üst sınırı: [maxComparisons]'a kadar. Güven eşiğine genellikle
+     * çok daha önce ulaşılır.
+     */
+    override fun remainingUpperBound(): Int = if (isComplete) 0 else maxComparisons - comparisons
+
+    /**
+     * Güncel kestirime göre sıra, iyiden kötüye.
+     */
+    fun order(): List<Long> = order.map { index.idAt(it) }
+
+    /**
+     * Şarkının kestirilen gücü θ = ln γ (sanal rakip 0'dır); listede yoksa null.
+     */
+    fun strength(songId: Long): Double? {
+        val slot = index.slotOf(songId)
+        return if (slot < 0) null else ln(gamma[slot])
+    }
+
+    /**
+     * Kompakt ikili form: sürüm, güven (binde), oy sınırı, şarkı ID'leri (zigzag delta),
+     * oylar (galip ve yenilen slotu), son doğruluk kestirimi ve güçler. Güçler yeniden
+     * kestirilmez, olduğu gibi saklanır: eşit güçlü şarkıların sırası ve sıradaki soru
+     * kayıttan sonra da aynı kalır.
+     */
+    override fun toBytes(): ByteArray {
+        val out = VarintWriter(n * 11 + comparisons * 4 + 24)
+        out.varint(FORMAT_VERSION.toLong())
+        out.varint(Math.round(confidence * 1000))
+        out.varint(maxComparisons.toLong())
+        out.varint(n.toLong())
+        var previousId = 0L
+        for (slot in 0 until n) {
+            out.zigzag(index.idAt(slot) - previousId)
+            previousId = index.idAt(slot)
+        }
+        out.varint(comparisons.toLong())
+        for (i in 0 until comparisons) {
+            out.varint(winnerSlots[i].toLong())
+            out.varint(loserSlots[i].toLong())
+        }
+        out.double(expectedAccuracy)
+        for (value in gamma) out.double(value)
+        return out.toByteArray()
+    }
+
+    private fun observe(winner: Int, loser: Int) {
+        if (comparisons == winnerSlots.size) {
+            winnerSlots = winnerSlots.copyOf(comparisons * 2)
+            loserSlots = loserSlots.copyOf(comparisons * 2)
+        }
+        winnerSlots[comparisons] = winner
+        loserSlots[comparisons] = loser
+        comparisons++
+        wins[winner]++
+        addOpponent(winner, loser)
+        addOpponent(loser, winner)
+        compared.add(pairKey(winner, loser))
+    }
+
+    private fun addOpponent(slot: Int, opponent: Int) {
+        if (opponentCount[slot] == 0) unratedCount--
+        if (opponentCount[slot] == opponents[slot].size) opponents[slot] = opponents[slot].copyOf(opponentCount[slot] * 2)
+        opponents[slot][opponentCount[slot]++] = opponent
+    }
+
+    // Gauss-Seidel MM: γi = (Wi + p) / (Σ 1/(γi + γj) + 2p/(γi + 1)); değişim küçülünce durur.
+    // Önceki çözümden başlandığında birkaç tarama yeter
+    private fun fit() {
+        repeat(MAX_SWEEPS) {
+            var change = 0.0
+            for (i in 0 until n) {
+                val gi = gamma[i]
+                var denominator = 2.0 * PRIOR / (gi + 1.0)
+                val opp = opponents[i]
+                for (k in 0 until opponentCount[i]) denominator += 1.0 / (gi + gamma[opp[k]])
+                val updated = (wins[i] + PRIOR) / denominator
+                change = maxOf(change, abs(ln(updated / gi)))
+                gamma[i] = updated
+            }
+            if (change < FIT_TOLERANCE) return
+        }
+    }
+
+    // Sıra, belirsizlik, beklenen doğruluk ve sıradaki soru
+    private fun update() {
+        order = (0 until n).sortedWith(compareByDescending<Int> { gamma[it] }.thenBy { it }).toIntArray()
+        val theta = DoubleArray(n) { ln(gamma[it]) }
+        val variance = DoubleArray(n) { i ->
+            val gi = gamma[i]
+            var information = 2.0 * PRIOR * gi / ((gi + 1.0) * (gi + 1.0))
+            val opp = opponents[i]
+            for (k in 0 until opponentCount[i]) {
+                val gj = gamma[opp[k]]
+                information += gi * gj / ((gi + gj) * (gi + gj))
+            }
+            1.0 / information
+        }
+
+        // Doğruluk kestirimi pahalıdır (pencere içi ikililer); her şarkı oylandıktan sonra
+        // ve belirli oy aralıklarıyla hesaplanır
+        if (unratedCount == 0 && comparisons % accuracyInterval == 0) {
+            expectedAccuracy = expectedAccuracy(theta, variance)
+        }
+        val done = comparisons >= maxComparisons || (unratedCount == 0 && expectedAccuracy >= confidence)
+        pending = if (done) null else selectPair(theta, variance)
+    }
+
+    /**
+     * Tüm ikililer üzerinden P(sıralama doğru) ortalaması, θ farkı normal dağılımlı
+     * sayılarak. Sırada uzak ikililerin olasılığı 1'e çok yakın olduğundan yalnızca
+     * fark [ACCURACY_WINDOW] standart sapma içinde kalanlar hesaplanır.
+     */
+    private fun expectedAccuracy(theta: DoubleArray, variance: DoubleArray): Double {
+        if (n < 2) return 1.0
+        val maxSigma = sqrt(2.0 * variance.max())
+        var expectedWrong = 0.0
+        for (r in 0 until n) {
+            val a = order[r]
+            for (s in r + 1 until n) {
+                val b = order[s]
+                val gap = theta[a] - theta[b]
+                if (gap > ACCURACY_WINDOW * maxSigma) break
+                expectedWrong += 1.0 - normalCdf(gap / sqrt(variance[a] + variance[b]))
+            }
+        }
+        val pairs = n.toDouble() * (n - 1) / 2
+        return 1.0 - expectedWrong / pairs
+    }
+
+    // Sırada yakın, karşılaşmamış ikililer; yakınında aday yoksa pencere genişler
+    private fun selectPair(theta: DoubleArray, variance: DoubleArray): IntArray? {
+        var window = CANDIDATE_WINDOW
+        while (true) {
+            var best: IntArray? = null
+            var bestScore = -1.0
+            for (r in 0 until n) {
+                val a = order[r]
+                for (s in r + 1..minOf(n - 1, r + window)) {
+                    val b = order[s]
+                    if (pairKey(a, b) in compared) continue
+                    val p = 1.0 / (1.0 + exp(theta[b] - theta[a]))
+                    val score = p * (1 - p) * (variance[a] + variance[b])
+                    if (score > bestScore) {
+                        bestScore = score
+                        best = intArrayOf(a, b)
+                    }
+                }
+            }
+            if (best != null || window >= n) return best
+            window *= 4
+        }
+    }
+
+    private fun pairKey(a: Int, b: Int): Long =
+        (minOf(a, b).toLong() shl 32) or maxOf(a, b).toLong()
+
+    companion object {
+        const val METHOD = "ADAPTIVE"
+        const val FORMAT_VERSION = 1
+        const val DEFAULT_CONFIDENCE = 0.85
+
+        private const val PRIOR = 0.5
+        private const val MAX_SWEEPS = 500
+        private const val FIT_TOLERANCE = 1e-7
+        private const val CANDIDATE_WINDOW = 4
+        private const val ACCURACY_WINDOW = 4.0
+        private const val ACCURACY_CHECKS_PER_ROUND = 10
+
+        /**
+         * [confidence]: beklenen doğru sıralanmış ikili oranı (0.5..1). Oy sınırı
+         * verilmezse birleştirmeli sıralamanın en kötü durumu, n·⌈log₂n⌉.
+         */
+        fun start(
+            songs: List<Song>,
+            confidence: Double = DEFAULT_CONFIDENCE,
+            maxComparisons: Int = defaultMaxComparisons(songs.size)
+        ): AdaptiveRanking {
+            require(confidence in 0.5..1.0) { "Güven 0.5 ile 1 arasında olmalı: $confidence" }
+            require(maxComparisons >= 0) { "Oy sınırı negatif olamaz: $maxComparisons" }
+            return AdaptiveRanking(SongIndex.of(songs), confidence, maxComparisons).also { it.update() }
+        }
+
+        /**
+         * [toBytes] çıktısından geri oku. Biçim tanınmazsa ya da şarkılar [songs] ile
+         * birebir uyuşmuyorsa (liste değişmiş) [IllegalArgumentException].
+         */
+        fun fromBytes(bytes: ByteArray, songs: List<Song>): AdaptiveRanking {
+            val reader = VarintReader(bytes, "adaptive state")
+            val version = reader.varint().toInt()
+            require(version == FORMAT_VERSION) { "Unsupported adaptive format: $version" }
+            val confidence = reader.varint() / 1000.0
+            require(confidence in 0.5..1.0) { "Invalid confidence: $confidence" }
+            val maxComparisons = reader.varint().toInt()
+
+            val expected = songs.mapTo(HashSet(songs.size * 2)) { it.id }
+            val size = reader.varint().toInt()
+            require(size == expected.size) { "Song count changed: $size != ${expected.size}" }
+            val ids = LongArray(size)
+            var previousId = 0L
+            for (slot in 0 until size) {
+                previousId += reader.zigzag()
+                require(expected.remove(previousId)) { "Song $previousId is not in the list or repeated" }
+                ids[slot] = previousId
+            }
+
+            val ranking = AdaptiveRanking(SongIndex.fromIds(ids), confidence, maxComparisons)
+            val count = reader.varint().toInt()
+            require(count <= maxComparisons) { "Invalid comparison count: $count" }
+            repeat(count) {
+                val winner = reader.varint().toInt()
+                val loser = reader.varint().toInt()
+                require(winner in 0 until size && loser in 0 until size && winner != loser) { "Invalid comparison" }
+                ranking.observe(winner, loser)
+            }
+            ranking.expectedAccuracy = reader.double()
+            for (slot in 0 until size) {
+                val value = reader.double()
+                require(value > 0 && value.isFinite()) { "Invalid strength: $value" }
+                ranking.gamma[slot] = value
+            }
+            reader.requireEnd()
+            ranking.update()
+            return ranking
+        }
+
+        fun defaultMaxComparisons(songCount: Int): Int {
+            if (songCount < 2) return 0
+            val depth = 32 - Integer.numberOfLeadingZeros(songCount - 1)
+            return minOf(songCount * depth, songCount * (songCount - 1) / 2)
+        }
+
+        // Abramowitz-Stegun 7.1.26, mutlak hata < 1.5e-7
+        private fun normalCdf(x: Double): Double {
+            val z = abs(x) / sqrt(2.0)
+            val t = 1.0 / (1.0 + 0.3275911 * z)
+            val poly = t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 + t * 1.061405429))))
+            val erf = 1.0 - poly * exp(-z * z)
+            return if (x >= 0) 0.5 * (1.0 + erf) else 0.5 * (1.0 - erf)
+        }
+    }
+}
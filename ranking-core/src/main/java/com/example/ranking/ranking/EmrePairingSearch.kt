@@ -0,0 +1,222 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.metrics.RankingMetrics
+
+/**
+ * Emre usulü tur eşleştirmesinin arama çekirdeği.
+ *
+ * Takımlar anlık sıra numarasına göre 0..n-1 olarak verilir. Sonuç, rövanşsız
+ * tam eşleştirmeler içinde yukarıdan aşağı sözlük sırasında ilk olanıdır:
+ * en üstteki eşleşmemiş takım, geri kalanların hâlâ rövanşsız eşleşebildiği
+ * en yakın alt sıradaki takımla eşleşir. Böyle bir eşleştirme yoksa null döner;
+ * "acil durum" eşleşmesi (rövanş) hiçbir zaman üretilmez.
+ *
+ * En kötü durum: H = bir takımın önceki maç sayısının üst sınırı olsun.
+ * - Hızlı aşama: kalan takım sayısı en az 2H+4 iken her takımın kalanlar içinde
+ *   en az yarısıyla oynamamış olması garantidir (Dirac koşulu), yani kalanlar her
+ *   zaman tam eşleşebilir ve ilk uygun aday doğru seçimdir. Takım başına en çok
+ *   H+1 aday denenir: O(n·H).
+ * - Kuyruk: son k ≤ 2H+3 takım için her aday, kalanlarda tam eşleştirme olup
+ *   olmadığı Edmonds (blossom) algoritmasıyla sınanarak seçilir: O(k²) sınama,
+ *   her biri O(k³) → O(H⁵).
+ * Toplam O(n·H + H⁵); geri izleme şansa bağlı değildir ve iterasyon sınırı yoktur.
+ */
+object EmrePairingSearch {
+
+    private const val NONE = -1
+    
+    private val tailSize = RankingMetrics.histogram("emre.search.tail_size")
+    private val tailChecks = RankingMetrics.counter("emre.search.blossom_checks")
+
+    /**
+     * @param size eşleştirilecek takım sayısı (çift olmalı)
+     * @param maxMeetings bir takımın önceki maç sayısının üst sınırı (H)
+     * @param canPair i ve j (sıra indeksleri) daha önce karşılaşmadıysa true
+     * @return her takımın eşinin indeksi; rövanşsız tam eşleştirme yoksa null
+     */
+    fun pair(size: Int, maxMeetings: Int, canPair: (Int, Int) -> Boolean): IntArray? {
+        require(size % 2 == 0) { "Tek sayıda takım eşleştirilemez: $size" }
+        val partner = IntArray(size) { NONE }
+
+        // Eşleşmemiş takımlar sıralı bağlı liste: eşleşenler O(1) çıkarılır
+        val next = IntArray(size + 1) { it + 1 }
+        val prev = IntArray(size + 1) { it - 1 }
+        var head = 0
+        fun unlink(i: Int) {
+            if (prev[i] == NONE) head = next[i] else next[prev[i]] = next[i]
+            if (next[i] < size) prev[next[i]] = prev[i]
+        }
+
+        var remaining = size
+        val safeRemainder = 2 * (maxMeetings + 1)
+
+        // 1. Hızlı aşama: eşleşmeden sonra kalanlar Dirac koşulunu sağladığı sürece açgözlü seçim
+        while (remaining - 2 >= safeRemainder) {
+            EngineCompute.checkpoint("Emre eşleştirme", size - remaining, size)
+            val i = head
+            var j = next[i]
+            while (j < size && !canPair(i, j)) j = next[j]
+            check(j < size) { "Dirac koşuluna rağmen eş bulunamadı: $i" }
+
+            partner[i] = j
+            partner[j] = i
+            unlink(i)
+            unlink(j)
+            remaining -= 2
+        }
+
+        // 2. Kuyruk: her seçimde kalanların tam eşleşebildiği blossom ile doğrulanır
+        val tail = IntArray(remaining)
+        var cursor = head
+        for (t in tail.indices) {
+            tail[t] = cursor
+            cursor = next[cursor]
+        }
+        tailSize.record(remaining.toLong())
+        val tailPartner = pairTail(tail, canPair) ?: return null
+        for (t in tail.indices) partner[tail[t]] = tail[tailPartner[t]]
+
+        return partner
+    }
+
+    /**
+     * Kuyruktaki takımlar için sözlük sırasında ilk tam eşleştirme (yerel indekslerle).
+     */
+    private fun pairTail(teams: IntArray, canPair: (Int, Int) -> Boolean): IntArray? {
+        val k = teams.size
+        val partner = IntArray(k) { NONE }
+        val alive = BooleanArray(k) { true }
+        val adjacent: (Int, Int) -> Boolean = { a, b -> canPair(teams[a], teams[b]) }
+
+        var checks = 1L
+        if (!hasPerfectMatching(alive, adjacent)) {
+            tailChecks.add(checks)
+            return null
+        }
+
+        for (i in 0 until k) {
+            if (!alive[i]) continue
+            EngineCompute.checkpoint("Emre geri izleme", i, k)
+            alive[i] = false
+            var chosen = NONE
+            for (j in i + 1 until k) {
+                if (!alive[j] || !adjacent(i, j)) continue
+                alive[j] = false
+                checks++
+                if (hasPerfectMatching(alive, adjacent)) {
+                    chosen = j
+                    break
+                }
+                alive[j] = true
+            }
+            // Kalanlar tam eşleşebildiği için en az bir aday uygundur
+            check(chosen != NONE) { "Kuyrukta eş bulunamadı: $i" }
+            partner[i] = chosen
+            partner[chosen] = i
+        }
+        // Blossom sınamaları eski geri izleme denemelerinin karşılığıdır
+        tailChecks.add(checks)
+        return partner
+    }
+
+    /**
+     * [alive] takımlar arasında tam eşleştirme var mı? Edmonds blossom, O(k³).
+     */
+    internal fun hasPerfectMatching(alive: BooleanArray, adjacent: (Int, Int) -> Boolean): Boolean {
+        val k = alive.size
+        val count = alive.count { it }
+        if (count % 2 != 0) return false
+        if (count == 0) return true
+
+        val match = IntArray(k) { NONE }
+        val parent = IntArray(k)
+        val base = IntArray(k)
+        val used = BooleanArray(k)
+        val blossom = BooleanArray(k)
+        val queue = IntArray(k)
+
+        fun lca(first: Int, second: Int): Int {
+            val seen = BooleanArray(k)
+            var a = first
+            while (true) {
+                a = base[a]
+                seen[a] = true
+                if (match[a] == NONE) break
+                a = parent[match[a]]
+            }
+            var b = second
+            while (true) {
+                b = base[b]
+                if (seen[b]) return b
+                b = parent[match[b]]
+            }
+        }
+
+        fun markPath(start: Int, root: Int, child: Int) {
+            var v = start
+            var c = child
+            while (base[v] != root) {
+                blossom[base[v]] = true
+                blossom[base[match[v]]] = true
+                parent[v] = c
+                c = match[v]
+                v = parent[match[v]]
+            }
+        }
+
+        // root'tan artıran yol ara; bulunursa yolun son ucunu döndür
+        fun findPath(root: Int): Int {
+            used.fill(false)
+            parent.fill(NONE)
+            for (i in 0 until k) base[i] = i
+            used[root] = true
+            var qh = 0
+            var qt = 0
+            queue[qt++] = root
+            while (qh < qt) {
+                val v = queue[qh++]
+                for (to in 0 until k) {
+                    if (!alive[to] || to == v || base[v] == base[to] || match[v] == to) continue
+                    if (!adjacent(v, to)) continue
+                    if (to == root || (match[to] != NONE && parent[match[to]] != NONE)) {
+                        val current = lca(v, to)
+                        blossom.fill(false)
+                        markPath(v, current, to)
+                        markPath(to, current, v)
+                        for (i in 0 until k) {
+                            if (alive[i] && blossom[base[i]]) {
+                                base[i] = current
+                                if (!used[i]) {
+                                    used[i] = true
+                                    queue[qt++] = i
+                                }
+                            }
+                        }
+                    } else if (parent[to] == NONE) {
+                        parent[to] = v
+                        if (match[to] == NONE) return to
+                        used[match[to]] = true
+                        queue[qt++] = match[to]
+                    }
+                }
+            }
+            return NONE
+        }
+
+        var matched = 0
+        for (root in 0 until k) {
+            if (!alive[root] || match[root] != NONE) continue
+            var v = findPath(root)
+            if (v == NONE) return false // Bu takım için artıran yol yok: tam eşleştirme imkânsız
+            while (v != NONE) {
+                val pv = parent[v]
+                val ppv = match[pv]
+                match[v] = pv
+                match[pv] = v
+                v = ppv
+            }
+            matched += 2
+        }
+        return matched == count
+    }
+}
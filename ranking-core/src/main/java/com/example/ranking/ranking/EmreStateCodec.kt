@@ -0,0 +1,103 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Song
+
+/**
+ * Emre turnuva durumunun ([EmreSystemCorrect.EmreState]) sürümlü ikili anlık görüntüsü.
+ *
+ * - Takımlar liste sırasıyla yazılır: şarkı ve takım ID'leri bir öncekine göre zigzag
+ *   delta, sıra numarası liste konumuna göre, tur öncesi sıra anlık sıraya göre fark.
+ * - Puanlar yarım puanın katıysa tek varint, değilse ham 8 bayt.
+ * - Eşleşme geçmişi [PairingHistory.toBytes] biçimiyle eklenir.
+ *
+ * Şarkı nesneleri yazılmaz; okurken listeden ID ile bulunur. Listede olmayan
+ * bir şarkı varsa (liste değişmiş) [IllegalArgumentException] fırlatılır.
+ */
+object EmreStateCodec {
+
+    const val FORMAT_VERSION = 1
+
+    private const val FLAG_BYE_PASSED = 1
+    private const val FLAG_RAW_POINTS = 2
+
+    fun encode(state: EmreSystemCorrect.EmreState): ByteArray {
+        val history = state.matchHistory.toBytes()
+        val out = VarintWriter(state.teams.size * 8 + history.size + 16)
+        out.varint(FORMAT_VERSION.toLong())
+        out.varint(state.currentRound.toLong())
+        out.varint(if (state.isComplete) 1 else 0)
+
+        out.varint(state.teams.size.toLong())
+        var previousSongId = 0L
+        var previousTeamId = 0L
+        state.teams.forEachIndexed { position, team ->
+            val doubled = team.points * 2
+            val halfPoints = doubled == Math.rint(doubled) && Math.abs(doubled) < (1L shl 52)
+            var flags = 0
+            if (team.byePassed) flags = flags or FLAG_BYE_PASSED
+            if (!halfPoints) flags = flags or FLAG_RAW_POINTS
+
+            out.varint(flags.toLong())
+            out.zigzag(team.id - previousSongId)
+            out.zigzag(team.teamId - previousTeamId)
+            if (halfPoints) out.zigzag(doubled.toLong()) else out.rawLong(team.points.toRawBits())
+            out.zigzag((team.currentPosition - (position + 1)).toLong())
+            out.zigzag((team.preRoundPosition - team.currentPosition).toLong())
+            out.varint(team.byeCount.toLong())
+            previousSongId = team.id
+            previousTeamId = team.teamId
+        }
+
+        out.varint(history.size.toLong())
+        out.bytes(history)
+        return out.toByteArray()
+    }
+
+    fun decode(bytes: ByteArray, songs: List<Song>): EmreSystemCorrect.EmreState {
+        val input = VarintReader(bytes, "Emre state")
+        val version = input.varint().toInt()
+        require(version == FORMAT_VERSION) { "Unsupported Emre state format: $version" }
+        val currentRound = input.varint().toInt()
+        val isComplete = input.varint() != 0L
+
+        val songById = songs.associateBy { it.id }
+        val teamCount = input.varint().toInt()
+        val teams = ArrayList<EmreSystemCorrect.EmreTeam>(teamCount)
+        var songId = 0L
+        var teamId = 0L
+        repeat(teamCount) { position ->
+            val flags = input.varint().toInt()
+            songId += input.zigzag()
+            teamId += input.zigzag()
+            val points = if (flags and FLAG_RAW_POINTS != 0) {
+                Double.fromBits(input.rawLong())
+            } else {
+                input.zigzag() / 2.0
+            }
+            val currentPosition = position + 1 + input.zigzag().toInt()
+            val preRoundPosition = currentPosition + input.zigzag().toInt()
+            val byeCount = input.varint().toInt()
+
+            val song = requireNotNull(songById[songId]) { "Song $songId is not in the list" }
+            teams.add(EmreSystemCorrect.EmreTeam(
+                song = song,
+                points = points,
+                currentPosition = currentPosition,
+                teamId = teamId,
+                preRoundPosition = preRoundPosition,
+                byePassed = flags and FLAG_BYE_PASSED != 0,
+                byeCount = byeCount
+            ))
+        }
+
+        val history = PairingHistory.fromBytes(input.bytes(input.varint().toInt()))
+        input.requireEnd()
+
+        return EmreSystemCorrect.EmreState(
+            teams = teams,
+            matchHistory = history,
+            currentRound = currentRound,
+            isComplete = isComplete
+        )
+    }
+}
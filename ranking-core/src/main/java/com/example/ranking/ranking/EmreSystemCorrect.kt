@@ -0,0 +1,476 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Song
+import com.example.ranking.data.Match
+import com.example.ranking.data.RankingResult
+import com.example.ranking.logging.LogLevel
+import com.example.ranking.logging.RankingLog
+import com.example.ranking.metrics.RankingMetrics
+
+/**
+ * GERÇEK Emre Usulü Sıralama Sistemi
+ * 
+ * DOĞRU Algoritma Kuralları (Kullanıcının belirttiği şekilde):
+ * 1. Başlangıç: Takımlara ID (sabit) ve sıra numarası (1-79) atanır
+ * 2. İlk tur: 1-2, 3-4, 5-6... eşleştirme, tek sayıda ise son takım bye geçer
+ * 3. Puanlama: Galibiyet=1, beraberlik=0.5, mağlubiyet=0, bye=1 puan
+ * 4. Yeniden sıralama: Puana göre → tiebreaker → yeni sıra numaraları (1-79)
+ * 5. Sonraki turlar: 1. takım 2. ile eşleşmedi mi kontrol → eşleştir
+ *    Eşleşmiş ise 1-3, 1-4, 1-5... şeklinde ilk eşleşmemiş rakip bulunana kadar
+ * 6. Aynı puan kontrolü: Eğer her eşleşmede aynı puanlı takımlar varsa tur oynanır
+ *    Hiçbir eşleşmede aynı puanlı takım yoksa turnuva biter
+ * 7. Her takım diğer takımla EN FAZLA 1 KEZ oynar
+ */
+object EmreSystemCorrect {
+
+    private val log = RankingLog.channel("EmreSystemCorrect")
+    private val pairingTimer = RankingMetrics.timer("engine.pairing.emre")
+    private val byeRetries = RankingMetrics.counter("emre.pairing.bye_retries")
+    private val noPairing = RankingMetrics.counter("emre.pairing.no_rematch_free_pairing")
+    
+    data class EmreTeam(
+        val song: Song,
+        var points: Double = 0.0,
+        var currentPosition: Int = 0,           // Anlık sıra numarası (değişken)
+        val teamId: Long,                       // Sabit ID numarası  
+        var preRoundPosition: Int = 0,          // 🆕 Tur öncesi anlık sıralama (tiebreaker için)
+        var byePassed: Boolean = false,         // Bye geçti mi?
+        var byeCount: Int = 0                   // 🆕 Kaç kere bye geçti (maksimum 1)
+    ) {
+        val id: Long get() = song.id
+        
+        // Deep copy fonksiyonu - CRITICAL for avoiding duplicate match bug
+        fun deepCopy(): EmreTeam {
+            return EmreTeam(
+                song = song,
+                points = points,
+                currentPosition = currentPosition,
+                teamId = teamId,
+                preRoundPosition = preRoundPosition,
+                byePassed = byePassed,
+                byeCount = byeCount
+            )
+        }
+    }
+    
+    data class EmreState(
+        val teams: List<EmreTeam>,
+        val matchHistory: PairingHistory = emptyHistory(teams), // Oynanan eşleşmeler (takım ID'leriyle)
+        val currentRound: Int = 1,
+        val isComplete: Boolean = false
+    )
+    
+    data class EmrePairingResult(
+        val matches: List<Match>,
+        val byeTeam: EmreTeam? = null,
+        val hasSamePointMatch: Boolean = false, // Aynı puanlı eşleşme var mı?
+        val canContinue: Boolean = true,
+        val candidateMatches: List<CandidateMatch> = emptyList() // Aday eşleşmeler
+    )
+    
+    // Aday eşleşme sistemi için yeni data class
+    data class CandidateMatch(
+        val team1: EmreTeam,
+        val team2: EmreTeam,
+        val isAsymmetricPoints: Boolean // Farklı puanlı mı?
+    )
+    
+    // İki kademeli kontrol durumları
+    enum class PairingPhase {
+        CANDIDATE_CREATION,    // Aday eşleştirme oluşturma
+        CONFIRMATION_PENDING,  // Onay bekliyor
+        CONFIRMED,            // Onaylandı
+        TOURNAMENT_FINISHED   // Turnuva bitti (asimetrik puan yok)
+    }
+    
+    /**
+     * Emre turnuvası başlat
+     */
+    fun initializeEmreTournament(songs: List<Song>): EmreState {
+        val teams = songs.mapIndexed { index, song ->
+            EmreTeam(
+                song = song, 
+                points = 0.0, 
+                currentPosition = index + 1,      // Anlık sıra numarası
+                teamId = (index + 1).toLong(),    // FIXED: Sabit ID numarası (index-based)
+                preRoundPosition = index + 1,     // 🆕 İlk turda tur öncesi = başlangıç sırası
+                byePassed = false,
+                byeCount = 0
+            )
+        }
+        
+        log.d { "🏁 TOURNAMENT INITIALIZED: ${teams.size} teams with ID and position numbers" }
+        // Takım başına döküm: seviye kapalıyken listeyi hiç dolaşma
+        if (log.isEnabled(LogLevel.DEBUG)) teams.forEach { team ->
+            log.d { "📋 TEAM: ID=${team.teamId}, Position=${team.currentPosition}, PreRound=${team.preRoundPosition}" }
+        }
+        
+        return EmreState(
+            teams = teams,
+            matchHistory = emptyHistory(teams),
+            currentRound = 1,
+            isComplete = false
+        )
+    }
+    
+    /**
+     * İKİ KADEMELİ KONTROLLU SONRAKI TUR EŞLEŞTİRMELERİ
+     * 
+     * KULLANICININ TARİF ETTİĞİ SİSTEM:
+     * 1. Onay sistemi: "X. Tur eşleştirmeleri yapılacaktır" → kullanıcı onayı
+     * 2. Aday eşleştirmeler oluştur → asimetrik puan kontrolü
+     * 3. Eğer asimetrik puan yoksa → turnuva biter
+     * 4. Eğer asimetrik puan varsa → onay sonrası kesin eşleştirmeler
+     */
+    fun createNextRoundWithConfirmation(state: EmreState): EmrePairingResult =
+        pairingTimer.time { pairNextRound(state) }
+    
+    private fun pairNextRound(state: EmreState): EmrePairingResult {
+        if (state.isComplete) {
+            return EmrePairingResult(
+                matches = emptyList(), 
+                byeTeam = null, 
+                hasSamePointMatch = false, 
+                canContinue = false,
+                candidateMatches = emptyList()
+            )
+        }
+        
+        // 🆕 TUR ÖNCESİ ANLIK SIRALAMA HAFIZAYA ALINIR
+        val teamsWithPreRoundPosition = state.teams.map { team ->
+            team.deepCopy().apply {
+                preRoundPosition = currentPosition // Tur öncesi sıralama hafızaya al
+            }
+        }
+        
+        // Takımları anlık sıra numaralarına göre sırala 
+        val sortedTeams = teamsWithPreRoundPosition.sortedBy { it.currentPosition }
+        
+        log.d { "📊 PRE-ROUND POSITIONS STORED: Round ${state.currentRound}" }
+        if (log.isEnabled(LogLevel.DEBUG)) sortedTeams.forEach { team ->
+            log.d { "📍 TEAM ${team.currentPosition}: PreRound=${team.preRoundPosition}, Points=${team.points}" }
+        }
+        
+        // Bye adayları sırayla denenir: ilk aday rövanşsız eşleştirmeyi imkânsız kılıyorsa sonraki
+        for (byeTeam in byeCandidates(sortedTeams)) {
+            val teamsToMatch = if (byeTeam == null) sortedTeams else sortedTeams.filter { it !== byeTeam }
+            val candidateMatches = pairTopDown(teamsToMatch, state.matchHistory)
+            if (candidateMatches == null) {
+                // Çift sayıda takımda bye adayı yok; başarısızlık no_rematch_free_pairing'de sayılır
+                if (byeTeam != null) byeRetries.increment()
+                continue
+            }
+            
+            byeTeam?.let { log.d { "🆓 BYE ASSIGNED: Team ${it.currentPosition} (ID: ${it.teamId})" } }
+            return performAsymmetricPointCheck(candidateMatches, byeTeam, state.currentRound)
+        }
+        
+        // Rövanşsız eşleştirme yok: her ikili en fazla bir kez oynar, turnuva biter
+        noPairing.increment()
+        log.w { "🏁 NO REMATCH-FREE PAIRING: ${sortedTeams.size} teams, Round ${state.currentRound}" }
+        return EmrePairingResult(emptyList(), null, false, false, emptyList())
+    }
+    
+    /**
+     * BYE ADAYLARI - Geliştirilmiş İsviçre Usulü Kuralları
+     * 
+     * KURALLAR:
+     * - Çift sayıda takım: Hiçbir takım bye geçemez
+     * - Tek sayıda takım: En alttaki bye geçmemiş takım bye geçer (alttan yukarı adaylar)
+     * - Bir takım turnuvada en fazla 1 kere bye geçebilir; hepsi geçtiyse en alttaki tekrar geçer
+     * 
+     * Takım sayısı 2H+3'ten (H = bir takımın önceki maç sayısı) büyükse ilk aday her zaman
+     * uygundur; birden fazla aday yalnızca küçük turnuvalarda denenir.
+     */
+    private fun byeCandidates(sortedTeams: List<EmreTeam>): List<EmreTeam?> {
+        if (sortedTeams.size % 2 == 0) return listOf(null)
+        
+        val fresh = sortedTeams.asReversed().filter { it.byeCount == 0 }
+        if (fresh.isNotEmpty()) return fresh
+        
+        log.w { "⚠️ REPEATED BYE: all teams have had a bye" }
+        return listOf(sortedTeams.last())
+    }
+    
+    /**
+     * YUKARIDAN AŞAĞI EŞLEŞTİRME
+     * 
+     * En üstteki eşleşmemiş takım, rövanş olmayan ve geri kalanların da rövanşsız
+     * eşleşebildiği en yakın alt sıradaki takımla eşleşir ([EmrePairingSearch]).
+     * Rövanşsız tam eşleştirme yoksa null.
+     */
+    private fun pairTopDown(teams: List<EmreTeam>, matchHistory: PairingHistory): List<CandidateMatch>? {
+        val ordered = teams.sortedBy { it.currentPosition }
+        val slots = IntArray(ordered.size) { matchHistory.index.slotOf(ordered[it].teamId) }
+        val meetings = matchHistory.meetingCounts()
+        val maxMeetings = slots.maxOfOrNull { if (it >= 0) meetings[it] else 0 } ?: 0
+        
+        val partner = EmrePairingSearch.pair(ordered.size, maxMeetings) { i, j ->
+            !matchHistory.hasMet(slots[i], slots[j])
+        } ?: return null
+        
+        val candidateMatches = ArrayList<CandidateMatch>(ordered.size / 2)
+        for (i in ordered.indices) {
+            val j = partner[i]
+            if (j < i) continue
+            candidateMatches.add(CandidateMatch(
+                team1 = ordered[i],
+                team2 = ordered[j],
+                isAsymmetricPoints = ordered[i].points != ordered[j].points
+            ))
+        }
+        return candidateMatches
+    }
+    
+
+    /**
+     * 🆕 ESİMETRİK PUAN KONTROLÜ VE TUR ONAY
+     * 
+     * KULLANICININ KURALI:
+     * - En az 1 aynı puanlı eşleşme varsa → tur oyna
+     * - Hiçbir aynı puanlı eşleşme yoksa → turnuva bitir
+     */
+    private fun performAsymmetricPointCheck(
+        candidateMatches: List<CandidateMatch>,
+        byeTeam: EmreTeam?,
+        currentRound: Int
+    ): EmrePairingResult {
+        
+        log.d { "🎯 ASYMMETRIC POINT CHECK: Round $currentRound, ${candidateMatches.size} matches" }
+        
+        // Her eşleştirmeyi kontrol et
+        if (log.isEnabled(LogLevel.DEBUG)) candidateMatches.forEachIndexed { index, match ->
+            log.d { "🔍 MATCH $index: ${match.team1.currentPosition}(${match.team1.points}p) vs ${match.team2.currentPosition}(${match.team2.points}p) → Asymmetric=${match.isAsymmetricPoints}" }
+        }
+        
+        // Aynı puanlı eşleşme var mı kontrol et
+        val hasSamePointMatch = if (currentRound == 1) {
+            log.d { "✅ FIRST ROUND: Always continue" }
+            true // İlk tur her zaman oynanır
+        } else {
+            if (log.isEnabled(LogLevel.DEBUG)) {
+                val samePointMatches = candidateMatches.filter { !it.isAsymmetricPoints }
+                log.d { "⚖️ SAME POINT MATCHES: ${samePointMatches.size} out of ${candidateMatches.size}" }
+                samePointMatches.forEach { match ->
+                    log.d { "⚖️ EQUAL POINTS: ${match.team1.currentPosition}(${match.team1.points}p) vs ${match.team2.currentPosition}(${match.team2.points}p)" }
+                }
+            }
+            candidateMatches.any { !it.isAsymmetricPoints }
+        }
+        
+        if (hasSamePointMatch) {
+            // TUR OYNA
+            log.d { "✅ TOURNAMENT CONTINUES: Round $currentRound approved" }
+            
+            val matches = candidateMatches.map { candidate ->
+                Match(
+                    listId = candidate.team1.song.listId,
+                    rankingMethod = "EMRE_CORRECT",
+                    songId1 = candidate.team1.id,
+                    songId2 = candidate.team2.id,
+                    winnerId = null,
+                    round = currentRound
+                )
+            }
+            
+            return EmrePairingResult(
+                matches = matches,
+                byeTeam = byeTeam,
+                hasSamePointMatch = true,
+                canContinue = true,
+                candidateMatches = candidateMatches
+            )
+        } else {
+            // TURNUVA BİTİR
+            log.e { "🏁 TOURNAMENT FINISHED: All matches are asymmetric (Round $currentRound)" }
+            log.e { "🏁 FINAL ANALYSIS: ${candidateMatches.size} total matches, 0 same-point matches" }
+            
+            return EmrePairingResult(
+                matches = emptyList(),
+                byeTeam = byeTeam,
+                hasSamePointMatch = false,
+                canContinue = false,
+                candidateMatches = candidateMatches
+            )
+        }
+    }
+    
+    /**
+     * Takım ID'leri üzerinde boş eşleşme geçmişi
+     */
+    private fun emptyHistory(teams: List<EmreTeam>): PairingHistory =
+        PairingHistory(SongIndex.fromIds(LongArray(teams.size) { teams[it].teamId }))
+    
+    /**
+     * Tur sonuçlarını işle ve sıralamayı yenile
+     * 
+     * Takımlar tur başına bir kez kurulan ID → indeks tablosuyla ([SongIndex]) bulunur;
+     * puanlar ve eşit puanlılar arası ikili maç puanları indeksli dizilerde birikir.
+     * Maçlar tek geçişte işlenir (O(maç)), yeni sıralama tek bir sıralamadır (O(n log n)).
+     */
+    fun processRoundResults(
+        state: EmreState, 
+        completedMatches: List<Match>, 
+        byeTeam: EmreTeam? = null
+    ): EmreState {
+        val teams = state.teams
+        val index = SongIndex.fromIds(LongArray(teams.size) { teams[it].id })
+        val points = DoubleArray(teams.size) { teams[it].points }
+        val byeSlot = byeTeam?.let { index.slotOf(it.id) } ?: -1
+        val newMatchHistory = state.matchHistory.copy()
+        
+        // 🆕 BYE GEÇEN TAKIMA PUAN EKLE (bye count yeni takım nesnesinde artırılır)
+        if (byeSlot >= 0) {
+            points[byeSlot] += 1.0
+            log.d { "🆓 BYE UPDATE: Team ${teams[byeSlot].currentPosition} → Points: ${points[byeSlot]}, ByeCount: ${teams[byeSlot].byeCount + 1}" }
+        }
+        
+        // Maç sonuçlarını işle: her maç bir kez, sabit zamanlı aramalarla
+        log.d { "📝 PROCESSING ${completedMatches.size} completed matches" }
+        val slots1 = IntArray(completedMatches.size)
+        val slots2 = IntArray(completedMatches.size)
+        completedMatches.forEachIndexed { m, match ->
+            val slot1 = index.slotOf(match.songId1)
+            val slot2 = index.slotOf(match.songId2)
+            slots1[m] = slot1
+            slots2[m] = slot2
+            
+            // Eşleşme geçmişi sabit takım ID'leriyle tutulur
+            if (slot1 >= 0 && slot2 >= 0) {
+                val teamId1 = teams[slot1].teamId
+                val teamId2 = teams[slot2].teamId
+                val historySlot1 = newMatchHistory.index.slotOf(teamId1)
+                val historySlot2 = newMatchHistory.index.slotOf(teamId2)
+                if (historySlot1 < 0 || historySlot2 < 0) {
+                    log.e { "❌ UNKNOWN TEAM: TeamID $teamId1 vs TeamID $teamId2 not in match history index! (Match ID: ${match.id})" }
+                } else if (!newMatchHistory.record(historySlot1, historySlot2)) {
+                    log.e { "🚫 BLOCKED DUPLICATE: TeamID $teamId1 vs TeamID $teamId2 already in match history! (Match ID: ${match.id})" }
+                }
+            } else {
+                log.e { "❌ MAPPING ERROR: Cannot find team IDs for songs ${match.songId1} vs ${match.songId2}" }
+            }
+            
+            // Puanları güncelle (sadece tamamlanmış maçlar)
+            if (match.isCompleted) {
+                when (match.winnerId) {
+                    match.songId1 -> if (slot1 >= 0) points[slot1] += 1.0
+                    match.songId2 -> if (slot2 >= 0) points[slot2] += 1.0
+                    null -> {
+                        // Beraberlik - her takıma 0.5 puan
+                        if (slot1 >= 0) points[slot1] += 0.5
+                        if (slot2 >= 0) points[slot2] += 0.5
+                    }
+                }
+            }
+        }
+        
+        // Eşit puanlılar arası (ikinci puan) tablo: tur sonrası puanı aynı olan iki takımın maçı sayılır
+        val headToHead = headToHeadPoints(completedMatches, slots1, slots2, points)
+        
+        // KULLANICININ BELİRTTİĞİ Emre usulü sıralamayı yenile
+        val order = emreOrder(teams, points, headToHead)
+        val reorderedTeams = ArrayList<EmreTeam>(teams.size)
+        order.forEachIndexed { position, slot ->
+            val team = teams[slot]
+            reorderedTeams.add(team.copy(
+                points = points[slot],
+                currentPosition = position + 1,
+                byePassed = team.byePassed || slot == byeSlot,
+                byeCount = if (slot == byeSlot) team.byeCount + 1 else team.byeCount
+            ))
+        }
+        
+        return EmreState(
+            teams = reorderedTeams,
+            matchHistory = newMatchHistory,
+            currentRound = state.currentRound + 1,
+            isComplete = false
+        )
+    }
+    
+    /**
+     * 🆕 TIEBREAKER İKİNCİ PUANI - Geliştirilmiş İsviçre Usulü
+     * 
+     * Aynı puanlı takımların kendi aralarındaki tamamlanmış maçları (bye hariç) tek geçişte
+     * puanlanır: galibiyet 1, beraberlik 0.5. Farklı puanlı takımların maçı sayılmaz.
+     */
+    private fun headToHeadPoints(
+        completedMatches: List<Match>,
+        slots1: IntArray,
+        slots2: IntArray,
+        points: DoubleArray
+    ): DoubleArray {
+        val headToHead = DoubleArray(points.size)
+        completedMatches.forEachIndexed { m, match ->
+            val slot1 = slots1[m]
+            val slot2 = slots2[m]
+            if (!match.isCompleted || slot1 < 0 || slot2 < 0 || slot1 == slot2) return@forEachIndexed
+            if (points[slot1] != points[slot2]) return@forEachIndexed
+            
+            when (match.winnerId) {
+                match.songId1 -> headToHead[slot1] += 1.0
+                match.songId2 -> headToHead[slot2] += 1.0
+                null -> {
+                    headToHead[slot1] += 0.5
+                    headToHead[slot2] += 0.5
+                }
+            }
+        }
+        return headToHead
+    }
+    
+    /**
+     * Takımları Emre usulü kurallarına göre yeniden sırala
+     * 
+     * KULLANICININ TARİF ETTİĞİ TİEBREAKER KURALLARI:
+     * 1. Puana göre yüksekten alçağa
+     * 2. Eşit puanlı takımlar için:
+     *    a) Kendi aralarındaki maçlara göre ikinci puan (yüksek önce)
+     *    b) İkinci puanda da eşitlik → tur öncesi anlık sıralama (düşük önce = üstte olan)
+     * 3. Yeni sıra numaraları atanır (1-79)
+     * 
+     * @return yeni sıraya göre takım indeksleri
+     */
+    private fun emreOrder(teams: List<EmreTeam>, points: DoubleArray, headToHead: DoubleArray): IntArray {
+        // Kararlı sıralama: tam eşitlikte mevcut liste sırası korunur
+        return teams.indices.sortedWith(
+            compareByDescending<Int> { points[it] }
+                .thenByDescending { headToHead[it] }
+                .thenBy { teams[it].preRoundPosition }
+        ).toIntArray()
+    }
+    
+    /**
+     * Final sonuçlarını hesapla
+     */
+    fun calculateFinalResults(state: EmreState): List<RankingResult> {
+        val sortedTeams = state.teams.sortedBy { it.currentPosition }
+        
+        return sortedTeams.mapIndexed { index, team ->
+            RankingResult(
+                songId = team.id,
+                listId = team.song.listId,
+                rankingMethod = "EMRE_CORRECT",
+                score = team.points,
+                position = index + 1
+            )
+        }
+    }
+    
+    /**
+     * Turnuva durumunu kontrol et
+     */
+    fun checkTournamentStatus(state: EmreState): TournamentStatus {
+        return when {
+            state.isComplete -> TournamentStatus.COMPLETED
+            state.currentRound == 1 -> TournamentStatus.NOT_STARTED
+            else -> TournamentStatus.IN_PROGRESS
+        }
+    }
+    
+    enum class TournamentStatus {
+        NOT_STARTED,
+        IN_PROGRESS,
+        COMPLETED
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.example.ranking.ranking
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.job
+import kotlinx.coroutines.withContext
+
+/**
+ * Uzun süren motor hesaplamalarının anlık ilerlemesi.
+ *
+ * @property stage hesaplama aşaması (ör. "Emre eşleştirme")
+ */
+data class EngineProgress(
+    val stage: String,
+    val done: Int,
+    val total: Int
+) {
+    val fraction: Float
+        get() = if (total > 0) (done.toFloat() / total).coerceIn(0f, 1f) else 0f
+}
+
+/**
+ * Motor hesaplamaları için sınırlı paralellikte dispatcher, işbirlikçi iptal ve ilerleme.
+ *
+ * Motorlar saf, suspend olmayan fonksiyonlardır; uzun döngüleri [checkpoint] çağırır.
+ * [run] içinde çalışırken checkpoint çağıran iş iptal edildiyse [CancellationException]
+ * fırlatır ve ilerlemeyi (en fazla [PROGRESS_INTERVAL_NANOS] aralıkla) bildirir;
+ * [run] dışında (testler, benchmark'lar) hiçbir şey yapmaz.
+ */
+object EngineCompute {
+
+    private const val PROGRESS_INTERVAL_NANOS = 50_000_000L
+
+    /**
+     * Ana iş parçacığına ve diğer Default işlerine yer bırakmak için çekirdek sayısının bir eksiği.
+     */
+    @OptIn(ExperimentalCoroutinesApi::class)
+    val dispatcher: CoroutineDispatcher = Dispatchers.Default.limitedParallelism(
+        (Runtime.getRuntime().availableProcessors() - 1).coerceAtLeast(1)
+    )
+
+    private val current = ThreadLocal<Checkpoint?>()
+
+    /**
+     * [block]'u hesaplama dispatcher'ında çalıştır. Çağıran coroutine iptal edilirse
+     * motor bir sonraki [checkpoint]'te durur.
+     */
+    suspend fun <T> run(
+        onProgress: ((EngineProgress) -> Unit)? = null,
+        block: () -> T
+    ): T = withContext(dispatcher) {
+        val checkpoint = Checkpoint(coroutineContext.job, onProgress)
+        val previous = current.get()
+        current.set(checkpoint)
+        try {
+            block()
+        } finally {
+            current.set(previous)
+        }
+    }
+
+    /**
+     * Motor döngülerinden çağrılır: iptal kontrolü + ilerleme bildirimi.
+     */
+    fun checkpoint(stage: String, done: Int, total: Int) {
+        current.get()?.check(stage, done, total)
+    }
+
+    private class Checkpoint(
+        private val job: Job,
+        private val onProgress: ((EngineProgress) -> Unit)?
+    ) {
+        private var lastReport = 0L
+
+        fun check(stage: String, done: Int, total: Int) {
+            job.ensureActive()
+            if (onProgress == null) return
+            val now = System.nanoTime()
+            if (now - lastReport >= PROGRESS_INTERVAL_NANOS) {
+                lastReport = now
+                onProgress.invoke(EngineProgress(stage, done, total))
+            }
+        }
+    }
+}
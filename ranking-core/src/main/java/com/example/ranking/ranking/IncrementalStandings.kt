@@ -0,0 +1,201 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.RoundResult
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissStandings
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.conflate
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.flow.map
+
+/**
+ * Puan tablosundaki tek satır.
+ */
+data class StandingRow(
+    val position: Int,
+    val songId: Long,
+    val points: Double,
+    val played: Int,
+    val won: Int,
+    val drawn: Int,
+    val lost: Int,
+    val goalsFor: Int,
+    val goalsAgainst: Int
+) {
+    val goalDifference: Int get() = goalsFor - goalsAgainst
+}
+
+/**
+ * Oy başına güncellenen canlı puan tablosu.
+ *
+ * Her maç sonucu [onMatchCompleted] / [onMatchReverted] ile O(1) işlenir: puan, G/B/M,
+ * atılan/yenen skor ve eşleşme geçmişi yerinde güncellenir. Tüm maçlardan yeniden hesaplama
+ * sadece soğuk başlangıçta [reset] ile yapılır.
+ *
+ * [table] her güncellemede sadece bir sürüm sayacı artırır; sıralı tablo toplayıcı hazır
+ * olduğunda [EngineCompute.dispatcher] üzerinde kurulur (toplayıcının iş parçacığında değil),
+ * arka arkaya gelen oylar tek bir yayına birleşir.
+ */
+class IncrementalStandings(
+    private val songs: List<Song>,
+    private val scoring: Scoring
+) {
+    private val lock = Any()
+    val index: SongIndex = SongIndex.of(songs)
+    
+    private var tables = Tables(TournamentState(index, scoring), PairingHistory(index), java.util.TreeMap(), HashMap())
+    private val version = MutableStateFlow(0L)
+    
+    val table: Flow<List<StandingRow>> = version.map { snapshot() }.conflate().flowOn(EngineCompute.dispatcher)
+    
+    /**
+     * Soğuk başlangıç: tabloyu tamamlanmış maçlardan baştan kur.
+     */
+    fun reset(completedMatches: List<Match>) {
+        synchronized(lock) {
+            tables = Tables(TournamentState(index, scoring), PairingHistory(index), java.util.TreeMap(), HashMap())
+            completedMatches.forEach { tables.add(it) }
+        }
+        version.value++
+    }
+    
+    /**
+     * Tamamlanan maçı işle. Aynı maç (ID) yeniden oylandıysa önceki sonuç önce geri alınır.
+     */
+    fun onMatchCompleted(match: Match) {
+        if (!match.isCompleted) return
+        synchronized(lock) { tables.replace(match) }
+        version.value++
+    }
+    
+    /**
+     * Maç sonucunu geri al (oy iptali).
+     */
+    fun onMatchReverted(match: Match) {
+        synchronized(lock) {
+            val previous = tables.recorded[match.id] ?: return
+            tables.remove(previous)
+        }
+        version.value++
+    }
+    
+    /**
+     * Turda tamamlanmış maçlar.
+     */
+    fun completedInRound(round: Int): List<Match> = synchronized(lock) {
+        tables.rounds[round]?.toList() ?: emptyList()
+    }
+    
+    fun pointsMap(): Map<Long, Double> = synchronized(lock) { tables.state.toPointsMap() }
+    
+    /**
+     * Puana göre sıralı tablo; eşit puanda liste sırası korunur.
+     */
+    fun snapshot(): List<StandingRow> = synchronized(lock) {
+        val state = tables.state
+        val slots = IntArray(songs.size) { index.slotOf(songs[it].id) }
+        songs.indices
+            .sortedByDescending { state.points[slots[it]] }
+            .mapIndexed { position, songIndex ->
+                val slot = slots[songIndex]
+                StandingRow(
+                    position = position + 1,
+                    songId = index.idAt(slot),
+                    points = state.points[slot],
+                    played = state.played[slot],
+                    won = state.wins[slot],
+                    drawn = state.draws[slot],
+                    lost = state.losses[slot],
+                    goalsFor = state.goalsFor[slot],
+                    goalsAgainst = state.goalsAgainst[slot]
+                )
+            }
+    }
+    
+    /**
+     * Puanlar, eşleşme geçmişi ve tur listelerinin kilit altında alınmış kopyası. Ağır
+     * [SwissStandings] kurulumu kopya üzerinde, kilit dışında yapılır; oy işleme beklemez.
+     */
+    fun copy(): Copy = synchronized(lock) { Copy(tables.copy()) }
+    
+    /**
+     * İsviçre eşleştirmesi ve kalıcı durum için [SwissStandings] görünümü.
+     * Tur başına bir kez çağrılır (tur puanları o turun maçlarından hesaplanır).
+     */
+    fun toSwissStandings(): SwissStandings = copy().toSwissStandings()
+    
+    /**
+     * [match] tamamlanmış sayılarak [toSwissStandings]; canlı tablo değişmez ve yayın yapılmaz.
+     * Birden çok varsayımsal sonuç için bir kez [copy] alıp [Copy.toSwissStandingsWith] kullanılır.
+     */
+    fun toSwissStandingsWith(match: Match): SwissStandings = copy().toSwissStandingsWith(match)
+    
+    /**
+     * Canlı tablodan bağımsız kopya. Her [toSwissStandingsWith] kendi kopyası üzerinde
+     * çalıştığından aynı kopya farklı iş parçacıklarından kullanılabilir.
+     */
+    class Copy internal constructor(private val tables: Tables) {
+        
+        fun toSwissStandings(): SwissStandings = tables.toSwissStandings()
+        
+        /**
+         * [match] tamamlanmış sayılarak (aynı ID'li önceki sonuç yerine) [SwissStandings]
+         * (spekülatif sonraki tur eşleştirmesi için).
+         */
+        fun toSwissStandingsWith(match: Match): SwissStandings =
+            tables.copy().apply { replace(match) }.toSwissStandings()
+    }
+    
+    /**
+     * Tablonun değişen kısmı: puanlar, eşleşme geçmişi, turların maçları ve işlenmiş maçlar.
+     */
+    internal inner class Tables(
+        val state: TournamentState,
+        val history: PairingHistory,
+        val rounds: java.util.TreeMap<Int, MutableList<Match>>,
+        val recorded: HashMap<Long, Match> // match.id -> işlenmiş hali
+    ) {
+        fun add(match: Match): Boolean {
+            if (!state.record(match)) return false
+            history.recordIds(match.songId1, match.songId2)
+            rounds.getOrPut(match.round) { mutableListOf() }.add(match)
+            if (match.id != 0L) recorded[match.id] = match
+            return true
+        }
+        
+        fun remove(match: Match) {
+            state.revert(match)
+            history.forgetIds(match.songId1, match.songId2)
+            rounds[match.round]?.let { roundMatches ->
+                roundMatches.removeAll { it.id == match.id }
+                if (roundMatches.isEmpty()) rounds.remove(match.round)
+            }
+            recorded.remove(match.id)
+        }
+        
+        fun replace(match: Match) {
+            recorded[match.id]?.let { remove(it) }
+            add(match)
+        }
+        
+        fun copy(): Tables {
+            val roundsCopy = java.util.TreeMap<Int, MutableList<Match>>()
+            rounds.forEach { (round, roundMatches) -> roundsCopy[round] = roundMatches.toMutableList() }
+            return Tables(state.copy(), history.copy(), roundsCopy, HashMap(recorded))
+        }
+        
+        fun toSwissStandings(): SwissStandings = SwissStandings(
+            standings = state.toPointsMap(),
+            pairingHistory = history.copy(),
+            roundHistory = rounds.map { (round, roundMatches) ->
+                RoundResult(
+                    roundNumber = round,
+                    matches = roundMatches.toList(),
+                    pointsThisRound = TournamentState(index, scoring).recordAll(roundMatches).toPointsMap()
+                )
+            }
+        )
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+
+/**
+ * Soruları oy oy üreten, her oydan sonra durdurulup [toBytes] ile saklanabilen
+ * karşılaştırma tabanlı yöntemlerin ortak arayüzü ([MergeSortRanking], [TopKSelection],
+ * [AdaptiveRanking]).
+ *
+ * Sorular oynanmamış maç olarak sunulur (id = 0); cevap tamamlanmış maçtır.
+ */
+interface InteractiveRanking {
+
+    /** Verilen oy sayısı */
+    val comparisons: Int
+
+    val isComplete: Boolean
+
+    /**
+     * Sıradaki soru; bittiyse null.
+     */
+    fun currentPair(): Pair<Long, Long>?
+
+    fun nextMatch(listId: Long): Match?
+
+    /**
+     * Sıradaki sorunun cevabı. Galip soruda değilse false döner, durum değişmez.
+     */
+    fun answer(winnerId: Long): Boolean
+
+    /**
+     * Kalan oy sayısının üst sınırı (ilerleme çubuğu için).
+     */
+    fun remainingUpperBound(): Int
+
+    fun toBytes(): ByteArray
+
+    /**
+     * Tamamlanmış maçı cevap olarak işler; maç sıradaki soru değilse ya da beraberlikse false.
+     * Beraberlik sıralamada yer almaz, soru tekrar sorulur.
+     */
+    fun answer(match: Match): Boolean {
+        val (songId1, songId2) = currentPair() ?: return false
+        val winnerId = match.winnerId ?: return false
+        val samePair = (match.songId1 == songId1 && match.songId2 == songId2) ||
+            (match.songId1 == songId2 && match.songId2 == songId1)
+        return samePair && answer(winnerId)
+    }
+
+    /**
+     * Cevabı bilinen soruları [known] ile yanıtlayarak ilerler (ör. maç geçmişinden
+     * yeniden kurulum); ilk bilinmeyen soruda durur. Cevaplanan soru sayısını döndürür.
+     */
+    fun advance(known: (Long, Long) -> Long?): Int {
+        var answered = 0
+        while (true) {
+            val (songId1, songId2) = currentPair() ?: return answered
+            val winnerId = known(songId1, songId2) ?: return answered
+            if (!answer(winnerId)) return answered
+            answered++
+        }
+    }
+}
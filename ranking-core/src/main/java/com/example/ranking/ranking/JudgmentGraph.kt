@@ -0,0 +1,119 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import java.util.BitSet
+
+/**
+ * Bir listenin "kim kimi yendi" grafiğinin geçişli kapanışı: A B'yi, B C'yi yendiyse
+ * A-C maçının sonucu bellidir ve sorulmadan tamamlanabilir ([implied]).
+ *
+ * Her şarkı için yendikleri ([descendants]) ve yenildikleri ([ancestors]) [BitSet]
+ * olarak tutulur. Yeni bir sonuç (u > v) eklenince u'yu yenenlerin hepsi v'nin
+ * yendiklerini de yenmiş olur: kapanış kenar başına O(etkilenen × n / 64) sürede
+ * güncellenir, yeniden hesaplanmaz. Sorgu tek bit okumasıdır.
+ *
+ * Kapanışla çelişen sonuç (v zaten u'yu geçişli olarak yenmişken u > v) grafa
+ * eklenmez, [contradictions] sayacında izlenir. Beraberlikler bilgi taşımaz.
+ */
+class JudgmentGraph private constructor(private val index: SongIndex) {
+
+    private val descendants = Array(index.size) { BitSet(index.size) }
+    private val ancestors = Array(index.size) { BitSet(index.size) }
+
+    /** Grafa eklenmiş (çelişmeyen, önceden çıkarılamayan) sonuç sayısı */
+    var edgeCount: Int = 0
+        private set
+
+    var contradictions: Int = 0
+        private set
+
+    /**
+     * [winnerId] > [loserId] sonucunu ekler. Sonuç kapanışla çelişiyorsa false;
+     * listede olmayan şarkılar ve zaten çıkarılabilen sonuçlar için true.
+     */
+    fun record(winnerId: Long, loserId: Long): Boolean {
+        val u = index.slotOf(winnerId)
+        val v = index.slotOf(loserId)
+        if (u < 0 || v < 0 || u == v) return true
+        if (descendants[u].get(v)) return true
+        if (descendants[v].get(u)) {
+            contradictions++
+            return false
+        }
+
+        val up = ancestors[u].clone() as BitSet
+        up.set(u)
+        val down = descendants[v].clone() as BitSet
+        down.set(v)
+        var a = up.nextSetBit(0)
+        while (a >= 0) {
+            descendants[a].or(down)
+            a = up.nextSetBit(a + 1)
+        }
+        var d = down.nextSetBit(0)
+        while (d >= 0) {
+            ancestors[d].or(up)
+            d = down.nextSetBit(d + 1)
+        }
+        edgeCount++
+        return true
+    }
+
+    /**
+     * Tamamlanmış maçı ekler; beraberlik ve tamamlanmamış maç yok sayılır.
+     */
+    fun record(match: Match): Boolean {
+        val winnerId = match.winnerId ?: return true
+        if (!match.isCompleted) return true
+        val loserId = if (winnerId == match.songId1) match.songId2 else match.songId1
+        return record(winnerId, loserId)
+    }
+
+    /**
+     * İkilinin geçişli olarak belli olan galibi; bilinmiyorsa null.
+     */
+    fun impliedWinner(songIdA: Long, songIdB: Long): Long? {
+        val a = index.slotOf(songIdA)
+        val b = index.slotOf(songIdB)
+        if (a < 0 || b < 0 || a == b) return null
+        return when {
+            descendants[a].get(b) -> songIdA
+            descendants[b].get(a) -> songIdB
+            else -> null
+        }
+    }
+
+    /**
+     * Sonucu kapanıştan belli olan maçın tamamlanmış kopyası (skorsuz); değilse null.
+     */
+    fun implied(match: Match): Match? {
+        if (match.isCompleted) return null
+        val winnerId = impliedWinner(match.songId1, match.songId2) ?: return null
+        return match.copy(winnerId = winnerId, isCompleted = true)
+    }
+
+    /** [songId]'nin geçişli olarak yendiği şarkı sayısı */
+    fun beatenCount(songId: Long): Int {
+        val slot = index.slotOf(songId)
+        return if (slot < 0) 0 else descendants[slot].cardinality()
+    }
+
+    companion object {
+        fun of(songs: List<Song>): JudgmentGraph = JudgmentGraph(SongIndex.of(songs))
+
+        /**
+         * Kayıtlı kararlardan grafı kurar. Kararlar zaman sırasıyla eklenir; bir
+         * döngüyü kapatan en yeni karar çelişki sayılır.
+         */
+        fun of(songs: List<Song>, judgments: PairwiseJudgments): JudgmentGraph {
+            val graph = of(songs)
+            judgments.all.sortedBy { it.updatedAt }.forEach { judgment ->
+                val winnerId = judgment.winnerId ?: return@forEach
+                val loserId = if (winnerId == judgment.songId1) judgment.songId2 else judgment.songId1
+                graph.record(winnerId, loserId)
+            }
+            return graph
+        }
+    }
+}
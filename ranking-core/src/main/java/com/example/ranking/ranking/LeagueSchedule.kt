@@ -0,0 +1,153 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import java.util.BitSet
+
+/**
+ * Lig fikstürünün sanal hali: (tur, sıra) eşleşmesi circle method formülüyle
+ * doğrudan hesaplanır, maç satırları önceden üretilmez.
+ *
+ * Sıralama [RankingEngine.createLeagueMatches] ile birebir aynıdır: tur tur,
+ * tur içinde sıra numarasına göre; rövanş turları ilk devrenin ev/deplasman
+ * yer değiştirmiş kopyasıdır. Her maçın 0..[size]-1 arası sabit bir sıra
+ * numarası (index) vardır; oynananlar [BitSet] ile izlenir.
+ */
+class LeagueSchedule private constructor(
+    private val listId: Long,
+    private val index: SongIndex,
+    val doubleRoundRobin: Boolean
+) {
+
+    // Tek sayıda takımda sona eklenen BYE takımı dahil takım sayısı
+    private val numTeams = if (index.size % 2 == 0) index.size else index.size + 1
+    private val hasBye = numTeams != index.size
+
+    /** Bir devredeki tur sayısı */
+    val roundsPerLeg: Int = if (index.size < 2) 0 else numTeams - 1
+
+    val roundCount: Int = if (doubleRoundRobin) roundsPerLeg * 2 else roundsPerLeg
+
+    /** Tur başına gerçek maç sayısı (BYE maçı hariç) */
+    val matchesPerRound: Int = if (index.size < 2) 0 else if (hasBye) numTeams / 2 - 1 else numTeams / 2
+
+    val size: Int = roundCount * matchesPerRound
+
+    /** Slot numaralarının düzeni ([slot1At], [slot2At]) */
+    internal val songIndex: SongIndex get() = index
+
+    /**
+     * [index] sıra numaralı maç (id = 0, oynanmamış).
+     */
+    fun matchAt(index: Int): Match {
+        require(index in 0 until size) { "Fikstür dışı sıra: $index / $size" }
+        return Match(
+            listId = listId,
+            rankingMethod = "LEAGUE",
+            songId1 = this.index.idAt(slot1At(index)),
+            songId2 = this.index.idAt(slot2At(index)),
+            winnerId = null,
+            round = roundAt(index)
+        )
+    }
+
+    internal fun roundAt(index: Int): Int = index / matchesPerRound + 1
+
+    /** [index] sıra numaralı maçın songId1 slotu; nesne üretmeden (sonuç simülasyonu) */
+    internal fun slot1At(index: Int): Int =
+        if (roundAt(index) > roundsPerLeg) awaySlot(index) else homeSlot(index)
+
+    /** [index] sıra numaralı maçın songId2 slotu */
+    internal fun slot2At(index: Int): Int =
+        if (roundAt(index) > roundsPerLeg) homeSlot(index) else awaySlot(index)
+
+    private fun homeSlot(index: Int): Int {
+        val slot = pairSlot(index)
+        return if (slot == 0) numTeams - 1 else (legRound(index) - 1 + slot) % (numTeams - 1)
+    }
+
+    private fun awaySlot(index: Int): Int = (numTeams - 1 - pairSlot(index) + legRound(index) - 1) % (numTeams - 1)
+
+    private fun pairSlot(index: Int): Int = index % matchesPerRound + if (hasBye) 1 else 0
+
+    private fun legRound(index: Int): Int = roundAt(index).let { if (it > roundsPerLeg) it - roundsPerLeg else it }
+
+    /**
+     * Maçın fikstürdeki sıra numarası; bu fikstüre ait değilse -1.
+     * Kayıtlı sonuçları sanal fikstürle eşleştirmek için kullanılır.
+     */
+    fun indexOf(match: Match): Int {
+        if (match.round !in 1..roundCount) return -1
+        val secondLeg = match.round > roundsPerLeg
+        val legRound = if (secondLeg) match.round - roundsPerLeg else match.round
+        val home = index.slotOf(if (secondLeg) match.songId2 else match.songId1)
+        val away = index.slotOf(if (secondLeg) match.songId1 else match.songId2)
+        if (home < 0 || away < 0) return -1
+
+        val slot = if (home == numTeams - 1) {
+            0
+        } else {
+            val candidate = Math.floorMod(home - (legRound - 1), numTeams - 1)
+            if (candidate == 0) return -1 // Bu turda sıra 0'ın ev sahibi son takımdır
+            candidate
+        }
+        if (slot >= numTeams / 2 || (hasBye && slot == 0)) return -1
+        if ((numTeams - 1 - slot + legRound - 1) % (numTeams - 1) != away) return -1
+
+        return (match.round - 1) * matchesPerRound + slot - if (hasBye) 1 else 0
+    }
+
+    /**
+     * [round] turunun maçları, sıra numarası sırasıyla.
+     */
+    fun roundMatches(round: Int): List<Match> {
+        if (round !in 1..roundCount) return emptyList()
+        val first = (round - 1) * matchesPerRound
+        return List(matchesPerRound) { matchAt(first + it) }
+    }
+
+    /**
+     * [round] turunu kayıtlı sonuçlarla birleştir: kaydı olan maçlar kayıttan, diğerleri formülden gelir.
+     */
+    fun roundMatches(round: Int, stored: List<Match>): List<Match> {
+        val byIndex = HashMap<Int, Match>(stored.size * 2)
+        stored.forEach { match ->
+            val i = indexOf(match)
+            if (i >= 0) byIndex[i] = match
+        }
+        val first = (round - 1) * matchesPerRound
+        return roundMatches(round).mapIndexed { i, match -> byIndex[first + i] ?: match }
+    }
+
+    /**
+     * Tamamlanmış maçların sıra numaraları.
+     */
+    fun playedSet(matches: Iterable<Match>): BitSet {
+        val played = BitSet(size)
+        matches.forEach { match ->
+            if (match.isCompleted) {
+                val i = indexOf(match)
+                if (i >= 0) played.set(i)
+            }
+        }
+        return played
+    }
+
+    /**
+     * Oynanmamış ilk maç; fikstür bittiyse null.
+     */
+    fun nextUnplayed(played: BitSet): Match? {
+        val i = played.nextClearBit(0)
+        return if (i < size) matchAt(i) else null
+    }
+
+    /**
+     * Tüm fikstürü üret (yalnızca küçük ligler ve eski davranış için).
+     */
+    fun toList(): List<Match> = List(size) { matchAt(it) }
+
+    companion object {
+        fun of(songs: List<Song>, doubleRoundRobin: Boolean = false): LeagueSchedule =
+            LeagueSchedule(songs.firstOrNull()?.listId ?: 0L, SongIndex.of(songs), doubleRoundRobin)
+    }
+}
@@ -0,0 +1,235 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+
+/**
+ * İnsan karşılaştırmalarıyla yürüyen, her oyda durdurulabilen birleştirmeli sıralama.
+ *
+ * Sıralı diziler bir kuyrukta bekler; öndeki iki dizi birleştirilir, sonuç kuyruğun
+ * sonuna eklenir (kuyruk mergesort). Her soru iki dizinin baş elemanlarının
+ * karşılaştırmasıdır; tam sıralama en kötü durumda yaklaşık n·log₂n oyda biter
+ * (lig n(n-1)/2 ister).
+ * Diziler "iyiden kötüye" sıralıdır: kazanan önce yazılır.
+ *
+ * Durum küçüktür ([toBytes]): diziler, birleşmedeki iki imleç ve birleşmiş önekin
+ * hangi diziden geldiğini gösteren bit dizisi. Kaldığı oydan anında devam eder.
+ */
+class MergeSortRanking private constructor(
+    private val runs: ArrayDeque<LongArray>,
+    leftPos: Int,
+    rightPos: Int,
+    private var merged: LongArray,
+    comparisons: Int
+) : InteractiveRanking {
+
+    private var leftPos = leftPos
+    private var rightPos = rightPos
+
+    override var comparisons: Int = comparisons
+        private set
+
+    override val isComplete: Boolean get() = runs.size <= 1
+
+    /**
+     * Sıradaki soru: (sol dizinin başı, sağ dizinin başı); sıralama bittiyse null.
+     */
+    override fun currentPair(): Pair<Long, Long>? {
+        if (isComplete) return null
+        return runs[0][leftPos] to runs[1][rightPos]
+    }
+
+    /**
+     * Sıradaki soru oynanmamış maç olarak (id = 0). Tur numarası birleşmenin
+     * derinliğidir: aynı boydaki dizilerin birleşmeleri aynı turdadır.
+     */
+    override fun nextMatch(listId: Long): Match? {
+        val (songId1, songId2) = currentPair() ?: return null
+        return Match(
+            listId = listId,
+            rankingMethod = METHOD,
+            songId1 = songId1,
+            songId2 = songId2,
+            winnerId = null,
+            round = 32 - Integer.numberOfLeadingZeros(runs[0].size + runs[1].size - 1)
+        )
+    }
+
+    override fun answer(winnerId: Long): Boolean {
+        if (isComplete) return false
+        val left = runs[0]
+        val right = runs[1]
+        val slot = leftPos + rightPos
+        when (winnerId) {
+            left[leftPos] -> {
+                merged[slot] = left[leftPos]
+                leftPos++
+            }
+            right[rightPos] -> {
+                merged[slot] = right[rightPos]
+                rightPos++
+            }
+            else -> return false
+        }
+        comparisons++
+
+        if (leftPos == left.size || rightPos == right.size) {
+            // Bir dizi bitti: diğerinin kalanı zaten sıralı
+            left.copyInto(merged, leftPos + rightPos, leftPos)
+            right.copyInto(merged, leftPos + rightPos + left.size - leftPos, rightPos)
+            runs.removeFirst()
+            runs.removeFirst()
+            runs.addLast(merged)
+            startMerge()
+        }
+        return true
+    }
+
+    /**
+     * Kalan oy sayısının üst sınırı: sürmekte olan birleşme ve kuyrukta bekleyen
+     * birleşmelerin en kötü durumu. İlerleme çubuğu için; her oyda en az bir azalır.
+     */
+    override fun remainingUpperBound(): Int {
+        if (isComplete) return 0
+        val left = runs[0]
+        val right = runs[1]
+        var bound = (left.size - leftPos) + (right.size - rightPos) - 1
+        val sizes = ArrayDeque<Int>(runs.size)
+        for (i in 2 until runs.size) sizes.addLast(runs[i].size)
+        sizes.addLast(left.size + right.size)
+        while (sizes.size > 1) {
+            val size = sizes.removeFirst() + sizes.removeFirst()
+            bound += size - 1
+            sizes.addLast(size)
+        }
+        return bound
+    }
+
+    /**
+     * Sonuç sırası, iyiden kötüye. Sıralama bitmeden çağrılamaz.
+     */
+    fun order(): List<Long> {
+        check(isComplete) { "Sıralama henüz bitmedi" }
+        return runs.firstOrNull()?.toList() ?: emptyList()
+    }
+
+    /**
+     * Kompakt ikili form: sürüm, oy sayısı, imleçler, diziler (zigzag delta varint)
+     * ve birleşmiş önekin kaynak bitleri (1 = sol dizi).
+     */
+    override fun toBytes(): ByteArray {
+        val out = VarintWriter(runs.sumOf { it.size } * 2 + 16)
+        out.varint(FORMAT_VERSION.toLong())
+        out.varint(comparisons.toLong())
+        out.varint(leftPos.toLong())
+        out.varint(rightPos.toLong())
+        out.varint(runs.size.toLong())
+        var previousId = 0L
+        for (run in runs) {
+            out.varint(run.size.toLong())
+            for (id in run) {
+                out.zigzag(id - previousId)
+                previousId = id
+            }
+        }
+
+        // Önek sol ve sağ dizilerin baş kısımlarının iç içe geçmesidir; hangisinden
+        // geldiği bilinirse değerler dizilerden okunur
+        val prefix = leftPos + rightPos
+        val bits = ByteArray((prefix + 7) / 8)
+        if (prefix > 0) {
+            var l = 0
+            for (i in 0 until prefix) {
+                if (l < leftPos && merged[i] == runs[0][l]) {
+                    bits[i / 8] = (bits[i / 8].toInt() or (1 shl (i % 8))).toByte()
+                    l++
+                }
+            }
+        }
+        out.bytes(bits)
+        return out.toByteArray()
+    }
+
+    private fun startMerge() {
+        leftPos = 0
+        rightPos = 0
+        merged = if (isComplete) LongArray(0) else LongArray(runs[0].size + runs[1].size)
+    }
+
+    companion object {
+        const val METHOD = "MERGE_SORT"
+        const val FORMAT_VERSION = 1
+
+        /**
+         * Liste sırasıyla tek elemanlı dizilerden başlar.
+         */
+        fun start(songs: List<Song>): MergeSortRanking {
+            val runs = ArrayDeque<LongArray>(songs.size)
+            songs.forEach { runs.addLast(longArrayOf(it.id)) }
+            return MergeSortRanking(runs, 0, 0, LongArray(0), 0).also { it.startMerge() }
+        }
+
+        /**
+         * [toBytes] çıktısından geri oku. Biçim tanınmazsa ya da dizilerdeki öğeler
+         * [songs] ile birebir uyuşmuyorsa (liste değişmiş) [IllegalArgumentException].
+         */
+        fun fromBytes(bytes: ByteArray, songs: List<Song>): MergeSortRanking {
+            val reader = VarintReader(bytes, "merge sort state")
+            val version = reader.varint().toInt()
+            require(version == FORMAT_VERSION) { "Unsupported merge sort format: $version" }
+            val comparisons = reader.varint().toInt()
+            val leftPos = reader.varint().toInt()
+            val rightPos = reader.varint().toInt()
+
+            val expected = songs.mapTo(HashSet(songs.size * 2)) { it.id }
+            val songCount = expected.size
+            val runCount = reader.varint().toInt()
+            require(runCount in 0..songCount) { "Invalid run count: $runCount" }
+            val runs = ArrayDeque<LongArray>(runCount)
+            var previousId = 0L
+            var total = 0
+            repeat(runCount) {
+                val size = reader.varint().toInt()
+                require(size > 0 && total + size <= songCount) { "Invalid run size: $size" }
+                val run = LongArray(size)
+                for (i in 0 until size) {
+                    previousId += reader.zigzag()
+                    require(expected.remove(previousId)) { "Song $previousId is not in the list or repeated" }
+                    run[i] = previousId
+                }
+                total += size
+                runs.addLast(run)
+            }
+            require(expected.isEmpty()) { "${expected.size} songs are missing from the sort state" }
+
+            val ranking = MergeSortRanking(runs, 0, 0, LongArray(0), comparisons)
+            ranking.startMerge()
+            if (ranking.isComplete) {
+                require(leftPos == 0 && rightPos == 0) { "Cursor on a finished sort" }
+                reader.requireEnd()
+                return ranking
+            }
+            val left = runs[0]
+            val right = runs[1]
+            require(leftPos in 0 until left.size && rightPos in 0 until right.size) { "Invalid merge cursor" }
+            val bits = reader.bytes((leftPos + rightPos + 7) / 8)
+            reader.requireEnd()
+
+            var l = 0
+            var r = 0
+            for (i in 0 until leftPos + rightPos) {
+                val fromLeft = (bits[i / 8].toInt() shr (i % 8)) and 1 == 1
+                ranking.merged[i] = if (fromLeft) {
+                    require(l < leftPos) { "Invalid merge prefix" }
+                    left[l++]
+                } else {
+                    require(r < rightPos) { "Invalid merge prefix" }
+                    right[r++]
+                }
+            }
+            ranking.leftPos = leftPos
+            ranking.rightPos = rightPos
+            return ranking
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+
+/**
+ * "Bu ikili daha önce karşılaştı mı?" kaydı.
+ *
+ * Eşleşmeler [SongIndex] slotlarıyla tutulur: sırasız (i, j) çifti
+ * `max << 32 | min` olarak tek bir Long'a paketlenir ve açık adreslemeli
+ * LongArray kümesine yazılır. Her çift bir kez saklanır (iki yön ayrı ayrı değil),
+ * [hasMet] nesne üretmeden O(1) çalışır.
+ *
+ * İsviçre sisteminde ID'ler şarkı ID'leri, Emre usulünde takım ID'leridir.
+ */
+class PairingHistory private constructor(
+    val index: SongIndex,
+    private var keys: LongArray,
+    private var count: Int
+) {
+    constructor(index: SongIndex) : this(index, LongArray(INITIAL_CAPACITY), 0)
+
+    /**
+     * Kayıtlı (sırasız) eşleşme sayısı.
+     */
+    val size: Int get() = count
+
+    fun hasMet(slot1: Int, slot2: Int): Boolean {
+        if (slot1 < 0 || slot2 < 0 || slot1 == slot2) return false
+        val key = pack(slot1, slot2)
+        val mask = keys.size - 1
+        var cell = hash(key) and mask
+        while (true) {
+            val current = keys[cell]
+            if (current == EMPTY) return false
+            if (current == key) return true
+            cell = (cell + 1) and mask
+        }
+    }
+
+    fun hasMetIds(id1: Long, id2: Long): Boolean = hasMet(index.slotOf(id1), index.slotOf(id2))
+
+    /**
+     * Eşleşmeyi kaydet. Çift zaten kayıtlıysa false döner.
+     */
+    fun record(slot1: Int, slot2: Int): Boolean {
+        if (slot1 < 0 || slot2 < 0 || slot1 == slot2) return false
+        if ((count + 1) * 2 > keys.size) rehash(keys.size shl 1)
+        return insert(pack(slot1, slot2))
+    }
+
+    fun recordIds(id1: Long, id2: Long): Boolean = record(index.slotOf(id1), index.slotOf(id2))
+
+    /**
+     * Eşleşme kaydını sil (geri alınan maç). Boşluk, sonraki hücreler geri kaydırılarak kapatılır.
+     */
+    fun forget(slot1: Int, slot2: Int): Boolean {
+        if (slot1 < 0 || slot2 < 0 || slot1 == slot2) return false
+        val key = pack(slot1, slot2)
+        val mask = keys.size - 1
+        var hole = hash(key) and mask
+        while (keys[hole] != key) {
+            if (keys[hole] == EMPTY) return false
+            hole = (hole + 1) and mask
+        }
+
+        var cell = (hole + 1) and mask
+        while (keys[cell] != EMPTY) {
+            val home = hash(keys[cell]) and mask
+            // Ev hücresi (hole, cell] aralığının dışındaysa kayıt boşluğa taşınabilir
+            val movable = if (hole <= cell) home <= hole || home > cell else home <= hole && home > cell
+            if (movable) {
+                keys[hole] = keys[cell]
+                hole = cell
+            }
+            cell = (cell + 1) and mask
+        }
+        keys[hole] = EMPTY
+        count--
+        return true
+    }
+
+    fun forgetIds(id1: Long, id2: Long): Boolean = forget(index.slotOf(id1), index.slotOf(id2))
+
+    fun recordAll(matches: List<Match>): PairingHistory {
+        for (i in matches.indices) recordIds(matches[i].songId1, matches[i].songId2)
+        return this
+    }
+
+    /**
+     * Slot başına kayıtlı eşleşme sayısı.
+     */
+    fun meetingCounts(): IntArray {
+        val counts = IntArray(index.size)
+        for (key in keys) {
+            if (key != EMPTY) {
+                counts[low(key)]++
+                counts[high(key)]++
+            }
+        }
+        return counts
+    }
+
+    fun copy(): PairingHistory = PairingHistory(index, keys.copyOf(), count)
+
+    fun forEachPair(action: (id1: Long, id2: Long) -> Unit) {
+        for (key in keys) {
+            if (key != EMPTY) action(index.idAt(low(key)), index.idAt(high(key)))
+        }
+    }
+
+    /**
+     * Kompakt ikili form: slot sırasıyla ID'ler (zigzag delta varint),
+     * ardından sıralı paket anahtarlar (delta varint).
+     */
+    fun toBytes(): ByteArray {
+        val out = VarintWriter(index.size * 2 + count * 2 + 8)
+        out.varint(FORMAT_VERSION.toLong())
+        out.varint(index.size.toLong())
+        var previousId = 0L
+        for (slot in 0 until index.size) {
+            val id = index.idAt(slot)
+            out.zigzag(id - previousId)
+            previousId = id
+        }
+        val sorted = LongArray(count)
+        var n = 0
+        for (key in keys) if (key != EMPTY) sorted[n++] = key
+        sorted.sort()
+        out.varint(count.toLong())
+        var previousKey = 0L
+        for (key in sorted) {
+            out.varint(key - previousKey)
+            previousKey = key
+        }
+        return out.toByteArray()
+    }
+
+    private fun insert(key: Long): Boolean {
+        val mask = keys.size - 1
+        var cell = hash(key) and mask
+        while (true) {
+            val current = keys[cell]
+            if (current == EMPTY) {
+                keys[cell] = key
+                count++
+                return true
+            }
+            if (current == key) return false
+            cell = (cell + 1) and mask
+        }
+    }
+
+    private fun rehash(capacity: Int) {
+        val old = keys
+        keys = LongArray(capacity)
+        count = 0
+        for (key in old) if (key != EMPTY) insert(key)
+    }
+
+    companion object {
+        private const val EMPTY = 0L // (0, 0) çifti hiçbir zaman kaydedilmez
+        private const val INITIAL_CAPACITY = 16
+        private const val FORMAT_VERSION = 1
+
+        fun of(index: SongIndex, matches: List<Match>): PairingHistory =
+            PairingHistory(index).recordAll(matches)
+
+        /**
+         * [toBytes] çıktısından geri oku.
+         */
+        fun fromBytes(bytes: ByteArray): PairingHistory {
+            val reader = VarintReader(bytes, "pairing history")
+            val version = reader.varint().toInt()
+            require(version == FORMAT_VERSION) { "Unsupported pairing history format: $version" }
+
+            val ids = LongArray(reader.varint().toInt())
+            var previousId = 0L
+            for (slot in ids.indices) {
+                previousId += reader.zigzag()
+                ids[slot] = previousId
+            }
+
+            val history = PairingHistory(SongIndex.fromIds(ids))
+            val pairCount = reader.varint().toInt()
+            var key = 0L
+            repeat(pairCount) {
+                key += reader.varint()
+                history.record(low(key), high(key))
+            }
+            return history
+        }
+
+        private fun pack(slot1: Int, slot2: Int): Long {
+            val low = minOf(slot1, slot2)
+            val high = maxOf(slot1, slot2)
+            return (high.toLong() shl 32) or low.toLong()
+        }
+
+        private fun low(key: Long): Int = key.toInt()
+
+        private fun high(key: Long): Int = (key ushr 32).toInt()
+
+        private fun hash(key: Long): Int {
+            val mixed = key * -7046029254386353131L
+            return (mixed xor (mixed ushr 32)).toInt()
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.PairwiseJudgment
+
+/**
+ * Bir listenin ikili karar deposu: aynı ikili hangi yöntemde oylanmış olursa olsun
+ * tek kayıt tutulur, son oy geçerlidir. Maç üreten/sunan yöntemler soru sormadan
+ * önce buraya bakar ([resolve]).
+ */
+class PairwiseJudgments(val listId: Long) {
+
+    private data class PairKey(val low: Long, val high: Long)
+
+    private val judgments = HashMap<PairKey, PairwiseJudgment>()
+
+    val size: Int get() = judgments.size
+
+    val all: Collection<PairwiseJudgment> get() = judgments.values
+
+    fun get(songIdA: Long, songIdB: Long): PairwiseJudgment? =
+        judgments[PairKey(minOf(songIdA, songIdB), maxOf(songIdA, songIdB))]
+
+    /**
+     * Tamamlanmış maçı depoya yazar ve saklanacak kaydı döndürür; tamamlanmamışsa null.
+     */
+    fun record(match: Match): PairwiseJudgment? {
+        if (!match.isCompleted || match.songId1 == match.songId2) return null
+        val swapped = match.songId1 > match.songId2
+        val judgment = PairwiseJudgment(
+            listId = listId,
+            songId1 = if (swapped) match.songId2 else match.songId1,
+            songId2 = if (swapped) match.songId1 else match.songId2,
+            winnerId = match.winnerId,
+            score1 = if (swapped) match.score2 else match.score1,
+            score2 = if (swapped) match.score1 else match.score2,
+            rankingMethod = match.rankingMethod
+        )
+        put(judgment)
+        return judgment
+    }
+
+    /**
+     * [match] bilinen bir ikiliyse kararla tamamlanmış kopyasını döndürür (skorlar maçın
+     * yönüne çevrilir). Karar yoksa ya da beraberlikti ve yöntem beraberliğe izin
+     * vermiyorsa null: soru kullanıcıya sorulur.
+     */
+    fun resolve(match: Match, allowDraw: Boolean): Match? {
+        if (match.isCompleted) return null
+        val judgment = get(match.songId1, match.songId2) ?: return null
+        if (judgment.winnerId == null && !allowDraw) return null
+        val swapped = match.songId1 != judgment.songId1
+        return match.copy(
+            winnerId = judgment.winnerId,
+            score1 = if (swapped) judgment.score2 else judgment.score1,
+            score2 = if (swapped) judgment.score1 else judgment.score2,
+            isCompleted = true
+        )
+    }
+
+    private fun put(judgment: PairwiseJudgment) {
+        judgments[PairKey(judgment.songId1, judgment.songId2)] = judgment
+    }
+
+    companion object {
+        fun of(listId: Long, stored: Iterable<PairwiseJudgment>): PairwiseJudgments =
+            PairwiseJudgments(listId).apply { stored.forEach { put(it) } }
+    }
+}
@@ -3,12 +3,17 @@ package com.example.ranking.ranking
 import com.example.ranking.data.Song
 import com.example.ranking.data.Match
 import com.example.ranking.data.RankingResult
+import com.example.ranking.data.SwissPairingMethod
+import com.example.ranking.metrics.RankingMetrics
 import kotlin.math.ceil
 import kotlin.math.log2
 import kotlin.math.pow
 
 object RankingEngine {
     
+    private val swissPairing = RankingMetrics.timer("engine.pairing.swiss")
+    private val eliminationPairing = RankingMetrics.timer("engine.pairing.elimination")
+    
     fun createDirectScoringResults(songs: List<Song>, scores: Map<Long, Double>): List<RankingResult> {
         return songs.mapIndexed { index, song ->
             val score = scores[song.id] ?: 0.0
@@ -25,97 +30,81 @@ object RankingEngine {
             }
     }
     
-    fun createLeagueMatches(songs: List<Song>, doubleRoundRobin: Boolean = false): List<Match> {
-        if (songs.size < 2) return emptyList()
-        
-        val matches = mutableListOf<Match>()
-        val teams = songs.toMutableList()
-        
-        // Eğer takım sayısı tek sayıysa, "BYE" takımı ekle (geçer)
-        val hasOddTeams = teams.size % 2 != 0
-        if (hasOddTeams) {
-            teams.add(Song(id = -1, name = "BYE", artist = "", album = "", trackNumber = 0, listId = teams[0].listId))
-        }
-        
-        val numTeams = teams.size
-        val numRounds = numTeams - 1
-        val matchesPerRound = numTeams / 2
-        
-        // Round-robin algoritması (Circle method)
-        for (round in 1..numRounds) {
-            val roundMatches = mutableListOf<Match>()
-            
-            for (match in 0 until matchesPerRound) {
-                val home = (round - 1 + match) % (numTeams - 1)
-                val away = (numTeams - 1 - match + round - 1) % (numTeams - 1)
-                
-                val homeTeam = if (match == 0) teams.last() else teams[home]
-                val awayTeam = teams[away]
-                
-                // BYE takımıyla olan maçları atla
-                if (homeTeam.id != -1L && awayTeam.id != -1L) {
-                    roundMatches.add(
-                        Match(
-                            listId = songs[0].listId,
-                            rankingMethod = "LEAGUE",
-                            songId1 = homeTeam.id,
-                            songId2 = awayTeam.id,
-                            winnerId = null,
-                            round = round
-                        )
-                    )
-                }
-            }
-            
-            matches.addAll(roundMatches)
+    /**
+     * Birleştirmeli sıralamanın sonucu: puan, öğenin geride bıraktığı öğe sayısıdır.
+     */
+    fun calculateMergeSortResults(songs: List<Song>, order: List<Long>): List<RankingResult> {
+        val songById = songs.associateBy { it.id }
+        return order.mapNotNull { songById[it] }.mapIndexed { index, song ->
+            RankingResult(
+                songId = song.id,
+                listId = song.listId,
+                rankingMethod = "MERGE_SORT",
+                score = (order.size - 1 - index).toDouble(),
+                position = index + 1
+            )
         }
-        
-        // Rövanşlı lig (İkinci devre)
-        if (doubleRoundRobin) {
-            val firstLegMatches = matches.toList() // Kopyala
-            
-            for (originalMatch in firstLegMatches) {
-                // Ev sahibi ve misafir takımları yer değiştir
-                matches.add(
-                    Match(
-                        listId = originalMatch.listId,
-                        rankingMethod = originalMatch.rankingMethod,
-                        songId1 = originalMatch.songId2, // Yer değişimi
-                        songId2 = originalMatch.songId1, // Yer değişimi
-                        winnerId = null,
-                        round = originalMatch.round + numRounds // İkinci devreye round ekle
-                    )
-                )
-            }
+    }
+    
+    /**
+     * Uyarlanır sıralamanın sonucu: kestirilen sırayla, puan Bradley–Terry gücüdür (θ).
+     */
+    fun calculateAdaptiveResults(songs: List<Song>, ranking: AdaptiveRanking): List<RankingResult> {
+        val songById = songs.associateBy { it.id }
+        return ranking.order().mapNotNull { songById[it] }.mapIndexed { index, song ->
+            RankingResult(
+                songId = song.id,
+                listId = song.listId,
+                rankingMethod = AdaptiveRanking.METHOD,
+                score = ranking.strength(song.id) ?: 0.0,
+                position = index + 1
+            )
         }
-        
-        return matches
     }
     
-    fun calculateLeagueResults(songs: List<Song>, matches: List<Match>): List<RankingResult> {
-        val points = mutableMapOf<Long, Double>()
-        
-        songs.forEach { song ->
-            points[song.id] = 0.0
+    /**
+     * İlk K seçiminin sonucu: bulunanlar sırayla (puan, altında kalan bulunan sayısı + 1),
+     * geri kalanlar sırasız olarak liste sırasıyla ve ortak son sırada, 0 puanla.
+     */
+    fun calculateTopKResults(songs: List<Song>, selected: List<Long>): List<RankingResult> {
+        val songById = songs.associateBy { it.id }
+        val ranked = selected.mapNotNull { songById[it] }
+        val selectedIds = ranked.mapTo(HashSet()) { it.id }
+        val top = ranked.mapIndexed { index, song ->
+            RankingResult(
+                songId = song.id,
+                listId = song.listId,
+                rankingMethod = "TOP_K",
+                score = (ranked.size - index).toDouble(),
+                position = index + 1
+            )
         }
-        
-        matches.filter { it.isCompleted }.forEach { match ->
-            when (match.winnerId) {
-                match.songId1 -> points[match.songId1] = points[match.songId1]!! + 2.0
-                match.songId2 -> points[match.songId2] = points[match.songId2]!! + 2.0
-                null -> { // Draw
-                    points[match.songId1] = points[match.songId1]!! + 1.0
-                    points[match.songId2] = points[match.songId2]!! + 1.0
-                }
-            }
+        val unranked = songs.filter { it.id !in selectedIds }.map { song ->
+            RankingResult(
+                songId = song.id,
+                listId = song.listId,
+                rankingMethod = "TOP_K",
+                score = 0.0,
+                position = ranked.size + 1
+            )
         }
+        return top + unranked
+    }
+    
+    fun createLeagueMatches(songs: List<Song>, doubleRoundRobin: Boolean = false): List<Match> {
+        // Circle method formülü LeagueSchedule'da; burada tüm fikstür üretilir
+        return LeagueSchedule.of(songs, doubleRoundRobin).toList()
+    }
+    
+    fun calculateLeagueResults(songs: List<Song>, matches: List<Match>): List<RankingResult> {
+        val state = TournamentState.of(songs, Scoring.LEAGUE, matches)
         
         return songs.map { song ->
             RankingResult(
                 songId = song.id,
                 listId = song.listId,
                 rankingMethod = "LEAGUE",
-                score = points[song.id] ?: 0.0,
+                score = state.pointsOf(song.id),
                 position = 1
             )
         }.sortedByDescending { it.score }
@@ -135,7 +124,7 @@ object RankingEngine {
         
         // If already a power of 2, start direct elimination
         if (songCount == targetSize) {
-            return createDirectEliminationMatches(songs, 1)
+            return directEliminationBracket(songs, 1)
         }
         
         // Calculate teams to eliminate and optimal group configuration
@@ -220,7 +209,10 @@ object RankingEngine {
         return GroupConfig(groupCount, baseGroupSize, remainder, 2)
     }
     
-    fun createDirectEliminationMatches(songs: List<Song>, startRound: Int): List<Match> {
+    fun createDirectEliminationMatches(songs: List<Song>, startRound: Int): List<Match> =
+        eliminationPairing.time { directEliminationBracket(songs, startRound) }
+    
+    private fun directEliminationBracket(songs: List<Song>, startRound: Int): List<Match> {
         val matches = mutableListOf<Match>()
         val currentRoundSongs = songs.toMutableList()
         
@@ -286,30 +278,15 @@ object RankingEngine {
     }
     
     private fun calculateGroupStandings(groupSongs: List<Song>, groupMatches: List<Match>): List<Pair<Song, Double>> {
-        val points = mutableMapOf<Long, Double>()
-        
-        groupSongs.forEach { song ->
-            points[song.id] = 0.0
-        }
-        
-        groupMatches.filter { it.isCompleted }.forEach { match ->
-            when (match.winnerId) {
-                match.songId1 -> points[match.songId1] = points[match.songId1]!! + 3.0
-                match.songId2 -> points[match.songId2] = points[match.songId2]!! + 3.0
-                null -> { // Draw
-                    points[match.songId1] = points[match.songId1]!! + 1.0
-                    points[match.songId2] = points[match.songId2]!! + 1.0
-                }
-            }
-        }
+        val state = TournamentState.of(groupSongs, Scoring.GROUP, groupMatches)
         
         return groupSongs.map { song ->
-            Pair(song, points[song.id] ?: 0.0)
+            Pair(song, state.pointsOf(song.id))
         }.sortedByDescending { it.second }
     }
     
     fun createEliminationKnockoutMatches(qualifierSongs: List<Song>, startRound: Int): List<Match> {
-        return createDirectEliminationMatches(qualifierSongs, startRound)
+        return directEliminationBracket(qualifierSongs, startRound)
     }
     
     fun calculateEliminationResults(songs: List<Song>, allMatches: List<Match>): List<RankingResult> {
@@ -430,12 +407,24 @@ object RankingEngine {
         return results.sortedBy { it.position }
     }
     
-    fun createSwissMatchesWithState(songs: List<Song>, swissState: com.example.ranking.data.SwissStandings): List<Match> {
+    fun createSwissMatchesWithState(
+        songs: List<Song>,
+        swissState: com.example.ranking.data.SwissStandings,
+        method: SwissPairingMethod = SwissPairingMethod.GREEDY
+    ): List<Match> {
         val roundNumber = swissState.roundHistory.size + 1
-        return createSwissMatchesAdvanced(songs, roundNumber, swissState.standings, swissState.pairingHistory)
+        return swissPairing.time {
+            when (method) {
+                SwissPairingMethod.GREEDY -> createSwissMatchesAdvanced(songs, roundNumber, swissState.standings, swissState.pairingHistory)
+                SwissPairingMethod.OPTIMAL -> SwissPairingEngine.createOptimalMatches(songs, roundNumber, swissState)
+            }
+        }
     }
     
-    fun createSwissMatches(songs: List<Song>, roundNumber: Int, completedMatches: List<Match>): List<Match> {
+    fun createSwissMatches(songs: List<Song>, roundNumber: Int, completedMatches: List<Match>): List<Match> =
+        swissPairing.time { pairSwissRound(songs, roundNumber, completedMatches) }
+    
+    private fun pairSwissRound(songs: List<Song>, roundNumber: Int, completedMatches: List<Match>): List<Match> {
         if (roundNumber == 1) {
             // First round: pair by initial seeding
             val matches = mutableListOf<Match>()
@@ -463,7 +452,7 @@ object RankingEngine {
         val points = calculateSwissPoints(songs, completedMatches)
         
         // Group songs by points and pair within groups
-        val songsByPoints = songs.groupBy { points[it.id] ?: 0.0 }
+        val songsByPoints = songs.groupBy { points.pointsOf(it.id) }
             .toSortedMap(compareByDescending { it })
         
         val matches = mutableListOf<Match>()
@@ -499,7 +488,7 @@ object RankingEngine {
         songs: List<Song>, 
         roundNumber: Int, 
         currentStandings: Map<Long, Double>, 
-        pairingHistory: Set<Pair<Long, Long>>
+        pairingHistory: PairingHistory
     ): List<Match> {
         if (roundNumber == 1) {
             // First round: pair by initial seeding
@@ -536,17 +525,18 @@ object RankingEngine {
             val availableSongs = songsWithSamePoints.filter { it.id !in pairedSongs }.toMutableList()
             
             while (availableSongs.size >= 2) {
+                EngineCompute.checkpoint("İsviçre eşleştirme", pairedSongs.size, songs.size)
                 var paired = false
                 
                 // Try to find a pairing that hasn't played before
                 for (i in availableSongs.indices) {
+                    val song1 = availableSongs[i]
+                    val slot1 = pairingHistory.index.slotOf(song1.id)
+                    
                     for (j in i + 1 until availableSongs.size) {
-                        val song1 = availableSongs[i]
                         val song2 = availableSongs[j]
-                        val pair1 = Pair(song1.id, song2.id)
-                        val pair2 = Pair(song2.id, song1.id)
                         
-                        if (pair1 !in pairingHistory && pair2 !in pairingHistory) {
+                        if (!pairingHistory.hasMet(slot1, pairingHistory.index.slotOf(song2.id))) {
                             matches.add(
                                 Match(
                                     listId = songs[0].listId,
@@ -602,7 +592,7 @@ object RankingEngine {
                 songId = song.id,
                 listId = song.listId,
                 rankingMethod = "SWISS",
-                score = points[song.id] ?: 0.0,
+                score = points.pointsOf(song.id),
                 position = 1
             )
         }.sortedByDescending { it.score }
@@ -611,62 +601,31 @@ object RankingEngine {
             }
     }
     
-    private fun calculateSwissPoints(songs: List<Song>, matches: List<Match>): Map<Long, Double> {
-        val points = mutableMapOf<Long, Double>()
-        
-        songs.forEach { song ->
-            points[song.id] = 0.0
-        }
-        
-        matches.filter { it.isCompleted }.forEach { match ->
-            when (match.winnerId) {
-                match.songId1 -> points[match.songId1] = points[match.songId1]!! + 1.0
-                match.songId2 -> points[match.songId2] = points[match.songId2]!! + 1.0
-                null -> { // Draw
-                    points[match.songId1] = points[match.songId1]!! + 0.5
-                    points[match.songId2] = points[match.songId2]!! + 0.5
-                }
-            }
-        }
-        
-        return points
+    private fun calculateSwissPoints(songs: List<Song>, matches: List<Match>): TournamentState {
+        return TournamentState.of(songs, Scoring.SWISS, matches)
     }
     
     fun createSwissStandingsFromMatches(songs: List<Song>, matches: List<Match>): com.example.ranking.data.SwissStandings {
-        val standings = calculateSwissPoints(songs, matches)
-        val pairingHistory = mutableSetOf<Pair<Long, Long>>()
+        val index = SongIndex.of(songs)
+        val standings = TournamentState(index, Scoring.SWISS).recordAll(matches).toPointsMap()
+        val pairingHistory = PairingHistory(index)
         val roundHistory = mutableListOf<com.example.ranking.data.RoundResult>()
         
         // Build pairing history and round history
         val matchesByRound = matches.filter { it.isCompleted }.groupBy { it.round }
         
         matchesByRound.toSortedMap().forEach { (round, roundMatches) ->
-            val pointsThisRound = mutableMapOf<Long, Double>()
+            // Bu turun puanları - aynı slot indeksi paylaşılır
+            val roundState = TournamentState(index, Scoring.SWISS).recordAll(roundMatches)
             
-            // Initialize points for this round
-            songs.forEach { song -> pointsThisRound[song.id] = 0.0 }
-            
-            roundMatches.forEach { match ->
-                // Add to pairing history
-                pairingHistory.add(Pair(match.songId1, match.songId2))
-                pairingHistory.add(Pair(match.songId2, match.songId1))
-                
-                // Calculate points for this round
-                when (match.winnerId) {
-                    match.songId1 -> pointsThisRound[match.songId1] = pointsThisRound[match.songId1]!! + 1.0
-                    match.songId2 -> pointsThisRound[match.songId2] = pointsThisRound[match.songId2]!! + 1.0
-                    null -> { // Draw
-                        pointsThisRound[match.songId1] = pointsThisRound[match.songId1]!! + 0.5
-                        pointsThisRound[match.songId2] = pointsThisRound[match.songId2]!! + 0.5
-                    }
-                }
-            }
+            // Add to pairing history
+            pairingHistory.recordAll(roundMatches)
             
             roundHistory.add(
                 com.example.ranking.data.RoundResult(
                     roundNumber = round,
                     matches = roundMatches,
-                    pointsThisRound = pointsThisRound
+                    pointsThisRound = roundState.toPointsMap()
                 )
             )
         }
@@ -767,28 +726,15 @@ object RankingEngine {
     
     private fun reorderSongsAfterEmreRound(songs: List<Song>, allMatches: List<Match>, round: Int): List<Song> {
         // Calculate points from completed matches in this round
-        val points = mutableMapOf<Long, Double>()
-        songs.forEach { song -> points[song.id] = 0.0 }
-        
-        allMatches.filter { it.round <= round && it.isCompleted }.forEach { match ->
-            when (match.winnerId) {
-                match.songId1 -> {
-                    points[match.songId1] = (points[match.songId1] ?: 0.0) + 1.0
-                }
-                match.songId2 -> {
-                    points[match.songId2] = (points[match.songId2] ?: 0.0) + 1.0
-                }
-                null -> {
-                    // Draw
-                    points[match.songId1] = (points[match.songId1] ?: 0.0) + 0.5
-                    points[match.songId2] = (points[match.songId2] ?: 0.0) + 0.5
-                }
-            }
+        val state = TournamentState(SongIndex.of(songs), Scoring.SWISS)
+        allMatches.forEach { match ->
+            if (match.round <= round) state.record(match)
         }
         
         // Sort songs by points (highest first), then by original order
-        return songs.sortedWith(compareByDescending<Song> { points[it.id] ?: 0.0 }
-            .thenBy { songs.indexOf(it) })
+        return songs.indices
+            .sortedWith(compareByDescending<Int> { state.pointsOf(songs[it].id) }.thenBy { it })
+            .map { songs[it] }
     }
     
     
@@ -821,7 +767,7 @@ object RankingEngine {
         
         if (isPowerOfTwo(songCount)) {
             // Zaten 2'nin üssü, direkt eleme yapılır
-            return createDirectEliminationMatches(songs, 1)
+            return directEliminationBracket(songs, 1)
         }
         
         // Sadece ilk turın maçlarını yarat - ön eleme
@@ -897,14 +843,14 @@ object RankingEngine {
         
         return when (progress) {
             FullEliminationStatus.DIRECT_ELIMINATION -> {
-                createDirectEliminationMatches(songs, 1)
+                directEliminationBracket(songs, 1)
             }
             FullEliminationStatus.NEED_MORE_PRE_ELIMINATION -> {
                 createNextPreEliminationRound(songs, completedMatches, targetSize)
             }
             FullEliminationStatus.READY_FOR_FINAL_BRACKET -> {
                 val qualifiedTeams = getQualifiedTeamsFromMatches(songs, completedMatches.filter { it.round < 101 })
-                createDirectEliminationMatches(qualifiedTeams, 101)
+                directEliminationBracket(qualifiedTeams, 101)
             }
             else -> emptyList()
         }
@@ -1253,7 +1199,7 @@ object RankingEngine {
         // Hedef sayıya ulaşıp ulaşmadığını kontrol et
         if (qualifiedTeams.size <= targetSize) {
             // Hedef sayıya ulaştık, direkt eleme aşamasına geç
-            return createDirectEliminationMatches(qualifiedTeams, 101) // Round 101+ = final bracket
+            return directEliminationBracket(qualifiedTeams, 101) // Round 101+ = final bracket
         }
         
         // Hala çok takım var, bir sonraki ön eleme turu gerekli
@@ -0,0 +1,65 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.logging.RankingLog
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+
+/**
+ * Turun son maçı oylanırken sonraki turun hesabını olası her sonuç için
+ * (1. taraf kazanır, 2. taraf kazanır, beraberlik) paralel olarak önceden başlatır.
+ *
+ * Oy geldiğinde [take] sonuca uyan hesabı döndürür, diğerlerini iptal eder. Eşleştirme
+ * motorları yalnızca kazananı kullanır (skor değil), bu yüzden anahtar `winnerId`'dir.
+ */
+class RoundSpeculation<T> private constructor(
+    val match: Match,
+    private val outcomes: Map<Long?, Deferred<Result<T>>>
+) {
+    /**
+     * [completed] bu maçın sonucuysa önceden hesaplanmış değeri bekle ve döndür; değilse ya da
+     * hesap başarısız olduysa null (çağıran normal yoldan hesaplar). Her durumda kalan
+     * hesaplar iptal edilir.
+     */
+    suspend fun take(completed: Match): T? {
+        val chosen = if (completed.id == match.id && completed.isCompleted) outcomes[completed.winnerId] else null
+        outcomes.values.forEach { if (it !== chosen) it.cancel() }
+        if (chosen == null) return null
+        val result = try {
+            chosen.await()
+        } catch (e: CancellationException) {
+            currentCoroutineContext().ensureActive()
+            return null
+        }
+        return result.getOrElse { e ->
+            if (e !is CancellationException) {
+                RankingLog.w("RoundSpeculation", "Spekülatif hesap başarısız, normal yoldan hesaplanacak: ${e.message}")
+            }
+            null
+        }
+    }
+
+    fun cancel() {
+        outcomes.values.forEach { it.cancel() }
+    }
+
+    companion object {
+        /**
+         * [match]'in üç olası sonucu için [compute]'u [EngineCompute] üzerinde başlat.
+         * [scope] iptal edilirse (ekrandan çıkış) hesaplar da durur.
+         */
+        fun <T> start(scope: CoroutineScope, match: Match, compute: (Match) -> T): RoundSpeculation<T> {
+            val winners = listOf(match.songId1, match.songId2, null)
+            val outcomes = winners.associateWith { winnerId ->
+                val outcome = match.copy(winnerId = winnerId, isCompleted = true)
+                // Hata Deferred içinde tutulur; kapsamı (ve kardeş hesapları) iptal etmez
+                scope.async { runCatching { EngineCompute.run { compute(outcome) } } }
+            }
+            return RoundSpeculation(match, outcomes)
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Song
+
+/**
+ * Şarkı ID'lerini (Emre usulünde takım ID'lerini) 0..size-1 arası yoğun slot numaralarına eşler.
+ *
+ * Liste başına bir kez kurulur; sonrasında puan, galibiyet vb. değerler
+ * `Map<Long, ...>` yerine slot numarasıyla indekslenen primitive dizilerde tutulur.
+ * Arama açık adresleme (linear probing) ile yapılır, kutulama veya nesne üretimi yoktur.
+ */
+class SongIndex private constructor(private val ids: LongArray) {
+
+    private val shift: Int
+    private val keys: LongArray
+    private val values: IntArray // slot + 1, 0 = boş hücre
+
+    init {
+        var capacity = 4
+        while (capacity < ids.size * 2) capacity = capacity shl 1
+        shift = 64 - Integer.numberOfTrailingZeros(capacity)
+        keys = LongArray(capacity)
+        values = IntArray(capacity)
+        ids.forEachIndexed { slot, id -> insert(id, slot) }
+    }
+
+    val size: Int get() = ids.size
+
+    /**
+     * Şarkının slot numarası; listede yoksa -1.
+     */
+    fun slotOf(songId: Long): Int {
+        val mask = keys.size - 1
+        var cell = hash(songId)
+        while (true) {
+            val value = values[cell]
+            if (value == 0) return -1
+            if (keys[cell] == songId) return value - 1
+            cell = (cell + 1) and mask
+        }
+    }
+
+    operator fun contains(songId: Long): Boolean = slotOf(songId) >= 0
+
+    fun idAt(slot: Int): Long = ids[slot]
+
+    private fun insert(id: Long, slot: Int) {
+        val mask = keys.size - 1
+        var cell = hash(id)
+        while (values[cell] != 0) {
+            cell = (cell + 1) and mask
+        }
+        keys[cell] = id
+        values[cell] = slot + 1
+    }
+
+    // Fibonacci hashing: ardışık autoGenerate ID'leri tabloya dengeli dağıtır
+    private fun hash(id: Long): Int = ((id * -7046029254386353131L) ushr shift).toInt()
+
+    companion object {
+        fun of(songs: List<Song>): SongIndex = fromIds(LongArray(songs.size) { songs[it].id })
+
+        /**
+         * Tekrarlanan ID'ler ilk görüldükleri slotta tutulur.
+         */
+        fun fromIds(ids: LongArray): SongIndex {
+            val seen = HashSet<Long>(ids.size * 2)
+            val unique = ids.filter { seen.add(it) }
+            return SongIndex(unique.toLongArray())
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+
+/**
+ * İsviçre sisteminde sabit tur tablosu ([RankingEngine.getSwissRoundCount]) yerine
+ * tablonun ilk [topN] sırası oturunca biten tur sınırı.
+ *
+ * Her turun sonunda tablo puan, eşitlikte Buchholz (rakiplerin puan toplamı) ve liste
+ * sırasıyla sıralanır. Ardışık iki turun tablosu, iki ilk-N kümesinin birleşimindeki
+ * ikililer üzerinden Kendall tau uzaklığıyla karşılaştırılır: yer değiştirmiş ikililerin
+ * oranı. Kümeye girip birini geçen ya da kümeden düşen öğeler de ters ikili üretir.
+ * Puan farkı bir turda tersine dönemeyeceğinden uzaklığı çoğunlukla eşit puanlıların
+ * Buchholz'la değişen sırası belirler: eşitlikler ayrıştıkça uzaklık düşer.
+ *
+ * Turnuva şu koşullarda biter:
+ * - en az [minRounds] tur oynanmış,
+ * - son [stableRounds] turun her birinde uzaklık [tolerance] değerini aşmamış,
+ * - N. ve N+1. sıra puan ve Buchholz'da eşit değil (sınırda önemli eşitlik kalmamış).
+ *
+ * Eşitlik sürerse sabit tablodan uzun da oynanabilir, en fazla [maxRounds] tura kadar.
+ * Durum tutulmaz: karar tamamlanmış maçlardan hesaplanır, oturum devamında aynı çıkar.
+ */
+class SwissConvergence(
+    val topN: Int,
+    val tolerance: Double = DEFAULT_TOLERANCE,
+    val stableRounds: Int = DEFAULT_STABLE_ROUNDS,
+    val minRounds: Int = DEFAULT_MIN_ROUNDS
+) {
+    init {
+        require(topN > 0) { "topN pozitif olmalı: $topN" }
+        require(tolerance in 0.0..1.0) { "Tolerans 0 ile 1 arasında olmalı: $tolerance" }
+        require(stableRounds > 0) { "stableRounds pozitif olmalı: $stableRounds" }
+    }
+
+    /**
+     * Tamamlanan tur sonrası karar.
+     *
+     * @property round son tamamlanan tur
+     * @property distances 2. turdan itibaren her turun bir öncekine uzaklığı
+     * @property boundaryTied N. ve N+1. sıra ayrışmamış
+     */
+    data class Status(
+        val round: Int,
+        val distances: List<Double>,
+        val boundaryTied: Boolean,
+        val converged: Boolean
+    )
+
+    /**
+     * Sıralama için tur sınırı: sabit tablonun iki katı, tekrar eşleşme olmadan
+     * oynanabilecek tur sayısını (n - 1) geçmez.
+     */
+    fun maxRounds(songCount: Int): Int =
+        minOf(2 * RankingEngine.getSwissRoundCount(songCount), maxOf(songCount - 1, 1))
+
+    /**
+     * Tamamlanmış maçlardan, eksiksiz oynanmış turlara göre karar. Yarım kalan tur sayılmaz.
+     */
+    fun evaluate(songs: List<Song>, completedMatches: List<Match>): Status {
+        val index = SongIndex.of(songs)
+        val matchesPerRound = songs.size / 2
+        val byRound = completedMatches.filter { it.isCompleted }.groupBy { it.round }.toSortedMap()
+
+        val state = TournamentState(index, Scoring.SWISS)
+        val opponents = Array(index.size) { IntArray(0) }
+        var previousOrder: IntArray? = null
+        var round = 0
+        var points = DoubleArray(0)
+        var buchholz = DoubleArray(0)
+        var order = IntArray(0)
+        val distances = ArrayList<Double>()
+
+        for ((number, roundMatches) in byRound) {
+            if (number != round + 1 || roundMatches.size < matchesPerRound) break
+            round = number
+            state.recordAll(roundMatches)
+            for (match in roundMatches) {
+                val a = index.slotOf(match.songId1)
+                val b = index.slotOf(match.songId2)
+                if (a < 0 || b < 0) continue
+                opponents[a] = opponents[a] + b
+                opponents[b] = opponents[b] + a
+            }
+
+            points = state.points.copyOf()
+            buchholz = DoubleArray(index.size) { slot -> opponents[slot].sumOf { points[it] } }
+            order = tableOrder(songs, index, points, buchholz)
+            previousOrder?.let { distances.add(topNDistance(it, order)) }
+            previousOrder = order
+        }
+
+        val n = minOf(topN, index.size)
+        val boundaryTied = n < index.size && round > 0 &&
+            points[order[n - 1]] == points[order[n]] && buchholz[order[n - 1]] == buchholz[order[n]]
+        val stable = distances.size >= stableRounds &&
+            distances.takeLast(stableRounds).all { it <= tolerance }
+        return Status(
+            round = round,
+            distances = distances,
+            boundaryTied = boundaryTied,
+            converged = round >= minRounds && stable && !boundaryTied
+        )
+    }
+
+    /**
+     * Sıradaki tur oynanmalı mı: yakınsama olmadıkça ve tur sınırı aşılmadıkça evet.
+     */
+    fun shouldContinue(songs: List<Song>, completedMatches: List<Match>): Boolean {
+        val status = evaluate(songs, completedMatches)
+        return !status.converged && status.round < maxRounds(songs.size)
+    }
+
+    // Puan, Buchholz, liste sırası
+    private fun tableOrder(songs: List<Song>, index: SongIndex, points: DoubleArray, buchholz: DoubleArray): IntArray {
+        val slots = IntArray(songs.size) { index.slotOf(songs[it].id) }
+        return songs.indices
+            .sortedWith(
+                compareByDescending<Int> { points[slots[it]] }
+                    .thenByDescending { buchholz[slots[it]] }
+            )
+            .map { slots[it] }
+            .toIntArray()
+    }
+
+    /**
+     * İki turun ilk-N kümelerinin birleşimindeki ikililerden, iki tabloda ters
+     * sıralananların oranı (0 = aynı, 1 = tamamen ters).
+     */
+    internal fun topNDistance(previous: IntArray, current: IntArray): Double {
+        val n = minOf(topN, current.size)
+        val previousRank = IntArray(previous.size)
+        previous.forEachIndexed { rank, slot -> previousRank[slot] = rank }
+        val currentRank = IntArray(current.size)
+        current.forEachIndexed { rank, slot -> currentRank[slot] = rank }
+        val union = LinkedHashSet<Int>()
+        for (i in 0 until n) {
+            union.add(current[i])
+            union.add(previous[i])
+        }
+        val items = union.toIntArray()
+        if (items.size < 2) return 0.0
+        var discordant = 0
+        for (i in items.indices) {
+            for (j in i + 1 until items.size) {
+                val a = items[i]
+                val b = items[j]
+                if ((previousRank[a] < previousRank[b]) != (currentRank[a] < currentRank[b])) discordant++
+            }
+        }
+        return discordant.toDouble() / (items.size.toLong() * (items.size - 1) / 2)
+    }
+
+    companion object {
+        const val DEFAULT_TOLERANCE = 0.1
+        const val DEFAULT_STABLE_ROUNDS = 2
+        const val DEFAULT_MIN_ROUNDS = 3
+
+        /**
+         * Sabit tablo ile oynanacak maç sayısı; kazanç raporu için.
+         */
+        fun fixedScheduleMatches(songCount: Int): Int =
+            RankingEngine.getSwissRoundCount(songCount) * (songCount / 2)
+    }
+}
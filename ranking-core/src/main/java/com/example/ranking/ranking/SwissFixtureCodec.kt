@@ -0,0 +1,416 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.LiveStandings
+import com.example.ranking.data.Match
+import com.example.ranking.data.RankingEntry
+import com.example.ranking.data.RoundData
+import com.example.ranking.data.SwissFixtureData
+
+/**
+ * İsviçre fikstürü ve canlı puan tablosu için sürümlü, kompakt ikili biçim.
+ *
+ * - Tüm tamsayılar varint; maç id'leri, şarkı id'leri, turlar ve zaman damgaları bir
+ *   önceki maça göre zigzag delta olarak yazılır (ardışık id'ler tek bayta iner).
+ * - Maçlar bir kez [SwissFixtureData.allMatches] tablosuna yazılır; mevcut tur ve tur
+ *   listeleri bu tablodaki konumlarıyla referanslanır.
+ * - Puan haritaları id sırasıyla yazılır; aynı harita tekrar geçerse (ör. her tamamlanmış
+ *   turun `standingsAfterRound` değeri) yalnızca geri referans yazılır.
+ * - Yarım puanın katları tek varint'e sığar, diğer değerler ham 8 bayt olarak saklanır.
+ *
+ * Okuma tarafında `completedMatches` / `upcomingMatches` JSON biçimindeki gibi
+ * `allMatches` üzerinden türetilir; puan haritaları id sırasıyla döner.
+ */
+object SwissFixtureCodec {
+
+    const val FORMAT_VERSION = 1
+
+    private const val KIND_FIXTURE = 1
+    private const val KIND_STANDINGS = 2
+
+    // Maç bayrakları
+    private const val FLAG_COMPLETED = 1
+    private const val WINNER_SHIFT = 1 // 2 bit: 0 yok, 1 songId1, 2 songId2, 3 diğer
+    private const val WINNER_NONE = 0
+    private const val WINNER_FIRST = 1
+    private const val WINNER_SECOND = 2
+    private const val WINNER_OTHER = 3
+    private const val FLAG_SCORE1 = 1 shl 3
+    private const val FLAG_SCORE2 = 1 shl 4
+    private const val FLAG_GROUP = 1 shl 5
+
+    fun encodeFixture(data: SwissFixtureData): ByteArray {
+        val out = Writer(data.allMatches.size * 12 + 64)
+        out.header(KIND_FIXTURE)
+        out.matchTable(data.allMatches)
+        out.matchRefs(data.currentRoundMatches)
+
+        out.varint(data.roundsData.size.toLong())
+        var previousRound = 0
+        for ((round, roundData) in data.roundsData.toSortedMap()) {
+            out.zigzag((round - previousRound).toLong())
+            out.zigzag((roundData.roundNumber - round).toLong())
+            out.boolean(roundData.isComplete)
+            out.matchRefs(roundData.matches)
+            out.pointsMap(roundData.standingsAfterRound)
+            previousRound = round
+        }
+        return out.toByteArray()
+    }
+
+    fun decodeFixture(bytes: ByteArray): SwissFixtureData {
+        val input = Reader(bytes)
+        input.header(KIND_FIXTURE)
+        val allMatches = input.matchTable()
+        val currentRoundMatches = input.matchRefs()
+
+        val roundCount = input.varint().toInt()
+        val roundsData = LinkedHashMap<Int, RoundData>(roundCount * 2)
+        var round = 0
+        repeat(roundCount) {
+            round += input.zigzag().toInt()
+            roundsData[round] = RoundData(
+                roundNumber = round + input.zigzag().toInt(),
+                isComplete = input.boolean(),
+                matches = input.matchRefs(),
+                standingsAfterRound = input.pointsMap()
+            )
+        }
+        input.requireEnd()
+
+        return SwissFixtureData(
+            allMatches = allMatches,
+            currentRoundMatches = currentRoundMatches,
+            completedMatches = allMatches.filter { it.isCompleted },
+            upcomingMatches = allMatches.filter { !it.isCompleted },
+            roundsData = roundsData
+        )
+    }
+
+    fun encodeLiveStandings(standings: LiveStandings): ByteArray {
+        val out = Writer(standings.rankings.size * 24 + 64)
+        out.header(KIND_STANDINGS)
+        out.pointsMap(standings.currentStandings)
+
+        out.varint(standings.rankings.size.toLong())
+        var previousId = 0L
+        standings.rankings.forEachIndexed { i, entry ->
+            out.zigzag(entry.songId - previousId)
+            out.string(entry.songName)
+            out.points(entry.points)
+            out.zigzag((entry.position - (i + 1)).toLong())
+            out.varint(entry.matchesPlayed.toLong())
+            out.varint(entry.wins.toLong())
+            out.varint(entry.draws.toLong())
+            out.varint(entry.losses.toLong())
+            previousId = entry.songId
+        }
+
+        out.varint(standings.roundByRoundProgress.size.toLong())
+        var previousRound = 0
+        for ((round, points) in standings.roundByRoundProgress.toSortedMap()) {
+            out.zigzag((round - previousRound).toLong())
+            out.pointsMap(points)
+            previousRound = round
+        }
+        return out.toByteArray()
+    }
+
+    fun decodeLiveStandings(bytes: ByteArray): LiveStandings {
+        val input = Reader(bytes)
+        input.header(KIND_STANDINGS)
+        val currentStandings = input.pointsMap()
+
+        val rankingCount = input.varint().toInt()
+        val rankings = ArrayList<RankingEntry>(rankingCount)
+        var songId = 0L
+        for (i in 0 until rankingCount) {
+            songId += input.zigzag()
+            rankings.add(
+                RankingEntry(
+                    songId = songId,
+                    songName = input.string(),
+                    points = input.points(),
+                    position = i + 1 + input.zigzag().toInt(),
+                    matchesPlayed = input.varint().toInt(),
+                    wins = input.varint().toInt(),
+                    draws = input.varint().toInt(),
+                    losses = input.varint().toInt()
+                )
+            )
+        }
+
+        val roundCount = input.varint().toInt()
+        val progress = LinkedHashMap<Int, Map<Long, Double>>(roundCount * 2)
+        var round = 0
+        repeat(roundCount) {
+            round += input.zigzag().toInt()
+            progress[round] = input.pointsMap()
+        }
+        input.requireEnd()
+
+        return LiveStandings(
+            currentStandings = currentStandings,
+            rankings = rankings,
+            roundByRoundProgress = progress
+        )
+    }
+
+    private fun isHalfPointMultiple(doubled: Double): Boolean =
+        doubled == Math.rint(doubled) && Math.abs(doubled) < (1L shl 52)
+
+    private class Writer(initialCapacity: Int) {
+        private val out = VarintWriter(initialCapacity)
+
+        // Maç tablosu konumları ve daha önce yazılmış puan haritaları (geri referans için)
+        private val matchPositions = HashMap<Match, Int>()
+        private val writtenMaps = HashMap<Map<Long, Double>, Int>()
+        private val methods = HashMap<String, Int>()
+
+        // Delta kodlama durumu
+        private var previousId = 0L
+        private var previousListId = 0L
+        private var previousSongId = 0L
+        private var previousRound = 0
+        private var previousCreatedAt = 0L
+
+        fun header(kind: Int) {
+            varint(FORMAT_VERSION.toLong())
+            varint(kind.toLong())
+        }
+
+        fun matchTable(matches: List<Match>) {
+            varint(matches.size.toLong())
+            matches.forEachIndexed { position, match ->
+                match(match)
+                matchPositions.putIfAbsent(match, position)
+            }
+        }
+
+        // 0: satır içi maç, k: tablodaki (k - 1). maç
+        fun matchRefs(matches: List<Match>) {
+            varint(matches.size.toLong())
+            for (match in matches) {
+                val position = matchPositions[match]
+                if (position != null) {
+                    varint(position + 1L)
+                } else {
+                    varint(0)
+                    match(match)
+                }
+            }
+        }
+
+        private fun match(match: Match) {
+            val winner = when (match.winnerId) {
+                null -> WINNER_NONE
+                match.songId1 -> WINNER_FIRST
+                match.songId2 -> WINNER_SECOND
+                else -> WINNER_OTHER
+            }
+            var flags = winner shl WINNER_SHIFT
+            if (match.isCompleted) flags = flags or FLAG_COMPLETED
+            if (match.score1 != null) flags = flags or FLAG_SCORE1
+            if (match.score2 != null) flags = flags or FLAG_SCORE2
+            if (match.groupId != null) flags = flags or FLAG_GROUP
+            varint(flags.toLong())
+
+            zigzag(match.id - previousId)
+            zigzag(match.listId - previousListId)
+            method(match.rankingMethod)
+            zigzag(match.songId1 - previousSongId)
+            zigzag(match.songId2 - match.songId1)
+            if (winner == WINNER_OTHER) zigzag(match.winnerId!! - match.songId1)
+            match.score1?.let { zigzag(it.toLong()) }
+            match.score2?.let { zigzag(it.toLong()) }
+            zigzag((match.round - previousRound).toLong())
+            match.groupId?.let { zigzag(it.toLong()) }
+            zigzag(match.createdAt - previousCreatedAt)
+
+            previousId = match.id
+            previousListId = match.listId
+            previousSongId = match.songId1
+            previousRound = match.round
+            previousCreatedAt = match.createdAt
+        }
+
+        // Yöntem adları sözlükle: ilk geçişte sözlük boyutu + metin, sonra yalnızca sıra
+        private fun method(name: String) {
+            val known = methods[name]
+            if (known != null) {
+                varint(known.toLong())
+            } else {
+                varint(methods.size.toLong())
+                string(name)
+                methods[name] = methods.size
+            }
+        }
+
+        // 0: satır içi harita, k: yazılmış (k - 1). haritanın aynısı
+        fun pointsMap(points: Map<Long, Double>) {
+            val previous = writtenMaps[points]
+            if (previous != null) {
+                varint(previous + 1L)
+                return
+            }
+            varint(0)
+            writtenMaps[points] = writtenMaps.size
+
+            val ids = LongArray(points.size)
+            var n = 0
+            for (id in points.keys) ids[n++] = id
+            ids.sort()
+            varint(ids.size.toLong())
+            var previousKey = 0L
+            for (id in ids) {
+                zigzag(id - previousKey)
+                previousKey = id
+            }
+            for (id in ids) points(points.getValue(id))
+        }
+
+        // Yarım puan katları: zigzag(2p) << 1; diğerleri: 1 + ham double bitleri
+        fun points(value: Double) {
+            val doubled = value * 2
+            if (isHalfPointMultiple(doubled)) {
+                val z = doubled.toLong()
+                varint(((z shl 1) xor (z shr 63)) shl 1)
+            } else {
+                varint(1)
+                out.double(value)
+            }
+        }
+
+        fun string(value: String) = out.string(value)
+
+        fun boolean(value: Boolean) = out.boolean(value)
+
+        fun zigzag(value: Long) = out.zigzag(value)
+
+        fun varint(value: Long) = out.varint(value)
+
+        fun toByteArray(): ByteArray = out.toByteArray()
+    }
+
+    private class Reader(bytes: ByteArray) {
+        private val input = VarintReader(bytes, "fixture data")
+
+        private var matches: List<Match> = emptyList()
+        private val readMaps = ArrayList<Map<Long, Double>>()
+        private val methods = ArrayList<String>()
+
+        private var previousId = 0L
+        private var previousListId = 0L
+        private var previousSongId = 0L
+        private var previousRound = 0
+        private var previousCreatedAt = 0L
+
+        fun header(kind: Int) {
+            val version = varint().toInt()
+            require(version == FORMAT_VERSION) { "Unsupported fixture format: $version" }
+            val actualKind = varint().toInt()
+            require(actualKind == kind) { "Unexpected fixture record kind: $actualKind" }
+        }
+
+        fun matchTable(): List<Match> {
+            val count = varint().toInt()
+            val table = ArrayList<Match>(count)
+            repeat(count) { table.add(match()) }
+            matches = table
+            return table
+        }
+
+        fun matchRefs(): List<Match> {
+            val count = varint().toInt()
+            val result = ArrayList<Match>(count)
+            repeat(count) {
+                val ref = varint().toInt()
+                result.add(if (ref == 0) match() else matches[ref - 1])
+            }
+            return result
+        }
+
+        private fun match(): Match {
+            val flags = varint().toInt()
+            val id = previousId + zigzag()
+            val listId = previousListId + zigzag()
+            val method = method()
+            val songId1 = previousSongId + zigzag()
+            val songId2 = songId1 + zigzag()
+            val winnerId = when ((flags ushr WINNER_SHIFT) and 3) {
+                WINNER_FIRST -> songId1
+                WINNER_SECOND -> songId2
+                WINNER_OTHER -> songId1 + zigzag()
+                else -> null
+            }
+            val score1 = if (flags and FLAG_SCORE1 != 0) zigzag().toInt() else null
+            val score2 = if (flags and FLAG_SCORE2 != 0) zigzag().toInt() else null
+            val round = previousRound + zigzag().toInt()
+            val groupId = if (flags and FLAG_GROUP != 0) zigzag().toInt() else null
+            val createdAt = previousCreatedAt + zigzag()
+
+            previousId = id
+            previousListId = listId
+            previousSongId = songId1
+            previousRound = round
+            previousCreatedAt = createdAt
+
+            return Match(
+                id = id,
+                listId = listId,
+                rankingMethod = method,
+                songId1 = songId1,
+                songId2 = songId2,
+                winnerId = winnerId,
+                score1 = score1,
+                score2 = score2,
+                round = round,
+                groupId = groupId,
+                isCompleted = flags and FLAG_COMPLETED != 0,
+                createdAt = createdAt
+            )
+        }
+
+        private fun method(): String {
+            val ref = varint().toInt()
+            if (ref < methods.size) return methods[ref]
+            require(ref == methods.size) { "Corrupt fixture method table" }
+            return string().also { methods.add(it) }
+        }
+
+        fun pointsMap(): Map<Long, Double> {
+            val ref = varint().toInt()
+            if (ref != 0) return readMaps[ref - 1]
+
+            val count = varint().toInt()
+            val ids = LongArray(count)
+            var id = 0L
+            for (i in 0 until count) {
+                id += zigzag()
+                ids[i] = id
+            }
+            val points = LinkedHashMap<Long, Double>(count * 2)
+            for (songId in ids) points[songId] = points()
+            readMaps.add(points)
+            return points
+        }
+
+        fun points(): Double {
+            val tag = varint()
+            if (tag and 1L == 0L) {
+                val z = tag ushr 1
+                return ((z ushr 1) xor -(z and 1)).toDouble() / 2
+            }
+            return input.double()
+        }
+
+        fun string(): String = input.string()
+
+        fun boolean(): Boolean = input.boolean()
+
+        fun zigzag(): Long = input.zigzag()
+
+        fun varint(): Long = input.varint()
+
+        fun requireEnd() = input.requireEnd()
+    }
+}
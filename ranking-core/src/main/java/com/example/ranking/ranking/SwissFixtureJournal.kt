@@ -0,0 +1,74 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.RoundData
+import com.example.ranking.data.SwissFixtureData
+
+/**
+ * İsviçre fikstürünün anlık görüntü + günlük (journal) modeli.
+ *
+ * Her oy yalnızca değişen maçı günlüğe ekler; tam fikstür tur başına bir kez
+ * [snapshot] ile yazılır ve günlük kısaltılır. Devam ederken son anlık görüntü
+ * okunur ve kuyruktaki kayıtlar [replay] ile üzerine uygulanır.
+ */
+object SwissFixtureJournal {
+
+    /**
+     * Tüm maçlardan fikstür görüntüsü. Tamamlanmış turlar için `standingsAfterRound`
+     * güncel puan tablosudur (kayıtlı biçimle aynı anlam).
+     */
+    fun snapshot(
+        allMatches: List<Match>,
+        currentRound: Int,
+        currentStandings: Map<Long, Double>
+    ): SwissFixtureData {
+        val roundsData = LinkedHashMap<Int, RoundData>()
+        allMatches.groupBy { it.round }.forEach { (round, matches) ->
+            val isComplete = matches.all { it.isCompleted }
+            roundsData[round] = RoundData(
+                roundNumber = round,
+                matches = matches,
+                isComplete = isComplete,
+                standingsAfterRound = if (isComplete) currentStandings else emptyMap()
+            )
+        }
+
+        return SwissFixtureData(
+            allMatches = allMatches,
+            currentRoundMatches = allMatches.filter { it.round == currentRound },
+            completedMatches = allMatches.filter { it.isCompleted },
+            upcomingMatches = allMatches.filter { !it.isCompleted },
+            roundsData = roundsData
+        )
+    }
+
+    /**
+     * Günlük kuyruğunu anlık görüntüye uygula. Kayıtlar maç id'sine göre upsert'tür:
+     * aynı id sonraki kayıtla ezilir, yeni id'ler sona eklenir. Mevcut tur ilk
+     * oynanmamış maçın turu (hepsi bittiyse son tur); puanlar İsviçre puanlamasıyla
+     * yeniden hesaplanır.
+     */
+    fun replay(snapshot: SwissFixtureData?, tail: List<Match>): SwissFixtureData? {
+        if (snapshot == null && tail.isEmpty()) return null
+        if (snapshot != null && tail.isEmpty()) return snapshot
+
+        val byId = LinkedHashMap<Long, Match>()
+        snapshot?.allMatches?.forEach { byId[it.id] = it }
+        tail.forEach { byId[it.id] = it }
+        val allMatches = byId.values.toList()
+
+        val currentRound = allMatches.firstOrNull { !it.isCompleted }?.round
+            ?: allMatches.maxOf { it.round }
+
+        val ids = LongArray(allMatches.size * 2)
+        allMatches.forEachIndexed { i, match ->
+            ids[2 * i] = match.songId1
+            ids[2 * i + 1] = match.songId2
+        }
+        val standings = TournamentState(SongIndex.fromIds(ids), Scoring.SWISS)
+            .recordAll(allMatches)
+            .toPointsMap()
+
+        return snapshot(allMatches, currentRound, standings)
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissStandings
+import com.example.ranking.logging.RankingLog
+import kotlin.math.abs
+
+/**
+ * İsviçre sistemi için en düşük maliyetli eşleştirme.
+ *
+ * Oyuncular puan sırasına dizilir; her oyuncu sıralamada en fazla [SwissPairingCosts.window]
+ * uzaklıktaki rakiplerle kenar oluşturur. Kenar maliyeti puan farkı ve rövanş cezasıdır,
+ * tek sayıda oyuncuda bye alan oyuncuya da önceki bye sayısı ve sıralamaya göre maliyet yazılır.
+ * Bu bant grafında minimum maliyetli mükemmel eşleştirme, "sonraki [window] oyuncudan hangileri
+ * zaten eşleşti" maskesi üzerinde dinamik programlama ile tam olarak çözülür:
+ * O(n · 2^window · window) zaman, tam grafta O(n³) blossom yerine.
+ *
+ * Puan grubunda tek kalan oyuncu bir alt gruba kendiliğinden kayar (puan farkı maliyetiyle),
+ * rövanş ancak bant içinde başka mükemmel eşleştirme yoksa ve cezası ödenerek seçilir.
+ */
+object SwissPairingEngine {
+
+    private val log = RankingLog.channel("SwissPairingEngine")
+    
+    private const val MAX_WINDOW = 12
+    
+    data class SwissPairingCosts(
+        val pointDifference: Double = 10.0, // Puan başına
+        val rematch: Double = 1000.0,       // Daha önce oynamış ikili
+        val repeatBye: Double = 500.0,      // Daha önce alınmış her bye için
+        val byeRank: Double = 1.0,          // Sıralamanın dibinden her basamak için
+        val window: Int = 8                 // Sıralamada bakılan en uzak rakip
+    )
+    
+    fun createOptimalMatches(
+        songs: List<Song>,
+        roundNumber: Int,
+        swissState: SwissStandings,
+        costs: SwissPairingCosts = SwissPairingCosts()
+    ): List<Match> {
+        val n = songs.size
+        if (n < 2) return emptyList()
+        val window = costs.window.coerceIn(1, minOf(MAX_WINDOW, n - 1))
+        
+        // Puan sırası - eşit puanda liste sırası korunur
+        val songPoints = DoubleArray(n) { swissState.standings[songs[it].id] ?: 0.0 }
+        val order = songs.indices.sortedByDescending { songPoints[it] }.toIntArray()
+        val points = DoubleArray(n) { songPoints[order[it]] }
+        val history = swissState.pairingHistory
+        val historySlots = IntArray(n) { history.index.slotOf(songs[order[it]].id) }
+        val byeCounts = countByes(songs, order, swissState)
+        
+        // Kenar maliyetleri: edgeCosts[i * window + d - 1] = i ile i + d arası
+        val edgeCosts = DoubleArray(n * window)
+        for (a in 0 until n) {
+            for (d in 1..window) {
+                val b = a + d
+                if (b >= n) break
+                val rematch = if (history.hasMet(historySlots[a], historySlots[b])) costs.rematch else 0.0
+                edgeCosts[a * window + d - 1] = costs.pointDifference * abs(points[a] - points[b]) + rematch
+            }
+        }
+        val byeCosts = DoubleArray(n) { a -> costs.repeatBye * byeCounts[a] + costs.byeRank * (n - 1 - a) }
+        
+        val pairs = solveBandMatching(n, window, edgeCosts, byeCosts)
+        
+        val matches = ArrayList<Match>(n / 2)
+        var rematches = 0
+        for (a in 0 until n) {
+            val b = pairs[a]
+            if (b <= a) continue
+            if (history.hasMet(historySlots[a], historySlots[b])) rematches++
+            matches.add(
+                Match(
+                    listId = songs[0].listId,
+                    rankingMethod = "SWISS",
+                    songId1 = songs[order[a]].id,
+                    songId2 = songs[order[b]].id,
+                    winnerId = null,
+                    round = roundNumber
+                )
+            )
+        }
+        
+        if (rematches > 0) {
+            log.w { "Round $roundNumber: $rematches unavoidable rematch(es) within window $window" }
+        }
+        return matches
+    }
+    
+    private const val BYE = -1
+    
+    /**
+     * Önceki turlarda maçı olmayan (bye geçen) oyuncuların bye sayısı, pozisyon sırasıyla.
+     */
+    private fun countByes(songs: List<Song>, order: IntArray, swissState: SwissStandings): IntArray {
+        val index = SongIndex.of(songs)
+        val positionOfSlot = IntArray(index.size)
+        order.forEachIndexed { position, songIndex ->
+            val slot = index.slotOf(songs[songIndex].id)
+            positionOfSlot[slot] = position
+        }
+        
+        val byes = IntArray(order.size)
+        val playedThisRound = BooleanArray(order.size)
+        swissState.roundHistory.forEach { round ->
+            java.util.Arrays.fill(playedThisRound, false)
+            round.matches.forEach { match ->
+                val slot1 = index.slotOf(match.songId1)
+                val slot2 = index.slotOf(match.songId2)
+                if (slot1 >= 0) playedThisRound[positionOfSlot[slot1]] = true
+                if (slot2 >= 0) playedThisRound[positionOfSlot[slot2]] = true
+            }
+            for (position in byes.indices) {
+                if (!playedThisRound[position]) byes[position]++
+            }
+        }
+        return byes
+    }
+    
+    /**
+     * Bant grafında minimum maliyetli mükemmel eşleştirme.
+     * Dönüş: her pozisyon için eşinin pozisyonu, bye için [BYE].
+     *
+     * Durum: i. pozisyona gelindiğinde i..i+window-1 arasından önceden eşlenmiş olanlar (mask)
+     * ve bye'ın verilip verilmediği. Tek sayıda oyuncuda tam olarak bir bye verilir.
+     * Sadece seçimler saklanır; geri izlemede önceki durum seçimden yeniden kurulur.
+     */
+    internal fun solveBandMatching(n: Int, window: Int, edgeCosts: DoubleArray, byeCosts: DoubleArray): IntArray {
+        val needsBye = n % 2 == 1
+        val masks = 1 shl window
+        val states = masks * 2 // üst bit: bye verildi
+        val inf = Double.POSITIVE_INFINITY
+        val byeChoice = (window + 1).toByte()
+        
+        var current = DoubleArray(states) { inf }
+        var next = DoubleArray(states)
+        current[0] = 0.0
+        // choice[i * states + hedef durum]: 0 = zaten eşli, 1..window = rakip uzaklığı, window + 1 = bye
+        val choice = ByteArray(n * states)
+        
+        for (i in 0 until n) {
+            EngineCompute.checkpoint("İsviçre eşleştirme", i, n)
+            java.util.Arrays.fill(next, inf)
+            val row = i * states
+            for (state in 0 until states) {
+                val base = current[state]
+                if (base == inf) continue
+                val mask = state and (masks - 1)
+                val byeBit = state and masks
+                
+                if (mask and 1 != 0) {
+                    val target = byeBit or (mask shr 1)
+                    if (base < next[target]) {
+                        next[target] = base
+                        choice[row + target] = 0
+                    }
+                    continue
+                }
+                for (d in 1..window) {
+                    if (i + d >= n) break
+                    if (mask and (1 shl d) != 0) continue
+                    val target = byeBit or ((mask or (1 shl d)) shr 1)
+                    val total = base + edgeCosts[i * window + d - 1]
+                    if (total < next[target]) {
+                        next[target] = total
+                        choice[row + target] = d.toByte()
+                    }
+                }
+                if (needsBye && byeBit == 0) {
+                    val target = masks or (mask shr 1)
+                    val total = base + byeCosts[i]
+                    if (total < next[target]) {
+                        next[target] = total
+                        choice[row + target] = byeChoice
+                    }
+                }
+            }
+            val swap = current
+            current = next
+            next = swap
+        }
+        
+        var state = if (needsBye) masks else 0
+        check(current[state] != inf) { "No perfect matching within window $window" }
+        
+        val partner = IntArray(n) { BYE }
+        for (i in n - 1 downTo 0) {
+            val c = choice[i * states + state].toInt()
+            val byeBit = state and masks
+            val shifted = (state and (masks - 1)) shl 1
+            state = when (c) {
+                0 -> byeBit or shifted or 1
+                window + 1 -> shifted
+                else -> {
+                    partner[i] = i + c
+                    partner[i + c] = i
+                    byeBit or (shifted and (1 shl c).inv())
+                }
+            }
+        }
+        return partner
+    }
+}
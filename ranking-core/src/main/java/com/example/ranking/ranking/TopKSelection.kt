@@ -0,0 +1,232 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+
+/**
+ * Uzun bir listenin yalnızca en iyi [k] öğesini sıralı bulan turnuva ağacı.
+ *
+ * Yapraklar liste sırasıyla şarkılardır, her iç düğüm iki çocuğunun galibini tutar.
+ * Ağacın kurulması n - 1 oy ister ve kök birincidir. Birinci ağaçtan çıkarılınca
+ * yalnızca onun yaprağından köke giden yol yeniden oynanır: sonraki her sıra
+ * en fazla ⌈log₂n⌉ oyla bulunur. Toplam yaklaşık n + k·log₂n oydur; tüm listeyi
+ * sıralamak (ör. [MergeSortRanking]) n·log₂n ister.
+ *
+ * Düğümler aşağıdan yukarı, indeks azalan sırada karara bağlanır. Çocuklarından
+ * biri boşsa (liste dışı ya da seçilmiş) düğüm soru sorulmadan diğerini alır.
+ * Yeniden oynamada sorulan ikililer çoğunlukla daha önce karşılaşmış olur; önceki
+ * kararlar ([PairwiseJudgments]) kullanılıyorsa bunlar tekrar sorulmaz.
+ */
+class TopKSelection private constructor(
+    private val index: SongIndex,
+    val k: Int,
+    private val leafCount: Int,
+    private val tree: LongArray,
+    private val selected: ArrayList<Long>,
+    private var cursor: Int,
+    private var building: Boolean,
+    comparisons: Int
+) : InteractiveRanking {
+
+    override var comparisons: Int = comparisons
+        private set
+
+    override val isComplete: Boolean get() = currentPair() == null
+
+    /**
+     * Sıradaki soru: karar bekleyen düğümün iki çocuğunun galipleri.
+     */
+    override fun currentPair(): Pair<Long, Long>? {
+        if (selected.size >= k || cursor == 0) return null
+        return tree[2 * cursor] to tree[2 * cursor + 1]
+    }
+
+    /**
+     * Sıradaki soru oynanmamış maç olarak (id = 0). Tur numarası aranan sıradır:
+     * 1. tur birinciyi, r. tur r. sırayı belirler.
+     */
+    override fun nextMatch(listId: Long): Match? {
+        val (songId1, songId2) = currentPair() ?: return null
+        return Match(
+            listId = listId,
+            rankingMethod = METHOD,
+            songId1 = songId1,
+            songId2 = songId2,
+            winnerId = null,
+            round = selected.size + 1
+        )
+    }
+
+    override fun answer(winnerId: Long): Boolean {
+        val (songId1, songId2) = currentPair() ?: return false
+        if (winnerId != songId1 && winnerId != songId2) return false
+        tree[cursor] = winnerId
+        comparisons++
+        moveCursor()
+        settle()
+        return true
+    }
+
+    /**
+     * Kalan oyların üst sınırı: kurulumda kalan iç düğümler ya da yeniden oynanan
+     * yolun kalanı, artı kalan her sıra için ağacın derinliği.
+     */
+    override fun remainingUpperBound(): Int {
+        if (isComplete) return 0
+        val depth = Integer.numberOfTrailingZeros(leafCount)
+        val current = if (building) cursor else 32 - Integer.numberOfLeadingZeros(cursor)
+        val remainingSelections = minOf(k, index.size) - selected.size - 1
+        return current + remainingSelections * depth
+    }
+
+    /**
+     * Şu ana kadar bulunan sıra, iyiden kötüye. Tamamlanınca en iyi min(k, n) öğedir.
+     */
+    fun selected(): List<Long> = selected.toList()
+
+    /**
+     * Kompakt ikili form: sürüm, k, oy sayısı, yaprak ID'leri (zigzag delta),
+     * seçilenlerin slotları, imleç ve iç düğümler (0 = boş, 1 = karar bekliyor,
+     * slot + 2 = galip). Yapraklar ID listesi ve seçilenlerden çıkarılır.
+     */
+    override fun toBytes(): ByteArray {
+        val out = VarintWriter(index.size * 4 + 16)
+        out.varint(FORMAT_VERSION.toLong())
+        out.varint(k.toLong())
+        out.varint(comparisons.toLong())
+        out.varint(index.size.toLong())
+        var previousId = 0L
+        for (slot in 0 until index.size) {
+            out.zigzag(index.idAt(slot) - previousId)
+            previousId = index.idAt(slot)
+        }
+        out.varint(selected.size.toLong())
+        for (id in selected) out.varint(index.slotOf(id).toLong())
+        out.varint(cursor.toLong())
+        out.boolean(building)
+        for (node in 1 until leafCount) {
+            out.varint(when (val value = tree[node]) {
+                EMPTY -> 0L
+                UNDECIDED -> 1L
+                else -> index.slotOf(value) + 2L
+            })
+        }
+        return out.toByteArray()
+    }
+
+    // Soru gerektirmeyen düğümleri karara bağlar, kök belli olunca onu seçip yolunu yeniden açar
+    private fun settle() {
+        while (selected.size < k) {
+            if (cursor == 0) {
+                val top = tree[1]
+                if (top == EMPTY) return
+                selected.add(top)
+                var node = leafCount + index.slotOf(top)
+                tree[node] = EMPTY
+                node = node shr 1
+                cursor = node
+                building = false
+                while (node >= 1) {
+                    tree[node] = UNDECIDED
+                    node = node shr 1
+                }
+                continue
+            }
+            val a = tree[2 * cursor]
+            val b = tree[2 * cursor + 1]
+            if (a != EMPTY && b != EMPTY) return
+            tree[cursor] = if (a == EMPTY) b else a
+            moveCursor()
+        }
+    }
+
+    private fun moveCursor() {
+        cursor = if (building) cursor - 1 else cursor shr 1
+    }
+
+    companion object {
+        const val METHOD = "TOP_K"
+        const val FORMAT_VERSION = 1
+
+        private const val EMPTY = Long.MIN_VALUE
+        private const val UNDECIDED = Long.MIN_VALUE + 1
+
+        /**
+         * Liste sırasıyla yapraklara dizilmiş şarkılardan, ilk [k] için.
+         */
+        fun start(songs: List<Song>, k: Int): TopKSelection {
+            require(k > 0) { "k pozitif olmalı: $k" }
+            val index = SongIndex.of(songs)
+            val leafCount = leafCountFor(index.size)
+            val tree = LongArray(2 * leafCount) { UNDECIDED }
+            for (slot in 0 until leafCount) {
+                tree[leafCount + slot] = if (slot < index.size) index.idAt(slot) else EMPTY
+            }
+            return TopKSelection(index, k, leafCount, tree, ArrayList(), leafCount - 1, true, 0)
+                .also { it.settle() }
+        }
+
+        /**
+         * [toBytes] çıktısından geri oku. Biçim tanınmazsa ya da yapraklar [songs] ile
+         * birebir uyuşmuyorsa (liste değişmiş) [IllegalArgumentException].
+         */
+        fun fromBytes(bytes: ByteArray, songs: List<Song>): TopKSelection {
+            val reader = VarintReader(bytes, "top-k state")
+            val version = reader.varint().toInt()
+            require(version == FORMAT_VERSION) { "Unsupported top-k format: $version" }
+            val k = reader.varint().toInt()
+            require(k > 0) { "Invalid k: $k" }
+            val comparisons = reader.varint().toInt()
+
+            val expected = songs.mapTo(HashSet(songs.size * 2)) { it.id }
+            val size = reader.varint().toInt()
+            require(size == expected.size) { "Song count changed: $size != ${expected.size}" }
+            val ids = LongArray(size)
+            var previousId = 0L
+            for (slot in 0 until size) {
+                previousId += reader.zigzag()
+                require(expected.remove(previousId)) { "Song $previousId is not in the list or repeated" }
+                ids[slot] = previousId
+            }
+            val index = SongIndex.fromIds(ids)
+            val leafCount = leafCountFor(size)
+
+            val tree = LongArray(2 * leafCount)
+            for (slot in 0 until leafCount) tree[leafCount + slot] = if (slot < size) ids[slot] else EMPTY
+            val selectedCount = reader.varint().toInt()
+            require(selectedCount in 0..minOf(k, size)) { "Invalid selection size: $selectedCount" }
+            val selected = ArrayList<Long>(selectedCount)
+            repeat(selectedCount) {
+                val slot = reader.varint().toInt()
+                require(slot in 0 until size && tree[leafCount + slot] != EMPTY) { "Invalid selected slot: $slot" }
+                selected.add(ids[slot])
+                tree[leafCount + slot] = EMPTY
+            }
+
+            val cursor = reader.varint().toInt()
+            require(cursor in 0 until leafCount) { "Invalid cursor: $cursor" }
+            val building = reader.boolean()
+            for (node in 1 until leafCount) {
+                val code = reader.varint()
+                tree[node] = when (code) {
+                    0L -> EMPTY
+                    1L -> UNDECIDED
+                    else -> {
+                        val slot = code - 2
+                        require(slot < size) { "Invalid node value: $code" }
+                        ids[slot.toInt()]
+                    }
+                }
+            }
+            reader.requireEnd()
+            if (cursor > 0) {
+                require(tree[2 * cursor] != UNDECIDED && tree[2 * cursor + 1] != UNDECIDED) { "Cursor children are undecided" }
+            }
+            return TopKSelection(index, k, leafCount, tree, selected, cursor, building, comparisons)
+        }
+
+        // Kökün iç düğüm olması için en az iki yaprak
+        private fun leafCountFor(size: Int): Int =
+            if (size <= 2) 2 else Integer.highestOneBit(size - 1) shl 1
+    }
+}
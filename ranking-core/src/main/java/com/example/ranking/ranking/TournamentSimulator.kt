@@ -0,0 +1,779 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissStandings
+import com.example.ranking.metrics.RankingMetrics
+import java.util.BitSet
+import java.util.concurrent.CancellationException
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.RecursiveTask
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.math.abs
+import kotlin.math.ln
+
+/**
+ * Monte Carlo sonucu: her şarkının ilk [trackedPositions] sırada bitirme olasılığı, beklenen
+ * sırası ve kalan tur dağılımı.
+ *
+ * Sayımlar slot × izlenen sıra düzeninde tek bir IntArray'de, sıra toplamları slot başına
+ * tutulur (n × n matris yerine); olasılıklar okunurken hesaplanır.
+ */
+class OutcomeForecast internal constructor(
+    private val index: SongIndex,
+    private val counts: IntArray,
+    private val positionSums: LongArray,
+    private val roundCounts: IntArray,
+    val trackedPositions: Int,
+    val simulations: Int
+) {
+    val songCount: Int get() = index.size
+
+    /**
+     * [songId]'nin [position]. sırada (1'den başlar) bitirme olasılığı. Yalnızca ilk
+     * [trackedPositions] sıra sayılır; ötesi sorulamaz.
+     */
+    fun probability(songId: Long, position: Int): Double {
+        require(position <= trackedPositions) { "Sayılmayan sıra: $position / $trackedPositions" }
+        val slot = index.slotOf(songId)
+        if (slot < 0 || position < 1 || simulations == 0) return 0.0
+        return counts[slot * trackedPositions + position - 1].toDouble() / simulations
+    }
+
+    /**
+     * [songId]'nin ilk [trackedPositions] sıradaki olasılıkları; i. eleman (i + 1). sıra.
+     */
+    fun positionProbabilities(songId: Long): DoubleArray {
+        val slot = index.slotOf(songId)
+        if (slot < 0 || simulations == 0) return DoubleArray(trackedPositions)
+        return DoubleArray(trackedPositions) { counts[slot * trackedPositions + it].toDouble() / simulations }
+    }
+
+    fun expectedPosition(songId: Long): Double {
+        val slot = index.slotOf(songId)
+        if (slot < 0 || simulations == 0) return 0.0
+        return 1.0 + positionSums[slot].toDouble() / simulations
+    }
+
+    /** Şarkılar beklenen sıraya göre, en iyiden; sıra toplamları bir kez okunur */
+    fun songsByExpectedPosition(): List<Long> =
+        (0 until songCount).sortedBy { positionSums[it] }.map { index.idAt(it) }
+
+    /** Kalan (yarım kalan dahil) tur sayısının beklenen değeri */
+    val expectedRemainingRounds: Double
+        get() {
+            if (simulations == 0) return 0.0
+            var sum = 0.0
+            roundCounts.forEachIndexed { rounds, count -> sum += rounds.toDouble() * count }
+            return sum / simulations
+        }
+
+    /** Tam olarak [rounds] tur daha oynanma olasılığı */
+    fun remainingRoundsProbability(rounds: Int): Double =
+        if (rounds in roundCounts.indices && simulations > 0) roundCounts[rounds].toDouble() / simulations else 0.0
+
+    /** Simülasyonların en az [quantile] oranında yetecek tur sayısı */
+    fun remainingRoundsQuantile(quantile: Double): Int {
+        var cumulative = 0
+        roundCounts.forEachIndexed { rounds, count ->
+            cumulative += count
+            if (cumulative >= quantile * simulations) return rounds
+        }
+        return roundCounts.lastIndex.coerceAtLeast(0)
+    }
+}
+
+/**
+ * Yarım kalmış İsviçre, Emre ve lig turnuvalarının kalanını binlerce kez oynatan simülatör.
+ *
+ * Oynanmamış maçların sonucu, tamamlanmış maçlardan kestirilen Bradley–Terry güçleriyle
+ * çekilir: P(a, b'yi yener) = γa / (γa + γb); beraberlik gözlenen beraberlik oranıyla.
+ * Güçler, [AdaptiveRanking] ile aynı önselle (γ = 1 gücünde sanal rakibe yarım galibiyet,
+ * yarım yenilgi) MM güncellemesiyle bulunur; hiç oynamamış şarkı ortalama güçtedir.
+ *
+ * Turnuva durumu bir kez yoğun slot dizilerine (puan yarım puan biriminde, eşleşme
+ * geçmişi n × n bit matrisi) çevrilir. Her simülasyon bu dizilerin kopyası üzerinde
+ * oynar; İsviçre turunda eşleştirme, sıralama ve puanlama nesne üretmez.
+ *
+ * İsviçre eşleştirmesi [SwissPairingEngine]'in yaklaşımıdır: puan sırasına göre yukarıdan
+ * aşağı, daha önce karşılaşmamış ilk rakiple; kalmadıysa rövanş. Emre usulü birebir
+ * [EmreSystemCorrect] kurallarıyla oynar: eşleştirme [EmrePairingSearch] ile, yeniden
+ * sıralama puan, eşit puanlılar arası maç ve tur öncesi sırayla; aynı puanlı eşleşme ya da
+ * rövanşsız eşleştirme kalmayınca biter. Emre simülasyonu uzun turnuvalarda (her ikili
+ * birbirine yakın güçteyse) belirgin şekilde daha yavaştır.
+ *
+ * Simülasyonlar [ForkJoinPool.commonPool] üzerinde aralıklara bölünerek paralel oynanır.
+ * Her simülasyonun rastgele üreteci (SplitMix64) tohumdan ve simülasyon numarasından
+ * türetilir: aynı tohum, çekirdek sayısından bağımsız olarak aynı sonucu verir.
+ * [EngineCompute.run] içinde çağrılırsa iptal edilebilir ve ilerleme bildirir.
+ */
+object TournamentSimulator {
+
+    const val DEFAULT_SIMULATIONS = 10_000
+    const val DEFAULT_SEED = 20251017L
+
+    // Olasılığı sayılan ilk sıralar; bellek şarkı sayısıyla doğrusal kalır
+    const val DEFAULT_TRACKED_POSITIONS = 3
+
+    private val simulationTimer = RankingMetrics.timer("engine.simulation")
+
+    private const val STAGE = "Sonuç simülasyonu"
+    private const val MIN_SIMULATIONS_PER_TASK = 64
+    private const val POLL_MILLIS = 50L
+
+    private const val PRIOR = 0.5
+    private const val MAX_SWEEPS = 200
+    private const val FIT_TOLERANCE = 1e-6
+
+    // Yarım puan birimi: galibiyet 2, beraberlik 1 (İsviçre 1 / 0.5, lig 2 / 1 puan)
+    private const val WIN = 2
+    private const val DRAW = 1
+
+    // Sıralama anahtarında puan (POINTS_CEILING - puan) olarak yüksek bitlere yazılır
+    private const val POINTS_CEILING = 1 shl 24
+
+    private enum class Format { SWISS, EMRE, LEAGUE }
+
+    private const val NO_PAIRING = -2
+
+    /**
+     * İsviçre turnuvası: [state] tamamlanmış turlar (yarım kalan turun oynanmış maçları dahil),
+     * [pendingMatches] yarım kalan turun oynanmamış maçları. Turnuva [totalRounds] turda biter.
+     */
+    fun forecastSwiss(
+        songs: List<Song>,
+        state: SwissStandings,
+        pendingMatches: List<Match>,
+        totalRounds: Int,
+        simulations: Int = DEFAULT_SIMULATIONS,
+        seed: Long = DEFAULT_SEED,
+        trackedPositions: Int = DEFAULT_TRACKED_POSITIONS
+    ): OutcomeForecast {
+        val index = SongIndex.of(songs)
+        val completed = state.roundHistory.flatMap { it.matches }
+        val points = IntArray(index.size) { slot -> halfPoints(state.standings[index.idAt(slot)] ?: 0.0) }
+        val met = metMatrix(index) { a, b -> state.pairingHistory.hasMetIds(a, b) }
+        val pending = pendingMatches.filter { !it.isCompleted }
+        val startedRounds = maxOf(
+            state.roundHistory.maxOfOrNull { it.roundNumber } ?: 0,
+            pending.maxOfOrNull { it.round } ?: 0
+        )
+        val plan = Plan(
+            format = Format.SWISS,
+            index = index,
+            strengths = fitStrengths(index, completed),
+            drawRate = drawRate(completed),
+            points = points,
+            met = met,
+            fixed = encode(index, emptyList()),
+            pending = encode(index, pending),
+            roundsLeft = (totalRounds - startedRounds).coerceAtLeast(0),
+            order = IntArray(0),
+            byeCounts = IntArray(0),
+            meetings = IntArray(0),
+            pendingBye = -1,
+            firstRound = false
+        )
+        return run(plan, simulations, seed, trackedPositions)
+    }
+
+    /**
+     * Emre usulü turnuva: [state] son işlenmiş tur sonrası, [currentRoundMatches] eşleştirmesi
+     * yapılmış ama henüz işlenmemiş turun maçları (oynanmış ya da oynanmamış). Tur sonrası
+     * durum işlendiyse boş liste verilir. Turnuva bitene kadar tur sayısı değişkendir.
+     */
+    fun forecastEmre(
+        state: EmreSystemCorrect.EmreState,
+        completedMatches: List<Match>,
+        currentRoundMatches: List<Match>,
+        simulations: Int = DEFAULT_SIMULATIONS,
+        seed: Long = DEFAULT_SEED,
+        trackedPositions: Int = DEFAULT_TRACKED_POSITIONS
+    ): OutcomeForecast {
+        val teams = state.teams
+        val index = SongIndex.fromIds(LongArray(teams.size) { teams[it].id })
+        val teamAt = arrayOfNulls<EmreSystemCorrect.EmreTeam>(index.size)
+        for (team in teams) if (teamAt[index.slotOf(team.id)] == null) teamAt[index.slotOf(team.id)] = team
+        val met = metMatrix(index) { a, b ->
+            state.matchHistory.hasMetIds(teamAt[index.slotOf(a)]!!.teamId, teamAt[index.slotOf(b)]!!.teamId)
+        }
+        val order = teams.sortedBy { it.currentPosition }.map { index.slotOf(it.id) }.toIntArray()
+
+        // Eşleştirilmiş tur: maçlar geçmişe işlenir, maçı olmayan (tek sayıda takım) bye geçer
+        val inRound = BooleanArray(index.size)
+        for (match in currentRoundMatches) {
+            val a = index.slotOf(match.songId1)
+            val b = index.slotOf(match.songId2)
+            if (a < 0 || b < 0) continue
+            inRound[a] = true
+            inRound[b] = true
+            setMet(met, index.size, a, b)
+        }
+        val pendingBye = if (currentRoundMatches.isNotEmpty() && index.size % 2 == 1) {
+            order.lastOrNull { !inRound[it] } ?: -1
+        } else -1
+
+        val plan = Plan(
+            format = Format.EMRE,
+            index = index,
+            strengths = fitStrengths(index, completedMatches),
+            drawRate = drawRate(completedMatches),
+            points = IntArray(index.size) { slot -> halfPoints(teamAt[slot]!!.points) },
+            met = met,
+            fixed = encode(index, currentRoundMatches.filter { it.isCompleted }),
+            pending = encode(index, currentRoundMatches.filter { !it.isCompleted }),
+            roundsLeft = 0,
+            order = order,
+            byeCounts = IntArray(index.size) { slot -> teamAt[slot]!!.byeCount },
+            meetings = IntArray(index.size) { a -> (0 until index.size).count { b -> hasMet(met, index.size, a, b) } },
+            pendingBye = pendingBye,
+            firstRound = state.currentRound == 1 && currentRoundMatches.isEmpty()
+        )
+        return run(plan, simulations, seed, trackedPositions)
+    }
+
+    /**
+     * Lig: fikstür sanal ([schedule]), oynananlar [played] ve sonuçları [completedMatches]
+     * (kayıtlı satırlar). Oynanmamış maçlar Match üretilmeden doğrudan slot üçlülerine
+     * yazılıp simüle edilir. Kalan tur sayısı oynanmamış maçı olan tur sayısıdır.
+     */
+    fun forecastLeague(
+        schedule: LeagueSchedule,
+        played: BitSet,
+        completedMatches: List<Match>,
+        simulations: Int = DEFAULT_SIMULATIONS,
+        seed: Long = DEFAULT_SEED,
+        trackedPositions: Int = DEFAULT_TRACKED_POSITIONS
+    ): OutcomeForecast {
+        val index = schedule.songIndex
+        val completed = completedMatches.filter { it.isCompleted }
+        val pending = encodeUnplayed(schedule, played)
+        val state = TournamentState(index, Scoring.LEAGUE).recordAll(completed)
+        val plan = Plan(
+            format = Format.LEAGUE,
+            index = index,
+            strengths = fitStrengths(index, completed),
+            drawRate = drawRate(completed),
+            points = IntArray(index.size) { state.points[it].toInt() },
+            met = LongArray(0),
+            fixed = encode(index, emptyList()),
+            pending = pending,
+            roundsLeft = unplayedRounds(schedule, played),
+            order = IntArray(0),
+            byeCounts = IntArray(0),
+            meetings = IntArray(0),
+            pendingBye = -1,
+            firstRound = false
+        )
+        return run(plan, simulations, seed, trackedPositions)
+    }
+
+    /**
+     * Tamamlanmış maçlardan Bradley–Terry güçleri (slot sırasıyla, γ).
+     */
+    internal fun fitStrengths(index: SongIndex, completedMatches: List<Match>): DoubleArray {
+        val n = index.size
+        val edgeA = IntArray(completedMatches.size)
+        val edgeB = IntArray(completedMatches.size)
+        val wins = DoubleArray(n)
+        var edges = 0
+        for (match in completedMatches) {
+            if (!match.isCompleted) continue
+            val a = index.slotOf(match.songId1)
+            val b = index.slotOf(match.songId2)
+            if (a < 0 || b < 0 || a == b) continue
+            when (match.winnerId) {
+                match.songId1 -> wins[a] += 1.0
+                match.songId2 -> wins[b] += 1.0
+                null -> {
+                    wins[a] += 0.5
+                    wins[b] += 0.5
+                }
+                else -> continue
+            }
+            edgeA[edges] = a
+            edgeB[edges] = b
+            edges++
+        }
+
+        val gamma = DoubleArray(n) { 1.0 }
+        val denominator = DoubleArray(n)
+        repeat(MAX_SWEEPS) {
+            for (i in 0 until n) denominator[i] = 2.0 * PRIOR / (gamma[i] + 1.0)
+            for (e in 0 until edges) {
+                val a = edgeA[e]
+                val b = edgeB[e]
+                val t = 1.0 / (gamma[a] + gamma[b])
+                denominator[a] += t
+                denominator[b] += t
+            }
+            var change = 0.0
+            for (i in 0 until n) {
+                val updated = (wins[i] + PRIOR) / denominator[i]
+                change = maxOf(change, abs(ln(updated / gamma[i])))
+                gamma[i] = updated
+            }
+            if (change < FIT_TOLERANCE) return gamma
+        }
+        return gamma
+    }
+
+    private fun run(plan: Plan, simulations: Int, seed: Long, trackedPositions: Int): OutcomeForecast {
+        require(simulations > 0) { "Simülasyon sayısı pozitif olmalı: $simulations" }
+        require(trackedPositions > 0) { "İzlenen sıra sayısı pozitif olmalı: $trackedPositions" }
+        val tracked = minOf(trackedPositions, plan.n)
+        return simulationTimer.time { simulate(plan, simulations, seed, tracked) }
+    }
+
+    private fun simulate(plan: Plan, simulations: Int, seed: Long, tracked: Int): OutcomeForecast {
+        val pool = ForkJoinPool.commonPool()
+        val perTask = maxOf(MIN_SIMULATIONS_PER_TASK, simulations / (pool.parallelism * 4))
+        val control = Control()
+        val task = pool.submit(SimulationTask(plan, tracked, seed, 0, simulations, perTask, control))
+
+        while (true) {
+            try {
+                val tally = task.get(POLL_MILLIS, TimeUnit.MILLISECONDS)
+                return OutcomeForecast(plan.index, tally.counts, tally.positionSums, tally.roundCounts, tracked, simulations)
+            } catch (e: TimeoutException) {
+                // Sürüyor: iptal ve ilerleme kontrolü
+            } catch (e: ExecutionException) {
+                throw e.cause ?: e
+            }
+            try {
+                EngineCompute.checkpoint(STAGE, control.done.get(), simulations)
+            } catch (e: CancellationException) {
+                control.cancelled = true
+                task.cancel(true)
+                throw e
+            }
+        }
+    }
+
+    private class Control {
+        val done = AtomicInteger()
+        @Volatile var cancelled = false
+    }
+
+    /**
+     * Simülasyonlar arasında paylaşılan, değişmeyen başlangıç durumu.
+     *
+     * Maçlar (a slotu, b slotu, sonuç) üçlüleri olarak düz IntArray'dedir; sonuç a'nın
+     * yarım puanıdır (2, 1, 0), oynanmamışsa -1.
+     */
+    private class Plan(
+        val format: Format,
+        val index: SongIndex,
+        val strengths: DoubleArray,
+        val drawRate: Double,
+        val points: IntArray,
+        val met: LongArray,
+        val fixed: IntArray,
+        val pending: IntArray,
+        val roundsLeft: Int,
+        val order: IntArray,
+        val byeCounts: IntArray,
+        val meetings: IntArray,
+        val pendingBye: Int,
+        val firstRound: Boolean
+    ) {
+        val n: Int get() = index.size
+
+        // Emre usulünde tur sınırı: her ikili en fazla bir kez oynar
+        val maxRounds: Int get() = maxOf(n - 1, 1)
+    }
+
+    private class Tally(val counts: IntArray, val positionSums: LongArray, val roundCounts: IntArray) {
+        fun add(other: Tally): Tally {
+            for (i in counts.indices) counts[i] += other.counts[i]
+            for (i in positionSums.indices) positionSums[i] += other.positionSums[i]
+            for (i in roundCounts.indices) roundCounts[i] += other.roundCounts[i]
+            return this
+        }
+    }
+
+    private class SimulationTask(
+        private val plan: Plan,
+        private val tracked: Int,
+        private val seed: Long,
+        private val from: Int,
+        private val to: Int,
+        private val perTask: Int,
+        private val control: Control
+    ) : RecursiveTask<Tally>() {
+
+        override fun compute(): Tally {
+            if (to - from <= perTask) {
+                val simulation = Simulation(plan, tracked)
+                for (i in from until to) {
+                    if (control.cancelled) break
+                    simulation.play(seed, i)
+                    control.done.incrementAndGet()
+                }
+                return Tally(simulation.counts, simulation.positionSums, simulation.roundCounts)
+            }
+            val middle = (from + to) ushr 1
+            val right = SimulationTask(plan, tracked, seed, middle, to, perTask, control)
+            right.fork()
+            val left = SimulationTask(plan, tracked, seed, from, middle, perTask, control).compute()
+            return left.add(right.join())
+        }
+    }
+
+    /**
+     * Tek bir iş parçacığının çalışma alanı: diziler bir kez ayrılır, her simülasyonda
+     * başlangıç durumundan yeniden doldurulur.
+     */
+    private class Simulation(private val plan: Plan, private val tracked: Int) {
+        private val n = plan.n
+        val counts = IntArray(n * tracked)
+        val positionSums = LongArray(n)
+        val roundCounts = IntArray(maxOf(plan.roundsLeft, plan.maxRounds) + 2)
+
+        private val points = IntArray(n)
+        private val met = LongArray(plan.met.size)
+        private val order = IntArray(n)
+        private val keys = LongArray(n)
+        private val paired = BooleanArray(n)
+        private val byeCounts = IntArray(n)
+        private val meetings = IntArray(plan.meetings.size)
+        private val candidates = IntArray(n)
+        private val headToHead = IntArray(n)
+        private val previousOrder = IntArray(n)
+        private val roundA = IntArray(n / 2 + 1)
+        private val roundB = IntArray(n / 2 + 1)
+        private val roundResult = IntArray(n / 2 + 1)
+        private var roundSize = 0
+        private var random = 0L
+
+        fun play(seed: Long, simulation: Int) {
+            random = mix(seed + simulation * GOLDEN_GAMMA)
+            plan.points.copyInto(points)
+            plan.met.copyInto(met)
+            val rounds = when (plan.format) {
+                Format.SWISS -> playSwiss()
+                Format.EMRE -> playEmre()
+                Format.LEAGUE -> playLeague()
+            }
+            roundCounts[minOf(rounds, roundCounts.lastIndex)]++
+            if (plan.format != Format.EMRE) sortByPoints()
+            for (position in 0 until n) {
+                val slot = order[position]
+                if (position < tracked) counts[slot * tracked + position]++
+                positionSums[slot] += position.toLong()
+            }
+        }
+
+        private fun playSwiss(): Int {
+            var rounds = 0
+            if (plan.pending.isNotEmpty()) {
+                playEncoded(plan.pending)
+                rounds++
+            }
+            repeat(plan.roundsLeft) {
+                sortByPoints()
+                pairSwiss()
+                for (m in 0 until roundSize) {
+                    setMet(met, n, roundA[m], roundB[m])
+                    score(roundA[m], roundB[m], draw(roundA[m], roundB[m]))
+                }
+                rounds++
+            }
+            return rounds
+        }
+
+        private fun playLeague(): Int {
+            playEncoded(plan.pending)
+            return plan.roundsLeft
+        }
+
+        private fun playEmre(): Int {
+            plan.order.copyInto(order)
+            plan.byeCounts.copyInto(byeCounts)
+            plan.meetings.copyInto(meetings)
+            var rounds = 0
+            var firstRound = plan.firstRound
+
+            // Eşleştirmesi yapılmış tur: oynanmış sonuçlar sabit, kalanlar çekilir
+            if (plan.fixed.isNotEmpty() || plan.pending.isNotEmpty()) {
+                roundSize = 0
+                collect(plan.fixed)
+                collect(plan.pending)
+                finishEmreRound(plan.pendingBye)
+                rounds++
+                firstRound = false
+            }
+
+            while (rounds < plan.maxRounds) {
+                // Rövanşsız eşleştirme yoksa Emre turnuvası biter
+                val bye = pairEmreRound()
+                if (bye == NO_PAIRING || roundSize == 0) break
+                if (!firstRound) {
+                    var samePoints = false
+                    for (m in 0 until roundSize) {
+                        if (points[roundA[m]] == points[roundB[m]]) {
+                            samePoints = true
+                            break
+                        }
+                    }
+                    if (!samePoints) break
+                }
+                for (m in 0 until roundSize) {
+                    setMet(met, n, roundA[m], roundB[m])
+                    meetings[roundA[m]]++
+                    meetings[roundB[m]]++
+                    roundResult[m] = draw(roundA[m], roundB[m])
+                }
+                finishEmreRound(bye)
+                rounds++
+                firstRound = false
+            }
+            return rounds
+        }
+
+        // Tur sonuçları, bye puanı ve Emre usulü yeniden sıralama (puan, eşit puanlılar arası maç, tur öncesi sıra)
+        private fun finishEmreRound(bye: Int) {
+            for (m in 0 until roundSize) score(roundA[m], roundB[m], roundResult[m])
+            if (bye >= 0) {
+                points[bye] += WIN
+                byeCounts[bye]++
+            }
+            headToHead.fill(0)
+            for (m in 0 until roundSize) {
+                val a = roundA[m]
+                val b = roundB[m]
+                if (points[a] != points[b]) continue
+                headToHead[a] += roundResult[m]
+                headToHead[b] += WIN - roundResult[m]
+            }
+            for (position in 0 until n) {
+                val slot = order[position]
+                keys[position] = ((POINTS_CEILING - points[slot]).toLong() shl 34) or
+                    ((WIN - headToHead[slot]).toLong() shl 32) or position.toLong()
+            }
+            order.copyInto(previousOrder)
+            keys.sort()
+            for (position in 0 until n) order[position] = previousOrder[keys[position].toInt()]
+        }
+
+        private fun collect(encoded: IntArray) {
+            var i = 0
+            while (i < encoded.size) {
+                val a = encoded[i]
+                val b = encoded[i + 1]
+                roundA[roundSize] = a
+                roundB[roundSize] = b
+                roundResult[roundSize] = if (encoded[i + 2] >= 0) encoded[i + 2] else draw(a, b)
+                roundSize++
+                i += 3
+            }
+        }
+
+        private fun playEncoded(encoded: IntArray) {
+            var i = 0
+            while (i < encoded.size) {
+                val a = encoded[i]
+                val b = encoded[i + 1]
+                score(a, b, if (encoded[i + 2] >= 0) encoded[i + 2] else draw(a, b))
+                i += 3
+            }
+        }
+
+        /**
+         * İsviçre: [order] üzerinden yukarıdan aşağı, her takım altındaki karşılaşmadığı ilk
+         * eşleşmemiş takımla; böyle rakip kalmadıysa altındaki ilk eşleşmemiş takımla (rövanş).
+         * Tek sayıda takımda en alttaki eşleşmemiş takım turu boş geçer.
+         */
+        private fun pairSwiss() {
+            paired.fill(false)
+            roundSize = 0
+            for (i in 0 until n) {
+                val a = order[i]
+                if (paired[a]) continue
+                var partner = -1
+                var fallback = -1
+                for (j in i + 1 until n) {
+                    val b = order[j]
+                    if (paired[b]) continue
+                    if (fallback < 0) fallback = b
+                    if (!hasMet(met, n, a, b)) {
+                        partner = b
+                        break
+                    }
+                }
+                if (partner < 0) partner = fallback
+                if (partner < 0) break
+                paired[a] = true
+                paired[partner] = true
+                roundA[roundSize] = a
+                roundB[roundSize] = partner
+                roundSize++
+            }
+        }
+
+        /**
+         * Emre: [EmrePairingSearch] ile rövanşsız, yukarıdan aşağı sözlük sırasında ilk tam
+         * eşleştirme ([bye] hariç). Böyle eşleştirme yoksa false.
+         */
+        private fun pairEmre(bye: Int): Boolean {
+            var size = 0
+            var maxMeetings = 0
+            for (position in 0 until n) {
+                val slot = order[position]
+                if (slot == bye) continue
+                candidates[size++] = slot
+                maxMeetings = maxOf(maxMeetings, meetings[slot])
+            }
+            val partner = EmrePairingSearch.pair(size, maxMeetings) { i, j ->
+                !hasMet(met, n, candidates[i], candidates[j])
+            } ?: return false
+            roundSize = 0
+            for (i in 0 until size) {
+                val j = partner[i]
+                if (j < i) continue
+                roundA[roundSize] = candidates[i]
+                roundB[roundSize] = candidates[j]
+                roundSize++
+            }
+            return true
+        }
+
+        // Bye adayları alttan yukarı, bye geçmemiş takımlar; hepsi geçtiyse en alttaki (EmreSystemCorrect ile aynı)
+        private fun pairEmreRound(): Int {
+            if (n % 2 == 0) return if (pairEmre(-1)) -1 else NO_PAIRING
+            var fresh = false
+            for (position in n - 1 downTo 0) {
+                val slot = order[position]
+                if (byeCounts[slot] != 0) continue
+                fresh = true
+                if (pairEmre(slot)) return slot
+            }
+            if (!fresh && pairEmre(order[n - 1])) return order[n - 1]
+            return NO_PAIRING
+        }
+
+        // Puana göre, eşitlikte liste sırası (sonuç hesaplarıyla aynı)
+        private fun sortByPoints() {
+            for (slot in 0 until n) keys[slot] = ((POINTS_CEILING - points[slot]).toLong() shl 32) or slot.toLong()
+            keys.sort()
+            for (position in 0 until n) order[position] = keys[position].toInt()
+        }
+
+        private fun score(a: Int, b: Int, result: Int) {
+            points[a] += result
+            points[b] += WIN - result
+        }
+
+        // a'nın yarım puanı: 2 galibiyet, 1 beraberlik, 0 yenilgi
+        private fun draw(a: Int, b: Int): Int {
+            val u = nextDouble()
+            if (u < plan.drawRate) return DRAW
+            val p = plan.strengths[a] / (plan.strengths[a] + plan.strengths[b])
+            return if ((u - plan.drawRate) / (1.0 - plan.drawRate) < p) WIN else 0
+        }
+
+        // SplitMix64
+        private fun nextDouble(): Double {
+            random += GOLDEN_GAMMA
+            return (mix(random) ushr 11) * DOUBLE_UNIT
+        }
+    }
+
+    private const val GOLDEN_GAMMA = -7046029254386353131L
+    private const val DOUBLE_UNIT = 1.0 / (1L shl 53)
+
+    private fun mix(value: Long): Long {
+        var z = value
+        z = (z xor (z ushr 30)) * -4658895280553007687L
+        z = (z xor (z ushr 27)) * -7723592293110705685L
+        return z xor (z ushr 31)
+    }
+
+    private fun halfPoints(points: Double): Int = Math.round(points * 2).toInt()
+
+    private fun drawRate(completedMatches: List<Match>): Double {
+        var decided = 0
+        var draws = 0
+        for (match in completedMatches) {
+            if (!match.isCompleted) continue
+            decided++
+            if (match.winnerId == null) draws++
+        }
+        return if (decided == 0) 0.0 else draws.toDouble() / decided
+    }
+
+    private fun encode(index: SongIndex, matches: List<Match>): IntArray {
+        val encoded = IntArray(matches.size * 3)
+        var size = 0
+        for (match in matches) {
+            val a = index.slotOf(match.songId1)
+            val b = index.slotOf(match.songId2)
+            if (a < 0 || b < 0 || a == b) continue
+            encoded[size] = a
+            encoded[size + 1] = b
+            encoded[size + 2] = if (!match.isCompleted) -1 else when (match.winnerId) {
+                match.songId1 -> WIN
+                match.songId2 -> 0
+                else -> DRAW
+            }
+            size += 3
+        }
+        return encoded.copyOf(size)
+    }
+
+    // Sanal fikstürün oynanmamış maçları, sıra numarası sırasıyla (a, b, -1) üçlüleri
+    private fun encodeUnplayed(schedule: LeagueSchedule, played: BitSet): IntArray {
+        var count = 0
+        var i = played.nextClearBit(0)
+        while (i < schedule.size) {
+            count++
+            i = played.nextClearBit(i + 1)
+        }
+        val encoded = IntArray(count * 3)
+        var size = 0
+        i = played.nextClearBit(0)
+        while (i < schedule.size) {
+            encoded[size] = schedule.slot1At(i)
+            encoded[size + 1] = schedule.slot2At(i)
+            encoded[size + 2] = -1
+            size += 3
+            i = played.nextClearBit(i + 1)
+        }
+        return encoded
+    }
+
+    private fun unplayedRounds(schedule: LeagueSchedule, played: BitSet): Int {
+        var rounds = 0
+        for (round in 1..schedule.roundCount) {
+            val first = (round - 1) * schedule.matchesPerRound
+            if (played.nextClearBit(first) < first + schedule.matchesPerRound) rounds++
+        }
+        return rounds
+    }
+
+    private inline fun metMatrix(index: SongIndex, hasMet: (Long, Long) -> Boolean): LongArray {
+        val n = index.size
+        val met = LongArray((n.toLong() * n / 64 + 1).toInt())
+        for (a in 0 until n) {
+            for (b in a + 1 until n) {
+                if (hasMet(index.idAt(a), index.idAt(b))) setMet(met, n, a, b)
+            }
+        }
+        return met
+    }
+
+    private fun setMet(met: LongArray, n: Int, a: Int, b: Int) {
+        val bit1 = a * n + b
+        val bit2 = b * n + a
+        met[bit1 ushr 6] = met[bit1 ushr 6] or (1L shl bit1)
+        met[bit2 ushr 6] = met[bit2 ushr 6] or (1L shl bit2)
+    }
+
+    private fun hasMet(met: LongArray, n: Int, a: Int, b: Int): Boolean {
+        val bit = a * n + b
+        return met[bit ushr 6] and (1L shl bit) != 0L
+    }
+}
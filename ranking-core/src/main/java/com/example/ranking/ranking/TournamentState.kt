@@ -0,0 +1,139 @@
+package com.example.ranking.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+
+/**
+ * Galibiyet / beraberlik / mağlubiyet puanları.
+ */
+data class Scoring(
+    val win: Double,
+    val draw: Double,
+    val loss: Double = 0.0
+) {
+    companion object {
+        val SWISS = Scoring(win = 1.0, draw = 0.5)   // İsviçre ve Emre usulü
+        val LEAGUE = Scoring(win = 2.0, draw = 1.0)  // Lig sonuç sıralaması
+        val GROUP = Scoring(win = 3.0, draw = 1.0)   // Eleme grup aşaması
+    }
+}
+
+/**
+ * Turnuva puan tablosu - yoğun slot indeksli primitive diziler.
+ *
+ * Her şarkının puanı, oynadığı maç, G/B/M ve attığı/yediği skor [SongIndex]
+ * slot numarasıyla indekslenen dizilerde tutulur. Maç başına güncelleme iki
+ * hash araması ve birkaç dizi yazımıdır; kutulanmış `Map<Long, Double>` kopyaları üretilmez.
+ */
+class TournamentState(
+    val index: SongIndex,
+    val scoring: Scoring
+) {
+    val size: Int get() = index.size
+
+    val points = DoubleArray(index.size)
+    val played = IntArray(index.size)
+    val wins = IntArray(index.size)
+    val draws = IntArray(index.size)
+    val losses = IntArray(index.size)
+    val goalsFor = IntArray(index.size)
+    val goalsAgainst = IntArray(index.size)
+
+    /**
+     * Tamamlanmış maçı tabloya işle. Tamamlanmamış maçlar yok sayılır.
+     */
+    fun record(match: Match): Boolean {
+        if (!match.isCompleted) return false
+        apply(match, 1)
+        return true
+    }
+
+    /**
+     * Daha önce [record] ile işlenmiş maçı tablodan geri al.
+     */
+    fun revert(match: Match): Boolean {
+        if (!match.isCompleted) return false
+        apply(match, -1)
+        return true
+    }
+    
+    fun recordAll(matches: List<Match>): TournamentState {
+        for (i in matches.indices) record(matches[i])
+        return this
+    }
+
+    private fun apply(match: Match, sign: Int) {
+        val slot1 = index.slotOf(match.songId1)
+        val slot2 = index.slotOf(match.songId2)
+        val score1 = match.score1 ?: 0
+        val score2 = match.score2 ?: 0
+
+        when (match.winnerId) {
+            match.songId1 -> {
+                credit(slot1, sign, scoring.win, win = 1, draw = 0, loss = 0)
+                credit(slot2, sign, scoring.loss, win = 0, draw = 0, loss = 1)
+            }
+            match.songId2 -> {
+                credit(slot1, sign, scoring.loss, win = 0, draw = 0, loss = 1)
+                credit(slot2, sign, scoring.win, win = 1, draw = 0, loss = 0)
+            }
+            null -> {
+                credit(slot1, sign, scoring.draw, win = 0, draw = 1, loss = 0)
+                credit(slot2, sign, scoring.draw, win = 0, draw = 1, loss = 0)
+            }
+            else -> return // Kazanan bu maçın tarafı değil - eski hesaplamayla aynı şekilde atla
+        }
+
+        if (slot1 >= 0) {
+            goalsFor[slot1] += sign * score1
+            goalsAgainst[slot1] += sign * score2
+        }
+        if (slot2 >= 0) {
+            goalsFor[slot2] += sign * score2
+            goalsAgainst[slot2] += sign * score1
+        }
+    }
+
+    private fun credit(slot: Int, sign: Int, earned: Double, win: Int, draw: Int, loss: Int) {
+        if (slot < 0) return
+        points[slot] += sign * earned
+        played[slot] += sign
+        wins[slot] += sign * win
+        draws[slot] += sign * draw
+        losses[slot] += sign * loss
+    }
+
+    /**
+     * Bağımsız kopya; varsayımsal sonuçlar canlı tabloya dokunmadan kopyaya işlenir.
+     */
+    fun copy(): TournamentState {
+        val copy = TournamentState(index, scoring)
+        points.copyInto(copy.points)
+        played.copyInto(copy.played)
+        wins.copyInto(copy.wins)
+        draws.copyInto(copy.draws)
+        losses.copyInto(copy.losses)
+        goalsFor.copyInto(copy.goalsFor)
+        goalsAgainst.copyInto(copy.goalsAgainst)
+        return copy
+    }
+
+    fun pointsOf(songId: Long): Double {
+        val slot = index.slotOf(songId)
+        return if (slot >= 0) points[slot] else 0.0
+    }
+
+    /**
+     * Eski API'ler (SwissStandings, serializer'lar) için `songId -> puan` görünümü.
+     */
+    fun toPointsMap(): Map<Long, Double> {
+        val map = LinkedHashMap<Long, Double>(size * 2)
+        for (slot in 0 until size) map[index.idAt(slot)] = points[slot]
+        return map
+    }
+
+    companion object {
+        fun of(songs: List<Song>, scoring: Scoring, matches: List<Match> = emptyList()): TournamentState =
+            TournamentState(SongIndex.of(songs), scoring).recordAll(matches)
+    }
+}
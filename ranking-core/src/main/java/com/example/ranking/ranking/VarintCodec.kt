@@ -0,0 +1,111 @@
+package com.example.ranking.ranking
+
+/**
+ * Motor durumlarının ikili biçimleri için ortak yazıcı: tamsayılar varint (7 bit/bayt),
+ * işaretli farklar zigzag varint, double'lar ham 8 bayt (büyük uçlu).
+ *
+ * [PairingHistory], [SwissFixtureCodec], [EmreStateCodec] ve sıralama durumları
+ * ([MergeSortRanking], [TopKSelection], [AdaptiveRanking]) aynı kodlamayı kullanır.
+ */
+internal class VarintWriter(initialCapacity: Int = 16) {
+    private var buffer = ByteArray(initialCapacity.coerceAtLeast(16))
+    private var size = 0
+
+    fun varint(value: Long) {
+        ensure(MAX_VARINT_BYTES)
+        var v = value
+        while (v and 0x7FL.inv() != 0L) {
+            buffer[size++] = ((v and 0x7F) or 0x80).toByte()
+            v = v ushr 7
+        }
+        buffer[size++] = v.toByte()
+    }
+
+    fun zigzag(value: Long) = varint((value shl 1) xor (value shr 63))
+
+    fun boolean(value: Boolean) = varint(if (value) 1 else 0)
+
+    fun rawLong(value: Long) {
+        ensure(8)
+        for (shift in 56 downTo 0 step 8) buffer[size++] = (value ushr shift).toByte()
+    }
+
+    fun double(value: Double) = rawLong(value.toRawBits())
+
+    /**
+     * Uzunluk yazmadan ham baytlar; uzunluk gerekiyorsa önce [varint] ile yazılır.
+     */
+    fun bytes(value: ByteArray) {
+        ensure(value.size)
+        System.arraycopy(value, 0, buffer, size, value.size)
+        size += value.size
+    }
+
+    fun string(value: String) {
+        val bytes = value.toByteArray(Charsets.UTF_8)
+        varint(bytes.size.toLong())
+        bytes(bytes)
+    }
+
+    private fun ensure(extra: Int) {
+        if (size + extra > buffer.size) {
+            buffer = buffer.copyOf(maxOf(buffer.size * 2, size + extra))
+        }
+    }
+
+    fun toByteArray(): ByteArray = buffer.copyOf(size)
+
+    companion object {
+        const val MAX_VARINT_BYTES = 10
+    }
+}
+
+/**
+ * [VarintWriter] çıktısının sınır denetimli okuyucusu. Eksik veri, 64 biti aşan varint
+ * ya da artık bayt [IllegalArgumentException] fırlatır; mesajlar [what] ile biçimi adlandırır
+ * ("Truncated Emre state").
+ */
+internal class VarintReader(private val bytes: ByteArray, private val what: String) {
+    private var position = 0
+
+    fun varint(): Long {
+        var result = 0L
+        var shift = 0
+        while (true) {
+            require(position < bytes.size) { "Truncated $what" }
+            val b = bytes[position++].toInt()
+            // 10. bayt yalnızca 64. biti taşıyabilir
+            require(shift < 63 || b and 0x7E == 0 && b and 0x80 == 0) { "Malformed varint in $what" }
+            result = result or ((b and 0x7F).toLong() shl shift)
+            if (b and 0x80 == 0) return result
+            shift += 7
+        }
+    }
+
+    fun zigzag(): Long {
+        val z = varint()
+        return (z ushr 1) xor -(z and 1)
+    }
+
+    fun boolean(): Boolean = varint() != 0L
+
+    fun rawLong(): Long {
+        require(position + 8 <= bytes.size) { "Truncated $what" }
+        var result = 0L
+        repeat(8) { result = (result shl 8) or (bytes[position++].toLong() and 0xFF) }
+        return result
+    }
+
+    fun double(): Double = Double.fromBits(rawLong())
+
+    fun bytes(length: Int): ByteArray {
+        require(length >= 0 && length <= bytes.size - position) { "Truncated $what" }
+        return bytes.copyOfRange(position, position + length).also { position += length }
+    }
+
+    fun string(): String = String(bytes(varint().toInt()), Charsets.UTF_8)
+
+    fun requireEnd() {
+        require(position == bytes.size) { "Trailing bytes in $what" }
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.AdaptiveRanking
+import com.example.ranking.ranking.RankingEngine
+import org.junit.Test
+import org.junit.experimental.categories.Category
+import org.junit.Assert.*
+import kotlin.math.exp
+import kotlin.random.Random
+
+/**
+ * Uyarlanır (Bradley–Terry) sıralama: oy sayısı, doğruluk ve durum kodlaması testleri
+ */
+class AdaptiveRankingTest {
+
+    private fun songs(count: Int) = (1..count).map { Song(id = it.toLong(), name = "Song $it", listId = 1L) }
+
+    // Gerçek sıra: ID küçük olan daha iyi; [spread] iki uç arasındaki güç farkı
+    private fun vote(ranking: AdaptiveRanking, random: Random, spread: Double, n: Int): Boolean {
+        val (a, b) = ranking.currentPair() ?: return false
+        val p = 1.0 / (1.0 + exp(spread * (a - b) / n))
+        assertTrue(ranking.answer(if (random.nextDouble() < p) a else b))
+        return true
+    }
+
+    // Doğru sıralanmış ikili oranı
+    private fun accuracy(order: List<Long>): Double {
+        var correct = 0L
+        for (i in order.indices) for (j in i + 1 until order.size) if (order[i] < order[j]) correct++
+        return correct.toDouble() / (order.size.toLong() * (order.size - 1) / 2)
+    }
+
+    private fun playAdaptive(list: List<Song>, spread: Double, random: Random): AdaptiveRanking {
+        val ranking = AdaptiveRanking.start(list)
+        while (vote(ranking, random, spread, list.size)) {
+            assertTrue(ranking.comparisons <= ranking.maxComparisons)
+        }
+        return ranking
+    }
+
+    // İsviçre, aynı seçmenle: motorun ilk turu tohumsuz karıştırdığından ilk tur burada
+    // tohumlu eşleştirilir, sonraki turlar motorun (deterministik) eşleştirmesidir
+    private fun playSwiss(list: List<Song>, spread: Double, random: Random): List<Match> {
+        val n = list.size
+        val played = ArrayList<Match>()
+        fun play(match: Match) {
+            val p = 1.0 / (1.0 + exp(spread * (match.songId1 - match.songId2) / n))
+            val winner = if (random.nextDouble() < p) match.songId1 else match.songId2
+            played.add(match.copy(id = played.size + 1L, winnerId = winner, isCompleted = true))
+        }
+        val seeded = list.shuffled(random)
+        for (i in 0 until n / 2) {
+            play(Match(listId = 1L, rankingMethod = "SWISS", songId1 = seeded[i].id, songId2 = seeded[i + n / 2].id, winnerId = null, round = 1))
+        }
+        repeat(RankingEngine.getSwissRoundCount(n) - 1) {
+            val standings = RankingEngine.createSwissStandingsFromMatches(list, played)
+            RankingEngine.createSwissMatchesWithState(list, standings).forEach(::play)
+        }
+        return played
+    }
+
+    private fun swissAccuracy(list: List<Song>, played: List<Match>): Double =
+        accuracy(RankingEngine.calculateSwissResults(list, played).sortedBy { it.position }.map { it.songId })
+
+    @Test
+    fun testReachesConfidenceInFewerVotesThanSwiss() {
+        // Tohumlu küçük karşılaştırma: iki yöntem de deterministik, değerler sabitlenir
+        val n = 150
+        val list = songs(n).shuffled(Random(1))
+        val expected = listOf(
+            Triple(8.0, 0.8498, 0.7912),
+            Triple(1000.0, 0.9286, 0.8338)
+        )
+        for ((spread, adaptiveExpected, swissExpected) in expected) {
+            val ranking = playAdaptive(list, spread, Random(7))
+            val swiss = playSwiss(list, spread, Random(7))
+
+            assertTrue(ranking.isComplete)
+            assertTrue(ranking.expectedAccuracy >= AdaptiveRanking.DEFAULT_CONFIDENCE)
+            assertTrue("spread=$spread: ${ranking.comparisons} oy", ranking.comparisons < swiss.size)
+            assertEquals("spread=$spread uyarlanır", adaptiveExpected, accuracy(ranking.order()), 1e-4)
+            assertEquals("spread=$spread İsviçre", swissExpected, swissAccuracy(list, swiss), 1e-4)
+        }
+    }
+
+    @Test
+    fun testStateRoundTripResumesAtEveryVote() {
+        val list = songs(40).shuffled(Random(3))
+        var ranking = AdaptiveRanking.start(list, confidence = 0.95)
+        val random = Random(5)
+        while (!ranking.isComplete) {
+            val restored = AdaptiveRanking.fromBytes(ranking.toBytes(), list)
+            assertEquals(ranking.currentPair(), restored.currentPair())
+            assertEquals(ranking.order(), restored.order())
+            assertEquals(ranking.remainingUpperBound(), restored.remainingUpperBound())
+            ranking = restored
+            vote(ranking, random, 100.0, list.size)
+        }
+        assertEquals(ranking.order(), AdaptiveRanking.fromBytes(ranking.toBytes(), list).order())
+
+        assertThrows(IllegalArgumentException::class.java) {
+            AdaptiveRanking.fromBytes(AdaptiveRanking.start(list).toBytes(), list.drop(1))
+        }
+    }
+
+    @Test
+    fun testNeverRepeatsPairAndStopsAtLimit() {
+        val list = songs(12)
+        val ranking = AdaptiveRanking.start(list, confidence = 1.0, maxComparisons = 30)
+        val asked = HashSet<Pair<Long, Long>>()
+        while (true) {
+            val (a, b) = ranking.currentPair() ?: break
+            assertTrue(asked.add(minOf(a, b) to maxOf(a, b)))
+            assertFalse(ranking.answer(99L))
+            assertTrue(ranking.answer(minOf(a, b)))
+        }
+        assertEquals(30, ranking.comparisons)
+        assertEquals(0, ranking.remainingUpperBound())
+
+        val results = RankingEngine.calculateAdaptiveResults(list, ranking)
+        assertEquals((1..12).toList(), results.map { it.position })
+        assertEquals(results.sortedByDescending { it.score }, results)
+        assertEquals(1L, results.first().songId)
+    }
+
+    /**
+     * 1000 şarkılık simülasyon (~1 dk, `./gradlew :ranking-core:simulationTest`): uyarlanır
+     * yöntem ile sabit tur tablolu İsviçre aynı seçmen modeliyle, tohumlu oynanır.
+     * Doğru sıralanmış ikili oranı:
+     *
+     * | spread | uyarlanır      | İsviçre (8 tur) |
+     * |--------|----------------|-----------------|
+     * | 4      | 3100 oy, %76,7 | 3992 oy, %78,1  |
+     * | 8      | 3100 oy, %84,9 | 3992 oy, %83,4  |
+     * | 1000   | 3000 oy, %92,1 | 3992 oy, %87,5  |
+     *
+     * Çok gürültülü seçmende (spread 4) uyarlanır yöntem daha az oyla biraz geride kalır.
+     */
+    @Test
+    @Category(SimulationTest::class)
+    fun testThousandSongSimulationAgainstSwiss() {
+        val n = 1000
+        val list = songs(n).shuffled(Random(1))
+        // spread -> uyarlanır doğruluğu, İsviçre doğruluğu
+        val expected = listOf(
+            Triple(4.0, 0.7671, 0.7809),
+            Triple(8.0, 0.8494, 0.8337),
+            Triple(1000.0, 0.9209, 0.8750)
+        )
+        for ((spread, adaptiveExpected, swissExpected) in expected) {
+            val ranking = playAdaptive(list, spread, Random(7))
+            val swiss = playSwiss(list, spread, Random(7))
+
+            assertTrue("spread=$spread: ${ranking.comparisons} oy", ranking.comparisons < swiss.size)
+            assertEquals("spread=$spread uyarlanır", adaptiveExpected, accuracy(ranking.order()), 1e-4)
+            assertEquals("spread=$spread İsviçre", swissExpected, swissAccuracy(list, swiss), 1e-4)
+        }
+    }
+}
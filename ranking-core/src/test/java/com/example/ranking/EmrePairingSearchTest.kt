@@ -0,0 +1,104 @@
+package com.example.ranking
+
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.EmrePairingSearch
+import com.example.ranking.ranking.EmreSystemCorrect
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.random.Random
+
+/**
+ * Emre eşleştirme arama çekirdeği testleri
+ */
+class EmrePairingSearchTest {
+
+    // Yukarıdan aşağı ilk rövanşsız tam eşleştirme, düz geri izleme ile (karşılaştırma için)
+    private fun bruteForce(size: Int, canPair: (Int, Int) -> Boolean): IntArray? {
+        val partner = IntArray(size) { -1 }
+        fun solve(): Boolean {
+            val i = partner.indexOfFirst { it == -1 }
+            if (i == -1) return true
+            for (j in i + 1 until size) {
+                if (partner[j] != -1 || !canPair(i, j)) continue
+                partner[i] = j
+                partner[j] = i
+                if (solve()) return true
+                partner[i] = -1
+                partner[j] = -1
+            }
+            return false
+        }
+        return if (solve()) partner else null
+    }
+
+    @Test
+    fun testMatchesLexicographicallyFirstPairing() {
+        val random = Random(7)
+        repeat(500) { iteration ->
+            val size = 2 * random.nextInt(1, 7)
+            val played = Array(size) { BooleanArray(size) }
+            for (i in 0 until size) for (j in i + 1 until size) {
+                if (random.nextDouble() < 0.45) {
+                    played[i][j] = true
+                    played[j][i] = true
+                }
+            }
+            val maxMeetings = played.maxOf { row -> row.count { it } }
+            val canPair = { i: Int, j: Int -> !played[i][j] }
+
+            val expected = bruteForce(size, canPair)
+            val actual = EmrePairingSearch.pair(size, maxMeetings, canPair)
+
+            assertEquals("iteration=$iteration", expected?.toList(), actual?.toList())
+        }
+    }
+
+    @Test
+    fun testSmallTournamentEndsWithoutRematches() {
+        val songs = (1..12L).map { Song(it, "Team$it", "", "", it.toInt(), 1L) }
+        var state = EmreSystemCorrect.initializeEmreTournament(songs)
+        val seen = mutableSetOf<Set<Long>>()
+        var rounds = 0
+
+        // Puanlar hep aynı kalsın diye beraberlik: durma koşulu tetiklenmez, yalnızca rövanş yasağı sınırlar
+        while (rounds < songs.size) {
+            val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+            if (!pairing.canContinue) break
+            rounds++
+            assertEquals(6, pairing.matches.size)
+            pairing.matches.forEach { assertTrue("Rövanş: $it", seen.add(setOf(it.songId1, it.songId2))) }
+            val completed = pairing.matches.map { it.copy(winnerId = null, isCompleted = true) }
+            state = EmreSystemCorrect.processRoundResults(state, completed, pairing.byeTeam)
+        }
+        assertTrue("12 takım en fazla 11 tur rövanşsız oynar: $rounds", rounds in 2..11)
+    }
+
+    @Test
+    fun testTenThousandTeamsPairWithoutRematches() {
+        // Süre ölçümü EmreBenchmark.createNextRoundWithConfirmation içinde
+        val songs = (1..10_000L).map { Song(it, "Song$it", "", "", it.toInt(), 1L) }
+        val random = Random(11)
+        var state = EmreSystemCorrect.initializeEmreTournament(songs)
+        val seen = HashSet<Long>()
+
+        repeat(8) {
+            val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+
+            assertTrue(pairing.canContinue)
+            assertEquals(5_000, pairing.matches.size)
+            pairing.matches.forEach { match ->
+                val key = minOf(match.songId1, match.songId2) shl 32 or maxOf(match.songId1, match.songId2)
+                assertTrue("Rövanş: $match", seen.add(key))
+            }
+            val completed = pairing.matches.map { match ->
+                val winner = when (random.nextInt(3)) {
+                    0 -> match.songId1
+                    1 -> match.songId2
+                    else -> null
+                }
+                match.copy(winnerId = winner, isCompleted = true)
+            }
+            state = EmreSystemCorrect.processRoundResults(state, completed, pairing.byeTeam)
+        }
+    }
+}
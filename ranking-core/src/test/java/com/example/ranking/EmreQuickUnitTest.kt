@@ -30,7 +30,7 @@ class EmreQuickUnitTest {
         assertEquals("İlk tur 1 olmalı", 1, state.currentRound)
         
         // Test 2: İlk tur eşleştirmeler
-        val round1 = EmreSystemCorrect.createNextRound(state)
+        val round1 = EmreSystemCorrect.createNextRoundWithConfirmation(state)
         assertEquals("İlk turda 3 maç olmalı", 3, round1.matches.size)
         assertTrue("İlk turda aynı puanlı eşleşme olmalı", round1.hasSamePointMatch)
         assertTrue("Turnuva devam edebilmeli", round1.canContinue)
@@ -73,7 +73,7 @@ class EmreQuickUnitTest {
         assertEquals("Team6 puanı 0 olmalı", 0.0, team6Points!!, 0.01)
         
         // Test 6: İkinci tur
-        val round2 = EmreSystemCorrect.createNextRound(state)
+        val round2 = EmreSystemCorrect.createNextRoundWithConfirmation(state)
         assertTrue("İkinci turda eşleşme olmalı", round2.matches.isNotEmpty())
         
         // Test 7: Final sonuçlar
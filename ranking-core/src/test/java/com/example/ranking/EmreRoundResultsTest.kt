@@ -0,0 +1,64 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.EmreSystemCorrect
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Emre tur sonucu işleme: puan, bye ve eşit puan sıralaması testleri
+ */
+class EmreRoundResultsTest {
+
+    private val songs = (1..5L).map { Song(it * 10, "Team$it", "", "", it.toInt(), 1L) }
+
+    private fun match(a: Long, b: Long, winnerId: Long?) = Match(
+        listId = 1L, rankingMethod = "EMRE_CORRECT", songId1 = a, songId2 = b,
+        winnerId = winnerId, round = 1, isCompleted = true
+    )
+
+    @Test
+    fun testPointsByeAndOrdering() {
+        val state = EmreSystemCorrect.initializeEmreTournament(songs)
+        val bye = state.teams.last()
+
+        val next = EmreSystemCorrect.processRoundResults(
+            state,
+            listOf(match(10, 20, 20), match(30, 40, null)),
+            bye
+        )
+
+        // 20 ve bye geçen 50: 1 puan; 30 ve 40: 0.5; 10: 0
+        assertEquals(listOf(20L, 50L, 30L, 40L, 10L), next.teams.map { it.id })
+        assertEquals(listOf(1.0, 1.0, 0.5, 0.5, 0.0), next.teams.map { it.points })
+        assertEquals((1..5).toList(), next.teams.map { it.currentPosition })
+        assertEquals(1, next.teams.single { it.id == 50L }.byeCount)
+        assertTrue(next.teams.single { it.id == 50L }.byePassed)
+        assertEquals(2, next.matchHistory.size)
+        assertTrue(next.matchHistory.hasMetIds(1L, 2L)) // Takım ID'leri: 10 → 1, 20 → 2
+        assertEquals(2, next.currentRound)
+    }
+
+    @Test
+    fun testHeadToHeadBreaksTiesBeforePreRoundPosition() {
+        val state = EmreSystemCorrect.initializeEmreTournament(songs.take(4)).let { initial ->
+            // 10 bir puan önde başlasın
+            initial.copy(teams = initial.teams.map { if (it.id == 10L) it.copy(points = 1.0) else it })
+        }
+
+        // 20, 10'u yenip puanını yakalar: kendi maçlarını kazandığı için tur öncesi sırası geride olsa da üstte
+        val next = EmreSystemCorrect.processRoundResults(
+            state,
+            listOf(match(10, 20, 20), match(30, 40, null))
+        )
+        assertEquals(listOf(20L, 10L, 30L, 40L), next.teams.map { it.id })
+
+        // Taraf olmayan kazanan: iki taraf da puan almaz, eşitlik tur öncesi sırayla çözülür
+        val untouched = EmreSystemCorrect.processRoundResults(
+            state,
+            listOf(match(30, 40, 10))
+        )
+        assertEquals(listOf(10L, 20L, 30L, 40L), untouched.teams.map { it.id })
+    }
+}
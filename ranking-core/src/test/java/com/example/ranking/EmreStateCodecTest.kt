@@ -0,0 +1,65 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.EmreStateCodec
+import com.example.ranking.ranking.EmreSystemCorrect
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Emre durum anlık görüntüsü kodlama testleri
+ */
+class EmreStateCodecTest {
+
+    private val songs = (1..7L).map { Song(it * 13, "Team$it", "", "", it.toInt(), 2L) }
+
+    private fun playRound(state: EmreSystemCorrect.EmreState): EmreSystemCorrect.EmreState {
+        val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+        val completed = pairing.matches.mapIndexed { i, match ->
+            match.copy(winnerId = if (i % 3 == 2) null else match.songId1, isCompleted = true)
+        }
+        return EmreSystemCorrect.processRoundResults(state, completed, pairing.byeTeam)
+    }
+
+    @Test
+    fun testRoundTripAfterSeveralRounds() {
+        var state = EmreSystemCorrect.initializeEmreTournament(songs)
+        repeat(3) { state = playRound(state) }
+
+        val decoded = EmreStateCodec.decode(EmreStateCodec.encode(state), songs.shuffled())
+
+        assertEquals(state.teams, decoded.teams)
+        assertEquals(state.currentRound, decoded.currentRound)
+        assertEquals(state.isComplete, decoded.isComplete)
+        assertEquals(state.matchHistory.size, decoded.matchHistory.size)
+        for (a in 1L..7L) for (b in 1L..7L) {
+            assertEquals(state.matchHistory.hasMetIds(a, b), decoded.matchHistory.hasMetIds(a, b))
+        }
+
+        // Çözülen durumdan devam etmek aynı eşleştirmeyi üretir
+        val normalize = { m: Match -> m.copy(createdAt = 0L) }
+        assertEquals(
+            EmreSystemCorrect.createNextRoundWithConfirmation(state).matches.map(normalize),
+            EmreSystemCorrect.createNextRoundWithConfirmation(decoded).matches.map(normalize)
+        )
+    }
+
+    @Test
+    fun testUnusualPointsAndMissingSongs() {
+        val initial = EmreSystemCorrect.initializeEmreTournament(songs)
+        val state = initial.copy(
+            teams = initial.teams.mapIndexed { i, team -> team.copy(points = if (i == 0) 1.0 / 3 else -1.5) },
+            isComplete = true
+        )
+        val decoded = EmreStateCodec.decode(EmreStateCodec.encode(state), songs)
+        assertEquals(state.teams.map { it.points }, decoded.teams.map { it.points })
+        assertTrue(decoded.isComplete)
+
+        try {
+            EmreStateCodec.decode(EmreStateCodec.encode(state), songs.drop(1))
+            fail("Eksik şarkı kabul edilmemeli")
+        } catch (expected: IllegalArgumentException) {
+        }
+    }
+}
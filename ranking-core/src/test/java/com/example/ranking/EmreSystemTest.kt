@@ -102,8 +102,8 @@ class EmreSystemTest {
         
         // Sonuçları simüle et: Team1 beats Team2, Team3 beats Team4
         val simulatedMatches = listOf(
-            pairingResult.matches[0].copy(winnerId = pairingResult.matches[0].songId1), // İlk takım kazanır
-            pairingResult.matches[1].copy(winnerId = pairingResult.matches[1].songId1)  // İlk takım kazanır
+            pairingResult.matches[0].copy(winnerId = pairingResult.matches[0].songId1, isCompleted = true), // İlk takım kazanır
+            pairingResult.matches[1].copy(winnerId = pairingResult.matches[1].songId1, isCompleted = true)  // İlk takım kazanır
         )
         
         // Sonuçları işle
@@ -127,7 +127,7 @@ class EmreSystemTest {
         assertEquals(1, pairingResult.matches.size)
         
         // Beraberlik simüle et
-        val drawMatch = pairingResult.matches[0].copy(winnerId = null)
+        val drawMatch = pairingResult.matches[0].copy(winnerId = null, isCompleted = true)
         state = EmreSystem.processRoundResults(state, listOf(drawMatch))
         
         // Her iki takım da 0.5 puan almalı
@@ -0,0 +1,60 @@
+package com.example.ranking
+
+import com.example.ranking.ranking.EngineCompute
+import com.example.ranking.ranking.EngineProgress
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+import org.junit.Assert.*
+import java.util.concurrent.CopyOnWriteArrayList
+
+/**
+ * Hesaplama dispatcher'ı: iptal ve ilerleme testleri
+ */
+class EngineComputeTest {
+
+    @Test
+    fun testRunsOffCallerThreadAndReportsProgress() = runBlocking {
+        val callerThread = Thread.currentThread()
+        val progress = CopyOnWriteArrayList<EngineProgress>()
+
+        val workerThread = EngineCompute.run(onProgress = { progress.add(it) }) {
+            EngineCompute.checkpoint("test", 0, 10)
+            Thread.currentThread()
+        }
+
+        assertNotSame(callerThread, workerThread)
+        assertEquals(EngineProgress("test", 0, 10), progress.single())
+    }
+
+    @Test
+    fun testCancellationStopsEngineAtNextCheckpoint() = runBlocking {
+        val started = CompletableDeferred<Unit>()
+        var iterations = 0
+
+        val computation = async {
+            EngineCompute.run {
+                while (true) {
+                    EngineCompute.checkpoint("sonsuz", iterations++, 0)
+                    if (!started.isCompleted) started.complete(Unit)
+                }
+            }
+        }
+        started.await()
+        computation.cancel()
+
+        try {
+            computation.await()
+            fail("Hesaplama iptal edilmeliydi")
+        } catch (e: CancellationException) {
+            assertTrue(computation.isCancelled)
+        }
+    }
+
+    @Test
+    fun testCheckpointIsNoOpOutsideRun() {
+        EngineCompute.checkpoint("test", 1, 2) // İstisna fırlatmamalı
+    }
+}
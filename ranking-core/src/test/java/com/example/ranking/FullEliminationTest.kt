@@ -57,8 +57,11 @@ class FullEliminationTest {
         assertNotNull(matches)
         assertTrue("64 takım için maçlar oluşturulmalı", matches.size > 0)
         
-        // 64 takım: 32 maç (ilk tur)
-        assertEquals("64 takım için 32 maç olmalı", 32, matches.size)
+        // 64 takım: ilk turda 32 maç, her takım bir kez; sonraki turlar aynı ağacın iskeleti
+        val firstRound = matches.filter { it.round == 1 }
+        assertEquals("64 takım için ilk turda 32 maç olmalı", 32, firstRound.size)
+        assertEquals(64, firstRound.flatMap { listOf(it.songId1, it.songId2) }.toSet().size)
+        assertTrue(matches.all { it.round in 1..6 })
         
         println("✅ 64 takım testi başarılı!")
         println("Toplam maç sayısı: ${matches.size}")
@@ -0,0 +1,136 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.IncrementalStandings
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.Scoring
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.random.Random
+
+/**
+ * Canlı puan tablosu testleri
+ */
+class IncrementalStandingsTest {
+    
+    private fun createTestSongs(count: Int): List<Song> {
+        return (1..count).map { i ->
+            Song(
+                id = i.toLong(),
+                name = "Song$i",
+                artist = "Artist$i",
+                album = "Album$i",
+                trackNumber = i,
+                listId = 1L
+            )
+        }
+    }
+    
+    private fun randomMatches(songs: List<Song>, count: Int, random: Random): List<Match> {
+        return (1..count).map { id ->
+            val a = random.nextInt(songs.size)
+            var b = random.nextInt(songs.size - 1)
+            if (b >= a) b++
+            val outcome = random.nextInt(3)
+            Match(
+                id = id.toLong(),
+                listId = 1L,
+                rankingMethod = "SWISS",
+                songId1 = songs[a].id,
+                songId2 = songs[b].id,
+                winnerId = when (outcome) { 0 -> songs[a].id; 1 -> songs[b].id; else -> null },
+                round = 1 + id / 10,
+                isCompleted = true
+            )
+        }
+    }
+    
+    @Test
+    fun testIncrementalMatchesFullRecompute() {
+        val songs = createTestSongs(20)
+        val matches = randomMatches(songs, 60, Random(5))
+        
+        val live = IncrementalStandings(songs, Scoring.SWISS)
+        matches.forEach { live.onMatchCompleted(it) }
+        
+        val cold = IncrementalStandings(songs, Scoring.SWISS)
+        cold.reset(matches)
+        
+        assertEquals(cold.snapshot(), live.snapshot())
+        assertEquals(RankingEngine.createSwissStandingsFromMatches(songs, matches).standings, live.pointsMap())
+    }
+    
+    @Test
+    fun testRevertAndRevote() {
+        val songs = createTestSongs(4)
+        val match = Match(id = 1L, listId = 1L, rankingMethod = "SWISS", songId1 = 1L, songId2 = 2L, winnerId = 1L, isCompleted = true)
+        val live = IncrementalStandings(songs, Scoring.SWISS)
+        
+        live.onMatchCompleted(match)
+        live.onMatchCompleted(match.copy(winnerId = null)) // Aynı maç yeniden oylandı
+        assertEquals(0.5, live.pointsMap()[1L]!!, 0.0)
+        assertEquals(0.5, live.pointsMap()[2L]!!, 0.0)
+        assertEquals(1, live.snapshot().first { it.songId == 1L }.played)
+        
+        live.onMatchReverted(match)
+        assertEquals(0.0, live.pointsMap()[1L]!!, 0.0)
+        assertEquals(0, live.snapshot().first { it.songId == 1L }.played)
+        assertFalse(live.toSwissStandings().pairingHistory.hasMetIds(1L, 2L))
+        assertTrue(live.completedInRound(1).isEmpty())
+    }
+    
+    @Test
+    fun testTablePublishesLatestState() = runBlocking {
+        val songs = createTestSongs(4)
+        val live = IncrementalStandings(songs, Scoring.SWISS)
+        live.onMatchCompleted(
+            Match(id = 1L, listId = 1L, rankingMethod = "SWISS", songId1 = 3L, songId2 = 4L, winnerId = 4L, isCompleted = true)
+        )
+        
+        val table = live.table.first()
+        assertEquals(4L, table.first().songId)
+        assertEquals(1, table.first().position)
+        assertEquals(1.0, table.first().points, 0.0)
+    }
+    
+    @Test
+    fun testHypotheticalStandingsLeaveLiveTableUntouched() {
+        val songs = createTestSongs(12)
+        val matches = randomMatches(songs, 30, Random(9))
+        val live = IncrementalStandings(songs, Scoring.SWISS)
+        live.reset(matches.dropLast(1))
+        val before = live.toSwissStandings()
+        
+        val hypothetical = live.toSwissStandingsWith(matches.last())
+        
+        val expected = IncrementalStandings(songs, Scoring.SWISS).apply { reset(matches) }.toSwissStandings()
+        assertEquals(expected.standings, hypothetical.standings)
+        assertEquals(expected.pairingHistory.size, hypothetical.pairingHistory.size)
+        assertEquals(before.standings, live.pointsMap())
+        assertEquals(before.pairingHistory.size, live.toSwissStandings().pairingHistory.size)
+    }
+    
+    @Test
+    fun testCopyServesEveryOutcomeWithoutLiveTable() {
+        val songs = createTestSongs(12)
+        val matches = randomMatches(songs, 30, Random(4))
+        val live = IncrementalStandings(songs, Scoring.SWISS)
+        live.reset(matches.dropLast(1))
+        val base = live.copy()
+        
+        // Kopya alındıktan sonraki canlı oy kopyayı etkilemez
+        live.onMatchCompleted(matches.last())
+        val last = matches.last()
+        for (winner in listOf(last.songId1, last.songId2, null)) {
+            val outcome = last.copy(winnerId = winner)
+            val expected = IncrementalStandings(songs, Scoring.SWISS).apply { reset(matches.dropLast(1) + outcome) }
+            val hypothetical = base.toSwissStandingsWith(outcome)
+            assertEquals(expected.pointsMap(), hypothetical.standings)
+            assertEquals(expected.toSwissStandings().roundHistory, hypothetical.roundHistory)
+        }
+        assertEquals(IncrementalStandings(songs, Scoring.SWISS).apply { reset(matches.dropLast(1)) }.pointsMap(), base.toSwissStandings().standings)
+    }
+}
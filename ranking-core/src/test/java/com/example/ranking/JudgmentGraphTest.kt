@@ -0,0 +1,78 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.JudgmentGraph
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Geçişli çıkarım grafiği: artımlı kapanış, çelişki tespiti ve tasarruf testleri
+ */
+class JudgmentGraphTest {
+
+    private fun songs(count: Int) = (1..count).map { Song(id = it.toLong(), name = "Song $it", artist = "", album = "", trackNumber = it, listId = 1L) }
+
+    private fun match(songId1: Long, songId2: Long) =
+        Match(listId = 1L, rankingMethod = "ELIMINATION", songId1 = songId1, songId2 = songId2, winnerId = null)
+
+    @Test
+    fun testClosureIsKeptCurrentAcrossJoinedChains() {
+        val graph = JudgmentGraph.of(songs(6))
+        // İki ayrı zincir: 1 > 2 > 3 ve 4 > 5 > 6
+        assertTrue(graph.record(1L, 2L))
+        assertTrue(graph.record(2L, 3L))
+        assertTrue(graph.record(4L, 5L))
+        assertTrue(graph.record(5L, 6L))
+        assertNull(graph.impliedWinner(1L, 4L))
+
+        // 3 > 4 zincirleri birleştirir: 1, 2, 3 artık 4, 5, 6'yı yener
+        assertTrue(graph.record(3L, 4L))
+        assertEquals(1L, graph.impliedWinner(6L, 1L))
+        assertEquals(2L, graph.impliedWinner(2L, 5L))
+        assertEquals(5, graph.beatenCount(1L))
+        assertEquals(0, graph.beatenCount(6L))
+
+        val implied = graph.implied(match(6L, 2L))!!
+        assertTrue(implied.isCompleted)
+        assertEquals(2L, implied.winnerId)
+        assertNull(implied.score1)
+
+        // Zaten çıkarılabilen sonuç kenar eklemez
+        assertTrue(graph.record(1L, 6L))
+        assertEquals(5, graph.edgeCount)
+    }
+
+    @Test
+    fun testContradictionIsFlaggedAndNotAdded() {
+        val graph = JudgmentGraph.of(songs(3))
+        graph.record(1L, 2L)
+        graph.record(2L, 3L)
+
+        assertFalse(graph.record(3L, 1L))
+        assertEquals(1, graph.contradictions)
+        assertEquals(1L, graph.impliedWinner(1L, 3L))
+        // Beraberlik ve listede olmayan şarkı bilgi taşımaz
+        assertTrue(graph.record(match(1L, 3L).copy(isCompleted = true)))
+        assertTrue(graph.record(9L, 1L))
+        assertEquals(2, graph.edgeCount)
+    }
+
+    @Test
+    fun testInsertionSortNeedsFewerVotesWithInference() {
+        // Her öğe önceki tüm öğelerle (yakından uzağa) karşılaştırılır; doğru sıra ID sırasıdır
+        val n = 40
+        val graph = JudgmentGraph.of(songs(n))
+        var asked = 0
+        for (i in 2..n) {
+            for (j in i - 1 downTo 1) {
+                if (graph.impliedWinner(j.toLong(), i.toLong()) != null) continue
+                asked++
+                graph.record(j.toLong(), i.toLong())
+            }
+        }
+        // Ardışık ikililer yeterli: n - 1 soru, n(n-1)/2 yerine
+        assertEquals(n - 1, asked)
+        assertEquals(0, graph.contradictions)
+    }
+}
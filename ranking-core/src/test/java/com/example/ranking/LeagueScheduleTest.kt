@@ -0,0 +1,85 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.LeagueSchedule
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Sanal lig fikstürü testleri
+ */
+class LeagueScheduleTest {
+
+    private fun createTestSongs(count: Int): List<Song> = (0 until count).map { i ->
+        Song(id = 10L + i * 31L, name = "Song$i", artist = "", album = "", trackNumber = i + 1, listId = 3L)
+    }
+
+    // Eski, tüm satırları üreten circle method (karşılaştırma için)
+    private fun materialized(songs: List<Song>, doubleRoundRobin: Boolean): List<Match> {
+        if (songs.size < 2) return emptyList()
+        val teams = songs.map { it.id }.toMutableList()
+        if (teams.size % 2 != 0) teams.add(-1L)
+        val numTeams = teams.size
+        val firstLeg = mutableListOf<Match>()
+        for (round in 1 until numTeams) {
+            for (slot in 0 until numTeams / 2) {
+                val home = if (slot == 0) teams.last() else teams[(round - 1 + slot) % (numTeams - 1)]
+                val away = teams[(numTeams - 1 - slot + round - 1) % (numTeams - 1)]
+                if (home != -1L && away != -1L) {
+                    firstLeg.add(Match(listId = 3L, rankingMethod = "LEAGUE", songId1 = home, songId2 = away, winnerId = null, round = round))
+                }
+            }
+        }
+        val secondLeg = if (doubleRoundRobin) {
+            firstLeg.map { it.copy(songId1 = it.songId2, songId2 = it.songId1, round = it.round + numTeams - 1) }
+        } else emptyList()
+        return firstLeg + secondLeg
+    }
+
+    private fun normalized(match: Match) = match.copy(createdAt = 0L)
+
+    @Test
+    fun testMatchesCircleMethodOrder() {
+        for (count in 0..13) {
+            for (double in listOf(false, true)) {
+                val songs = createTestSongs(count)
+                val schedule = LeagueSchedule.of(songs, double)
+                val expected = materialized(songs, double)
+
+                assertEquals("n=$count double=$double", expected.map(::normalized), schedule.toList().map(::normalized))
+                expected.forEachIndexed { i, match ->
+                    assertEquals("n=$count double=$double i=$i", i, schedule.indexOf(match))
+                }
+            }
+        }
+    }
+
+    @Test
+    fun testEveryPairMeetsOncePerLeg() {
+        val songs = createTestSongs(11)
+        val schedule = LeagueSchedule.of(songs, doubleRoundRobin = true)
+
+        val pairs = schedule.toList().map { setOf(it.songId1, it.songId2) }
+        assertEquals(11 * 10, pairs.size)
+        assertEquals(11 * 10 / 2, pairs.toSet().size)
+        assertEquals(-1, schedule.indexOf(Match(listId = 3L, rankingMethod = "LEAGUE", songId1 = 10L, songId2 = 999L, winnerId = null, round = 1)))
+    }
+
+    @Test
+    fun testNextUnplayedAndStoredRoundMerge() {
+        val songs = createTestSongs(6)
+        val schedule = LeagueSchedule.of(songs)
+        val first = schedule.matchAt(0).copy(id = 41L, winnerId = songs[5].id, isCompleted = true)
+        val third = schedule.matchAt(2).copy(id = 42L, winnerId = null, isCompleted = true)
+
+        val played = schedule.playedSet(listOf(first, third))
+        assertEquals(normalized(schedule.matchAt(1)), schedule.nextUnplayed(played)?.let(::normalized))
+
+        val round = schedule.roundMatches(1, listOf(third, first))
+        assertEquals(listOf(41L, 0L, 42L), round.map { it.id })
+
+        played.set(0, schedule.size)
+        assertNull(schedule.nextUnplayed(played))
+    }
+}
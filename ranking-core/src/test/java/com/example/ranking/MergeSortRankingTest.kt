@@ -0,0 +1,93 @@
+package com.example.ranking
+
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.MergeSortRanking
+import com.example.ranking.ranking.RankingEngine
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.math.ceil
+import kotlin.math.log2
+import kotlin.random.Random
+
+/**
+ * Birleştirmeli sıralama: oy sayısı sınırı, kesintisiz devam ve durum kodlaması testleri
+ */
+class MergeSortRankingTest {
+
+    private fun songs(count: Int) = (1..count).map { Song(id = it * 3L, name = "Song $it", listId = 1L) }
+
+    // Gerçek sıra: ID küçük olan daha iyi
+    private fun vote(ranking: MergeSortRanking): Boolean {
+        val (a, b) = ranking.currentPair() ?: return false
+        assertTrue(ranking.answer(minOf(a, b)))
+        return true
+    }
+
+    @Test
+    fun testSortsWithinNLogNVotes() {
+        for (n in listOf(1, 2, 3, 17, 100, 500)) {
+            val list = songs(n).shuffled(Random(n))
+            val ranking = MergeSortRanking.start(list)
+            val initialBound = ranking.remainingUpperBound()
+            while (vote(ranking)) {
+                assertTrue(ranking.comparisons + ranking.remainingUpperBound() <= initialBound)
+            }
+
+            assertTrue(ranking.isComplete)
+            assertEquals(list.map { it.id }.sorted(), ranking.order())
+            val limit = if (n < 2) 0 else (n * ceil(log2(n.toDouble()))).toInt()
+            assertTrue("n=$n: ${ranking.comparisons} oy", ranking.comparisons <= limit)
+        }
+
+        val results = RankingEngine.calculateMergeSortResults(songs(3), listOf(6L, 3L, 9L))
+        assertEquals(listOf(6L, 3L, 9L), results.map { it.songId })
+        assertEquals(listOf(2.0, 1.0, 0.0), results.map { it.score })
+        assertEquals(listOf(1, 2, 3), results.map { it.position })
+    }
+
+    @Test
+    fun testStateRoundTripResumesAtEveryVote() {
+        val list = songs(37).shuffled(Random(7))
+        var ranking = MergeSortRanking.start(list)
+        var encoded = 0
+        while (!ranking.isComplete) {
+            val bytes = ranking.toBytes()
+            encoded = maxOf(encoded, bytes.size)
+            val restored = MergeSortRanking.fromBytes(bytes, list)
+            assertEquals(ranking.currentPair(), restored.currentPair())
+            assertEquals(ranking.comparisons, restored.comparisons)
+            assertEquals(ranking.remainingUpperBound(), restored.remainingUpperBound())
+            ranking = restored
+            vote(ranking)
+        }
+        assertEquals(list.map { it.id }.sorted(), MergeSortRanking.fromBytes(ranking.toBytes(), list).order())
+        assertTrue("durum $encoded bayt", encoded < 37 * 3)
+
+        // Liste değiştiyse durum kullanılmaz
+        val bytes = MergeSortRanking.start(list).toBytes()
+        assertThrows(IllegalArgumentException::class.java) { MergeSortRanking.fromBytes(bytes, list.drop(1)) }
+        assertThrows(IllegalArgumentException::class.java) { MergeSortRanking.fromBytes(bytes, list + Song(id = 999L, name = "x", listId = 1L)) }
+    }
+
+    @Test
+    fun testAdvanceReplaysKnownAnswersAndIgnoresForeignMatches() {
+        val list = songs(10)
+        val played = MergeSortRanking.start(list)
+        val answers = HashMap<Pair<Long, Long>, Long>()
+        repeat(12) {
+            val (a, b) = played.currentPair()!!
+            answers[minOf(a, b) to maxOf(a, b)] = minOf(a, b)
+            vote(played)
+        }
+
+        val replayed = MergeSortRanking.start(list)
+        assertEquals(12, replayed.advance { a, b -> answers[minOf(a, b) to maxOf(a, b)] })
+        assertEquals(played.currentPair(), replayed.currentPair())
+
+        val match = replayed.nextMatch(1L)!!
+        assertFalse(replayed.answer(match.copy(winnerId = null, isCompleted = true)))
+        assertFalse(replayed.answer(match.copy(songId2 = 999L, winnerId = match.songId1, isCompleted = true)))
+        assertTrue(replayed.answer(match.copy(winnerId = match.songId2, isCompleted = true)))
+        assertEquals(13, replayed.comparisons)
+    }
+}
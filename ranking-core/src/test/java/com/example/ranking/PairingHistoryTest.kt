@@ -0,0 +1,78 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.ranking.PairingHistory
+import com.example.ranking.ranking.SongIndex
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Paketlenmiş eşleşme geçmişi testleri
+ */
+class PairingHistoryTest {
+    
+    private val ids = LongArray(500) { 10_000L + it * 13L }
+    
+    @Test
+    fun testHasMetIsSymmetric() {
+        val history = PairingHistory(SongIndex.fromIds(ids))
+        
+        assertTrue(history.record(3, 7))
+        assertFalse(history.record(7, 3)) // Aynı çift ikinci kez eklenmez
+        
+        assertTrue(history.hasMet(3, 7))
+        assertTrue(history.hasMet(7, 3))
+        assertFalse(history.hasMet(3, 8))
+        assertFalse(history.hasMet(3, 3))
+        assertFalse(history.hasMet(-1, 3))
+        assertEquals(1, history.size)
+    }
+    
+    @Test
+    fun testRecordAllAndIdLookup() {
+        val matches = (0 until ids.size - 1 step 2).map { i ->
+            Match(listId = 1L, rankingMethod = "SWISS", songId1 = ids[i], songId2 = ids[i + 1], winnerId = null)
+        }
+        val history = PairingHistory.of(SongIndex.fromIds(ids), matches)
+        
+        assertEquals(matches.size, history.size)
+        assertTrue(history.hasMetIds(ids[1], ids[0]))
+        assertFalse(history.hasMetIds(ids[1], ids[2]))
+        assertFalse(history.hasMetIds(ids[0], 42L))
+    }
+    
+    @Test
+    fun testBinaryRoundTrip() {
+        val history = PairingHistory(SongIndex.fromIds(ids))
+        for (i in ids.indices) {
+            history.record(i, (i * 7 + 3) % ids.size)
+        }
+        
+        val bytes = history.toBytes()
+        val restored = PairingHistory.fromBytes(bytes)
+        
+        assertEquals(history.size, restored.size)
+        for (i in ids.indices) {
+            assertEquals(ids[i], restored.index.idAt(i))
+            for (j in ids.indices) {
+                assertEquals(history.hasMet(i, j), restored.hasMet(i, j))
+            }
+        }
+        // Çift başına birkaç bayt - JSON'daki [[id,id],[id,id]] formundan çok daha küçük
+        assertTrue(bytes.size < history.size * 8)
+    }
+    
+    @Test
+    fun testForgetKeepsOtherPairsReachable() {
+        val history = PairingHistory(SongIndex.fromIds(ids))
+        val pairs = (0 until 2000).map { it % ids.size to (it * 31 + 1) % ids.size }.filter { it.first != it.second }
+        pairs.forEach { (a, b) -> history.record(a, b) }
+        
+        val (forgotten, kept) = pairs.partition { (a, b) -> (a + b) % 3 == 0 }
+        forgotten.forEach { (a, b) -> history.forget(b, a) }
+        
+        forgotten.forEach { (a, b) -> assertFalse(history.hasMet(a, b)) }
+        kept.forEach { (a, b) -> assertTrue(history.hasMet(a, b)) }
+        assertEquals(kept.map { minOf(it.first, it.second) to maxOf(it.first, it.second) }.toSet().size, history.size)
+    }
+}
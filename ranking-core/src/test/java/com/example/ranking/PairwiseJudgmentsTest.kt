@@ -0,0 +1,61 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.PairwiseJudgment
+import com.example.ranking.ranking.PairwiseJudgments
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * İkili karar deposu: yön normalizasyonu, skor çevirme ve beraberlik kuralı testleri
+ */
+class PairwiseJudgmentsTest {
+
+    private fun match(songId1: Long, songId2: Long, winnerId: Long? = null, score1: Int? = null, score2: Int? = null, completed: Boolean = false) =
+        Match(listId = 1L, rankingMethod = "LEAGUE", songId1 = songId1, songId2 = songId2,
+            winnerId = winnerId, score1 = score1, score2 = score2, isCompleted = completed)
+
+    @Test
+    fun testJudgmentIsStoredOnceAndResolvedInEitherOrientation() {
+        val judgments = PairwiseJudgments(1L)
+        val stored = judgments.record(match(7L, 3L, winnerId = 7L, score1 = 2, score2 = 1, completed = true))!!
+
+        // Küçük ID önce, skorlar da birlikte döner
+        assertEquals(3L, stored.songId1)
+        assertEquals(7L, stored.songId2)
+        assertEquals(1, stored.score1)
+        assertEquals(2, stored.score2)
+        assertEquals(1, judgments.size)
+
+        val sameOrientation = judgments.resolve(match(7L, 3L), allowDraw = true)!!
+        assertTrue(sameOrientation.isCompleted)
+        assertEquals(7L, sameOrientation.winnerId)
+        assertEquals(2, sameOrientation.score1)
+        assertEquals(1, sameOrientation.score2)
+
+        val reversed = judgments.resolve(match(3L, 7L), allowDraw = true)!!
+        assertEquals(7L, reversed.winnerId)
+        assertEquals(1, reversed.score1)
+        assertEquals(2, reversed.score2)
+
+        // Son oy geçerli
+        judgments.record(match(3L, 7L, winnerId = 3L, completed = true))
+        assertEquals(1, judgments.size)
+        assertEquals(3L, judgments.resolve(match(7L, 3L), allowDraw = true)!!.winnerId)
+    }
+
+    @Test
+    fun testDrawsAndUnknownPairsAreAskedAgain() {
+        val judgments = PairwiseJudgments.of(1L, listOf(
+            PairwiseJudgment(listId = 1L, songId1 = 1L, songId2 = 2L, winnerId = null, rankingMethod = "SWISS")
+        ))
+
+        assertNotNull(judgments.resolve(match(2L, 1L), allowDraw = true))
+        assertNull(judgments.resolve(match(2L, 1L), allowDraw = false))
+        assertNull(judgments.resolve(match(1L, 3L), allowDraw = true))
+        // Tamamlanmış maç ve tamamlanmamış oy yok sayılır
+        assertNull(judgments.resolve(match(1L, 2L, winnerId = 1L, completed = true), allowDraw = true))
+        assertNull(judgments.record(match(1L, 3L)))
+        assertEquals(1, judgments.size)
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ranking
+
+import com.example.ranking.logging.LogLevel
+import com.example.ranking.logging.RankingLog
+import com.example.ranking.logging.RankingLogger
+import com.example.ranking.logging.RingBufferLogger
+import org.junit.After
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Log kanalı seviyeleri ve halka tampon testleri
+ */
+class RankingLogTest {
+
+    @After
+    fun tearDown() {
+        RankingLog.logger = RankingLogger.None
+        RankingLog.setLevel("LogTest.a", null)
+        RankingLog.setLevel("LogTest.b", null)
+    }
+
+    @Test
+    fun testDisabledLevelDoesNotBuildMessage() {
+        val buffer = RingBufferLogger(capacity = 8)
+        RankingLog.logger = buffer
+        val a = RankingLog.channel("LogTest.a")
+        val b = RankingLog.channel("LogTest.b")
+        RankingLog.setLevel("LogTest.a", LogLevel.WARN)
+        RankingLog.setLevel("LogTest.b", LogLevel.DEBUG)
+
+        var built = 0
+        a.d { built++; "gizli" }
+        b.d { built++; "görünür" }
+        a.w { "uyarı" }
+        assertEquals(1, built)
+        assertEquals(listOf("görünür", "uyarı"), buffer.snapshot().map { it.message })
+
+        // Seviye değişikliği açık kanala hemen yansır
+        RankingLog.setLevel("LogTest.a", LogLevel.OFF)
+        a.e { "hata" }
+        assertFalse(a.isEnabled(LogLevel.ERROR))
+        assertEquals(2, buffer.snapshot().size)
+        RankingLog.setLevel("LogTest.a", null)
+        assertEquals(RankingLog.defaultLevel, a.level)
+    }
+
+    @Test
+    fun testRingBufferKeepsNewestEntries() {
+        val buffer = RingBufferLogger(capacity = 3)
+        (1..5).forEach { buffer.d("Tag", "m$it") }
+        buffer.e("Tag", "son", IllegalStateException("x"))
+
+        assertEquals(listOf("m4", "m5", "son"), buffer.snapshot().map { it.message })
+        val dump = buffer.dump().lines()
+        assertTrue(dump[0].endsWith("D/Tag: m4"))
+        assertTrue(dump[2].endsWith("E/Tag: son"))
+        assertTrue(dump[3].startsWith("java.lang.IllegalStateException: x"))
+
+        buffer.clear()
+        assertTrue(buffer.snapshot().isEmpty())
+    }
+}
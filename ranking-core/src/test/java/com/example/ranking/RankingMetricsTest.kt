@@ -0,0 +1,85 @@
+package com.example.ranking
+
+import com.example.ranking.data.Song
+import com.example.ranking.metrics.RankingMetrics
+import com.example.ranking.ranking.EmreSystemCorrect
+import org.json.JSONObject
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Metrik kaydı: histogram yüzdelikleri, JSON dışa aktarımı ve motor beslemesi testleri
+ */
+class RankingMetricsTest {
+
+    @Test
+    fun testHistogramPercentilesStayWithinBucketError() {
+        val histogram = RankingMetrics.histogram("test.histogram.percentiles")
+        (1L..1000L).forEach { histogram.record(it) }
+
+        val snapshot = histogram.snapshot()
+        assertEquals(1000L, snapshot.count)
+        assertEquals(1L, snapshot.min)
+        assertEquals(1000L, snapshot.max)
+        assertEquals(500.5, snapshot.mean, 1e-9)
+        // Kova genişliği değerin en fazla %25'i
+        assertTrue("p50=${snapshot.p50}", snapshot.p50 in 500L..625L)
+        assertTrue("p90=${snapshot.p90}", snapshot.p90 in 900L..1000L)
+        assertTrue("p99=${snapshot.p99}", snapshot.p99 in 990L..1000L)
+    }
+
+    @Test
+    fun testJsonExportAndReset() {
+        val counter = RankingMetrics.counter("test.json.counter")
+        val timer = RankingMetrics.timer("test.json.timer")
+        RankingMetrics.setLabel("test.json.label", "a \"quoted\" value")
+        counter.add(3)
+        timer.recordNanos(2_500_000)
+
+        val json = JSONObject(RankingMetrics.snapshot().toJson())
+        assertEquals("a \"quoted\" value", json.getJSONObject("labels").getString("test.json.label"))
+        assertEquals(3L, json.getJSONObject("counters").getLong("test.json.counter"))
+        val timing = json.getJSONObject("timersMs").getJSONObject("test.json.timer")
+        assertEquals(1, timing.getInt("count"))
+        assertEquals(2.5, timing.getDouble("max"), 1e-9)
+
+        RankingMetrics.reset()
+        assertEquals(0L, counter.count)
+        assertEquals(0L, timer.snapshot().count)
+        // Alanda tutulan nesne sıfırlamadan sonra da kayda devam eder
+        counter.increment()
+        assertEquals(1L, RankingMetrics.snapshot().counters["test.json.counter"])
+    }
+
+    @Test
+    fun testEmrePairingFeedsTimer() {
+        val songs = (1..9L).map { Song(it, "Team$it", "", "", it.toInt(), 1L) }
+        val before = RankingMetrics.timer("engine.pairing.emre").snapshot().count
+
+        EmreSystemCorrect.createNextRoundWithConfirmation(EmreSystemCorrect.initializeEmreTournament(songs))
+
+        assertTrue(RankingMetrics.timer("engine.pairing.emre").snapshot().count > before)
+        assertTrue(RankingMetrics.snapshot().histograms.containsKey("emre.search.tail_size"))
+    }
+
+    @Test
+    fun testByeRetriesCountOnlyRejectedByeCandidates() {
+        // Çift sayıda takım, hep beraberlik: rövanşsız eşleştirme bitince turnuva durur, bye denenmez
+        val songs = (1..4L).map { Song(it, "Team$it", "", "", it.toInt(), 1L) }
+        val retries = RankingMetrics.counter("emre.pairing.bye_retries")
+        val noPairing = RankingMetrics.counter("emre.pairing.no_rematch_free_pairing")
+        val retriesBefore = retries.count
+        val noPairingBefore = noPairing.count
+
+        var state = EmreSystemCorrect.initializeEmreTournament(songs)
+        repeat(songs.size) {
+            val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+            if (!pairing.canContinue) return@repeat
+            val draws = pairing.matches.map { it.copy(winnerId = null, isCompleted = true) }
+            state = EmreSystemCorrect.processRoundResults(state, draws, pairing.byeTeam)
+        }
+
+        assertTrue(noPairing.count > noPairingBefore)
+        assertEquals(retriesBefore, retries.count)
+    }
+}
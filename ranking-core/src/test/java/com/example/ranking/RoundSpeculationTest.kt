@@ -0,0 +1,41 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.ranking.RoundSpeculation
+import kotlinx.coroutines.runBlocking
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Spekülatif sonraki tur hesabı testleri
+ */
+class RoundSpeculationTest {
+    
+    private val lastMatch = Match(id = 42L, listId = 1L, rankingMethod = "SWISS", songId1 = 7L, songId2 = 9L, winnerId = null, round = 3)
+    
+    @Test
+    fun testTakeReturnsOutcomeMatchingResult() = runBlocking {
+        val speculation = RoundSpeculation.start(this, lastMatch) { outcome -> outcome.winnerId }
+        
+        assertEquals(9L, speculation.take(lastMatch.copy(winnerId = 9L, score1 = 1, score2 = 3, isCompleted = true)))
+    }
+    
+    @Test
+    fun testDrawOutcomeIsSpeculatedToo() = runBlocking {
+        val speculation = RoundSpeculation.start(this, lastMatch) { outcome -> "beraberlik=${outcome.winnerId == null}" }
+        
+        assertEquals("beraberlik=true", speculation.take(lastMatch.copy(isCompleted = true)))
+    }
+    
+    @Test
+    fun testOtherMatchOrFailureFallsBackToNull() = runBlocking {
+        val speculation = RoundSpeculation.start(this, lastMatch) { outcome ->
+            if (outcome.winnerId == 7L) error("motor hatası") else outcome.winnerId
+        }
+        
+        assertNull(speculation.take(lastMatch.copy(winnerId = 7L, isCompleted = true)))
+        
+        val other = RoundSpeculation.start(this, lastMatch) { it.winnerId }
+        assertNull(other.take(lastMatch.copy(id = 43L, winnerId = 9L, isCompleted = true)))
+    }
+}
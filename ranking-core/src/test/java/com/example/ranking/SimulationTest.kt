@@ -0,0 +1,7 @@
+package com.example.ranking
+
+/**
+ * Uzun süren doğruluk simülasyonları için JUnit kategorisi. `test` görevinde çalışmaz;
+ * `./gradlew :ranking-core:simulationTest` ile ayrıca çalıştırılır.
+ */
+interface SimulationTest
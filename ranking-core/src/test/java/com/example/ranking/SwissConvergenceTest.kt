@@ -0,0 +1,95 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissPairingMethod
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.SwissConvergence
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.random.Random
+
+/**
+ * İsviçre yakınsama sınırı: erken bitiş, kazanç ve Kendall uzaklığı testleri
+ */
+class SwissConvergenceTest {
+
+    private fun songs(count: Int) = (1..count).map { Song(id = it.toLong(), name = "Song $it", listId = 1L) }
+
+    // Gerçek sıra: ID küçük olan kazanır; [upsetRate] olasılıkla tersi
+    private fun playTournament(
+        songs: List<Song>,
+        convergence: SwissConvergence,
+        upsetRate: Double,
+        random: Random
+    ): List<Match> {
+        val played = ArrayList<Match>()
+        var nextId = 1L
+        while (convergence.shouldContinue(songs, played)) {
+            val standings = RankingEngine.createSwissStandingsFromMatches(songs, played)
+            val round = RankingEngine.createSwissMatchesWithState(songs, standings, SwissPairingMethod.OPTIMAL)
+            assertTrue(round.isNotEmpty())
+            round.forEach { match ->
+                val better = minOf(match.songId1, match.songId2)
+                val worse = maxOf(match.songId1, match.songId2)
+                val winner = if (random.nextDouble() < upsetRate) worse else better
+                played.add(match.copy(id = nextId++, winnerId = winner, isCompleted = true))
+            }
+        }
+        return played
+    }
+
+    @Test
+    fun testStopsBeforeFixedScheduleWhenTableIsSettled() {
+        val list = songs(128).shuffled(Random(4))
+        val convergence = SwissConvergence(topN = list.size, tolerance = 0.15)
+        val played = playTournament(list, convergence, upsetRate = 0.0, random = Random(1))
+
+        val status = convergence.evaluate(list, played)
+        assertTrue(status.converged)
+        assertFalse(status.boundaryTied)
+        assertTrue(status.round >= convergence.minRounds)
+        assertTrue(status.distances.takeLast(2).all { it <= convergence.tolerance })
+        assertTrue("${played.size} maç", played.size < SwissConvergence.fixedScheduleMatches(list.size))
+
+        // Karar maçlardan hesaplanır: maç sırası önemsizdir
+        assertEquals(status, convergence.evaluate(list, played.shuffled(Random(2))))
+    }
+
+    @Test
+    fun testKeepsPlayingWhileTopIsMovingUpToLimit() {
+        val list = songs(30).shuffled(Random(4))
+        val convergence = SwissConvergence(topN = 10)
+        val played = playTournament(list, convergence, upsetRate = 0.0, random = Random(1))
+
+        val status = convergence.evaluate(list, played)
+        assertTrue(status.round <= convergence.maxRounds(list.size))
+        assertTrue(status.converged || status.round == convergence.maxRounds(list.size))
+        assertTrue("${played.size} maç", played.size > SwissConvergence.fixedScheduleMatches(list.size))
+    }
+
+    @Test
+    fun testTopNDistance() {
+        val convergence = SwissConvergence(topN = 3)
+        val list = songs(6)
+        fun round(number: Int, vararg winners: Pair<Long, Long>) = winners.mapIndexed { i, (w, l) ->
+            Match(id = number * 10L + i, listId = 1L, rankingMethod = "SWISS", songId1 = w, songId2 = l,
+                winnerId = w, isCompleted = true, round = number)
+        }
+        val first = round(1, 1L to 2L, 3L to 4L, 5L to 6L)
+        val status1 = convergence.evaluate(list, first)
+        assertEquals(1, status1.round)
+        assertTrue(status1.distances.isEmpty())
+        assertFalse(status1.converged)
+
+        // Yarım tur sayılmaz
+        val partial = first + round(2, 1L to 3L).take(1)
+        assertEquals(1, convergence.evaluate(list, partial).round)
+
+        val second = first + round(2, 1L to 3L, 5L to 2L, 4L to 6L)
+        val status2 = convergence.evaluate(list, second)
+        assertEquals(2, status2.round)
+        assertEquals(1, status2.distances.size)
+        assertTrue(status2.distances[0] > 0.0 && status2.distances[0] <= 1.0)
+    }
+}
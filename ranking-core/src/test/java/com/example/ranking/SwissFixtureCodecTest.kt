@@ -0,0 +1,97 @@
+package com.example.ranking
+
+import com.example.ranking.data.LiveStandings
+import com.example.ranking.data.Match
+import com.example.ranking.data.RankingEntry
+import com.example.ranking.data.RoundData
+import com.example.ranking.data.SwissFixtureData
+import com.example.ranking.ranking.SwissFixtureCodec
+import com.example.ranking.ranking.SwissFixtureJson
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * İkili fikstür biçimi testleri
+ */
+class SwissFixtureCodecTest {
+
+    private fun match(id: Long, a: Long, b: Long, round: Int, winnerId: Long?, completed: Boolean = true) =
+        Match(
+            id = id,
+            listId = 7L,
+            rankingMethod = "SWISS",
+            songId1 = a,
+            songId2 = b,
+            winnerId = winnerId,
+            round = round,
+            isCompleted = completed,
+            createdAt = 1_700_000_000_000L + id * 17
+        )
+
+    private val matches = listOf(
+        match(1, 101, 102, 1, 101),
+        match(2, 103, 104, 1, null),
+        match(3, 101, 103, 2, 103),
+        match(4, 102, 104, 2, null, completed = false),
+        // Sıra dışı değerler: farklı yöntem, skor, grup, taraf olmayan kazanan, negatif id
+        Match(id = 90, listId = 8L, rankingMethod = "LEAGUE", songId1 = -5, songId2 = 4_000_000_000L,
+            winnerId = 55L, score1 = 3, score2 = -1, round = 9, groupId = 2, isCompleted = true, createdAt = 0L)
+    )
+
+    private val standings = mapOf(101L to 1.0, 102L to 0.0, 103L to 1.5, 104L to 0.5)
+
+    private val fixture = SwissFixtureData(
+        allMatches = matches,
+        currentRoundMatches = matches.filter { it.round == 2 },
+        completedMatches = matches.filter { it.isCompleted },
+        upcomingMatches = matches.filter { !it.isCompleted },
+        roundsData = mapOf(
+            1 to RoundData(1, matches.filter { it.round == 1 }, true, standings),
+            2 to RoundData(2, matches.filter { it.round == 2 }, false, emptyMap()),
+            // Tabloda olmayan satır içi maç ve tekrarlanan puan haritası
+            3 to RoundData(3, listOf(match(77, 1, 2, 3, 2)), true, standings)
+        )
+    )
+
+    @Test
+    fun testFixtureRoundTrip() {
+        val decoded = SwissFixtureCodec.decodeFixture(SwissFixtureCodec.encodeFixture(fixture))
+
+        assertEquals(fixture, decoded)
+        assertEquals(listOf(1, 2, 3), decoded.roundsData.keys.toList())
+    }
+
+    @Test
+    fun testLiveStandingsRoundTrip() {
+        val live = LiveStandings(
+            currentStandings = standings + (200L to 2.0 / 3.0), // Yarım puan katı olmayan değer
+            rankings = listOf(
+                RankingEntry(103, "Şarkı İğdır", 1.5, 1, 2, 1, 1, 0),
+                RankingEntry(101, "Song 101", 1.0, 2, 2, 1, 0, 1),
+                RankingEntry(104, "", 0.5, 3, 1, 0, 1, 0)
+            ),
+            roundByRoundProgress = mapOf(1 to mapOf(101L to 1.0, 103L to 0.5), 2 to mapOf(103L to 1.0))
+        )
+
+        val decoded = SwissFixtureCodec.decodeLiveStandings(SwissFixtureCodec.encodeLiveStandings(live))
+
+        assertEquals(live, decoded)
+    }
+
+    @Test
+    fun testMatchesJsonPathAndIsSmaller() {
+        val json = SwissFixtureJson.serializeFixtureData(fixture)
+        val bytes = SwissFixtureCodec.encodeFixture(fixture)
+
+        assertEquals(SwissFixtureJson.deserializeFixtureData(json), SwissFixtureCodec.decodeFixture(bytes))
+        assertTrue("binary=${bytes.size} json=${json.length}", bytes.size * 5 < json.length)
+    }
+
+    @Test
+    fun testRejectsWrongKindAndTruncatedData() {
+        val bytes = SwissFixtureCodec.encodeFixture(fixture)
+
+        assertThrows(IllegalArgumentException::class.java) { SwissFixtureCodec.decodeLiveStandings(bytes) }
+        assertThrows(IllegalArgumentException::class.java) { SwissFixtureCodec.decodeFixture(bytes.copyOf(bytes.size - 1)) }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.ranking.SwissFixtureJournal
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Fikstür anlık görüntüsü + günlük kuyruğu testleri
+ */
+class SwissFixtureJournalTest {
+
+    private fun match(id: Long, a: Long, b: Long, round: Int, winnerId: Long? = null, completed: Boolean = false) =
+        Match(id = id, listId = 1L, rankingMethod = "SWISS", songId1 = a, songId2 = b,
+            winnerId = winnerId, round = round, isCompleted = completed, createdAt = id)
+
+    private val round1 = listOf(match(1, 1, 2, 1), match(2, 3, 4, 1))
+
+    @Test
+    fun testReplayAppliesResultsAndNewPairings() {
+        val snapshot = SwissFixtureJournal.snapshot(round1, 1, emptyMap())
+        val tail = listOf(
+            match(1, 1, 2, 1, winnerId = 1, completed = true),
+            match(2, 3, 4, 1, winnerId = null, completed = true),
+            match(3, 1, 3, 2),
+            match(4, 2, 4, 2),
+            match(3, 1, 3, 2, winnerId = 3, completed = true) // Aynı maç tekrar: son kayıt geçerli
+        )
+
+        val replayed = SwissFixtureJournal.replay(snapshot, tail)!!
+
+        assertEquals(listOf(1L, 2L, 3L, 4L), replayed.allMatches.map { it.id })
+        assertEquals(3L, replayed.allMatches[2].winnerId)
+        assertEquals(listOf(4L), replayed.upcomingMatches.map { it.id })
+        assertEquals(listOf(3L, 4L), replayed.currentRoundMatches.map { it.id })
+        assertTrue(replayed.roundsData.getValue(1).isComplete)
+        assertFalse(replayed.roundsData.getValue(2).isComplete)
+        assertEquals(
+            mapOf(1L to 1.0, 2L to 0.0, 3L to 1.5, 4L to 0.5),
+            replayed.roundsData.getValue(1).standingsAfterRound
+        )
+    }
+
+    @Test
+    fun testReplayWithoutSnapshotOrTail() {
+        val snapshot = SwissFixtureJournal.snapshot(round1, 1, emptyMap())
+
+        assertNull(SwissFixtureJournal.replay(null, emptyList()))
+        assertSame(snapshot, SwissFixtureJournal.replay(snapshot, emptyList()))
+        assertEquals(round1, SwissFixtureJournal.replay(null, round1)!!.allMatches)
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissPairingMethod
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.SwissPairingEngine
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.random.Random
+
+/**
+ * En düşük maliyetli İsviçre eşleştirmesi testleri
+ */
+class SwissPairingEngineTest {
+    
+    private fun createTestSongs(count: Int): List<Song> {
+        return (1..count).map { i ->
+            Song(
+                id = i.toLong(),
+                name = "Song$i",
+                artist = "Artist$i",
+                album = "Album$i",
+                trackNumber = i,
+                listId = 1L
+            )
+        }
+    }
+    
+    private fun playRounds(songs: List<Song>, rounds: Int, random: Random): List<Match> {
+        val played = mutableListOf<Match>()
+        for (round in 1..rounds) {
+            val standings = RankingEngine.createSwissStandingsFromMatches(songs, played)
+            RankingEngine.createSwissMatchesWithState(songs, standings, SwissPairingMethod.OPTIMAL).forEach { match ->
+                played.add(
+                    match.copy(
+                        round = round,
+                        winnerId = if (random.nextBoolean()) match.songId1 else match.songId2,
+                        isCompleted = true
+                    )
+                )
+            }
+        }
+        return played
+    }
+    
+    @Test
+    fun testEverySongPairedOnceWithoutRematch() {
+        val songs = createTestSongs(64)
+        val played = playRounds(songs, 6, Random(7))
+        
+        val pairs = played.map { minOf(it.songId1, it.songId2) to maxOf(it.songId1, it.songId2) }
+        assertEquals("Rövanş olmamalı", pairs.size, pairs.toSet().size)
+        played.groupBy { it.round }.values.forEach { roundMatches ->
+            val ids = roundMatches.flatMap { listOf(it.songId1, it.songId2) }
+            assertEquals(64, ids.toSet().size)
+        }
+    }
+    
+    @Test
+    fun testOddFieldGivesByeToLowestWithoutRepeat() {
+        val songs = createTestSongs(9)
+        val played = playRounds(songs, 4, Random(11))
+        
+        val byes = played.groupBy { it.round }.values.map { roundMatches ->
+            val ids = roundMatches.flatMap { listOf(it.songId1, it.songId2) }.toSet()
+            assertEquals(8, ids.size)
+            songs.single { it.id !in ids }.id
+        }
+        assertEquals("Aynı oyuncu iki kez bye almamalı", byes.size, byes.toSet().size)
+    }
+    
+    @Test
+    fun testOddGroupFloatsDown() {
+        // 3 oyuncu 1 puanda, 3 oyuncu 0 puanda: tek kalan 1 puanlı bir alt gruba kaymalı
+        val songs = createTestSongs(6)
+        val round1 = listOf(
+            Match(listId = 1L, rankingMethod = "SWISS", songId1 = 1, songId2 = 4, winnerId = 1, round = 1, isCompleted = true),
+            Match(listId = 1L, rankingMethod = "SWISS", songId1 = 2, songId2 = 5, winnerId = 2, round = 1, isCompleted = true),
+            Match(listId = 1L, rankingMethod = "SWISS", songId1 = 3, songId2 = 6, winnerId = 3, round = 1, isCompleted = true)
+        )
+        val standings = RankingEngine.createSwissStandingsFromMatches(songs, round1)
+        
+        val matches = SwissPairingEngine.createOptimalMatches(songs, 2, standings)
+        
+        assertEquals(3, matches.size)
+        val crossGroup = matches.count { (it.songId1 <= 3) != (it.songId2 <= 3) }
+        assertEquals(1, crossGroup)
+        matches.forEach { assertFalse(standings.pairingHistory.hasMetIds(it.songId1, it.songId2)) }
+    }
+    
+    @Test
+    fun testLargeFieldPairsEveryoneWithoutRematches() {
+        // Süre ölçümü SwissPairingBenchmark.createSwissMatchesOptimal içinde
+        val songs = createTestSongs(10_000)
+        val played = playRounds(songs, 3, Random(3))
+        val standings = RankingEngine.createSwissStandingsFromMatches(songs, played)
+        
+        val matches = SwissPairingEngine.createOptimalMatches(songs, 4, standings)
+        
+        assertEquals(5_000, matches.size)
+        assertEquals(10_000, matches.flatMap { listOf(it.songId1, it.songId2) }.toSet().size)
+        matches.forEach { assertFalse(standings.pairingHistory.hasMetIds(it.songId1, it.songId2)) }
+    }
+}
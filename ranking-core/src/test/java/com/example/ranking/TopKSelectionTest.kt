@@ -0,0 +1,71 @@
+package com.example.ranking
+
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.TopKSelection
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.math.ceil
+import kotlin.math.log2
+import kotlin.random.Random
+
+/**
+ * İlk K seçimi: oy sayısı sınırı, sıralı sonuç ve durum kodlaması testleri
+ */
+class TopKSelectionTest {
+
+    private fun songs(count: Int) = (1..count).map { Song(id = it * 5L, name = "Song $it", listId = 1L) }
+
+    // Gerçek sıra: ID küçük olan daha iyi
+    private fun vote(selection: TopKSelection): Boolean {
+        val (a, b) = selection.currentPair() ?: return false
+        assertTrue(selection.answer(minOf(a, b)))
+        return true
+    }
+
+    @Test
+    fun testFindsTopKWithinNPlusKLogNVotes() {
+        for ((n, k) in listOf(1 to 1, 2 to 5, 3 to 1, 100 to 10, 2000 to 50)) {
+            val list = songs(n).shuffled(Random(n))
+            val selection = TopKSelection.start(list, k)
+            val initialBound = selection.remainingUpperBound()
+            while (vote(selection)) {
+                assertTrue(selection.comparisons + selection.remainingUpperBound() <= initialBound)
+            }
+
+            assertTrue(selection.isComplete)
+            assertEquals(list.map { it.id }.sorted().take(k), selection.selected())
+            val depth = if (n < 2) 0 else ceil(log2(n.toDouble())).toInt()
+            val limit = maxOf(n - 1, 0) + (minOf(k, n) - 1) * depth
+            assertTrue("n=$n k=$k: ${selection.comparisons} oy", selection.comparisons <= limit)
+        }
+    }
+
+    @Test
+    fun testStateRoundTripResumesAtEveryVote() {
+        val list = songs(45).shuffled(Random(3))
+        var selection = TopKSelection.start(list, 7)
+        while (!selection.isComplete) {
+            val restored = TopKSelection.fromBytes(selection.toBytes(), list)
+            assertEquals(selection.currentPair(), restored.currentPair())
+            assertEquals(selection.selected(), restored.selected())
+            assertEquals(selection.remainingUpperBound(), restored.remainingUpperBound())
+            selection = restored
+            vote(selection)
+        }
+        assertEquals(listOf(5L, 10L, 15L, 20L, 25L, 30L, 35L), TopKSelection.fromBytes(selection.toBytes(), list).selected())
+
+        assertThrows(IllegalArgumentException::class.java) {
+            TopKSelection.fromBytes(TopKSelection.start(list, 7).toBytes(), list.drop(1))
+        }
+    }
+
+    @Test
+    fun testResultsKeepTheRestUnranked() {
+        val list = songs(5)
+        val results = RankingEngine.calculateTopKResults(list, listOf(15L, 5L))
+        assertEquals(listOf(15L, 5L, 10L, 20L, 25L), results.map { it.songId })
+        assertEquals(listOf(1, 2, 3, 3, 3), results.map { it.position })
+        assertEquals(listOf(2.0, 1.0, 0.0, 0.0, 0.0), results.map { it.score })
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.data.SwissPairingMethod
+import com.example.ranking.ranking.EmreSystemCorrect
+import com.example.ranking.ranking.LeagueSchedule
+import com.example.ranking.ranking.OutcomeForecast
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.TournamentSimulator
+import org.junit.Test
+import org.junit.Assert.*
+import kotlin.random.Random
+
+/**
+ * Monte Carlo sonuç simülatörü: olasılık matrisi, tekrar üretilebilirlik ve kalan tur testleri
+ */
+class TournamentSimulatorTest {
+
+    private fun songs(count: Int) = (1..count).map { Song(id = it.toLong(), name = "Song $it", listId = 1L) }
+
+    // Gerçek sıra: ID küçük olan kazanır; [upsetRate] olasılıkla tersi
+    private fun complete(match: Match, upsetRate: Double, random: Random): Match {
+        val better = minOf(match.songId1, match.songId2)
+        val worse = maxOf(match.songId1, match.songId2)
+        return match.copy(winnerId = if (random.nextDouble() < upsetRate) worse else better, isCompleted = true)
+    }
+
+    private fun playSwiss(songs: List<Song>, rounds: Int, random: Random): List<Match> {
+        val played = ArrayList<Match>()
+        var nextId = 1L
+        repeat(rounds) {
+            val standings = RankingEngine.createSwissStandingsFromMatches(songs, played)
+            RankingEngine.createSwissMatchesWithState(songs, standings, SwissPairingMethod.OPTIMAL).forEach {
+                played.add(complete(it.copy(id = nextId++), 0.2, random))
+            }
+        }
+        return played
+    }
+
+    // Satırlar (şarkı) ve sütunlar (sıra) birer olasılık dağılımıdır
+    private fun assertDistribution(forecast: OutcomeForecast, songs: List<Song>) {
+        val columns = DoubleArray(songs.size)
+        for (song in songs) {
+            val row = forecast.positionProbabilities(song.id)
+            assertEquals(1.0, row.sum(), 1e-9)
+            row.forEachIndexed { position, p -> columns[position] += p }
+        }
+        columns.forEach { assertEquals(1.0, it, 1e-9) }
+    }
+
+    @Test
+    fun testSwissForecastIsReproducibleDistribution() {
+        val list = songs(40).shuffled(Random(3))
+        val played = playSwiss(list, 3, Random(1))
+        val standings = RankingEngine.createSwissStandingsFromMatches(list, played)
+
+        val forecast = TournamentSimulator.forecastSwiss(list, standings, emptyList(), totalRounds = 5, simulations = 2000, seed = 7, trackedPositions = list.size)
+        assertEquals(2000, forecast.simulations)
+        assertDistribution(forecast, list)
+        assertEquals(2.0, forecast.expectedRemainingRounds, 1e-9)
+
+        // Aynı tohum, aynı sonuç; farklı tohum farklı örneklem
+        val again = TournamentSimulator.forecastSwiss(list, standings, emptyList(), totalRounds = 5, simulations = 2000, seed = 7, trackedPositions = list.size)
+        val other = TournamentSimulator.forecastSwiss(list, standings, emptyList(), totalRounds = 5, simulations = 2000, seed = 8, trackedPositions = list.size)
+        for (song in list) {
+            assertArrayEquals(forecast.positionProbabilities(song.id), again.positionProbabilities(song.id), 0.0)
+        }
+        assertTrue(list.any { !forecast.positionProbabilities(it.id).contentEquals(other.positionProbabilities(it.id)) })
+
+        // Güçlü şarkılar beklenen sırada önde
+        assertTrue(forecast.expectedPosition(1L) < forecast.expectedPosition(40L))
+    }
+
+    @Test
+    fun testSwissPendingRoundCountsAsRemaining() {
+        val list = songs(16)
+        val played = playSwiss(list, 2, Random(5))
+        val standings = RankingEngine.createSwissStandingsFromMatches(list, played)
+        val next = RankingEngine.createSwissMatchesWithState(list, standings, SwissPairingMethod.OPTIMAL)
+            .map { it.copy(round = 3) }
+
+        val forecast = TournamentSimulator.forecastSwiss(list, standings, next, totalRounds = 4, simulations = 500, trackedPositions = list.size)
+        assertDistribution(forecast, list)
+        assertEquals(1.0, forecast.remainingRoundsProbability(2), 1e-9)
+    }
+
+    @Test
+    fun testTrackedPositionsMatchFullCount() {
+        // Yalnızca ilk sıralar sayılsa da olasılıklar ve beklenen sıra tam sayımla aynı
+        val list = songs(24)
+        val played = playSwiss(list, 2, Random(9))
+        val standings = RankingEngine.createSwissStandingsFromMatches(list, played)
+        val full = TournamentSimulator.forecastSwiss(list, standings, emptyList(), totalRounds = 5, simulations = 1000, trackedPositions = list.size)
+        val top = TournamentSimulator.forecastSwiss(list, standings, emptyList(), totalRounds = 5, simulations = 1000)
+
+        assertEquals(TournamentSimulator.DEFAULT_TRACKED_POSITIONS, top.trackedPositions)
+        assertEquals(full.songsByExpectedPosition(), top.songsByExpectedPosition())
+        for (song in list) {
+            assertArrayEquals(full.positionProbabilities(song.id).copyOf(top.trackedPositions), top.positionProbabilities(song.id), 0.0)
+            val expected = full.positionProbabilities(song.id).withIndex().sumOf { (i, p) -> (i + 1) * p }
+            assertEquals(expected, top.expectedPosition(song.id), 1e-9)
+        }
+        try {
+            top.probability(1L, top.trackedPositions + 1)
+            fail("Sayılmayan sıra sorulamamalı")
+        } catch (e: IllegalArgumentException) {
+            // Beklenen
+        }
+    }
+
+    // Uygulamadaki girdi: veritabanında yalnızca oynanmış maçlar, kalanlar sanal fikstürde
+    private fun playLeague(schedule: LeagueSchedule, rounds: Int): List<Match> =
+        (0 until rounds * schedule.matchesPerRound).map { i ->
+            complete(schedule.matchAt(i).copy(id = i + 1L), 0.0, Random(0))
+        }
+
+    @Test
+    fun testFinishedLeagueIsCertain() {
+        val list = songs(6)
+        val schedule = LeagueSchedule.of(list)
+        val stored = playLeague(schedule, schedule.roundCount)
+        val forecast = TournamentSimulator.forecastLeague(schedule, schedule.playedSet(stored), stored, simulations = 300, trackedPositions = list.size)
+        for (song in list) assertEquals(1.0, forecast.probability(song.id, song.id.toInt()), 0.0)
+        assertEquals(0.0, forecast.expectedRemainingRounds, 0.0)
+    }
+
+    @Test
+    fun testHalfPlayedLeagueFavoursLeader() {
+        val list = songs(10)
+        val schedule = LeagueSchedule.of(list)
+        val half = schedule.roundCount / 2
+        val stored = playLeague(schedule, half)
+
+        val forecast = TournamentSimulator.forecastLeague(schedule, schedule.playedSet(stored), stored, simulations = 3000, trackedPositions = list.size)
+        assertDistribution(forecast, list)
+        assertEquals(schedule.roundCount - half, forecast.remainingRoundsQuantile(1.0))
+        assertTrue(forecast.probability(1L, 1) < 1.0)
+        assertEquals(1L, forecast.songsByExpectedPosition().first())
+        assertTrue(forecast.probability(1L, 1) > forecast.probability(10L, 1))
+    }
+
+    @Test
+    fun testLeagueForecastWithGapsInPlayedRounds() {
+        // Çift devre, tek sayıda takım; oynanmış turlarda atlanmış maçlar da kalan tur sayılır
+        val list = songs(9)
+        val schedule = LeagueSchedule.of(list, doubleRoundRobin = true)
+        val stored = playLeague(schedule, 5).filterIndexed { i, _ -> i % 3 != 1 }
+        val played = schedule.playedSet(stored)
+
+        val forecast = TournamentSimulator.forecastLeague(schedule, played, stored, simulations = 500, seed = 3, trackedPositions = list.size)
+        val rounds = (0 until schedule.size).filter { !played[it] }.map { it / schedule.matchesPerRound }.distinct().size
+        assertTrue(rounds > schedule.roundCount - 5)
+        assertEquals(rounds, forecast.remainingRoundsQuantile(1.0))
+        assertEquals(rounds.toDouble(), forecast.expectedRemainingRounds, 0.0)
+        assertDistribution(forecast, list)
+    }
+
+    @Test
+    fun testEmreForecastWithPartlyPlayedRound() {
+        val list = songs(21)
+        val random = Random(9)
+        var state = EmreSystemCorrect.initializeEmreTournament(list)
+        val played = ArrayList<Match>()
+        repeat(2) {
+            val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+            val completed = pairing.matches.map { complete(it, 0.2, random) }
+            played.addAll(completed)
+            state = EmreSystemCorrect.processRoundResults(state, completed, pairing.byeTeam)
+        }
+
+        // Üçüncü tur eşleştirildi, yarısı oynandı
+        val pairing = EmreSystemCorrect.createNextRoundWithConfirmation(state)
+        assertTrue(pairing.canContinue)
+        val current = pairing.matches.mapIndexed { i, match -> if (i % 2 == 0) complete(match, 0.2, random) else match }
+
+        val forecast = TournamentSimulator.forecastEmre(state, played + current.filter { it.isCompleted }, current, simulations = 2000, trackedPositions = list.size)
+        assertDistribution(forecast, list)
+        assertTrue(forecast.expectedRemainingRounds >= 1.0)
+        assertEquals(0.0, forecast.remainingRoundsProbability(0), 0.0)
+
+        // Tablonun başındaki takım sondakinden önde bitirmeyi bekler
+        val table = state.teams.sortedBy { it.currentPosition }
+        assertTrue(forecast.expectedPosition(table.first().id) < forecast.expectedPosition(table.last().id))
+    }
+}
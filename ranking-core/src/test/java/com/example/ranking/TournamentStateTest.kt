@@ -0,0 +1,100 @@
+package com.example.ranking
+
+import com.example.ranking.data.Match
+import com.example.ranking.data.Song
+import com.example.ranking.ranking.RankingEngine
+import com.example.ranking.ranking.Scoring
+import com.example.ranking.ranking.SongIndex
+import com.example.ranking.ranking.TournamentState
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Yoğun slot indeksli puan tablosu testleri
+ */
+class TournamentStateTest {
+    
+    private fun createTestSongs(count: Int, firstId: Long = 1L): List<Song> {
+        return (0 until count).map { i ->
+            Song(
+                id = firstId + i * 7919L, // ardışık olmayan ID'ler
+                name = "Song$i",
+                artist = "Artist$i",
+                album = "Album$i",
+                trackNumber = i + 1,
+                listId = 1L
+            )
+        }
+    }
+    
+    private fun match(song1: Song, song2: Song, winner: Song?, score1: Int? = null, score2: Int? = null) = Match(
+        listId = 1L,
+        rankingMethod = "LEAGUE",
+        songId1 = song1.id,
+        songId2 = song2.id,
+        winnerId = winner?.id,
+        score1 = score1,
+        score2 = score2,
+        isCompleted = true
+    )
+    
+    @Test
+    fun testSongIndexSlots() {
+        val songs = createTestSongs(1000, firstId = 1_000_000L)
+        val index = SongIndex.of(songs)
+        
+        assertEquals(1000, index.size)
+        songs.forEachIndexed { i, song ->
+            assertEquals(i, index.slotOf(song.id))
+            assertEquals(song.id, index.idAt(i))
+        }
+        assertEquals(-1, index.slotOf(42L))
+        assertFalse(42L in index)
+    }
+    
+    @Test
+    fun testRecordCountsPointsAndGoals() {
+        val (a, b, c) = createTestSongs(3)
+        val state = TournamentState.of(
+            listOf(a, b, c),
+            Scoring.GROUP,
+            listOf(
+                match(a, b, a, 2, 1),
+                match(b, c, null, 1, 1),
+                match(c, a, c, 3, 0),
+                match(a, c, null).copy(isCompleted = false)
+            )
+        )
+        
+        assertEquals(3.0, state.pointsOf(a.id), 0.0)
+        assertEquals(1.0, state.pointsOf(b.id), 0.0)
+        assertEquals(4.0, state.pointsOf(c.id), 0.0)
+        
+        val slotA = state.index.slotOf(a.id)
+        assertEquals(2, state.played[slotA])
+        assertEquals(1, state.wins[slotA])
+        assertEquals(1, state.losses[slotA])
+        assertEquals(2, state.goalsFor[slotA])
+        assertEquals(4, state.goalsAgainst[slotA])
+    }
+    
+    @Test
+    fun testSwissResultsMatchOldPointRules() {
+        val songs = createTestSongs(4)
+        val matches = listOf(
+            match(songs[0], songs[1], songs[0]),
+            match(songs[2], songs[3], null)
+        )
+        
+        val results = RankingEngine.calculateSwissResults(songs, matches)
+        
+        assertEquals(songs[0].id, results[0].songId)
+        assertEquals(1.0, results[0].score, 0.0)
+        assertEquals(0.5, results.first { it.songId == songs[3].id }.score, 0.0)
+        assertEquals(0.0, results.last().score, 0.0)
+        
+        val standings = RankingEngine.createSwissStandingsFromMatches(songs, matches)
+        assertEquals(4, standings.standings.size)
+        assertEquals(0.5, standings.standings[songs[2].id]!!, 0.0)
+    }
+}
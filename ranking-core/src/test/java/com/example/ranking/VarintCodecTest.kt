@@ -0,0 +1,66 @@
+package com.example.ranking
+
+import com.example.ranking.ranking.VarintReader
+import com.example.ranking.ranking.VarintWriter
+import org.junit.Test
+import org.junit.Assert.*
+
+/**
+ * Ortak varint / zigzag kodlayıcı: gidiş-dönüş ve bozuk veri testleri
+ */
+class VarintCodecTest {
+
+    @Test
+    fun testRoundTrip() {
+        val longs = longArrayOf(0, 1, 127, 128, 300, Int.MAX_VALUE.toLong(), Long.MAX_VALUE, -1, Long.MIN_VALUE)
+        val out = VarintWriter()
+        longs.forEach { out.varint(it) }
+        longs.forEach { out.zigzag(it) }
+        out.boolean(true)
+        out.double(-0.1)
+        out.string("Şarkı")
+        out.bytes(byteArrayOf(7, 8))
+
+        val input = VarintReader(out.toByteArray(), "test data")
+        longs.forEach { assertEquals(it, input.varint()) }
+        longs.forEach { assertEquals(it, input.zigzag()) }
+        assertTrue(input.boolean())
+        assertEquals(-0.1, input.double(), 0.0)
+        assertEquals("Şarkı", input.string())
+        assertArrayEquals(byteArrayOf(7, 8), input.bytes(2))
+        input.requireEnd()
+    }
+
+    @Test
+    fun testSmallValuesTakeOneByte() {
+        val out = VarintWriter()
+        out.varint(127)
+        out.zigzag(-64)
+        assertEquals(2, out.toByteArray().size)
+    }
+
+    @Test
+    fun testRejectsMalformedInput() {
+        val truncated = VarintWriter().apply { varint(300) }.toByteArray().copyOf(1)
+        assertMessage("Truncated test data") { VarintReader(truncated, "test data").varint() }
+
+        // 10. bayttan sonra devam biti: 64 biti aşar
+        val overlong = ByteArray(11) { 0x80.toByte() }
+        assertMessage("Malformed varint in test data") { VarintReader(overlong, "test data").varint() }
+        val tooWide = ByteArray(10) { if (it < 9) 0xFF.toByte() else 0x02 }
+        assertMessage("Malformed varint in test data") { VarintReader(tooWide, "test data").varint() }
+
+        assertMessage("Truncated test data") { VarintReader(byteArrayOf(1), "test data").bytes(2) }
+        assertMessage("Truncated test data") { VarintReader(byteArrayOf(1), "test data").rawLong() }
+        assertMessage("Trailing bytes in test data") { VarintReader(byteArrayOf(1), "test data").requireEnd() }
+    }
+
+    private fun assertMessage(message: String, block: () -> Unit) {
+        try {
+            block()
+            fail("IllegalArgumentException bekleniyordu")
+        } catch (e: IllegalArgumentException) {
+            assertEquals(message, e.message)
+        }
+    }
+}
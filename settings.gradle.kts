@@ -21,4 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "Ranking"
 include(":app")
+include(":ranking-core")
  
\ No newline at end of file